@@ -115,6 +115,21 @@ public class CaffeineCacheManagerTests {
 		assertThat(cache1y.get("key3")).isNull();
 	}
 
+	@Test
+	public void changeAsyncCacheModeRecreateCache() {
+		CaffeineCacheManager cm = new CaffeineCacheManager("c1");
+		Cache cache1 = cm.getCache("c1");
+		assertThat(((CaffeineCache) cache1).getAsyncCache()).isNull();
+
+		cm.setAsyncCacheMode(true);
+		Cache cache1x = cm.getCache("c1");
+		assertThat(cache1x != cache1).isTrue();
+		assertThat(((CaffeineCache) cache1x).getAsyncCache()).isNotNull();
+
+		cm.setAsyncCacheMode(true);  // no change
+		assertThat(cm.getCache("c1")).isSameAs(cache1x);
+	}
+
 	@Test
 	public void changeCaffeineRecreateCache() {
 		CaffeineCacheManager cm = new CaffeineCacheManager("c1");
@@ -16,6 +16,9 @@
 
 package org.springframework.cache.caffeine;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -79,4 +82,40 @@ public class CaffeineCacheTests extends AbstractValueAdaptingCacheTests<Caffeine
 		assertThat(cache.get(key).get()).isEqualTo(value);
 	}
 
+	@Test
+	public void testAsyncCacheRetrieve() throws Exception {
+		CaffeineCache cache = new CaffeineCache(CACHE_NAME, Caffeine.newBuilder().buildAsync(), true);
+		AtomicInteger counter = new AtomicInteger();
+		CompletableFuture<String> pending = new CompletableFuture<>();
+
+		Object key = new Object();
+		CompletableFuture<String> first = cache.retrieve(key, () -> {
+			counter.incrementAndGet();
+			return pending;
+		});
+		CompletableFuture<String> second = cache.retrieve(key, () -> {
+			counter.incrementAndGet();
+			return CompletableFuture.completedFuture("other");
+		});
+		pending.complete("value");
+
+		assertThat(first.get()).isEqualTo("value");
+		assertThat(second.get()).isEqualTo("value");
+		assertThat(counter.get()).isEqualTo(1);
+		assertThat(cache.retrieve(key).get().get()).isEqualTo("value");
+		assertThat(cache.get(key).get()).isEqualTo("value");
+		assertThat(cache.getNativeCache()).isSameAs(cache.getAsyncCache().synchronous());
+	}
+
+	@Test
+	public void testAsyncCacheRetrieveNullValue() throws Exception {
+		CaffeineCache cache = new CaffeineCache(CACHE_NAME, Caffeine.newBuilder().buildAsync(), true);
+
+		Object key = new Object();
+		assertThat(cache.retrieve(key).get()).isNull();
+		assertThat(cache.retrieve(key, () -> CompletableFuture.completedFuture(null)).get()).isNull();
+		assertThat(cache.retrieve(key).get()).isNotNull();
+		assertThat(cache.retrieve(key).get().get()).isNull();
+	}
+
 }
@@ -16,7 +16,12 @@
 
 package org.springframework.cache;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import org.springframework.lang.Nullable;
 
@@ -100,6 +105,78 @@ public interface Cache {
 	@Nullable
 	<T> T get(Object key, Callable<T> valueLoader);
 
+	/**
+	 * Asynchronously retrieve the value to which this cache maps the specified key.
+	 * <p>The returned future completes with a {@link ValueWrapper} holding the
+	 * cached value (which may be {@code null} itself), or with a straight
+	 * {@code null} if the cache contains no mapping for this key.
+	 * <p>The default implementation delegates to {@link #get(Object)}, completing
+	 * the returned future immediately. Cache providers with native asynchronous
+	 * access are encouraged to override this.
+	 * @param key the key whose associated value is to be returned
+	 * @return a future for the value wrapper, or for {@code null} in case of a miss
+	 * @since 5.2
+	 * @see #get(Object)
+	 * @see #retrieve(Object, Supplier)
+	 */
+	default CompletableFuture<ValueWrapper> retrieve(Object key) {
+		return CompletableFuture.completedFuture(get(key));
+	}
+
+	/**
+	 * Asynchronously retrieve the value to which this cache maps the specified key,
+	 * obtaining that value from {@code valueLoader} if necessary. This is the
+	 * asynchronous counterpart of {@link #get(Object, Callable)}.
+	 * <p>If possible, implementations should ensure that the loading operation
+	 * is only triggered once in case of concurrent access on the same key, with
+	 * concurrent callers sharing the outcome of the pending load.
+	 * <p>If the future returned by the {@code valueLoader} completes exceptionally,
+	 * the returned future completes with the same exception and nothing gets cached.
+	 * <p>The default implementation delegates to {@link #get(Object)} and
+	 * {@link #put(Object, Object)}, without protection against concurrent loads.
+	 * @param key the key whose associated value is to be returned
+	 * @param valueLoader the provider of a future for the value to load
+	 * @return a future for the value to which this cache maps the specified key
+	 * @since 5.2
+	 * @see #get(Object, Callable)
+	 */
+	@SuppressWarnings("unchecked")
+	default <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		ValueWrapper wrapper = get(key);
+		if (wrapper != null) {
+			return CompletableFuture.completedFuture((T) wrapper.get());
+		}
+		return valueLoader.get().thenApply(value -> {
+			put(key, value);
+			return value;
+		});
+	}
+
+	/**
+	 * Return the values to which this cache maps the specified keys.
+	 * <p>The returned map only contains entries for the keys that are present
+	 * in the cache, in the iteration order of the given keys. A cached value
+	 * may be {@code null} itself; use {@link Map#containsKey} to differentiate
+	 * a cached {@code null} value from a missing entry.
+	 * <p>The default implementation delegates to {@link #get(Object)} for each
+	 * key. Cache providers with native bulk access are encouraged to override this.
+	 * @param keys the keys whose associated values are to be returned
+	 * @return a map of the cached values for the keys that are present
+	 * @since 5.2
+	 * @see #get(Object)
+	 * @see #putAll(Map)
+	 */
+	default Map<Object, Object> getAll(Collection<?> keys) {
+		Map<Object, Object> result = new LinkedHashMap<>(keys.size());
+		for (Object key : keys) {
+			ValueWrapper wrapper = get(key);
+			if (wrapper != null) {
+				result.put(key, wrapper.get());
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Associate the specified value with the specified key in this cache.
 	 * <p>If the cache previously contained a mapping for this key, the old
@@ -114,6 +191,37 @@ public interface Cache {
 	 */
 	void put(Object key, @Nullable Object value);
 
+	/**
+	 * Asynchronously associate the specified value with the specified key in this cache.
+	 * <p>The default implementation delegates to {@link #put(Object, Object)},
+	 * completing the returned future immediately.
+	 * @param key the key with which the specified value is to be associated
+	 * @param value the value to be associated with the specified key
+	 * @return a future indicating completion of the store operation
+	 * @since 5.2
+	 * @see #put(Object, Object)
+	 */
+	default CompletableFuture<Void> store(Object key, @Nullable Object value) {
+		put(key, value);
+		return CompletableFuture.completedFuture(null);
+	}
+
+	/**
+	 * Associate all of the specified key-value pairs with this cache.
+	 * <p>As with {@link #put(Object, Object)}, actual registration may be
+	 * performed in an asynchronous or deferred fashion.
+	 * <p>The default implementation delegates to {@link #put(Object, Object)}
+	 * for each entry. Cache providers with native bulk access are encouraged
+	 * to override this.
+	 * @param entries the key-value pairs to be stored in this cache
+	 * @since 5.2
+	 * @see #put(Object, Object)
+	 * @see #getAll(Collection)
+	 */
+	default void putAll(Map<?, ?> entries) {
+		entries.forEach(this::put);
+	}
+
 	/**
 	 * Atomically associate the specified value with the specified key in this cache
 	 * if it is not set already.
@@ -206,6 +314,20 @@ public interface Cache {
 		return false;
 	}
 
+	/**
+	 * Record that the caller has loaded a value for this cache after a miss,
+	 * e.g. through invoking a cached method, rather than through a value loader
+	 * passed to {@link #get(Object, Callable)}.
+	 * <p>This is a notification for statistics purposes only. The default
+	 * implementation does nothing; cache decorators are expected to propagate
+	 * it to their target cache.
+	 * @param loadTime the time spent loading, in nanoseconds
+	 * @param success whether the load completed without an exception
+	 * @since 5.2
+	 */
+	default void recordLoad(long loadTime, boolean success) {
+	}
+
 
 	/**
 	 * A (wrapper) object representing a cache value.
@@ -179,4 +179,31 @@ public @interface Cacheable {
 	 */
 	boolean sync() default false;
 
+	/**
+	 * Treat the annotated method as a bulk lookup: its first {@link java.util.Collection}
+	 * parameter provides the cache keys and its return value is a {@link java.util.Map}
+	 * from key to value. Entries already present in the cache are resolved via
+	 * {@link org.springframework.cache.Cache#getAll(java.util.Collection)} and the
+	 * underlying method is only invoked for the missing keys, with its result being
+	 * stored via {@link org.springframework.cache.Cache#putAll(java.util.Map)}.
+	 * This leads to a couple of limitations:
+	 * <ol>
+	 * <li>{@link #key()} is not supported and any {@link #keyGenerator()} is ignored
+	 * since the elements of the collection are used as keys as-is</li>
+	 * <li>{@link #sync()} is not supported</li>
+	 * <li>No other cache-related operation can be combined</li>
+	 * <li>Keys that the method returns no entry for are not cached, so they are
+	 * passed to the method again on subsequent calls; return a {@code null} value
+	 * for such a key in order to cache it (if the cache allows {@code null} values)</li>
+	 * <li>The method can only be invoked with the missing keys when called through
+	 * a Spring AOP proxy; with the AspectJ cache aspect, it is invoked with all keys
+	 * as soon as one of them is missing</li>
+	 * </ol>
+	 * The {@code #result} variable of {@link #unless()} refers to the map returned
+	 * by the method for the missing keys.
+	 * @since 5.2
+	 * @see org.springframework.cache.Cache#getAll(java.util.Collection)
+	 */
+	boolean bulk() default false;
+
 }
@@ -21,15 +21,28 @@ import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.aop.support.AopUtils;
@@ -44,6 +57,9 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.CollectionFactory;
+import org.springframework.core.ReactiveAdapter;
+import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -69,6 +85,23 @@ import org.springframework.util.function.SupplierUtils;
  * used for determining caching operations, a {@link KeyGenerator} will build the
  * cache keys, and a {@link CacheResolver} will resolve the actual cache(s) to use.
  *
+ * <p>As of 5.2, methods returning a {@link CompletableFuture} or a reactive type
+ * adaptable through the {@link ReactiveAdapterRegistry} (when Reactor is present)
+ * get their <em>resolved</em> value cached rather than the wrapper object, with
+ * cache lookups going through {@link Cache#retrieve(Object)}. A synchronized
+ * {@link org.springframework.cache.annotation.Cacheable @Cacheable} operation on such a method is performed through
+ * {@link Cache#retrieve(Object, Supplier)}, sharing a single pending invocation
+ * between concurrent callers for the same key; this is the only way to coalesce
+ * concurrent misses for such a method since {@link #setCoalesceConcurrentMisses}
+ * does not apply to asynchronous results. An empty single-value result such as
+ * an empty {@code Mono} is not cached at all.
+ *
+ * <p>As of 5.2, concurrent cache misses for invocations with {@code @Cacheable}
+ * operations only may also be coalesced through {@link #setCoalesceConcurrentMisses},
+ * without the restrictions of a synchronized {@code @Cacheable} operation: a single
+ * invocation populates all caches, with concurrent callers for the same keys
+ * sharing its outcome.
+ *
  * <p>Note: A cache aspect is serializable but does not perform any actual caching
  * after deserialization.
  *
@@ -83,6 +116,9 @@ import org.springframework.util.function.SupplierUtils;
 public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		implements BeanFactoryAware, InitializingBean, SmartInitializingSingleton {
 
+	private static final boolean reactorPresent = ClassUtils.isPresent(
+			"reactor.core.publisher.Mono", CacheAspectSupport.class.getClassLoader());
+
 	protected final Log logger = LogFactory.getLog(getClass());
 
 	private final Map<CacheOperationCacheKey, CacheOperationMetadata> metadataCache = new ConcurrentHashMap<>(1024);
@@ -100,6 +136,15 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	@Nullable
 	private BeanFactory beanFactory;
 
+	private boolean coalesceConcurrentMisses = false;
+
+	private long coalescingTimeout = 0;
+
+	private final ConcurrentMap<PendingInvocationKey, PendingInvocation> pendingInvocations =
+			new ConcurrentHashMap<>(64);
+
+	private final LongAdder coalescedInvocationCount = new LongAdder();
+
 	private boolean initialized = false;
 
 
@@ -194,6 +239,62 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		this.cacheResolver = SingletonSupplier.of(new SimpleCacheResolver(cacheManager));
 	}
 
+	/**
+	 * Specify whether to coalesce concurrent cache misses for the same method,
+	 * target and cache keys into a single invocation of the underlying method.
+	 * <p>Only applies to invocations with {@link CacheableOperation cacheable}
+	 * operations only, across any number of caches and including conditional
+	 * operations. The first caller performs the invocation and populates the
+	 * caches, while concurrent callers wait for its outcome (its return value or
+	 * its exception) instead of invoking the underlying method themselves.
+	 * <p>Default is "false". Switch this to "true" for methods which are expensive
+	 * to invoke and likely to be called concurrently for a cold key.
+	 * @since 5.2
+	 * @see #setCoalescingTimeout
+	 * @see #getCoalescedInvocationCount()
+	 */
+	public void setCoalesceConcurrentMisses(boolean coalesceConcurrentMisses) {
+		this.coalesceConcurrentMisses = coalesceConcurrentMisses;
+	}
+
+	/**
+	 * Return whether concurrent cache misses are coalesced into a single invocation.
+	 * @since 5.2
+	 */
+	public boolean isCoalesceConcurrentMisses() {
+		return this.coalesceConcurrentMisses;
+	}
+
+	/**
+	 * Specify the maximum time (in milliseconds) that a concurrent caller waits
+	 * for a pending invocation before invoking the underlying method itself.
+	 * <p>Default is 0, waiting for the pending invocation without any timeout.
+	 * @since 5.2
+	 * @see #setCoalesceConcurrentMisses
+	 */
+	public void setCoalescingTimeout(long coalescingTimeout) {
+		this.coalescingTimeout = coalescingTimeout;
+	}
+
+	/**
+	 * Return the maximum time (in milliseconds) that a concurrent caller waits
+	 * for a pending invocation.
+	 * @since 5.2
+	 */
+	public long getCoalescingTimeout() {
+		return this.coalescingTimeout;
+	}
+
+	/**
+	 * Return the number of invocations which have been served by a concurrent
+	 * pending invocation so far, instead of invoking the underlying method.
+	 * @since 5.2
+	 * @see #setCoalesceConcurrentMisses
+	 */
+	public long getCoalescedInvocationCount() {
+		return this.coalescedInvocationCount.sum();
+	}
+
 	/**
 	 * Set the containing {@link BeanFactory} for {@link CacheManager} and other
 	 * service lookups.
@@ -377,6 +478,10 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			if (isConditionPassing(context, CacheOperationExpressionEvaluator.NO_RESULT)) {
 				Object key = generateKey(context, CacheOperationExpressionEvaluator.NO_RESULT);
 				Cache cache = context.getCaches().iterator().next();
+				AsyncResultHandler asyncHandler = contexts.getAsyncResultHandler();
+				if (asyncHandler != null) {
+					return asyncHandler.fromFuture(() -> cache.retrieve(key, () -> loadAsync(invoker, asyncHandler)));
+				}
 				try {
 					return wrapCacheValue(method, cache.get(key, () -> unwrapReturnValue(invokeOperation(invoker))));
 				}
@@ -392,11 +497,22 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			}
 		}
 
+		// Special handling of bulk lookups for a collection of keys
+		if (contexts.isBulk()) {
+			return executeBulk(invoker, method, contexts);
+		}
 
 		// Process any early evictions
 		processCacheEvicts(contexts.get(CacheEvictOperation.class), true,
 				CacheOperationExpressionEvaluator.NO_RESULT);
 
+		// Asynchronous or reactive result: operate on the resolved value
+		AsyncResultHandler asyncHandler = contexts.getAsyncResultHandler();
+		if (asyncHandler != null) {
+			return asyncHandler.fromFuture(() -> findCachedItemAsync(contexts.get(CacheableOperation.class))
+					.thenCompose(cacheHit -> evaluateAsync(cacheHit, invoker, contexts, asyncHandler)));
+		}
+
 		// Check if we have a cached item matching the conditions
 		Cache.ValueWrapper cacheHit = findCachedItem(contexts.get(CacheableOperation.class));
 
@@ -410,6 +526,12 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		Object cacheValue;
 		Object returnValue;
 
+		if (cacheHit == null && this.coalesceConcurrentMisses &&
+				!cachePutRequests.isEmpty() && contexts.isCacheableOnly()) {
+			// Share a single invocation between concurrent misses for the same keys
+			return invokeCoalesced(invoker, method, contexts, cachePutRequests);
+		}
+
 		if (cacheHit != null && !hasCachePut(contexts)) {
 			// If there are no put requests, just use the cache hit
 			cacheValue = cacheHit.get();
@@ -417,7 +539,8 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		}
 		else {
 			// Invoke the method if we don't have a cache hit
-			returnValue = invokeOperation(invoker);
+			returnValue = (cacheHit == null ?
+					invokeAndRecordLoad(invoker, cachePutRequests) : invokeOperation(invoker));
 			cacheValue = unwrapReturnValue(returnValue);
 		}
 
@@ -435,6 +558,263 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return returnValue;
 	}
 
+	/**
+	 * Resolve a bulk lookup from the cache as far as possible, invoking the underlying
+	 * method with the missing keys only and storing the entries that it returns.
+	 * <p>The reduced collection of keys is passed through
+	 * {@link CacheOperationInvoker#withArguments}; if the invoker does not support
+	 * this, the method is invoked for all keys.
+	 */
+	@Nullable
+	private Object executeBulk(CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
+		CacheOperationContext context = contexts.get(CacheableOperation.class).iterator().next();
+		Object[] args = contexts.getArgs();
+		int index = contexts.getBulkParameterIndex();
+		Collection<?> keys = (Collection<?>) args[index];
+		if (keys == null || !isConditionPassing(context, CacheOperationExpressionEvaluator.NO_RESULT)) {
+			return invokeOperation(invoker);
+		}
+
+		Map<Object, Object> values = new HashMap<>(keys.size());
+		Set<Object> missingKeys = new LinkedHashSet<>(keys);
+		for (Cache cache : context.getCaches()) {
+			if (missingKeys.isEmpty()) {
+				break;
+			}
+			Map<Object, Object> cached = doGetAll(cache, missingKeys);
+			values.putAll(cached);
+			missingKeys.removeAll(cached.keySet());
+		}
+
+		if (!missingKeys.isEmpty()) {
+			CacheOperationInvoker bulkInvoker = null;
+			if (missingKeys.size() < keys.size()) {
+				Collection<Object> missingArg =
+						CollectionFactory.createCollection(method.getParameterTypes()[index], missingKeys.size());
+				missingArg.addAll(missingKeys);
+				Object[] bulkArgs = args.clone();
+				bulkArgs[index] = missingArg;
+				bulkInvoker = invoker.withArguments(bulkArgs);
+			}
+			Object returnValue;
+			long startTime = System.nanoTime();
+			boolean success = false;
+			try {
+				returnValue = invokeOperation(bulkInvoker != null ? bulkInvoker : invoker);
+				success = true;
+			}
+			finally {
+				recordLoad(context.getCaches(), System.nanoTime() - startTime, success);
+			}
+			if (returnValue != null) {
+				Map<?, ?> loaded = (Map<?, ?>) returnValue;
+				if (context.canPutToCache(loaded)) {
+					for (Cache cache : context.getCaches()) {
+						doPutAll(cache, loaded);
+					}
+				}
+				values.putAll(loaded);
+			}
+		}
+
+		// Expose the entries in the order of the requested keys
+		Map<Object, Object> result = new LinkedHashMap<>(keys.size());
+		for (Object key : keys) {
+			if (values.containsKey(key)) {
+				result.put(key, values.get(key));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Invoke the underlying operation for a cache miss unless an invocation for the
+	 * same keys is pending already, in which case its outcome is shared instead.
+	 * <p>A caller that registers its own invocation checks the caches once more
+	 * first, since a previous invocation for the same keys may have stored its
+	 * result after the initial lookup but before the registration.
+	 */
+	@Nullable
+	private Object invokeCoalesced(CacheOperationInvoker invoker, Method method,
+			CacheOperationContexts contexts, List<CachePutRequest> cachePutRequests) {
+
+		PendingInvocationKey invocationKey = new PendingInvocationKey(method, contexts.getTarget(), cachePutRequests);
+		PendingInvocation invocation = new PendingInvocation();
+		PendingInvocation pending = this.pendingInvocations.putIfAbsent(invocationKey, invocation);
+
+		if (pending != null) {
+			if (pending.owner != Thread.currentThread()) {
+				try {
+					this.coalescedInvocationCount.increment();
+					return (this.coalescingTimeout > 0 ?
+							pending.result.get(this.coalescingTimeout, TimeUnit.MILLISECONDS) : pending.result.get());
+				}
+				catch (ExecutionException ex) {
+					Throwable cause = ex.getCause();
+					if (cause instanceof CacheOperationInvoker.ThrowableWrapper) {
+						cause = ((CacheOperationInvoker.ThrowableWrapper) cause).getOriginal();
+					}
+					throw new CacheOperationInvoker.ThrowableWrapper(cause);
+				}
+				catch (TimeoutException ex) {
+					this.coalescedInvocationCount.decrement();
+					if (logger.isDebugEnabled()) {
+						logger.debug("Timeout waiting for pending invocation of " + method +
+								" - proceeding with separate invocation");
+					}
+				}
+				catch (InterruptedException ex) {
+					this.coalescedInvocationCount.decrement();
+					Thread.currentThread().interrupt();
+				}
+			}
+			// Re-entrant invocation or no outcome in time: invoke separately
+			return invokeAndPut(invoker, cachePutRequests);
+		}
+
+		try {
+			Object returnValue;
+			Cache.ValueWrapper cacheHit = findCachedItem(contexts.get(CacheableOperation.class));
+			if (cacheHit != null) {
+				returnValue = wrapCacheValue(method, cacheHit.get());
+			}
+			else {
+				returnValue = invokeAndPut(invoker, cachePutRequests);
+			}
+			invocation.result.complete(returnValue);
+			return returnValue;
+		}
+		catch (RuntimeException | Error ex) {
+			invocation.result.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.pendingInvocations.remove(invocationKey, invocation);
+		}
+	}
+
+	@Nullable
+	private Object invokeAndPut(CacheOperationInvoker invoker, List<CachePutRequest> cachePutRequests) {
+		Object returnValue = invokeAndRecordLoad(invoker, cachePutRequests);
+		Object cacheValue = unwrapReturnValue(returnValue);
+		for (CachePutRequest cachePutRequest : cachePutRequests) {
+			cachePutRequest.apply(cacheValue);
+		}
+		return returnValue;
+	}
+
+	/**
+	 * Invoke the underlying operation for a cache miss, recording the invocation
+	 * as a load through {@link Cache#recordLoad} on each distinct cache that the
+	 * result is going to be stored in.
+	 */
+	@Nullable
+	private Object invokeAndRecordLoad(CacheOperationInvoker invoker, List<CachePutRequest> cachePutRequests) {
+		long startTime = System.nanoTime();
+		boolean success = false;
+		try {
+			Object returnValue = invokeOperation(invoker);
+			success = true;
+			return returnValue;
+		}
+		finally {
+			long loadTime = System.nanoTime() - startTime;
+			if (cachePutRequests.size() == 1) {
+				recordLoad(cachePutRequests.get(0).context.getCaches(), loadTime, success);
+			}
+			else {
+				// Record a single load per cache, even if targeted by several operations
+				Set<Cache> caches = Collections.newSetFromMap(new IdentityHashMap<>());
+				for (CachePutRequest cachePutRequest : cachePutRequests) {
+					caches.addAll(cachePutRequest.context.getCaches());
+				}
+				recordLoad(caches, loadTime, success);
+			}
+		}
+	}
+
+	private void recordLoad(Collection<? extends Cache> caches, long loadTime, boolean success) {
+		for (Cache cache : caches) {
+			cache.recordLoad(loadTime, success);
+		}
+	}
+
+	/**
+	 * Continue an asynchronous invocation once the cache lookup has completed,
+	 * applying puts and late evictions on the resolved value.
+	 */
+	private CompletableFuture<Object> evaluateAsync(@Nullable Cache.ValueWrapper cacheHit,
+			CacheOperationInvoker invoker, CacheOperationContexts contexts, AsyncResultHandler asyncHandler) {
+
+		// Collect puts from any @Cacheable miss, if no cached item is found
+		List<CachePutRequest> cachePutRequests = new LinkedList<>();
+		if (cacheHit == null) {
+			collectPutRequests(contexts.get(CacheableOperation.class),
+					CacheOperationExpressionEvaluator.NO_RESULT, cachePutRequests);
+		}
+
+		CompletableFuture<Object> result;
+		if (cacheHit != null && !hasCachePut(contexts)) {
+			// If there are no put requests, just use the cache hit
+			result = CompletableFuture.completedFuture(cacheHit.get());
+		}
+		else {
+			// Invoke the method if we don't have a cache hit
+			result = invokeAsync(invoker, asyncHandler);
+		}
+
+		return result.thenApply(cacheValue -> {
+			if (asyncHandler.isEmpty(cacheValue)) {
+				// Nothing to cache for an empty result, just process any late evictions
+				processCacheEvicts(contexts.get(CacheEvictOperation.class), false, cacheValue);
+				return cacheValue;
+			}
+
+			// Collect any explicit @CachePuts
+			collectPutRequests(contexts.get(CachePutOperation.class), cacheValue, cachePutRequests);
+
+			// Process any collected put requests, either from @CachePut or a @Cacheable miss
+			for (CachePutRequest cachePutRequest : cachePutRequests) {
+				cachePutRequest.apply(cacheValue);
+			}
+
+			// Process any late evictions
+			processCacheEvicts(contexts.get(CacheEvictOperation.class), false, cacheValue);
+			return cacheValue;
+		});
+	}
+
+	/**
+	 * Invoke the underlying operation, adapting its asynchronous result to a
+	 * future for the resolved value. An exception thrown by the invocation itself
+	 * is exposed through the returned future as well.
+	 */
+	private CompletableFuture<Object> invokeAsync(CacheOperationInvoker invoker, AsyncResultHandler asyncHandler) {
+		try {
+			return asyncHandler.toFuture(invokeOperation(invoker));
+		}
+		catch (CacheOperationInvoker.ThrowableWrapper ex) {
+			CompletableFuture<Object> result = new CompletableFuture<>();
+			result.completeExceptionally(ex.getOriginal());
+			return result;
+		}
+	}
+
+	/**
+	 * Invoke the underlying operation as the value loader for a synchronized
+	 * {@link Cache#retrieve(Object, Supplier)} call. An empty result completes
+	 * the returned future with an {@link EmptyResultException}, so that nothing
+	 * gets cached for it.
+	 */
+	private CompletableFuture<Object> loadAsync(CacheOperationInvoker invoker, AsyncResultHandler asyncHandler) {
+		return invokeAsync(invoker, asyncHandler).thenApply(value -> {
+			if (asyncHandler.isEmpty(value)) {
+				throw new EmptyResultException();
+			}
+			return value;
+		});
+	}
+
 	@Nullable
 	private Object wrapCacheValue(Method method, @Nullable Object cacheValue) {
 		if (method.getReturnType() == Optional.class &&
@@ -530,6 +910,28 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return null;
 	}
 
+	/**
+	 * Asynchronously find a cached item only for {@link CacheableOperation} that
+	 * passes the condition, querying the caches in order until the first hit.
+	 * @param contexts the cacheable operations
+	 * @return a future for the {@link Cache.ValueWrapper} holding the cached item,
+	 * or for {@code null} if none is found
+	 */
+	private CompletableFuture<Cache.ValueWrapper> findCachedItemAsync(Collection<CacheOperationContext> contexts) {
+		CompletableFuture<Cache.ValueWrapper> result = CompletableFuture.completedFuture(null);
+		Object noResult = CacheOperationExpressionEvaluator.NO_RESULT;
+		for (CacheOperationContext context : contexts) {
+			if (isConditionPassing(context, noResult)) {
+				Object key = generateKey(context, noResult);
+				for (Cache cache : context.getCaches()) {
+					result = result.thenCompose(cacheHit ->
+							(cacheHit != null ? CompletableFuture.completedFuture(cacheHit) : doRetrieve(cache, key)));
+				}
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Collect the {@link CachePutRequest} for all {@link CacheOperation} using
 	 * the specified result item.
@@ -588,16 +990,32 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		private final MultiValueMap<Class<? extends CacheOperation>, CacheOperationContext> contexts;
 
+		private final Object target;
+
+		private final Object[] args;
+
 		private final boolean sync;
 
+		private final int bulkParameterIndex;
+
+		@Nullable
+		private final AsyncResultHandler asyncResultHandler;
+
 		public CacheOperationContexts(Collection<? extends CacheOperation> operations, Method method,
 				Object[] args, Object target, Class<?> targetClass) {
 
 			this.contexts = new LinkedMultiValueMap<>(operations.size());
+			AsyncResultHandler asyncResultHandler = null;
 			for (CacheOperation op : operations) {
-				this.contexts.add(op.getClass(), getOperationContext(op, method, args, target, targetClass));
+				CacheOperationContext context = getOperationContext(op, method, args, target, targetClass);
+				this.contexts.add(op.getClass(), context);
+				asyncResultHandler = context.metadata.asyncResultHandler;
 			}
+			this.target = target;
+			this.args = args;
 			this.sync = determineSyncFlag(method);
+			this.bulkParameterIndex = determineBulkParameterIndex(method);
+			this.asyncResultHandler = asyncResultHandler;
 		}
 
 		public Collection<CacheOperationContext> get(Class<? extends CacheOperation> operationClass) {
@@ -605,10 +1023,35 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			return (result != null ? result : Collections.emptyList());
 		}
 
+		public Object getTarget() {
+			return this.target;
+		}
+
+		public Object[] getArgs() {
+			return this.args;
+		}
+
 		public boolean isSynchronized() {
 			return this.sync;
 		}
 
+		public boolean isBulk() {
+			return (this.bulkParameterIndex >= 0);
+		}
+
+		public int getBulkParameterIndex() {
+			return this.bulkParameterIndex;
+		}
+
+		public boolean isCacheableOnly() {
+			return (this.contexts.size() == 1 && this.contexts.containsKey(CacheableOperation.class));
+		}
+
+		@Nullable
+		public AsyncResultHandler getAsyncResultHandler() {
+			return this.asyncResultHandler;
+		}
+
 		private boolean determineSyncFlag(Method method) {
 			List<CacheOperationContext> cacheOperationContexts = this.contexts.get(CacheableOperation.class);
 			if (cacheOperationContexts == null) {  // no @Cacheable operation at all
@@ -644,6 +1087,53 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			}
 			return false;
 		}
+
+		private int determineBulkParameterIndex(Method method) {
+			List<CacheOperationContext> cacheOperationContexts = this.contexts.get(CacheableOperation.class);
+			if (cacheOperationContexts == null) {  // no @Cacheable operation at all
+				return -1;
+			}
+			boolean bulkEnabled = false;
+			for (CacheOperationContext cacheOperationContext : cacheOperationContexts) {
+				if (((CacheableOperation) cacheOperationContext.getOperation()).isBulk()) {
+					bulkEnabled = true;
+					break;
+				}
+			}
+			if (!bulkEnabled) {
+				return -1;
+			}
+			if (this.contexts.size() > 1) {
+				throw new IllegalStateException(
+						"@Cacheable(bulk=true) cannot be combined with other cache operations on '" + method + "'");
+			}
+			if (cacheOperationContexts.size() > 1) {
+				throw new IllegalStateException(
+						"Only one @Cacheable(bulk=true) entry is allowed on '" + method + "'");
+			}
+			CacheableOperation operation = (CacheableOperation) cacheOperationContexts.iterator().next().getOperation();
+			if (operation.isSync()) {
+				throw new IllegalStateException(
+						"@Cacheable(bulk=true) cannot be combined with sync attribute on '" + operation + "'");
+			}
+			if (StringUtils.hasText(operation.getKey())) {
+				throw new IllegalStateException(
+						"@Cacheable(bulk=true) does not support key attribute on '" + operation + "'");
+			}
+			Class<?> returnType = method.getReturnType();
+			if (!Map.class.isAssignableFrom(returnType) || !returnType.isAssignableFrom(LinkedHashMap.class)) {
+				throw new IllegalStateException(
+						"@Cacheable(bulk=true) requires a Map return type on '" + method + "'");
+			}
+			Class<?>[] parameterTypes = method.getParameterTypes();
+			for (int i = 0; i < parameterTypes.length; i++) {
+				if (Collection.class.isAssignableFrom(parameterTypes[i])) {
+					return i;
+				}
+			}
+			throw new IllegalStateException(
+					"@Cacheable(bulk=true) requires a Collection parameter on '" + method + "'");
+		}
 	}
 
 
@@ -667,6 +1157,11 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		private final CacheResolver cacheResolver;
 
+		private final int keyArgumentIndex;
+
+		@Nullable
+		private final AsyncResultHandler asyncResultHandler;
+
 		public CacheOperationMetadata(CacheOperation operation, Method method, Class<?> targetClass,
 				KeyGenerator keyGenerator, CacheResolver cacheResolver) {
 
@@ -678,6 +1173,9 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			this.methodKey = new AnnotatedElementKey(this.targetMethod, targetClass);
 			this.keyGenerator = keyGenerator;
 			this.cacheResolver = cacheResolver;
+			this.keyArgumentIndex = CacheOperationExpressionEvaluator.getArgumentIndex(
+					operation.getKey(), this.targetMethod);
+			this.asyncResultHandler = AsyncResultHandler.forReturnType(this.method.getReturnType());
 		}
 	}
 
@@ -773,6 +1271,10 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		 */
 		@Nullable
 		protected Object generateKey(@Nullable Object result) {
+			if (this.metadata.keyArgumentIndex >= 0) {
+				// Plain argument reference: no need for expression evaluation
+				return this.args[this.metadata.keyArgumentIndex];
+			}
 			if (StringUtils.hasText(this.metadata.operation.getKey())) {
 				EvaluationContext evaluationContext = createEvaluationContext(result);
 				return evaluator.key(this.metadata.operation.getKey(), this.metadata.methodKey, evaluationContext);
@@ -805,9 +1307,9 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 	private class CachePutRequest {
 
-		private final CacheOperationContext context;
+		final CacheOperationContext context;
 
-		private final Object key;
+		final Object key;
 
 		public CachePutRequest(CacheOperationContext context, Object key) {
 			this.context = context;
@@ -824,6 +1326,181 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	}
 
 
+	/**
+	 * Identifies a pending invocation by method, target instance and the
+	 * target caches and keys of its cacheable operations.
+	 */
+	private static final class PendingInvocationKey {
+
+		private final Method method;
+
+		private final Object target;
+
+		private final List<Object> cacheKeys;
+
+		private final int hashCode;
+
+		PendingInvocationKey(Method method, Object target, List<CachePutRequest> cachePutRequests) {
+			this.method = method;
+			this.target = target;
+			this.cacheKeys = new ArrayList<>(cachePutRequests.size() * 2);
+			for (CachePutRequest cachePutRequest : cachePutRequests) {
+				this.cacheKeys.add(cachePutRequest.context.getCacheNames());
+				this.cacheKeys.add(cachePutRequest.key);
+			}
+			this.hashCode = (method.hashCode() * 31 + System.identityHashCode(target)) * 31 + this.cacheKeys.hashCode();
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof PendingInvocationKey)) {
+				return false;
+			}
+			PendingInvocationKey otherKey = (PendingInvocationKey) other;
+			return (this.method.equals(otherKey.method) && this.target == otherKey.target &&
+					this.cacheKeys.equals(otherKey.cacheKeys));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+
+	/**
+	 * Holder for the outcome of a pending invocation, shared with concurrent callers.
+	 */
+	private static final class PendingInvocation {
+
+		final Thread owner = Thread.currentThread();
+
+		final CompletableFuture<Object> result = new CompletableFuture<>();
+	}
+
+
+	/**
+	 * Strategy for adapting an asynchronous or reactive method result to a
+	 * {@link CompletableFuture} for its resolved value, and back.
+	 */
+	private abstract static class AsyncResultHandler {
+
+		private static final AsyncResultHandler COMPLETABLE_FUTURE = new CompletableFutureResultHandler();
+
+		@Nullable
+		static AsyncResultHandler forReturnType(Class<?> returnType) {
+			if (CompletableFuture.class == returnType) {
+				return COMPLETABLE_FUTURE;
+			}
+			if (reactorPresent) {
+				return ReactiveResultHandler.forReturnType(returnType);
+			}
+			return null;
+		}
+
+		/**
+		 * Adapt the given method result to a future for its resolved value.
+		 */
+		abstract CompletableFuture<Object> toFuture(@Nullable Object result);
+
+		/**
+		 * Adapt a future for a resolved value to the method's return type.
+		 * The supplier may be invoked lazily, e.g. on subscription.
+		 */
+		abstract Object fromFuture(Supplier<CompletableFuture<Object>> futureSupplier);
+
+		/**
+		 * Determine whether the given resolved value represents an empty result
+		 * which is not to be cached.
+		 */
+		boolean isEmpty(@Nullable Object resolvedValue) {
+			return false;
+		}
+	}
+
+
+	/**
+	 * Signals an empty result from a value loader, which is not to be cached
+	 * and turned back into an empty result by {@link AsyncResultHandler#fromFuture}.
+	 */
+	@SuppressWarnings("serial")
+	private static class EmptyResultException extends RuntimeException {
+
+		EmptyResultException() {
+			super(null, null, false, false);
+		}
+	}
+
+
+	private static class CompletableFutureResultHandler extends AsyncResultHandler {
+
+		@Override
+		@SuppressWarnings("unchecked")
+		CompletableFuture<Object> toFuture(@Nullable Object result) {
+			return (result != null ? (CompletableFuture<Object>) result : CompletableFuture.completedFuture(null));
+		}
+
+		@Override
+		Object fromFuture(Supplier<CompletableFuture<Object>> futureSupplier) {
+			return futureSupplier.get();
+		}
+	}
+
+
+	/**
+	 * Inner class to avoid a hard dependency on Reactor at runtime.
+	 * Single-value types cache their element; multi-value types cache
+	 * the collected list of elements.
+	 */
+	private static class ReactiveResultHandler extends AsyncResultHandler {
+
+		private final ReactiveAdapter adapter;
+
+		private ReactiveResultHandler(ReactiveAdapter adapter) {
+			this.adapter = adapter;
+		}
+
+		@Nullable
+		static AsyncResultHandler forReturnType(Class<?> returnType) {
+			ReactiveAdapter adapter = ReactiveAdapterRegistry.getSharedInstance().getAdapter(returnType);
+			return (adapter != null && !adapter.isNoValue() ? new ReactiveResultHandler(adapter) : null);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		CompletableFuture<Object> toFuture(@Nullable Object result) {
+			if (result == null) {
+				return CompletableFuture.completedFuture(null);
+			}
+			if (this.adapter.isMultiValue()) {
+				return (CompletableFuture<Object>) (CompletableFuture<?>)
+						Flux.from(this.adapter.toPublisher(result)).collectList().toFuture();
+			}
+			return Mono.from(this.adapter.<Object>toPublisher(result)).toFuture();
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		Object fromFuture(Supplier<CompletableFuture<Object>> futureSupplier) {
+			if (this.adapter.isMultiValue()) {
+				return this.adapter.fromPublisher(Flux.defer(() ->
+						Mono.fromFuture(futureSupplier.get()).flatMapIterable(value -> (Iterable<Object>) value)));
+			}
+			return this.adapter.fromPublisher(Mono.defer(() -> Mono.fromFuture(futureSupplier.get()))
+					.onErrorResume(EmptyResultException.class, ex -> Mono.empty()));
+		}
+
+		@Override
+		boolean isEmpty(@Nullable Object resolvedValue) {
+			// A single-value type resolves to null if empty; a multi-value type to an empty list
+			return (resolvedValue == null && !this.adapter.isMultiValue());
+		}
+	}
+
+
 	private static final class CacheOperationCacheKey implements Comparable<CacheOperationCacheKey> {
 
 		private final CacheOperation cacheOperation;
@@ -22,6 +22,7 @@ import java.lang.reflect.Method;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 
+import org.springframework.aop.ProxyMethodInvocation;
 import org.springframework.lang.Nullable;
 
 /**
@@ -48,20 +49,46 @@ public class CacheInterceptor extends CacheAspectSupport implements MethodInterc
 	public Object invoke(final MethodInvocation invocation) throws Throwable {
 		Method method = invocation.getMethod();
 
-		CacheOperationInvoker aopAllianceInvoker = () -> {
+		try {
+			return execute(new MethodInvocationInvoker(invocation), invocation.getThis(), method,
+					invocation.getArguments());
+		}
+		catch (CacheOperationInvoker.ThrowableWrapper th) {
+			throw th.getOriginal();
+		}
+	}
+
+
+	/**
+	 * {@link CacheOperationInvoker} proceeding with an AOP Alliance
+	 * {@link MethodInvocation}, supporting invocations with different
+	 * arguments for a {@link ProxyMethodInvocation}.
+	 */
+	private static class MethodInvocationInvoker implements CacheOperationInvoker {
+
+		private final MethodInvocation invocation;
+
+		MethodInvocationInvoker(MethodInvocation invocation) {
+			this.invocation = invocation;
+		}
+
+		@Override
+		public Object invoke() {
 			try {
-				return invocation.proceed();
+				return this.invocation.proceed();
 			}
 			catch (Throwable ex) {
-				throw new CacheOperationInvoker.ThrowableWrapper(ex);
+				throw new ThrowableWrapper(ex);
 			}
-		};
-
-		try {
-			return execute(aopAllianceInvoker, invocation.getThis(), method, invocation.getArguments());
 		}
-		catch (CacheOperationInvoker.ThrowableWrapper th) {
-			throw th.getOriginal();
+
+		@Override
+		@Nullable
+		public CacheOperationInvoker withArguments(Object[] args) {
+			if (this.invocation instanceof ProxyMethodInvocation) {
+				return new MethodInvocationInvoker(((ProxyMethodInvocation) this.invocation).invocableClone(args));
+			}
+			return null;
 		}
 	}
 
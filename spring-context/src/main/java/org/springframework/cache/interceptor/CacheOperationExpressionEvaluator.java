@@ -20,15 +20,21 @@ import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.cache.Cache;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.context.expression.CachedExpressionEvaluator;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
 
 /**
  * Utility class handling the SpEL expression parsing.
@@ -60,6 +66,11 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 	 */
 	public static final String RESULT_VARIABLE = "result";
 
+	private static final Pattern ARGUMENT_REFERENCE_PATTERN =
+			Pattern.compile("#(?:root\\.args\\[(\\d{1,5})]|([ap]\\d{1,5})|([A-Za-z_$][\\w$]*))");
+
+	private static final ParameterNameDiscoverer argumentNameDiscoverer = new DefaultParameterNameDiscoverer();
+
 
 	private final Map<ExpressionKey, Expression> keyCache = new ConcurrentHashMap<>(64);
 
@@ -114,6 +125,51 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 				evalContext, Boolean.class)));
 	}
 
+	/**
+	 * Determine whether the given expression is a plain reference to a single
+	 * method argument, i.e. {@code #root.args[0]}, {@code #p0}, {@code #a0} or
+	 * {@code #name}, in which case the argument can be accessed directly
+	 * without creating an evaluation context for each invocation.
+	 * @param expression the expression to check
+	 * @param targetMethod the method that the expression refers to
+	 * @return the index of the referenced argument, or {@code -1} if the
+	 * expression needs to be evaluated
+	 */
+	static int getArgumentIndex(@Nullable String expression, Method targetMethod) {
+		if (!StringUtils.hasText(expression) || targetMethod.isVarArgs()) {
+			return -1;
+		}
+		Matcher matcher = ARGUMENT_REFERENCE_PATTERN.matcher(expression.trim());
+		if (!matcher.matches()) {
+			return -1;
+		}
+		String[] paramNames = argumentNameDiscoverer.getParameterNames(targetMethod);
+		int index;
+		if (matcher.group(1) != null) {
+			index = Integer.parseInt(matcher.group(1));
+		}
+		else if (matcher.group(2) != null) {
+			if (ObjectUtils.containsElement(paramNames, matcher.group(2))) {
+				return -1;  // shadowed by a parameter name
+			}
+			index = Integer.parseInt(matcher.group(2).substring(1));
+		}
+		else {
+			String name = matcher.group(3);
+			if (paramNames == null || RESULT_VARIABLE.equals(name) ||
+					"root".equals(name) || "this".equals(name)) {
+				return -1;
+			}
+			index = -1;
+			for (int i = 0; i < paramNames.length; i++) {
+				if (name.equals(paramNames[i])) {
+					index = i;
+				}
+			}
+		}
+		return (index < targetMethod.getParameterCount() ? index : -1);
+	}
+
 	/**
 	 * Clear all caches.
 	 */
@@ -16,6 +16,8 @@
 
 package org.springframework.cache.interceptor;
 
+import org.springframework.lang.Nullable;
+
 /**
  * Abstract the invocation of a cache operation.
  *
@@ -38,6 +40,21 @@ public interface CacheOperationInvoker {
 	 */
 	Object invoke() throws ThrowableWrapper;
 
+	/**
+	 * Return an invoker for the same operation which uses the given arguments
+	 * instead of the original ones, e.g. for passing a reduced collection of keys
+	 * to a bulk operation.
+	 * <p>The default implementation returns {@code null}, indicating that the
+	 * operation can only be invoked with its original arguments.
+	 * @param args the arguments to invoke the operation with
+	 * @return the invoker for the given arguments, or {@code null} if not supported
+	 * @since 5.2
+	 */
+	@Nullable
+	default CacheOperationInvoker withArguments(Object[] args) {
+		return null;
+	}
+
 
 	/**
 	 * Wrap any exception thrown while invoking {@link #invoke()}.
@@ -16,6 +16,11 @@
 
 package org.springframework.cache.support;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
 import org.springframework.cache.Cache;
 import org.springframework.lang.Nullable;
 
@@ -28,6 +33,10 @@ import org.springframework.lang.Nullable;
  * {@link NullValue#INSTANCE}, if configured to support {@code null} values
  * (as indicated by {@link #isAllowNullValues()}.
  *
+ * <p>As of 5.2, also provides a {@link #retrieve(Object, Supplier)} implementation
+ * which coalesces concurrent asynchronous loads for the same key, with a single
+ * pending load per key being shared by all callers that miss in the meantime.
+ *
  * @author Juergen Hoeller
  * @since 4.2.2
  */
@@ -35,6 +44,8 @@ public abstract class AbstractValueAdaptingCache implements Cache {
 
 	private final boolean allowNullValues;
 
+	private final ConcurrentMap<Object, CompletableFuture<?>> pendingLoads = new ConcurrentHashMap<>(16);
+
 
 	/**
 	 * Create an {@code AbstractValueAdaptingCache} with the given setting.
@@ -71,6 +82,56 @@ public abstract class AbstractValueAdaptingCache implements Cache {
 		return (T) value;
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		ValueWrapper wrapper = get(key);
+		if (wrapper != null) {
+			return CompletableFuture.completedFuture((T) wrapper.get());
+		}
+
+		CompletableFuture<T> result = new CompletableFuture<>();
+		CompletableFuture<?> pending = this.pendingLoads.putIfAbsent(key, result);
+		if (pending != null) {
+			// Share the outcome of the pending load, without exposing it for completion
+			return ((CompletableFuture<T>) pending).thenApply(value -> value);
+		}
+
+		// Re-check: a concurrent load may have completed in the meantime
+		wrapper = get(key);
+		if (wrapper != null) {
+			this.pendingLoads.remove(key, result);
+			result.complete((T) wrapper.get());
+			return result;
+		}
+
+		try {
+			valueLoader.get().whenComplete((value, ex) -> {
+				Throwable failure = ex;
+				if (failure == null) {
+					try {
+						put(key, value);
+					}
+					catch (RuntimeException putEx) {
+						failure = putEx;
+					}
+				}
+				this.pendingLoads.remove(key, result);
+				if (failure != null) {
+					result.completeExceptionally(failure);
+				}
+				else {
+					result.complete(value);
+				}
+			});
+		}
+		catch (Throwable ex) {
+			this.pendingLoads.remove(key, result);
+			result.completeExceptionally(ex);
+		}
+		return result;
+	}
+
 	/**
 	 * Perform an actual lookup in the underlying store.
 	 * @param key the key whose associated value is to be returned
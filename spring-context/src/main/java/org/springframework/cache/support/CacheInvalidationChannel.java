@@ -0,0 +1,72 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cache.support;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Strategy interface for propagating cache invalidations between nodes which
+ * keep local copies of shared cache entries, e.g. through a message broker.
+ *
+ * <p>Each invalidation carries the identifier of its originating node, allowing
+ * subscribers to ignore invalidations that they published themselves.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see TieredCacheManager#setInvalidationChannel
+ * @see SimpleCacheInvalidationChannel
+ */
+public interface CacheInvalidationChannel {
+
+	/**
+	 * Publish an invalidation for the given cache to all subscribers.
+	 * @param origin the identifier of the publishing node
+	 * @param cacheName the name of the affected cache
+	 * @param key the affected key, or {@code null} for the entire cache
+	 */
+	void publish(String origin, String cacheName, @Nullable Object key);
+
+	/**
+	 * Register the given listener for invalidations published through this channel.
+	 * @param listener the listener to notify
+	 */
+	void subscribe(Listener listener);
+
+	/**
+	 * Remove the given listener, if subscribed, from this channel.
+	 * @param listener the listener to remove
+	 */
+	void unsubscribe(Listener listener);
+
+
+	/**
+	 * Callback interface for invalidations received through a channel.
+	 */
+	@FunctionalInterface
+	interface Listener {
+
+		/**
+		 * Handle an invalidation for the given cache.
+		 * @param origin the identifier of the publishing node
+		 * @param cacheName the name of the affected cache
+		 * @param key the affected key, or {@code null} for the entire cache
+		 */
+		void onInvalidation(String origin, String cacheName, @Nullable Object key);
+	}
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics for a single {@link org.springframework.cache.Cache}: hits, misses,
+ * puts, evictions and load timings, independent of the underlying cache provider.
+ *
+ * <p>All counters are backed by {@link LongAdder} instances, keeping contention
+ * low when recording from many threads concurrently. Reads are not atomic across
+ * counters, so derived values such as the hit ratio are approximate under load.
+ *
+ * <p>Implements {@link CacheStatisticsMBean}, so instances can be registered with
+ * an {@link org.springframework.jmx.export.MBeanExporter} as standard MBeans.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see StatisticsCacheDecorator
+ * @see StatisticsCacheManager
+ */
+public class CacheStatistics implements CacheStatisticsMBean {
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder putCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+	private final LongAdder clearCount = new LongAdder();
+
+	private final LongAdder loadSuccessCount = new LongAdder();
+
+	private final LongAdder loadFailureCount = new LongAdder();
+
+	private final LongAdder totalLoadTime = new LongAdder();
+
+
+	/**
+	 * Record the given number of cache hits.
+	 */
+	public void recordHits(int count) {
+		this.hitCount.add(count);
+	}
+
+	/**
+	 * Record the given number of cache misses.
+	 */
+	public void recordMisses(int count) {
+		this.missCount.add(count);
+	}
+
+	/**
+	 * Record the given number of values stored in the cache.
+	 */
+	public void recordPuts(int count) {
+		this.putCount.add(count);
+	}
+
+	/**
+	 * Record an explicit eviction of an individual key.
+	 * <p>Evictions performed by the cache provider itself are not recorded
+	 * here, so consult the provider's native statistics for those.
+	 */
+	public void recordEviction() {
+		this.evictionCount.increment();
+	}
+
+	/**
+	 * Record an explicit clear operation.
+	 */
+	public void recordClear() {
+		this.clearCount.increment();
+	}
+
+	/**
+	 * Record a successful load after a cache miss.
+	 * @param loadTime the time spent loading, in nanoseconds
+	 */
+	public void recordLoadSuccess(long loadTime) {
+		this.loadSuccessCount.increment();
+		this.totalLoadTime.add(loadTime);
+	}
+
+	/**
+	 * Record a load which failed with an exception.
+	 * @param loadTime the time spent loading, in nanoseconds
+	 */
+	public void recordLoadFailure(long loadTime) {
+		this.loadFailureCount.increment();
+		this.totalLoadTime.add(loadTime);
+	}
+
+
+	@Override
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+
+	@Override
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+
+	@Override
+	public long getRequestCount() {
+		return getHitCount() + getMissCount();
+	}
+
+	@Override
+	public double getHitRatio() {
+		long hits = getHitCount();
+		long requests = hits + getMissCount();
+		return (requests > 0 ? (double) hits / requests : 1.0);
+	}
+
+	@Override
+	public long getPutCount() {
+		return this.putCount.sum();
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return this.evictionCount.sum();
+	}
+
+	@Override
+	public long getClearCount() {
+		return this.clearCount.sum();
+	}
+
+	@Override
+	public long getLoadSuccessCount() {
+		return this.loadSuccessCount.sum();
+	}
+
+	@Override
+	public long getLoadFailureCount() {
+		return this.loadFailureCount.sum();
+	}
+
+	@Override
+	public long getTotalLoadTime() {
+		return TimeUnit.NANOSECONDS.toMillis(this.totalLoadTime.sum());
+	}
+
+	@Override
+	public double getAverageLoadTime() {
+		long loads = getLoadSuccessCount() + getLoadFailureCount();
+		return (loads > 0 ? (double) this.totalLoadTime.sum() / loads / 1000000 : 0.0);
+	}
+
+	@Override
+	public void reset() {
+		this.hitCount.reset();
+		this.missCount.reset();
+		this.putCount.reset();
+		this.evictionCount.reset();
+		this.clearCount.reset();
+		this.loadSuccessCount.reset();
+		this.loadFailureCount.reset();
+		this.totalLoadTime.reset();
+	}
+
+
+	@Override
+	public String toString() {
+		return "CacheStatistics: hits=" + getHitCount() + ", misses=" + getMissCount() +
+				", puts=" + getPutCount() + ", evictions=" + getEvictionCount() +
+				", loads=" + getLoadSuccessCount() + ", loadFailures=" + getLoadFailureCount() +
+				", totalLoadTime=" + getTotalLoadTime() + "ms";
+	}
+
+}
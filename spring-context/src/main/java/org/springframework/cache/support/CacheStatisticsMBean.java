@@ -0,0 +1,90 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+/**
+ * MBean operation interface for {@link CacheStatistics}, exposing the
+ * statistics of a single cache as read-only JMX attributes.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+public interface CacheStatisticsMBean {
+
+	/**
+	 * Return the number of lookups which found a cached value.
+	 */
+	long getHitCount();
+
+	/**
+	 * Return the number of lookups which did not find a cached value.
+	 */
+	long getMissCount();
+
+	/**
+	 * Return the total number of lookups, i.e. hits plus misses.
+	 */
+	long getRequestCount();
+
+	/**
+	 * Return the ratio of lookups which found a cached value,
+	 * or {@code 1.0} if there has not been any lookup yet.
+	 */
+	double getHitRatio();
+
+	/**
+	 * Return the number of values stored in the cache.
+	 */
+	long getPutCount();
+
+	/**
+	 * Return the number of explicit evictions of individual keys.
+	 */
+	long getEvictionCount();
+
+	/**
+	 * Return the number of explicit clear operations.
+	 */
+	long getClearCount();
+
+	/**
+	 * Return the number of successful loads after a cache miss.
+	 */
+	long getLoadSuccessCount();
+
+	/**
+	 * Return the number of loads which failed with an exception.
+	 */
+	long getLoadFailureCount();
+
+	/**
+	 * Return the total time spent loading values, in milliseconds.
+	 */
+	long getTotalLoadTime();
+
+	/**
+	 * Return the average time spent per load, in milliseconds,
+	 * or {@code 0.0} if there has not been any load yet.
+	 */
+	double getAverageLoadTime();
+
+	/**
+	 * Reset all counters to zero.
+	 */
+	void reset();
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cache.support;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Simple in-JVM {@link CacheInvalidationChannel} implementation which notifies
+ * all subscribers synchronously within the publishing thread.
+ *
+ * <p>Mainly intended for testing and for several cache managers within the
+ * same JVM, e.g. standing in for a message broker in a single-node setup.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+public class SimpleCacheInvalidationChannel implements CacheInvalidationChannel {
+
+	private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+
+	@Override
+	public void publish(String origin, String cacheName, @Nullable Object key) {
+		for (Listener listener : this.listeners) {
+			listener.onInvalidation(origin, cacheName, key);
+		}
+	}
+
+	@Override
+	public void subscribe(Listener listener) {
+		Assert.notNull(listener, "Listener must not be null");
+		this.listeners.add(listener);
+	}
+
+	@Override
+	public void unsubscribe(Listener listener) {
+		this.listeners.remove(listener);
+	}
+
+}
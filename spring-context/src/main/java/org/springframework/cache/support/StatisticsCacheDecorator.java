@@ -0,0 +1,292 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Cache decorator which records {@link CacheStatistics} for all operations
+ * on the target cache: hits and misses for lookups, puts, evictions, as well
+ * as the number and duration of loads through a given value loader.
+ *
+ * <p>Lookups through the caching aspect typically resolve a miss by invoking
+ * the underlying method rather than through a value loader. In that case, the
+ * {@link org.springframework.cache.interceptor.CacheAspectSupport caching aspect}
+ * reports the invocation through {@link #recordLoad(long, boolean)}, which any
+ * decorator in front of this one is expected to propagate.
+ *
+ * <p>Only operations going through this decorator are visible to it: evictions
+ * performed by the cache provider itself, e.g. for expiration or a size limit,
+ * are not included in the statistics.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see StatisticsCacheManager
+ */
+public class StatisticsCacheDecorator implements Cache {
+
+	private final Cache targetCache;
+
+	private final CacheStatistics statistics;
+
+
+	/**
+	 * Create a new StatisticsCacheDecorator for the given target Cache.
+	 * @param targetCache the target Cache to decorate
+	 */
+	public StatisticsCacheDecorator(Cache targetCache) {
+		this(targetCache, new CacheStatistics());
+	}
+
+	/**
+	 * Create a new StatisticsCacheDecorator for the given target Cache,
+	 * recording into the given statistics instance.
+	 * @param targetCache the target Cache to decorate
+	 * @param statistics the statistics to record into
+	 */
+	public StatisticsCacheDecorator(Cache targetCache, CacheStatistics statistics) {
+		Assert.notNull(targetCache, "Target Cache must not be null");
+		Assert.notNull(statistics, "CacheStatistics must not be null");
+		this.targetCache = targetCache;
+		this.statistics = statistics;
+	}
+
+
+	/**
+	 * Return the target Cache that this Cache should delegate to.
+	 */
+	public Cache getTargetCache() {
+		return this.targetCache;
+	}
+
+	/**
+	 * Return the statistics recorded for this Cache.
+	 */
+	public CacheStatistics getStatistics() {
+		return this.statistics;
+	}
+
+	@Override
+	public String getName() {
+		return this.targetCache.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return this.targetCache.getNativeCache();
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper get(Object key) {
+		ValueWrapper wrapper = this.targetCache.get(key);
+		recordLookup(wrapper != null);
+		return wrapper;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T get(Object key, @Nullable Class<T> type) {
+		ValueWrapper wrapper = get(key);
+		Object value = (wrapper != null ? wrapper.get() : null);
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException(
+					"Cached value is not of required type [" + type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	@Override
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		TimedValueLoader<T> timedLoader = new TimedValueLoader<>(valueLoader);
+		T value = this.targetCache.get(key, timedLoader);
+		if (!timedLoader.called) {
+			recordLookup(true);
+		}
+		return value;
+	}
+
+	@Override
+	public CompletableFuture<ValueWrapper> retrieve(Object key) {
+		return this.targetCache.retrieve(key).thenApply(wrapper -> {
+			recordLookup(wrapper != null);
+			return wrapper;
+		});
+	}
+
+	@Override
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		AtomicBoolean called = new AtomicBoolean();
+		CompletableFuture<T> result = this.targetCache.retrieve(key, () -> {
+			called.set(true);
+			recordLookup(false);
+			long startTime = System.nanoTime();
+			return valueLoader.get().whenComplete((value, ex) -> recordTimedLoad(startTime, ex == null));
+		});
+		return result.whenComplete((value, ex) -> {
+			if (ex == null && !called.get()) {
+				recordLookup(true);
+			}
+		});
+	}
+
+	@Override
+	public Map<Object, Object> getAll(Collection<?> keys) {
+		Map<Object, Object> result = this.targetCache.getAll(keys);
+		this.statistics.recordHits(result.size());
+		this.statistics.recordMisses(keys.size() - result.size());
+		return result;
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		this.targetCache.put(key, value);
+		this.statistics.recordPuts(1);
+	}
+
+	@Override
+	public CompletableFuture<Void> store(Object key, @Nullable Object value) {
+		return this.targetCache.store(key, value).whenComplete((result, ex) -> {
+			if (ex == null) {
+				this.statistics.recordPuts(1);
+			}
+		});
+	}
+
+	@Override
+	public void putAll(Map<?, ?> entries) {
+		this.targetCache.putAll(entries);
+		this.statistics.recordPuts(entries.size());
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		ValueWrapper existingValue = this.targetCache.putIfAbsent(key, value);
+		if (existingValue == null) {
+			this.statistics.recordPuts(1);
+		}
+		return existingValue;
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.targetCache.evict(key);
+		this.statistics.recordEviction();
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		boolean present = this.targetCache.evictIfPresent(key);
+		if (present) {
+			this.statistics.recordEviction();
+		}
+		return present;
+	}
+
+	@Override
+	public void clear() {
+		this.targetCache.clear();
+		this.statistics.recordClear();
+	}
+
+	@Override
+	public boolean invalidate() {
+		boolean notEmpty = this.targetCache.invalidate();
+		this.statistics.recordClear();
+		return notEmpty;
+	}
+
+	@Override
+	public void recordLoad(long loadTime, boolean success) {
+		this.targetCache.recordLoad(loadTime, success);
+		if (success) {
+			this.statistics.recordLoadSuccess(loadTime);
+		}
+		else {
+			this.statistics.recordLoadFailure(loadTime);
+		}
+	}
+
+	private void recordLookup(boolean hit) {
+		if (hit) {
+			this.statistics.recordHits(1);
+		}
+		else {
+			this.statistics.recordMisses(1);
+		}
+	}
+
+	private void recordTimedLoad(long startTime, boolean success) {
+		long loadTime = System.nanoTime() - startTime;
+		if (success) {
+			this.statistics.recordLoadSuccess(loadTime);
+		}
+		else {
+			this.statistics.recordLoadFailure(loadTime);
+		}
+	}
+
+
+	@Override
+	public String toString() {
+		return "StatisticsCacheDecorator for " + this.targetCache + ": " + this.statistics;
+	}
+
+
+	/**
+	 * Value loader which records a miss and the load timing when it gets called.
+	 */
+	private class TimedValueLoader<T> implements Callable<T> {
+
+		private final Callable<T> valueLoader;
+
+		volatile boolean called;
+
+		TimedValueLoader(Callable<T> valueLoader) {
+			this.valueLoader = valueLoader;
+		}
+
+		@Override
+		public T call() throws Exception {
+			this.called = true;
+			recordLookup(false);
+			long startTime = System.nanoTime();
+			boolean success = false;
+			try {
+				T value = this.valueLoader.call();
+				success = true;
+				return value;
+			}
+			finally {
+				recordTimedLoad(startTime, success);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jmx.export.MBeanExportOperations;
+import org.springframework.jmx.support.ObjectNameManager;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Proxy for a target {@link CacheManager}, exposing {@link StatisticsCacheDecorator}
+ * instances which record {@link CacheStatistics} for every cache, independent of
+ * the statistics support of the underlying cache provider.
+ *
+ * <p>Statistics are kept per cache name and survive a re-creation of the target
+ * cache. They may be exported to JMX through an {@link MBeanExportOperations}
+ * instance such as an {@link org.springframework.jmx.export.MBeanExporter},
+ * registering each {@link CacheStatisticsMBean} under an object name of the
+ * form {@code <domain>:type=CacheStatistics,name=<cacheName>}.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see #setTargetCacheManager
+ * @see #setMBeanExporter
+ * @see StatisticsCacheDecorator
+ */
+public class StatisticsCacheManager implements CacheManager, InitializingBean {
+
+	/**
+	 * The default JMX domain for exported cache statistics.
+	 */
+	public static final String DEFAULT_JMX_DOMAIN = "org.springframework.cache";
+
+
+	@Nullable
+	private CacheManager targetCacheManager;
+
+	@Nullable
+	private MBeanExportOperations mbeanExporter;
+
+	private String jmxDomain = DEFAULT_JMX_DOMAIN;
+
+	private final ConcurrentMap<String, StatisticsCacheDecorator> cacheMap = new ConcurrentHashMap<>(16);
+
+	private final ConcurrentMap<String, CacheStatistics> statisticsMap = new ConcurrentHashMap<>(16);
+
+
+	/**
+	 * Create a new StatisticsCacheManager, setting the target CacheManager
+	 * through the {@link #setTargetCacheManager} bean property.
+	 */
+	public StatisticsCacheManager() {
+	}
+
+	/**
+	 * Create a new StatisticsCacheManager for the given target CacheManager.
+	 * @param targetCacheManager the target CacheManager to proxy
+	 */
+	public StatisticsCacheManager(CacheManager targetCacheManager) {
+		Assert.notNull(targetCacheManager, "Target CacheManager must not be null");
+		this.targetCacheManager = targetCacheManager;
+	}
+
+
+	/**
+	 * Set the target CacheManager to proxy.
+	 */
+	public void setTargetCacheManager(CacheManager targetCacheManager) {
+		this.targetCacheManager = targetCacheManager;
+	}
+
+	/**
+	 * Set the exporter to register the statistics of each cache with,
+	 * e.g. an {@link org.springframework.jmx.export.MBeanExporter}.
+	 * <p>Default is none, not exposing the statistics via JMX.
+	 * @see #setJmxDomain
+	 */
+	public void setMBeanExporter(@Nullable MBeanExportOperations mbeanExporter) {
+		this.mbeanExporter = mbeanExporter;
+	}
+
+	/**
+	 * Set the JMX domain for exported cache statistics.
+	 * <p>Default is "org.springframework.cache". Specify a custom domain
+	 * when exporting the statistics of several cache managers.
+	 */
+	public void setJmxDomain(String jmxDomain) {
+		Assert.hasLength(jmxDomain, "JMX domain must not be empty");
+		this.jmxDomain = jmxDomain;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		if (this.targetCacheManager == null) {
+			throw new IllegalArgumentException("Property 'targetCacheManager' is required");
+		}
+		// Eagerly expose statistics for all caches known upfront
+		for (String name : this.targetCacheManager.getCacheNames()) {
+			obtainStatistics(name);
+		}
+	}
+
+
+	@Override
+	@Nullable
+	public Cache getCache(String name) {
+		Assert.state(this.targetCacheManager != null, "No target CacheManager set");
+		Cache targetCache = this.targetCacheManager.getCache(name);
+		if (targetCache == null) {
+			return null;
+		}
+		StatisticsCacheDecorator cache = this.cacheMap.get(name);
+		if (cache == null || cache.getTargetCache() != targetCache) {
+			cache = new StatisticsCacheDecorator(targetCache, obtainStatistics(name));
+			this.cacheMap.put(name, cache);
+		}
+		return cache;
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		Assert.state(this.targetCacheManager != null, "No target CacheManager set");
+		return this.targetCacheManager.getCacheNames();
+	}
+
+	/**
+	 * Return the statistics for the given cache, if already obtained.
+	 * @param name the cache name
+	 * @return the statistics for the cache, or {@code null} if the cache
+	 * has not been obtained through this CacheManager yet
+	 */
+	@Nullable
+	public CacheStatistics getCacheStatistics(String name) {
+		return this.statisticsMap.get(name);
+	}
+
+	/**
+	 * Return the statistics for all caches obtained so far, keyed by cache name.
+	 */
+	public Map<String, CacheStatistics> getCacheStatistics() {
+		return Collections.unmodifiableMap(this.statisticsMap);
+	}
+
+	private CacheStatistics obtainStatistics(String name) {
+		CacheStatistics statistics = this.statisticsMap.get(name);
+		if (statistics == null) {
+			CacheStatistics newStatistics = new CacheStatistics();
+			statistics = this.statisticsMap.putIfAbsent(name, newStatistics);
+			if (statistics == null) {
+				statistics = newStatistics;
+				if (this.mbeanExporter != null) {
+					this.mbeanExporter.registerManagedResource(statistics, getObjectName(name));
+				}
+			}
+		}
+		return statistics;
+	}
+
+	/**
+	 * Build the JMX object name for the statistics of the given cache.
+	 * @param name the cache name
+	 * @return the object name to register the statistics under
+	 */
+	protected ObjectName getObjectName(String name) {
+		try {
+			return ObjectNameManager.getInstance(
+					this.jmxDomain + ":type=CacheStatistics,name=" + ObjectName.quote(name));
+		}
+		catch (MalformedObjectNameException ex) {
+			throw new IllegalArgumentException("Invalid JMX domain or cache name: " + ex.getMessage(), ex);
+		}
+	}
+
+}
@@ -0,0 +1,469 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cache.support;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Cache} implementation which layers a local cache in front of a shared
+ * (typically remote) cache, with read-through and write-through semantics.
+ *
+ * <p>Lookups are served from the local tier if possible, falling back to the
+ * shared tier and populating the local tier with the value found there. Puts
+ * and evictions are applied to the shared tier as well as the local tier, and
+ * published through an optional {@link CacheInvalidationChannel} for other nodes
+ * to drop their local copies. A value read from the shared tier does not get
+ * stored locally if a local write or invalidation for the same key happened
+ * in the meantime, so a stale read cannot overwrite a newer local entry.
+ *
+ * <p>Local entries may expire after a given time-to-live, and the number of
+ * local entries may be bounded, evicting the oldest local entries first.
+ * Both settings apply on top of any native expiration and eviction policy of
+ * the local cache itself. The local cache holds the plain values, with any
+ * expiration state being tracked by this cache; {@code null} values are
+ * not held locally but served from the shared tier.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see TieredCacheManager
+ */
+public class TieredCache implements Cache {
+
+	private static final int VERSION_STRIPES = 64;
+
+
+	private final Cache localCache;
+
+	private final Cache sharedCache;
+
+	private final long localTimeToLive;
+
+	private final int localMaximumSize;
+
+	@Nullable
+	private final CacheInvalidationChannel invalidationChannel;
+
+	private final String origin;
+
+	/** Modification counters for local entries, striped by key. */
+	private final AtomicLongArray localVersions = new AtomicLongArray(VERSION_STRIPES);
+
+	/** Locks for local writes, striped by key. */
+	private final Object[] localLocks = new Object[VERSION_STRIPES];
+
+	/** Expiration time (or 0) per local key, if expiring or bounded. */
+	@Nullable
+	private final Map<Object, Long> localEntries;
+
+	/** Local keys in insertion order, if bounded - guarded by itself. */
+	@Nullable
+	private final Map<Object, Boolean> localKeys;
+
+
+	/**
+	 * Create a new TieredCache for the given local and shared cache,
+	 * without expiration or bound for local entries.
+	 * @param localCache the local cache to serve lookups from
+	 * @param sharedCache the shared cache to fall back to
+	 */
+	public TieredCache(Cache localCache, Cache sharedCache) {
+		this(localCache, sharedCache, 0, 0, null, "");
+	}
+
+	/**
+	 * Create a new TieredCache for the given local and shared cache.
+	 * @param localCache the local cache to serve lookups from
+	 * @param sharedCache the shared cache to fall back to
+	 * @param localTimeToLive the time-to-live for local entries
+	 * (in milliseconds, or 0 for no expiration)
+	 * @param localMaximumSize the maximum number of local entries
+	 * (or 0 for no bound)
+	 * @param invalidationChannel the channel to publish invalidations to
+	 * (may be {@code null})
+	 * @param origin the identifier of this node for published invalidations
+	 */
+	public TieredCache(Cache localCache, Cache sharedCache, long localTimeToLive, int localMaximumSize,
+			@Nullable CacheInvalidationChannel invalidationChannel, String origin) {
+
+		Assert.notNull(localCache, "Local Cache must not be null");
+		Assert.notNull(sharedCache, "Shared Cache must not be null");
+		Assert.notNull(origin, "Origin must not be null");
+		this.localCache = localCache;
+		this.sharedCache = sharedCache;
+		this.localTimeToLive = localTimeToLive;
+		this.localMaximumSize = localMaximumSize;
+		this.invalidationChannel = invalidationChannel;
+		this.origin = origin;
+		for (int i = 0; i < VERSION_STRIPES; i++) {
+			this.localLocks[i] = new Object();
+		}
+		this.localEntries = (localTimeToLive > 0 || localMaximumSize > 0 ? new ConcurrentHashMap<>() : null);
+		this.localKeys = (localMaximumSize > 0 ? new LinkedHashMap<>() : null);
+	}
+
+
+	/**
+	 * Return the local cache that this cache serves lookups from.
+	 */
+	public final Cache getLocalCache() {
+		return this.localCache;
+	}
+
+	/**
+	 * Return the shared cache that this cache falls back to.
+	 */
+	public final Cache getSharedCache() {
+		return this.sharedCache;
+	}
+
+	@Override
+	public String getName() {
+		return this.sharedCache.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return this.sharedCache.getNativeCache();
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper get(Object key) {
+		ValueWrapper wrapper = lookupLocal(key);
+		if (wrapper == null) {
+			long version = localVersion(key);
+			wrapper = this.sharedCache.get(key);
+			if (wrapper != null) {
+				populateLocal(key, wrapper.get(), version);
+			}
+		}
+		return wrapper;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T get(Object key, @Nullable Class<T> type) {
+		ValueWrapper wrapper = get(key);
+		Object value = (wrapper != null ? wrapper.get() : null);
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException(
+					"Cached value is not of required type [" + type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		ValueWrapper wrapper = lookupLocal(key);
+		if (wrapper != null) {
+			return (T) wrapper.get();
+		}
+		long version = localVersion(key);
+		T value = this.sharedCache.get(key, valueLoader);
+		populateLocal(key, value, version);
+		return value;
+	}
+
+	@Override
+	public CompletableFuture<ValueWrapper> retrieve(Object key) {
+		ValueWrapper wrapper = lookupLocal(key);
+		if (wrapper != null) {
+			return CompletableFuture.completedFuture(wrapper);
+		}
+		long version = localVersion(key);
+		return this.sharedCache.retrieve(key).thenApply(sharedWrapper -> {
+			if (sharedWrapper != null) {
+				populateLocal(key, sharedWrapper.get(), version);
+			}
+			return sharedWrapper;
+		});
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		ValueWrapper wrapper = lookupLocal(key);
+		if (wrapper != null) {
+			return CompletableFuture.completedFuture((T) wrapper.get());
+		}
+		long version = localVersion(key);
+		return this.sharedCache.retrieve(key, valueLoader).thenApply(value -> {
+			populateLocal(key, value, version);
+			return value;
+		});
+	}
+
+	@Override
+	public Map<Object, Object> getAll(Collection<?> keys) {
+		Map<Object, Object> localValues = new LinkedHashMap<>(keys.size());
+		Map<Object, Long> missingKeys = new LinkedHashMap<>(keys.size());
+		for (Object key : keys) {
+			ValueWrapper wrapper = lookupLocal(key);
+			if (wrapper != null) {
+				localValues.put(key, wrapper.get());
+			}
+			else {
+				missingKeys.put(key, localVersion(key));
+			}
+		}
+		if (missingKeys.isEmpty()) {
+			return localValues;
+		}
+		Map<Object, Object> sharedValues = this.sharedCache.getAll(missingKeys.keySet());
+		sharedValues.forEach((key, value) -> {
+			Long version = missingKeys.get(key);
+			if (version != null) {
+				populateLocal(key, value, version);
+			}
+		});
+		Map<Object, Object> result = new LinkedHashMap<>(keys.size());
+		for (Object key : keys) {
+			if (localValues.containsKey(key)) {
+				result.put(key, localValues.get(key));
+			}
+			else if (sharedValues.containsKey(key)) {
+				result.put(key, sharedValues.get(key));
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		this.sharedCache.put(key, value);
+		writeLocal(key, value);
+		publishInvalidation(key);
+	}
+
+	@Override
+	public void putAll(Map<?, ?> entries) {
+		this.sharedCache.putAll(entries);
+		entries.forEach((key, value) -> {
+			writeLocal(key, value);
+			publishInvalidation(key);
+		});
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		ValueWrapper existingValue = this.sharedCache.putIfAbsent(key, value);
+		writeLocal(key, (existingValue != null ? existingValue.get() : value));
+		if (existingValue == null) {
+			publishInvalidation(key);
+		}
+		return existingValue;
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.sharedCache.evict(key);
+		evictLocal(key);
+		publishInvalidation(key);
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		boolean present = this.sharedCache.evictIfPresent(key);
+		evictLocal(key);
+		publishInvalidation(key);
+		return present;
+	}
+
+	@Override
+	public void clear() {
+		this.sharedCache.clear();
+		clearLocal();
+		publishInvalidation(null);
+	}
+
+	@Override
+	public boolean invalidate() {
+		boolean notEmpty = this.sharedCache.invalidate();
+		clearLocal();
+		publishInvalidation(null);
+		return notEmpty;
+	}
+
+	@Override
+	public void recordLoad(long loadTime, boolean success) {
+		this.sharedCache.recordLoad(loadTime, success);
+	}
+
+
+	/**
+	 * Remove the local copy for the given key, leaving the shared cache as-is.
+	 * Typically called for an invalidation received from another node.
+	 * @param key the key to evict locally
+	 */
+	public void evictLocal(Object key) {
+		int stripe = stripe(key);
+		synchronized (this.localLocks[stripe]) {
+			this.localVersions.incrementAndGet(stripe);
+			removeLocal(key);
+		}
+	}
+
+	/**
+	 * Remove all local copies, leaving the shared cache as-is.
+	 * Typically called for an invalidation received from another node.
+	 */
+	public void clearLocal() {
+		for (int stripe = 0; stripe < VERSION_STRIPES; stripe++) {
+			synchronized (this.localLocks[stripe]) {
+				this.localVersions.incrementAndGet(stripe);
+			}
+		}
+		this.localCache.clear();
+		if (this.localEntries != null) {
+			this.localEntries.clear();
+		}
+		if (this.localKeys != null) {
+			synchronized (this.localKeys) {
+				this.localKeys.clear();
+			}
+		}
+	}
+
+	@Nullable
+	private ValueWrapper lookupLocal(Object key) {
+		ValueWrapper wrapper = this.localCache.get(key);
+		if (wrapper != null && this.localEntries != null) {
+			Long expirationTime = this.localEntries.get(key);
+			if (expirationTime == null) {
+				// Not stored through this cache (anymore)
+				return null;
+			}
+			if (expirationTime > 0 && System.currentTimeMillis() >= expirationTime) {
+				evictLocal(key);
+				return null;
+			}
+		}
+		return wrapper;
+	}
+
+	private int stripe(Object key) {
+		int hash = key.hashCode();
+		return ((hash ^ (hash >>> 16)) & (VERSION_STRIPES - 1));
+	}
+
+	private long localVersion(Object key) {
+		return this.localVersions.get(stripe(key));
+	}
+
+	/**
+	 * Store a value read from the shared tier locally, unless the local entry
+	 * has been written or invalidated since the given version was obtained.
+	 */
+	private void populateLocal(Object key, @Nullable Object value, long version) {
+		int stripe = stripe(key);
+		synchronized (this.localLocks[stripe]) {
+			if (this.localVersions.get(stripe) != version) {
+				return;
+			}
+			storeLocal(key, value);
+		}
+		trimLocal();
+	}
+
+	/**
+	 * Store a value written through this cache locally.
+	 */
+	private void writeLocal(Object key, @Nullable Object value) {
+		int stripe = stripe(key);
+		synchronized (this.localLocks[stripe]) {
+			this.localVersions.incrementAndGet(stripe);
+			storeLocal(key, value);
+		}
+		trimLocal();
+	}
+
+	private void storeLocal(Object key, @Nullable Object value) {
+		if (value == null) {
+			// The local cache might not accept null values: serve them from the shared tier
+			removeLocal(key);
+			return;
+		}
+		if (this.localEntries != null) {
+			long expirationTime = (this.localTimeToLive > 0 ? System.currentTimeMillis() + this.localTimeToLive : 0);
+			this.localEntries.put(key, expirationTime);
+		}
+		this.localCache.put(key, value);
+		if (this.localKeys != null) {
+			synchronized (this.localKeys) {
+				this.localKeys.remove(key);
+				this.localKeys.put(key, Boolean.TRUE);
+			}
+		}
+	}
+
+	/**
+	 * Evict the oldest local entries beyond the maximum size, if bounded.
+	 * Each entry is evicted through {@link #evictLocal}, i.e. under the lock
+	 * of its stripe and invalidating concurrent reads for it. To be called
+	 * without holding any stripe lock.
+	 */
+	private void trimLocal() {
+		if (this.localKeys == null) {
+			return;
+		}
+		while (true) {
+			Object eldestKey;
+			synchronized (this.localKeys) {
+				if (this.localKeys.size() <= this.localMaximumSize) {
+					return;
+				}
+				eldestKey = this.localKeys.keySet().iterator().next();
+			}
+			evictLocal(eldestKey);
+		}
+	}
+
+	private void removeLocal(Object key) {
+		this.localCache.evict(key);
+		if (this.localEntries != null) {
+			this.localEntries.remove(key);
+		}
+		if (this.localKeys != null) {
+			synchronized (this.localKeys) {
+				this.localKeys.remove(key);
+			}
+		}
+	}
+
+	private void publishInvalidation(@Nullable Object key) {
+		if (this.invalidationChannel != null) {
+			this.invalidationChannel.publish(this.origin, getName(), key);
+		}
+	}
+
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cache.support;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CacheManager} implementation which layers the caches of a local
+ * {@link CacheManager} (e.g. a {@code ConcurrentMapCacheManager} or a
+ * {@code CaffeineCacheManager}) in front of the caches of a shared
+ * {@link CacheManager}, exposing a {@link TieredCache} for each cache name.
+ *
+ * <p>In contrast to {@link CompositeCacheManager}, which falls through its
+ * delegates by cache name, this manager combines both tiers for the same name:
+ * lookups are read through the local tier, and puts and evictions are written
+ * through to the shared tier. Local entries may be bounded in number and expire
+ * after a time-to-live; with several nodes sharing the same caches, configure a
+ * {@link CacheInvalidationChannel} for keeping local copies coherent.
+ *
+ * <p>The cache names are determined by the shared {@link CacheManager}. If the
+ * local {@link CacheManager} does not provide a cache for a given name, the
+ * shared cache is exposed as-is.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see TieredCache
+ * @see SimpleCacheInvalidationChannel
+ */
+public class TieredCacheManager implements CacheManager {
+
+	/**
+	 * The default maximum number of local entries per cache: 10000.
+	 */
+	public static final int DEFAULT_LOCAL_MAXIMUM_SIZE = 10000;
+
+
+	private final CacheManager localCacheManager;
+
+	private final CacheManager sharedCacheManager;
+
+	private final ConcurrentMap<String, Cache> cacheMap = new ConcurrentHashMap<>(16);
+
+	private long localTimeToLive = 0;
+
+	private int localMaximumSize = DEFAULT_LOCAL_MAXIMUM_SIZE;
+
+	@Nullable
+	private CacheInvalidationChannel invalidationChannel;
+
+	private final String origin = UUID.randomUUID().toString();
+
+	private final CacheInvalidationChannel.Listener invalidationListener = this::handleInvalidation;
+
+
+	/**
+	 * Create a new TieredCacheManager for the given local and shared CacheManager.
+	 * @param localCacheManager the CacheManager for the local tier
+	 * @param sharedCacheManager the CacheManager for the shared tier
+	 */
+	public TieredCacheManager(CacheManager localCacheManager, CacheManager sharedCacheManager) {
+		Assert.notNull(localCacheManager, "Local CacheManager must not be null");
+		Assert.notNull(sharedCacheManager, "Shared CacheManager must not be null");
+		this.localCacheManager = localCacheManager;
+		this.sharedCacheManager = sharedCacheManager;
+	}
+
+
+	/**
+	 * Specify the time-to-live for local entries, in milliseconds.
+	 * <p>Default is 0, not expiring local entries (other than through an
+	 * invalidation or the native policy of the local cache).
+	 */
+	public void setLocalTimeToLive(long localTimeToLive) {
+		this.localTimeToLive = localTimeToLive;
+		resetCaches();
+	}
+
+	/**
+	 * Return the time-to-live for local entries, in milliseconds.
+	 */
+	public long getLocalTimeToLive() {
+		return this.localTimeToLive;
+	}
+
+	/**
+	 * Specify the maximum number of local entries per cache, with the oldest
+	 * entries being evicted from the local tier first.
+	 * <p>Default is {@link #DEFAULT_LOCAL_MAXIMUM_SIZE}. Set this to 0 for no
+	 * bound, e.g. when relying on the native policy of the local cache.
+	 */
+	public void setLocalMaximumSize(int localMaximumSize) {
+		this.localMaximumSize = localMaximumSize;
+		resetCaches();
+	}
+
+	/**
+	 * Return the maximum number of local entries per cache.
+	 */
+	public int getLocalMaximumSize() {
+		return this.localMaximumSize;
+	}
+
+	/**
+	 * Specify a channel for propagating invalidations between nodes,
+	 * subscribing this manager for invalidations published by other nodes.
+	 * <p>A previously specified channel gets unsubscribed from.
+	 */
+	public void setInvalidationChannel(CacheInvalidationChannel invalidationChannel) {
+		Assert.notNull(invalidationChannel, "CacheInvalidationChannel must not be null");
+		CacheInvalidationChannel previousChannel = this.invalidationChannel;
+		if (previousChannel == invalidationChannel) {
+			return;
+		}
+		if (previousChannel != null) {
+			previousChannel.unsubscribe(this.invalidationListener);
+		}
+		this.invalidationChannel = invalidationChannel;
+		resetCaches();
+		invalidationChannel.subscribe(this.invalidationListener);
+	}
+
+	/**
+	 * Return the channel for propagating invalidations between nodes, if any.
+	 */
+	@Nullable
+	public CacheInvalidationChannel getInvalidationChannel() {
+		return this.invalidationChannel;
+	}
+
+	/**
+	 * Return the identifier of this manager for published invalidations.
+	 */
+	public String getOrigin() {
+		return this.origin;
+	}
+
+
+	@Override
+	@Nullable
+	public Cache getCache(String name) {
+		Cache cache = this.cacheMap.get(name);
+		if (cache == null) {
+			Cache sharedCache = this.sharedCacheManager.getCache(name);
+			if (sharedCache == null) {
+				return null;
+			}
+			Cache localCache = this.localCacheManager.getCache(name);
+			Cache newCache = (localCache != null ? new TieredCache(localCache, sharedCache,
+					this.localTimeToLive, this.localMaximumSize, this.invalidationChannel, this.origin) : sharedCache);
+			cache = this.cacheMap.putIfAbsent(name, newCache);
+			if (cache == null) {
+				cache = newCache;
+			}
+		}
+		return cache;
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return this.sharedCacheManager.getCacheNames();
+	}
+
+	/**
+	 * Drop the caches created so far, for them to be recreated with the current
+	 * settings. Their local copies are removed, so that no local entries remain
+	 * which are not covered by the expiration and bound of the new caches.
+	 */
+	private void resetCaches() {
+		for (Cache cache : this.cacheMap.values()) {
+			if (cache instanceof TieredCache) {
+				((TieredCache) cache).clearLocal();
+			}
+		}
+		this.cacheMap.clear();
+	}
+
+	/**
+	 * Drop local copies for an invalidation published by another node.
+	 */
+	private void handleInvalidation(String origin, String cacheName, @Nullable Object key) {
+		if (this.origin.equals(origin)) {
+			return;
+		}
+		Cache cache = this.cacheMap.get(cacheName);
+		if (cache instanceof TieredCache) {
+			if (key != null) {
+				((TieredCache) cache).evictLocal(key);
+			}
+			else {
+				((TieredCache) cache).clearLocal();
+			}
+		}
+	}
+
+}
@@ -42,11 +42,12 @@ import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.invoke.MethodInvoker;
+import org.springframework.core.invoke.MethodInvokers;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ObjectUtils;
-import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.util.concurrent.ListenableFuture;
 
@@ -79,6 +80,8 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 
 	private final Method targetMethod;
 
+	private final MethodInvoker methodInvoker;
+
 	private final AnnotatedElementKey methodKey;
 
 	private final List<ResolvableType> declaredEventTypes;
@@ -101,6 +104,7 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		this.targetMethod = (!Proxy.isProxyClass(targetClass) ?
 				AopUtils.getMostSpecificMethod(method, targetClass) : this.method);
 		this.methodKey = new AnnotatedElementKey(this.targetMethod, targetClass);
+		this.methodInvoker = MethodInvokers.forMethod(this.method);
 
 		EventListener ann = AnnotatedElementUtils.findMergedAnnotation(this.targetMethod, EventListener.class);
 		this.declaredEventTypes = resolveDeclaredEventTypes(method, ann);
@@ -130,7 +134,13 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 			throw new IllegalStateException(
 					"Event parameter is mandatory for event listener method: " + method);
 		}
-		return Collections.singletonList(ResolvableType.forMethodParameter(method, 0));
+		ResolvableType parameterType = ResolvableType.forMethodParameter(method, 0);
+		if (AnnotatedElementUtils.hasAnnotation(method, BatchEventListener.class) &&
+				Collection.class.isAssignableFrom(parameterType.toClass())) {
+			// Batch of events: the declared event type is the element type
+			parameterType = parameterType.asCollection().getGeneric();
+		}
+		return Collections.singletonList(parameterType);
 	}
 
 	private static int resolveOrder(Method method) {
@@ -276,7 +286,7 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		logger.error("Unexpected error occurred in asynchronous listener", t);
 	}
 
-	private boolean shouldHandle(ApplicationEvent event, @Nullable Object[] args) {
+	boolean shouldHandle(ApplicationEvent event, @Nullable Object[] args) {
 		if (args == null) {
 			return false;
 		}
@@ -289,15 +299,25 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		return true;
 	}
 
+	/**
+	 * Evaluate the given SpEL expression against the specified event and
+	 * resolved arguments, in the same context as the {@code condition}.
+	 */
+	@Nullable
+	Object evaluateKey(String keyExpression, ApplicationEvent event, Object[] args) {
+		Assert.notNull(this.evaluator, "EventExpressionEvaluator must not be null");
+		return this.evaluator.key(
+				keyExpression, event, this.targetMethod, this.methodKey, args, this.applicationContext);
+	}
+
 	/**
 	 * Invoke the event listener method with the given argument values.
 	 */
 	@Nullable
 	protected Object doInvoke(Object... args) {
 		Object bean = getTargetBean();
-		ReflectionUtils.makeAccessible(this.method);
 		try {
-			return this.method.invoke(bean, args);
+			return this.methodInvoker.invoke(bean, args);
 		}
 		catch (IllegalArgumentException ex) {
 			assertTargetBean(this.method, bean, args);
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link GenericApplicationListener} adapter that delegates the processing of
+ * batches of events to a {@link BatchEventListener} annotated method.
+ *
+ * <p>Each matching event is checked against the listener's condition and then
+ * buffered; the underlying method is invoked with a {@code List} of events once
+ * the batch is full or its maximum delay has elapsed. Batches are delivered one
+ * at a time and in order, no matter whether triggered by a publisher or by the
+ * flush timer of this listener. Exceptions thrown by the listener method are
+ * passed to {@link #handleAsyncError} instead of the publisher that happened to
+ * complete the batch.
+ *
+ * <p>The flush timer is started on demand, lets its thread expire when there
+ * is nothing to flush, and is shut down when the listener gets closed along
+ * with its application context. A slow listener method therefore only delays
+ * its own timed-out batches.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see BatchEventListener
+ */
+class ApplicationListenerMethodBatchAdapter extends ApplicationListenerMethodAdapter {
+
+	private static final long FLUSH_TIMER_KEEP_ALIVE_SECONDS = 60;
+
+	private final Method method;
+
+	private final int maxBatchSize;
+
+	private final long maxDelay;
+
+	@Nullable
+	private final String coalesceKey;
+
+	private final List<Object> pendingEvents = new ArrayList<>();
+
+	private final Map<Object, Object> pendingEventsByKey = new LinkedHashMap<>();
+
+	/** Guards delivery of batches: held while draining and invoking. */
+	private final Object deliveryMonitor = new Object();
+
+	@Nullable
+	private ScheduledThreadPoolExecutor flushTimer;
+
+	@Nullable
+	private ScheduledFuture<?> scheduledFlush;
+
+	private boolean closed;
+
+	@Nullable
+	private ApplicationContext applicationContext;
+
+
+	public ApplicationListenerMethodBatchAdapter(String beanName, Class<?> targetClass, Method method) {
+		super(beanName, targetClass, method);
+		BatchEventListener ann = AnnotatedElementUtils.findMergedAnnotation(method, BatchEventListener.class);
+		if (ann == null) {
+			throw new IllegalStateException("No BatchEventListener annotation found on method: " + method);
+		}
+		if (method.getParameterCount() != 1 || !List.class.isAssignableFrom(method.getParameterTypes()[0])) {
+			throw new IllegalStateException(
+					"Batch event listener method must declare a single List parameter: " + method);
+		}
+		if (ann.maxBatchSize() <= 0 || ann.maxDelay() <= 0) {
+			throw new IllegalStateException(
+					"'maxBatchSize' and 'maxDelay' must be positive for batch event listener method: " + method);
+		}
+		this.method = method;
+		this.maxBatchSize = ann.maxBatchSize();
+		this.maxDelay = ann.maxDelay();
+		this.coalesceKey = (StringUtils.hasText(ann.coalesceKey()) ? ann.coalesceKey() : null);
+	}
+
+
+	@Override
+	void init(ApplicationContext applicationContext, EventExpressionEvaluator evaluator) {
+		super.init(applicationContext, evaluator);
+		this.applicationContext = applicationContext;
+	}
+
+	@Override
+	public boolean supportsEventType(ResolvableType eventType) {
+		// Always interested in ContextClosedEvent, for flushing pending events
+		return (super.supportsEventType(eventType) ||
+				ContextClosedEvent.class.isAssignableFrom(eventType.toClass()));
+	}
+
+	@Override
+	public void onApplicationEvent(ApplicationEvent event) {
+		processEvent(event);
+		if (event instanceof ContextClosedEvent &&
+				((ContextClosedEvent) event).getApplicationContext() == this.applicationContext) {
+			close();
+		}
+	}
+
+	/**
+	 * Add the specified {@link ApplicationEvent} to the current batch, if the
+	 * condition matches, delivering the batch right away if it is full.
+	 * <p>Events arriving after {@link #close()} are ignored.
+	 */
+	@Override
+	public void processEvent(ApplicationEvent event) {
+		Object[] args = resolveArguments(event);
+		if (!shouldHandle(event, args)) {
+			return;
+		}
+		Object element = args[0];
+		Object key = (this.coalesceKey != null ? evaluateKey(this.coalesceKey, event, args) : null);
+
+		boolean full;
+		synchronized (this.pendingEvents) {
+			if (this.closed) {
+				if (logger.isWarnEnabled()) {
+					logger.warn("Ignoring event for closed batch listener method " + this.method + ": " + event);
+				}
+				return;
+			}
+			if (this.coalesceKey != null) {
+				this.pendingEventsByKey.put(key, element);
+			}
+			else {
+				this.pendingEvents.add(element);
+			}
+			full = (pendingCount() >= this.maxBatchSize);
+			if (!full && this.scheduledFlush == null) {
+				scheduleFlush();
+			}
+		}
+		if (full) {
+			deliver(false);
+		}
+	}
+
+	/**
+	 * Deliver all currently pending events, if any, in the calling thread.
+	 */
+	public void flush() {
+		deliver(true);
+	}
+
+	/**
+	 * Flush all pending events, reject any further events and shut down
+	 * the flush timer.
+	 */
+	public void close() {
+		ScheduledThreadPoolExecutor flushTimer;
+		synchronized (this.pendingEvents) {
+			this.closed = true;
+			flushTimer = this.flushTimer;
+			this.flushTimer = null;
+		}
+		flush();
+		if (flushTimer != null) {
+			// Lets a timed flush in progress complete, cancelling any scheduled one
+			flushTimer.shutdown();
+		}
+	}
+
+	/**
+	 * Deliver pending events in batches of at most {@code maxBatchSize},
+	 * serialized through the delivery monitor so that batches never overlap.
+	 * @param all whether to deliver all pending events, or full batches only
+	 */
+	private void deliver(boolean all) {
+		synchronized (this.deliveryMonitor) {
+			while (true) {
+				List<Object> batch;
+				synchronized (this.pendingEvents) {
+					int count = pendingCount();
+					if (count == 0 || (!all && count < this.maxBatchSize)) {
+						return;
+					}
+					batch = drainPendingEvents();
+				}
+				invokeBatch(batch);
+			}
+		}
+	}
+
+	private void invokeBatch(List<Object> batch) {
+		try {
+			Object result = doInvoke(batch);
+			if (result != null) {
+				handleResult(result);
+			}
+			else {
+				logger.trace("No result object given - no result to handle");
+			}
+		}
+		catch (Throwable ex) {
+			handleAsyncError(ex);
+		}
+	}
+
+	private int pendingCount() {
+		return (this.coalesceKey != null ? this.pendingEventsByKey.size() : this.pendingEvents.size());
+	}
+
+	private List<Object> drainPendingEvents() {
+		List<Object> batch = new ArrayList<>(Math.min(pendingCount(), this.maxBatchSize));
+		Iterator<Object> it = (this.coalesceKey != null ?
+				this.pendingEventsByKey.values().iterator() : this.pendingEvents.iterator());
+		while (it.hasNext() && batch.size() < this.maxBatchSize) {
+			batch.add(it.next());
+			it.remove();
+		}
+		if (pendingCount() == 0) {
+			if (this.scheduledFlush != null) {
+				this.scheduledFlush.cancel(false);
+				this.scheduledFlush = null;
+			}
+		}
+		else if (this.scheduledFlush == null && !this.closed) {
+			scheduleFlush();
+		}
+		return batch;
+	}
+
+	private void scheduleFlush() {
+		// Called with the pending events monitor held
+		if (this.flushTimer == null) {
+			this.flushTimer = createFlushTimer();
+		}
+		this.scheduledFlush = this.flushTimer.schedule(this::timedFlush, this.maxDelay, TimeUnit.MILLISECONDS);
+	}
+
+	private ScheduledThreadPoolExecutor createFlushTimer() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("batch-event-listener-");
+		threadFactory.setDaemon(true);
+		ScheduledThreadPoolExecutor flushTimer = new ScheduledThreadPoolExecutor(1, threadFactory);
+		flushTimer.setKeepAliveTime(FLUSH_TIMER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+		flushTimer.allowCoreThreadTimeOut(true);
+		flushTimer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+		flushTimer.setRemoveOnCancelPolicy(true);
+		return flushTimer;
+	}
+
+	private void timedFlush() {
+		synchronized (this.pendingEvents) {
+			this.scheduledFlush = null;
+		}
+		flush();
+	}
+
+}
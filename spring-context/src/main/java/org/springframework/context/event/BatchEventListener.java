@@ -0,0 +1,109 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.core.annotation.AliasFor;
+
+/**
+ * An {@link EventListener} that receives its events in batches rather than
+ * one at a time. The annotated method must declare a single {@link java.util.List}
+ * parameter whose element type is the event (or payload) type to listen to.
+ *
+ * <p>Matching events are buffered per listener method and delivered once
+ * {@link #maxBatchSize} events have been collected or {@link #maxDelay}
+ * milliseconds have elapsed since the first buffered event, whichever comes
+ * first. A full batch is delivered in the thread of the publisher that completed
+ * it; a timed-out batch is delivered by a background timer thread of the listener
+ * method, which is released when idle. Batches of the same listener method are
+ * delivered one at a time, in order. Pending events are flushed and the timer is
+ * shut down when the application context is closed, and any events arriving
+ * afterwards are ignored.
+ *
+ * <p>Since a batch is not tied to a specific publisher, exceptions thrown from
+ * the annotated method are not propagated to the publisher but logged, just
+ * like for asynchronous listeners.
+ *
+ * <p>With a {@link #coalesceKey} expression specified, events with the same key
+ * replace each other within a batch, so that only the most recent event per key
+ * gets delivered.
+ *
+ * <p>Listeners doing I/O may use this variant to amortize the cost of each
+ * invocation across many events.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see ApplicationListenerMethodBatchAdapter
+ */
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@EventListener
+public @interface BatchEventListener {
+
+	/**
+	 * Alias for {@link #classes}.
+	 */
+	@AliasFor(annotation = EventListener.class, attribute = "classes")
+	Class<?>[] value() default {};
+
+	/**
+	 * The event classes that this listener handles.
+	 * <p>If not specified, the event type is inferred from the element type
+	 * of the {@code List} parameter of the annotated method.
+	 */
+	@AliasFor(annotation = EventListener.class, attribute = "classes")
+	Class<?>[] classes() default {};
+
+	/**
+	 * Spring Expression Language (SpEL) attribute used for making the event
+	 * handling conditional, evaluated for each individual event before it
+	 * gets added to a batch.
+	 * <p>The default is {@code ""}, meaning the event is always handled.
+	 * @see EventListener#condition
+	 */
+	String condition() default "";
+
+	/**
+	 * The maximum number of events to deliver in a single batch.
+	 * <p>The default is 100.
+	 */
+	int maxBatchSize() default 100;
+
+	/**
+	 * The maximum time (in milliseconds) that an event may wait in a batch
+	 * before the batch gets delivered, even if not full yet.
+	 * <p>The default is 100 milliseconds.
+	 */
+	long maxDelay() default 100;
+
+	/**
+	 * Spring Expression Language (SpEL) attribute for computing a key per event,
+	 * with events of the same key being coalesced: a later event replaces an
+	 * earlier one with an equal key that is still pending in the current batch.
+	 * <p>The expression is evaluated against the same context as the
+	 * {@link #condition}, e.g. {@code "#root.args[0].id"}.
+	 * <p>The default is {@code ""}, meaning that all events are delivered.
+	 */
+	String coalesceKey() default "";
+
+}
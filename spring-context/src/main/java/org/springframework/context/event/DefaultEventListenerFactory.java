@@ -20,12 +20,14 @@ import java.lang.reflect.Method;
 
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 
 /**
  * Default {@link EventListenerFactory} implementation that supports the
  * regular {@link EventListener} annotation.
  *
- * <p>Used as "catch-all" implementation by default.
+ * <p>Used as "catch-all" implementation by default. Methods annotated with
+ * {@link BatchEventListener} get adapted to a batching listener.
  *
  * @author Stephane Nicoll
  * @since 4.2
@@ -52,6 +54,9 @@ public class DefaultEventListenerFactory implements EventListenerFactory, Ordere
 
 	@Override
 	public ApplicationListener<?> createApplicationListener(String beanName, Class<?> type, Method method) {
+		if (AnnotatedElementUtils.hasAnnotation(method, BatchEventListener.class)) {
+			return new ApplicationListenerMethodBatchAdapter(beanName, type, method);
+		}
 		return new ApplicationListenerMethodAdapter(beanName, type, method);
 	}
 
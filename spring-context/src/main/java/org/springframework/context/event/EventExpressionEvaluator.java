@@ -41,6 +41,8 @@ class EventExpressionEvaluator extends CachedExpressionEvaluator {
 
 	private final Map<ExpressionKey, Expression> conditionCache = new ConcurrentHashMap<>(64);
 
+	private final Map<ExpressionKey, Expression> keyCache = new ConcurrentHashMap<>(64);
+
 
 	/**
 	 * Determine if the condition defined by the specified expression evaluates
@@ -49,15 +51,35 @@ class EventExpressionEvaluator extends CachedExpressionEvaluator {
 	public boolean condition(String conditionExpression, ApplicationEvent event, Method targetMethod,
 			AnnotatedElementKey methodKey, Object[] args, @Nullable BeanFactory beanFactory) {
 
+		MethodBasedEvaluationContext evaluationContext =
+				createEvaluationContext(event, targetMethod, args, beanFactory);
+		return (Boolean.TRUE.equals(getExpression(this.conditionCache, methodKey, conditionExpression).getValue(
+				evaluationContext, Boolean.class)));
+	}
+
+	/**
+	 * Evaluate the specified key expression, e.g. for coalescing events.
+	 * @since 5.2
+	 */
+	@Nullable
+	public Object key(String keyExpression, ApplicationEvent event, Method targetMethod,
+			AnnotatedElementKey methodKey, Object[] args, @Nullable BeanFactory beanFactory) {
+
+		MethodBasedEvaluationContext evaluationContext =
+				createEvaluationContext(event, targetMethod, args, beanFactory);
+		return getExpression(this.keyCache, methodKey, keyExpression).getValue(evaluationContext);
+	}
+
+	private MethodBasedEvaluationContext createEvaluationContext(ApplicationEvent event, Method targetMethod,
+			Object[] args, @Nullable BeanFactory beanFactory) {
+
 		EventExpressionRootObject root = new EventExpressionRootObject(event, args);
 		MethodBasedEvaluationContext evaluationContext = new MethodBasedEvaluationContext(
 				root, targetMethod, args, getParameterNameDiscoverer());
 		if (beanFactory != null) {
 			evaluationContext.setBeanResolver(new BeanFactoryResolver(beanFactory));
 		}
-
-		return (Boolean.TRUE.equals(getExpression(this.conditionCache, methodKey, conditionExpression).getValue(
-				evaluationContext, Boolean.class)));
+		return evaluationContext;
 	}
 
 }
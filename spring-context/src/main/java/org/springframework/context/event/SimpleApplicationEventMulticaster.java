@@ -16,7 +16,12 @@
 
 package org.springframework.context.event;
 
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -25,7 +30,9 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.ErrorHandler;
 
 /**
@@ -40,6 +47,9 @@ import org.springframework.util.ErrorHandler;
  * This allows the danger of a rogue listener blocking the entire application,
  * but adds minimal overhead. Specify an alternative task executor to have
  * listeners executed in different threads, for example from a thread pool.
+ * With a {@linkplain #setListenerQueueCapacity listener queue capacity} specified
+ * in addition, asynchronous delivery happens through a bounded queue per listener,
+ * preserving the publication order of events for each individual listener.
  *
  * @author Rod Johnson
  * @author Juergen Hoeller
@@ -54,6 +64,12 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 	@Nullable
 	private ErrorHandler errorHandler;
 
+	private int listenerQueueCapacity = 0;
+
+	private long listenerQueueTimeout = 5000;
+
+	final Map<ListenerKey, ListenerQueue> listenerQueues = new ConcurrentHashMap<>(64);
+
 
 	/**
 	 * Create a new SimpleApplicationEventMulticaster.
@@ -122,6 +138,60 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 	}
 
 
+	/**
+	 * Set the capacity of the queue to keep for each listener when delivering
+	 * events asynchronously through a {@linkplain #setTaskExecutor task executor}.
+	 * <p>Default is 0, submitting every single listener invocation as a separate
+	 * task to the executor, without any ordering guarantees. A positive capacity
+	 * makes this multicaster buffer events per listener instance and drain each
+	 * buffer with at most one executor task at a time, so that every listener
+	 * receives its events in publication order. A buffer is discarded once it
+	 * has been fully drained, so no state is retained for idle listeners.
+	 * <p>A publisher waits up to the {@linkplain #setListenerQueueTimeout queue
+	 * timeout} once the queue for one of the target listeners is full.
+	 * @since 5.2
+	 * @see #setTaskExecutor
+	 * @see #setListenerQueueTimeout
+	 */
+	public void setListenerQueueCapacity(int listenerQueueCapacity) {
+		Assert.isTrue(listenerQueueCapacity >= 0, "Listener queue capacity must not be negative");
+		this.listenerQueueCapacity = listenerQueueCapacity;
+	}
+
+	/**
+	 * Return the capacity of the queue kept for each listener.
+	 * @since 5.2
+	 */
+	public int getListenerQueueCapacity() {
+		return this.listenerQueueCapacity;
+	}
+
+	/**
+	 * Set the maximum time (in milliseconds) that a publisher waits for space
+	 * in a full listener queue before the event gets rejected with a
+	 * {@link TaskRejectedException}. Default is 5000 ms.
+	 * <p>An event published from within the listener that it is targeted at,
+	 * i.e. from the thread currently draining that listener's queue, never
+	 * waits but gets rejected right away if the queue is full, since that
+	 * queue cannot make progress before the current invocation returns.
+	 * @since 5.2
+	 * @see #setListenerQueueCapacity
+	 */
+	public void setListenerQueueTimeout(long listenerQueueTimeout) {
+		Assert.isTrue(listenerQueueTimeout >= 0, "Listener queue timeout must not be negative");
+		this.listenerQueueTimeout = listenerQueueTimeout;
+	}
+
+	/**
+	 * Return the maximum time (in milliseconds) that a publisher waits for
+	 * space in a full listener queue.
+	 * @since 5.2
+	 */
+	public long getListenerQueueTimeout() {
+		return this.listenerQueueTimeout;
+	}
+
+
 	@Override
 	public void multicastEvent(ApplicationEvent event) {
 		multicastEvent(event, resolveDefaultEventType(event));
@@ -133,7 +203,12 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		Executor executor = getTaskExecutor();
 		for (ApplicationListener<?> listener : getApplicationListeners(event, type)) {
 			if (executor != null) {
-				executor.execute(() -> invokeListener(listener, event));
+				if (this.listenerQueueCapacity > 0) {
+					enqueueEvent(listener, event, executor);
+				}
+				else {
+					executor.execute(() -> invokeListener(listener, event));
+				}
 			}
 			else {
 				invokeListener(listener, event);
@@ -145,6 +220,16 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		return ResolvableType.forInstance(event);
 	}
 
+	private void enqueueEvent(ApplicationListener<?> listener, ApplicationEvent event, Executor executor) {
+		ListenerKey key = new ListenerKey(listener);
+		ListenerQueue queue;
+		do {
+			// A retired queue has been drained and removed: retry with a fresh one
+			queue = this.listenerQueues.computeIfAbsent(key, k -> new ListenerQueue(k, executor));
+		}
+		while (!queue.enqueue(event));
+	}
+
 	/**
 	 * Invoke the given listener with the given event.
 	 * @param listener the ApplicationListener to invoke
@@ -205,4 +290,176 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		return false;
 	}
 
+
+	/**
+	 * Key for a listener queue, based on the identity of the listener instance.
+	 */
+	static final class ListenerKey {
+
+		private final ApplicationListener<?> listener;
+
+		ListenerKey(ApplicationListener<?> listener) {
+			this.listener = listener;
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			return (this == other || (other instanceof ListenerKey && this.listener == ((ListenerKey) other).listener));
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(this.listener);
+		}
+	}
+
+
+	/**
+	 * Bounded queue of pending events for a specific listener, drained
+	 * by at most one executor task at any given time.
+	 * <p>Once drained, a queue retires itself: it gets removed from the
+	 * multicaster and does not accept any further events, letting the next
+	 * publisher register a fresh queue. Since retirement only happens while
+	 * no drain task is active, there is never more than one queue being
+	 * drained for the same listener.
+	 */
+	private class ListenerQueue implements Runnable {
+
+		private final ListenerKey key;
+
+		private final Executor executor;
+
+		private final int capacity = getListenerQueueCapacity();
+
+		private final Queue<ApplicationEvent> events = new ArrayDeque<>();
+
+		private boolean scheduled;
+
+		private boolean retired;
+
+		@Nullable
+		private volatile Thread drainingThread;
+
+		public ListenerQueue(ListenerKey key, Executor executor) {
+			this.key = key;
+			this.executor = executor;
+		}
+
+		/**
+		 * Add the given event to this queue, waiting for space if necessary.
+		 * @return {@code true} if the event has been queued, or {@code false}
+		 * if this queue has been retired in the meantime
+		 * @throws TaskRejectedException if the queue remained full
+		 */
+		public boolean enqueue(ApplicationEvent event) {
+			boolean schedule = false;
+			synchronized (this) {
+				if (this.retired) {
+					return false;
+				}
+				if (this.events.size() >= this.capacity) {
+					awaitSpace(event);
+					if (this.retired) {
+						return false;
+					}
+				}
+				this.events.add(event);
+				if (!this.scheduled) {
+					this.scheduled = true;
+					schedule = true;
+				}
+			}
+			if (schedule) {
+				schedule();
+			}
+			return true;
+		}
+
+		private void awaitSpace(ApplicationEvent event) {
+			// Called with this queue's monitor held
+			long timeout = (this.drainingThread == Thread.currentThread() ? 0 : getListenerQueueTimeout());
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+			try {
+				while (this.events.size() >= this.capacity && !this.retired) {
+					long remaining = deadline - System.nanoTime();
+					if (remaining <= 0) {
+						throw new TaskRejectedException("Queue for listener [" + this.key.listener +
+								"] did not accept event " + event + " within " + timeout + " ms");
+					}
+					TimeUnit.NANOSECONDS.timedWait(this, remaining);
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new TaskRejectedException(
+						"Interrupted while queueing event for listener [" + this.key.listener + "]", ex);
+			}
+		}
+
+		private void schedule() {
+			try {
+				this.executor.execute(this);
+			}
+			catch (RuntimeException ex) {
+				synchronized (this) {
+					this.scheduled = false;
+					if (this.events.isEmpty()) {
+						retire();
+					}
+				}
+				throw ex;
+			}
+		}
+
+		@Override
+		public void run() {
+			this.drainingThread = Thread.currentThread();
+			try {
+				while (true) {
+					ApplicationEvent event;
+					synchronized (this) {
+						event = this.events.poll();
+						if (event == null) {
+							this.drainingThread = null;
+							this.scheduled = false;
+							retire();
+							return;
+						}
+						notifyAll();
+					}
+					invokeListener(this.key.listener, event);
+				}
+			}
+			catch (RuntimeException | Error ex) {
+				// Clear the marker before a subsequent task may start draining
+				this.drainingThread = null;
+				boolean reschedule;
+				synchronized (this) {
+					reschedule = !this.events.isEmpty();
+					if (!reschedule) {
+						this.scheduled = false;
+						retire();
+					}
+				}
+				if (reschedule) {
+					// Keep draining the remaining events in a subsequent task
+					try {
+						schedule();
+					}
+					catch (RuntimeException rescheduleEx) {
+						ex.addSuppressed(rescheduleEx);
+					}
+				}
+				throw ex;
+			}
+		}
+
+		private void retire() {
+			// Called with this queue's monitor held
+			this.retired = true;
+			listenerQueues.remove(this.key, this);
+			notifyAll();
+		}
+	}
+
 }
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics for the tasks executed by a {@link ThreadPoolTaskExecutor}:
+ * submission, completion and rejection counts, active and queued task peaks,
+ * as well as queue wait and execution times including histograms.
+ *
+ * <p>All counters are backed by {@link LongAdder} and {@link LongAccumulator}
+ * instances, keeping contention low when recording from many threads concurrently.
+ * Reads are not atomic across counters, so derived values are approximate under load.
+ *
+ * <p>Histograms count tasks per time range, with the upper bounds (in milliseconds)
+ * as returned by {@link #getHistogramBounds()} plus a final overflow bucket.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see ThreadPoolTaskExecutor#setStatisticsEnabled
+ * @see ThreadPoolTaskExecutor#getStatistics()
+ */
+public class TaskExecutionStatistics {
+
+	private static final long[] HISTOGRAM_BOUNDS = {1, 5, 10, 50, 100, 500, 1000, 5000};
+
+
+	private final LongAdder submittedCount = new LongAdder();
+
+	private final LongAdder rejectedCount = new LongAdder();
+
+	private final LongAdder startedCount = new LongAdder();
+
+	private final LongAdder completedCount = new LongAdder();
+
+	private final LongAdder failedCount = new LongAdder();
+
+	private final AtomicInteger activeCount = new AtomicInteger();
+
+	private final LongAccumulator peakActiveCount = new LongAccumulator(Math::max, 0);
+
+	private final LongAccumulator peakQueueSize = new LongAccumulator(Math::max, 0);
+
+	private final LongAdder totalQueueWaitTime = new LongAdder();
+
+	private final LongAccumulator maxQueueWaitTime = new LongAccumulator(Math::max, 0);
+
+	private final LongAdder totalExecutionTime = new LongAdder();
+
+	private final LongAccumulator maxExecutionTime = new LongAccumulator(Math::max, 0);
+
+	private final LongAdder[] queueWaitTimeHistogram = createHistogram();
+
+	private final LongAdder[] executionTimeHistogram = createHistogram();
+
+	// Queue wait times since the last sample, for adaptive pool sizing
+
+	private final LongAdder sampleQueueWaitTime = new LongAdder();
+
+	private final LongAdder sampleCount = new LongAdder();
+
+
+	/**
+	 * Record the submission of a task.
+	 * @param queueSize the current size of the executor's queue
+	 */
+	void recordSubmission(int queueSize) {
+		this.submittedCount.increment();
+		this.peakQueueSize.accumulate(queueSize);
+	}
+
+	/**
+	 * Record the rejection of a task.
+	 */
+	void recordRejection() {
+		this.rejectedCount.increment();
+	}
+
+	/**
+	 * Record the start of a task execution.
+	 * @param queueWaitTime the time that the task spent in the queue, in nanoseconds
+	 */
+	void recordStart(long queueWaitTime) {
+		this.startedCount.increment();
+		this.peakActiveCount.accumulate(this.activeCount.incrementAndGet());
+		this.totalQueueWaitTime.add(queueWaitTime);
+		this.maxQueueWaitTime.accumulate(queueWaitTime);
+		this.queueWaitTimeHistogram[histogramIndex(queueWaitTime)].increment();
+		this.sampleQueueWaitTime.add(queueWaitTime);
+		this.sampleCount.increment();
+	}
+
+	/**
+	 * Record the completion of a task execution.
+	 * @param executionTime the time spent executing the task, in nanoseconds
+	 * @param success whether the task completed normally
+	 * ({@code false} if it threw an exception)
+	 */
+	void recordCompletion(long executionTime, boolean success) {
+		this.activeCount.decrementAndGet();
+		(success ? this.completedCount : this.failedCount).increment();
+		this.totalExecutionTime.add(executionTime);
+		this.maxExecutionTime.accumulate(executionTime);
+		this.executionTimeHistogram[histogramIndex(executionTime)].increment();
+	}
+
+	/**
+	 * Return the average queue wait time of the tasks started since the
+	 * previous call to this method, resetting the sample.
+	 * @return the average queue wait time in nanoseconds,
+	 * or -1 if no task has been started since then
+	 */
+	long sampleAverageQueueWaitTime() {
+		long count = this.sampleCount.sumThenReset();
+		long total = this.sampleQueueWaitTime.sumThenReset();
+		return (count > 0 ? total / count : -1);
+	}
+
+
+	/**
+	 * Return the number of submitted tasks, including rejected ones.
+	 */
+	public long getSubmittedTaskCount() {
+		return this.submittedCount.sum();
+	}
+
+	/**
+	 * Return the number of rejected tasks.
+	 */
+	public long getRejectedTaskCount() {
+		return this.rejectedCount.sum();
+	}
+
+	/**
+	 * Return the number of tasks which completed normally.
+	 */
+	public long getCompletedTaskCount() {
+		return this.completedCount.sum();
+	}
+
+	/**
+	 * Return the number of tasks which threw an exception.
+	 * <p>Note that tasks submitted for a {@code Future} handle capture
+	 * their exception in the {@code Future} and count as completed here.
+	 */
+	public long getFailedTaskCount() {
+		return this.failedCount.sum();
+	}
+
+	/**
+	 * Return the number of tasks currently being executed.
+	 */
+	public int getActiveCount() {
+		return this.activeCount.get();
+	}
+
+	/**
+	 * Return the highest number of concurrently executing tasks.
+	 */
+	public long getPeakActiveCount() {
+		return this.peakActiveCount.get();
+	}
+
+	/**
+	 * Return the highest number of queued tasks observed on submission.
+	 */
+	public long getPeakQueueSize() {
+		return this.peakQueueSize.get();
+	}
+
+	/**
+	 * Return the average time that tasks spent in the queue, in milliseconds.
+	 */
+	public double getAverageQueueWaitTime() {
+		return average(this.totalQueueWaitTime.sum(), this.startedCount.sum());
+	}
+
+	/**
+	 * Return the maximum time that a task spent in the queue, in milliseconds.
+	 */
+	public long getMaxQueueWaitTime() {
+		return TimeUnit.NANOSECONDS.toMillis(this.maxQueueWaitTime.get());
+	}
+
+	/**
+	 * Return the average task execution time, in milliseconds.
+	 */
+	public double getAverageExecutionTime() {
+		return average(this.totalExecutionTime.sum(), getCompletedTaskCount() + getFailedTaskCount());
+	}
+
+	/**
+	 * Return the maximum task execution time, in milliseconds.
+	 */
+	public long getMaxExecutionTime() {
+		return TimeUnit.NANOSECONDS.toMillis(this.maxExecutionTime.get());
+	}
+
+	/**
+	 * Return the upper bounds of the histogram buckets, in milliseconds.
+	 * @see #getQueueWaitTimeHistogram()
+	 * @see #getExecutionTimeHistogram()
+	 */
+	public long[] getHistogramBounds() {
+		return HISTOGRAM_BOUNDS.clone();
+	}
+
+	/**
+	 * Return the number of tasks per queue wait time range,
+	 * with a final bucket for times beyond the highest bound.
+	 * @see #getHistogramBounds()
+	 */
+	public long[] getQueueWaitTimeHistogram() {
+		return sum(this.queueWaitTimeHistogram);
+	}
+
+	/**
+	 * Return the number of tasks per execution time range,
+	 * with a final bucket for times beyond the highest bound.
+	 * @see #getHistogramBounds()
+	 */
+	public long[] getExecutionTimeHistogram() {
+		return sum(this.executionTimeHistogram);
+	}
+
+	/**
+	 * Reset all counters, apart from the number of currently active tasks.
+	 */
+	public void reset() {
+		this.submittedCount.reset();
+		this.rejectedCount.reset();
+		this.startedCount.reset();
+		this.completedCount.reset();
+		this.failedCount.reset();
+		this.peakActiveCount.reset();
+		this.peakQueueSize.reset();
+		this.totalQueueWaitTime.reset();
+		this.maxQueueWaitTime.reset();
+		this.totalExecutionTime.reset();
+		this.maxExecutionTime.reset();
+		for (int i = 0; i <= HISTOGRAM_BOUNDS.length; i++) {
+			this.queueWaitTimeHistogram[i].reset();
+			this.executionTimeHistogram[i].reset();
+		}
+	}
+
+
+	private static LongAdder[] createHistogram() {
+		LongAdder[] histogram = new LongAdder[HISTOGRAM_BOUNDS.length + 1];
+		for (int i = 0; i < histogram.length; i++) {
+			histogram[i] = new LongAdder();
+		}
+		return histogram;
+	}
+
+	private static int histogramIndex(long nanos) {
+		long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+		for (int i = 0; i < HISTOGRAM_BOUNDS.length; i++) {
+			if (millis < HISTOGRAM_BOUNDS[i]) {
+				return i;
+			}
+		}
+		return HISTOGRAM_BOUNDS.length;
+	}
+
+	private static long[] sum(LongAdder[] histogram) {
+		long[] result = new long[histogram.length];
+		for (int i = 0; i < histogram.length; i++) {
+			result[i] = histogram[i].sum();
+		}
+		return result;
+	}
+
+	private static double average(long totalNanos, long count) {
+		return (count > 0 ? (double) totalNanos / count / 1000000 : 0.0);
+	}
+
+
+	@Override
+	public String toString() {
+		return "TaskExecutionStatistics: submitted=" + getSubmittedTaskCount() +
+				", rejected=" + getRejectedTaskCount() + ", completed=" + getCompletedTaskCount() +
+				", failed=" + getFailedTaskCount() + ", active=" + getActiveCount() +
+				", peakActive=" + getPeakActiveCount() + ", peakQueueSize=" + getPeakQueueSize() +
+				", averageQueueWaitTime=" + getAverageQueueWaitTime() + "ms" +
+				", averageExecutionTime=" + getAverageExecutionTime() + "ms";
+	}
+
+}
@@ -29,6 +29,7 @@ import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.core.task.AsyncListenableTaskExecutor;
 import org.springframework.core.task.TaskDecorator;
@@ -58,6 +59,14 @@ import org.springframework.util.concurrent.ListenableFutureTask;
  * {@link #setCorePoolSize "corePoolSize"} (see also the
  * {@link #setAllowCoreThreadTimeOut "allowCoreThreadTimeOut"} mode of scaling).
  *
+ * <p>For monitoring purposes, {@link #setStatisticsEnabled "statisticsEnabled"}
+ * activates the collection of {@link TaskExecutionStatistics} such as queue wait
+ * and execution times. On top of those statistics, the
+ * {@link #setAdaptivePoolSizing "adaptivePoolSizing"} mode dynamically adjusts
+ * the core pool size between the configured core and max pool size, based on
+ * the observed queue wait times, e.g. for self-tuning {@code @Async} pools
+ * under bursty load.
+ *
  * <p><b>NOTE:</b> This class implements Spring's
  * {@link org.springframework.core.task.TaskExecutor} interface as well as the
  * {@link java.util.concurrent.Executor} interface, with the former being the primary
@@ -97,9 +106,22 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 	@Nullable
 	private TaskDecorator taskDecorator;
 
+	private boolean statisticsEnabled = false;
+
+	private boolean adaptivePoolSizing = false;
+
+	private long targetQueueWaitTime = 100;
+
+	private long adaptationInterval = 1000;
+
 	@Nullable
 	private ThreadPoolExecutor threadPoolExecutor;
 
+	@Nullable
+	private TaskExecutionStatistics statistics;
+
+	private final AtomicLong lastAdaptation = new AtomicLong(System.nanoTime());
+
 	// Runnable decorator to user-level FutureTask, if different
 	private final Map<Runnable, Object> decoratedTaskMap =
 			new ConcurrentReferenceHashMap<>(16, ConcurrentReferenceHashMap.ReferenceType.WEAK);
@@ -211,6 +233,59 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 		this.taskDecorator = taskDecorator;
 	}
 
+	/**
+	 * Specify whether to collect {@link TaskExecutionStatistics} for the tasks
+	 * executed by this executor: submission, rejection and completion counts,
+	 * peak active and queued tasks, queue wait and execution time histograms.
+	 * <p>Default is "false". Statistics are collected automatically when
+	 * {@link #setAdaptivePoolSizing "adaptivePoolSizing"} is active.
+	 * @since 5.2
+	 * @see #getStatistics()
+	 */
+	public void setStatisticsEnabled(boolean statisticsEnabled) {
+		this.statisticsEnabled = statisticsEnabled;
+	}
+
+	/**
+	 * Specify whether to dynamically adjust the core pool size based on the
+	 * observed queue wait times: growing it (up to the max pool size) while tasks
+	 * wait longer than the {@link #setTargetQueueWaitTime "targetQueueWaitTime"}
+	 * on average, and shrinking it (down to the configured core pool size) again
+	 * once the queue has drained and wait times are well below the target.
+	 * <p>Default is "false". Make sure to specify a reasonable
+	 * {@link #setMaxPoolSize "maxPoolSize"} as the upper bound when activating
+	 * this mode; the configured {@link #setCorePoolSize "corePoolSize"} serves
+	 * as the lower bound. Adjustments are evaluated on task submission, at most
+	 * once per {@link #setAdaptationInterval "adaptationInterval"}.
+	 * @since 5.2
+	 * @see ThreadPoolExecutor#setCorePoolSize
+	 */
+	public void setAdaptivePoolSizing(boolean adaptivePoolSizing) {
+		this.adaptivePoolSizing = adaptivePoolSizing;
+	}
+
+	/**
+	 * Set the average queue wait time (in milliseconds) that the
+	 * {@link #setAdaptivePoolSizing "adaptivePoolSizing"} mode aims for.
+	 * Default is 100.
+	 * @since 5.2
+	 */
+	public void setTargetQueueWaitTime(long targetQueueWaitTime) {
+		Assert.isTrue(targetQueueWaitTime > 0, "'targetQueueWaitTime' must be positive");
+		this.targetQueueWaitTime = targetQueueWaitTime;
+	}
+
+	/**
+	 * Set the minimum interval (in milliseconds) between core pool size
+	 * adjustments in {@link #setAdaptivePoolSizing "adaptivePoolSizing"} mode.
+	 * Default is 1000.
+	 * @since 5.2
+	 */
+	public void setAdaptationInterval(long adaptationInterval) {
+		Assert.isTrue(adaptationInterval >= 0, "'adaptationInterval' must not be negative");
+		this.adaptationInterval = adaptationInterval;
+	}
+
 
 	/**
 	 * Note: This method exposes an {@link ExecutorService} to its base class
@@ -224,19 +299,34 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 
 		BlockingQueue<Runnable> queue = createQueue(this.queueCapacity);
 
+		TaskExecutionStatistics statistics =
+				(this.statisticsEnabled || this.adaptivePoolSizing ? new TaskExecutionStatistics() : null);
+		this.statistics = statistics;
+
 		ThreadPoolExecutor executor;
-		if (this.taskDecorator != null) {
+		if (this.taskDecorator != null || statistics != null) {
 			executor = new ThreadPoolExecutor(
 					this.corePoolSize, this.maxPoolSize, this.keepAliveSeconds, TimeUnit.SECONDS,
-					queue, threadFactory, rejectedExecutionHandler) {
+					queue, threadFactory, recordRejections(rejectedExecutionHandler, statistics)) {
 				@Override
 				public void execute(Runnable command) {
-					Runnable decorated = taskDecorator.decorate(command);
+					Runnable decorated = decorateTask(command, this);
 					if (decorated != command) {
 						decoratedTaskMap.put(decorated, command);
 					}
 					super.execute(decorated);
 				}
+				@Override
+				public void setRejectedExecutionHandler(RejectedExecutionHandler handler) {
+					super.setRejectedExecutionHandler(
+							handler != null ? recordRejections(handler, statistics) : null);
+				}
+				@Override
+				public RejectedExecutionHandler getRejectedExecutionHandler() {
+					RejectedExecutionHandler handler = super.getRejectedExecutionHandler();
+					return (handler instanceof StatisticsRecordingRejectedExecutionHandler ?
+							((StatisticsRecordingRejectedExecutionHandler) handler).delegate : handler);
+				}
 			};
 		}
 		else {
@@ -254,6 +344,59 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 		return executor;
 	}
 
+	private static RejectedExecutionHandler recordRejections(
+			RejectedExecutionHandler handler, @Nullable TaskExecutionStatistics statistics) {
+
+		return (statistics != null ? new StatisticsRecordingRejectedExecutionHandler(handler, statistics) : handler);
+	}
+
+	private Runnable decorateTask(Runnable task, ThreadPoolExecutor executor) {
+		Runnable decorated = (this.taskDecorator != null ? this.taskDecorator.decorate(task) : task);
+		TaskExecutionStatistics statistics = this.statistics;
+		if (statistics != null) {
+			statistics.recordSubmission(executor.getQueue().size());
+			decorated = new StatisticsRecordingRunnable(decorated, statistics);
+			if (this.adaptivePoolSizing) {
+				adaptCorePoolSize(executor, statistics);
+			}
+		}
+		return decorated;
+	}
+
+	/**
+	 * Adjust the core pool size according to the average queue wait time
+	 * since the last adjustment, if the adaptation interval has passed.
+	 */
+	private void adaptCorePoolSize(ThreadPoolExecutor executor, TaskExecutionStatistics statistics) {
+		long now = System.nanoTime();
+		long last = this.lastAdaptation.get();
+		if (now - last < TimeUnit.MILLISECONDS.toNanos(this.adaptationInterval) ||
+				!this.lastAdaptation.compareAndSet(last, now)) {
+			return;
+		}
+		long averageQueueWaitTime = statistics.sampleAverageQueueWaitTime();
+		long targetQueueWaitTime = TimeUnit.MILLISECONDS.toNanos(this.targetQueueWaitTime);
+		boolean queued = !executor.getQueue().isEmpty();
+		synchronized (this.poolSizeMonitor) {
+			int currentSize = executor.getCorePoolSize();
+			int newSize = currentSize;
+			if (averageQueueWaitTime > targetQueueWaitTime || (averageQueueWaitTime == -1 && queued)) {
+				// Tasks waiting too long (or not getting started at all): grow by a quarter
+				newSize = Math.min(currentSize + Math.max(currentSize / 4, 1), this.maxPoolSize);
+			}
+			else if (averageQueueWaitTime < targetQueueWaitTime / 4 && !queued) {
+				newSize = Math.max(currentSize - 1, this.corePoolSize);
+			}
+			if (newSize != currentSize) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Adapting core pool size from " + currentSize + " to " + newSize +
+							" (average queue wait time: " + TimeUnit.NANOSECONDS.toMillis(averageQueueWaitTime) + "ms)");
+				}
+				executor.setCorePoolSize(newSize);
+			}
+		}
+	}
+
 	/**
 	 * Create the BlockingQueue to use for the ThreadPoolExecutor.
 	 * <p>A LinkedBlockingQueue instance will be created for a positive
@@ -306,6 +449,30 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 		return this.threadPoolExecutor.getActiveCount();
 	}
 
+	/**
+	 * Return the number of currently queued tasks.
+	 * @since 5.2
+	 * @see java.util.concurrent.ThreadPoolExecutor#getQueue()
+	 */
+	public int getQueueSize() {
+		if (this.threadPoolExecutor == null) {
+			// Not initialized yet: assume no queued tasks.
+			return 0;
+		}
+		return this.threadPoolExecutor.getQueue().size();
+	}
+
+	/**
+	 * Return the statistics for the tasks executed by this executor.
+	 * @return the statistics, or {@code null} if not enabled (or not initialized yet)
+	 * @since 5.2
+	 * @see #setStatisticsEnabled
+	 */
+	@Nullable
+	public TaskExecutionStatistics getStatistics() {
+		return this.statistics;
+	}
+
 
 	@Override
 	public void execute(Runnable task) {
@@ -381,4 +548,66 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 		}
 	}
 
+
+	/**
+	 * Runnable wrapper which records queue wait and execution times.
+	 */
+	private static class StatisticsRecordingRunnable implements Runnable {
+
+		private final Runnable delegate;
+
+		private final TaskExecutionStatistics statistics;
+
+		private final long submissionTime = System.nanoTime();
+
+		public StatisticsRecordingRunnable(Runnable delegate, TaskExecutionStatistics statistics) {
+			this.delegate = delegate;
+			this.statistics = statistics;
+		}
+
+		@Override
+		public void run() {
+			long startTime = System.nanoTime();
+			this.statistics.recordStart(startTime - this.submissionTime);
+			boolean success = false;
+			try {
+				this.delegate.run();
+				success = true;
+			}
+			finally {
+				this.statistics.recordCompletion(System.nanoTime() - startTime, success);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return this.delegate.toString();
+		}
+	}
+
+
+	/**
+	 * RejectedExecutionHandler wrapper which records rejections before
+	 * delegating to the configured handler.
+	 */
+	private static class StatisticsRecordingRejectedExecutionHandler implements RejectedExecutionHandler {
+
+		private final RejectedExecutionHandler delegate;
+
+		private final TaskExecutionStatistics statistics;
+
+		public StatisticsRecordingRejectedExecutionHandler(
+				RejectedExecutionHandler delegate, TaskExecutionStatistics statistics) {
+
+			this.delegate = delegate;
+			this.statistics = statistics;
+		}
+
+		@Override
+		public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+			this.statistics.recordRejection();
+			this.delegate.rejectedExecution(task, executor);
+		}
+	}
+
 }
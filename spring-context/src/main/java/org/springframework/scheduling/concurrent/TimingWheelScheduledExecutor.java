@@ -0,0 +1,641 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ScheduledExecutorService} implementation backed by a hashed timing
+ * wheel, as an alternative to {@link java.util.concurrent.ScheduledThreadPoolExecutor}
+ * for high volumes of delayed tasks such as timeouts which typically get
+ * cancelled before they fire.
+ *
+ * <p>Instead of a delay-ordered heap guarded by a global lock, scheduled tasks
+ * are handed to a single tick thread through a lock-free queue and get sorted
+ * into the wheel bucket for their execution time, making both scheduling and
+ * cancellation O(1) operations. On every tick, the tick thread transfers newly
+ * scheduled tasks in batch, unlinks cancelled tasks and dispatches all tasks
+ * due within the current tick to a worker pool for actual execution.
+ *
+ * <p>As a consequence, a task may fire up to one tick duration later than
+ * requested: choose the tick duration according to the required precision.
+ * Tasks which are due immediately bypass the wheel and go straight to the
+ * worker pool.
+ *
+ * <p>On {@link #shutdown()}, already scheduled one-time tasks will still be
+ * executed while periodic tasks get cancelled, in line with the default policies
+ * of {@code ScheduledThreadPoolExecutor}.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see TimingWheelTaskScheduler
+ */
+public class TimingWheelScheduledExecutor extends AbstractExecutorService implements ScheduledExecutorService {
+
+	/**
+	 * The default tick duration in milliseconds: 10.
+	 */
+	public static final long DEFAULT_TICK_DURATION = 10;
+
+	/**
+	 * The default number of ticks per wheel revolution: 512.
+	 */
+	public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+	private static final int MAX_TRANSFERS_PER_TICK = 100000;
+
+	private static final int RUNNING = 0;
+
+	private static final int SHUTDOWN = 1;
+
+	private static final int STOP = 2;
+
+
+	private final long tickDuration;
+
+	private final WheelBucket[] wheel;
+
+	private final int mask;
+
+	private final ThreadPoolExecutor workerPool;
+
+	private final RejectedExecutionHandler rejectedExecutionHandler;
+
+	private final Queue<WheelTask<?>> pendingTasks = new ConcurrentLinkedQueue<>();
+
+	private final Queue<WheelTask<?>> cancelledTasks = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger state = new AtomicInteger(RUNNING);
+
+	private final long startTime = System.nanoTime();
+
+	private final Thread tickThread;
+
+	private final CountDownLatch tickThreadTermination = new CountDownLatch(1);
+
+	// Only accessed by the tick thread (until its termination)
+
+	private long tick;
+
+	private int wheelTaskCount;
+
+	private boolean periodicTasksCancelled;
+
+
+	/**
+	 * Create a new TimingWheelScheduledExecutor with default tick settings.
+	 * @param poolSize the number of worker threads for executing due tasks
+	 * @param threadFactory the ThreadFactory to create the tick thread
+	 * as well as the worker threads with
+	 * @see #DEFAULT_TICK_DURATION
+	 * @see #DEFAULT_TICKS_PER_WHEEL
+	 */
+	public TimingWheelScheduledExecutor(int poolSize, ThreadFactory threadFactory) {
+		this(DEFAULT_TICK_DURATION, TimeUnit.MILLISECONDS, DEFAULT_TICKS_PER_WHEEL,
+				poolSize, threadFactory, new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	/**
+	 * Create a new TimingWheelScheduledExecutor.
+	 * @param tickDuration the duration of a single tick, i.e. the resolution
+	 * at which scheduled tasks get dispatched
+	 * @param unit the time unit of the tick duration
+	 * @param ticksPerWheel the number of buckets in the wheel (rounded up to
+	 * the next power of two); tasks further out than a full wheel revolution
+	 * will be kept in their bucket for several rounds
+	 * @param poolSize the number of worker threads for executing due tasks
+	 * @param threadFactory the ThreadFactory to create the tick thread
+	 * as well as the worker threads with
+	 * @param rejectedExecutionHandler the handler for tasks which cannot be
+	 * accepted after shutdown or by the worker pool (called with the worker pool,
+	 * which reports this executor's shutdown state through its own
+	 * {@link ThreadPoolExecutor#isShutdown()} method)
+	 */
+	public TimingWheelScheduledExecutor(long tickDuration, TimeUnit unit, int ticksPerWheel, int poolSize,
+			ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+
+		Assert.isTrue(tickDuration > 0, "'tickDuration' must be positive");
+		Assert.isTrue(ticksPerWheel > 0 && ticksPerWheel <= (1 << 30),
+				"'ticksPerWheel' must be between 1 and 2^30");
+		Assert.isTrue(poolSize > 0, "'poolSize' must be 1 or higher");
+		Assert.notNull(threadFactory, "ThreadFactory must not be null");
+		Assert.notNull(rejectedExecutionHandler, "RejectedExecutionHandler must not be null");
+
+		int wheelSize = 1;
+		while (wheelSize < ticksPerWheel) {
+			wheelSize <<= 1;
+		}
+		this.tickDuration = unit.toNanos(tickDuration);
+		this.wheel = new WheelBucket[wheelSize];
+		for (int i = 0; i < wheelSize; i++) {
+			this.wheel[i] = new WheelBucket();
+		}
+		this.mask = wheelSize - 1;
+		this.rejectedExecutionHandler = rejectedExecutionHandler;
+		this.workerPool = new WorkerPool(poolSize, threadFactory, rejectedExecutionHandler);
+		this.tickThread = threadFactory.newThread(this::runTicks);
+		this.tickThread.start();
+	}
+
+
+	/**
+	 * Set the number of worker threads for executing due tasks.
+	 * <p><b>This setting can be modified at runtime.</b>
+	 */
+	public void setPoolSize(int poolSize) {
+		Assert.isTrue(poolSize > 0, "'poolSize' must be 1 or higher");
+		if (poolSize > this.workerPool.getMaximumPoolSize()) {
+			this.workerPool.setMaximumPoolSize(poolSize);
+			this.workerPool.setCorePoolSize(poolSize);
+		}
+		else {
+			this.workerPool.setCorePoolSize(poolSize);
+			this.workerPool.setMaximumPoolSize(poolSize);
+		}
+	}
+
+	/**
+	 * Return the current number of worker threads.
+	 * @see java.util.concurrent.ThreadPoolExecutor#getPoolSize()
+	 */
+	public int getPoolSize() {
+		return this.workerPool.getPoolSize();
+	}
+
+	/**
+	 * Return the number of currently active worker threads.
+	 * @see java.util.concurrent.ThreadPoolExecutor#getActiveCount()
+	 */
+	public int getActiveCount() {
+		return this.workerPool.getActiveCount();
+	}
+
+	/**
+	 * Return the number of buckets in the wheel.
+	 */
+	public int getTicksPerWheel() {
+		return this.wheel.length;
+	}
+
+
+	// ScheduledExecutorService implementation
+
+	@Override
+	public void execute(Runnable command) {
+		schedule(command, 0, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		return schedule(task, 0, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public <T> Future<T> submit(Runnable task, T result) {
+		return schedule(new WheelTask<>(task, result, currentTime(), 0));
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		return schedule(task, 0, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+		return schedule(new WheelTask<Void>(command, null, triggerTime(delay, unit), 0));
+	}
+
+	@Override
+	public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+		return schedule(new WheelTask<>(callable, triggerTime(delay, unit)));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+		if (period <= 0) {
+			throw new IllegalArgumentException("Period must be positive");
+		}
+		return schedule(new WheelTask<Void>(command, null, triggerTime(initialDelay, unit), unit.toNanos(period)));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+		if (delay <= 0) {
+			throw new IllegalArgumentException("Delay must be positive");
+		}
+		return schedule(new WheelTask<Void>(command, null, triggerTime(initialDelay, unit), -unit.toNanos(delay)));
+	}
+
+	private <V> WheelTask<V> schedule(WheelTask<V> task) {
+		if (this.state.get() != RUNNING) {
+			this.rejectedExecutionHandler.rejectedExecution(task, this.workerPool);
+		}
+		else if (task.deadline <= currentTime()) {
+			this.workerPool.execute(task);
+		}
+		else {
+			this.pendingTasks.add(task);
+			if (this.state.get() != RUNNING && this.pendingTasks.remove(task)) {
+				// Shut down in the meantime: not going to be picked up by the tick thread anymore
+				this.rejectedExecutionHandler.rejectedExecution(task, this.workerPool);
+			}
+		}
+		return task;
+	}
+
+	private void reschedulePeriodic(WheelTask<?> task) {
+		if (this.state.get() == RUNNING) {
+			this.pendingTasks.add(task);
+			if (this.state.get() == RUNNING || !this.pendingTasks.remove(task)) {
+				return;
+			}
+		}
+		task.cancel(false);
+	}
+
+	private long triggerTime(long delay, TimeUnit unit) {
+		long now = currentTime();
+		long deadline = now + unit.toNanos(delay);
+		// Guard against overflow for very long delays
+		return (delay > 0 && deadline < now ? Long.MAX_VALUE : deadline);
+	}
+
+	private long currentTime() {
+		return System.nanoTime() - this.startTime;
+	}
+
+
+	// Lifecycle
+
+	@Override
+	public void shutdown() {
+		this.state.compareAndSet(RUNNING, SHUTDOWN);
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		this.state.set(STOP);
+		boolean interrupted = false;
+		if (Thread.currentThread() != this.tickThread) {
+			this.tickThread.interrupt();
+			while (this.tickThreadTermination.getCount() > 0) {
+				try {
+					this.tickThreadTermination.await();
+				}
+				catch (InterruptedException ex) {
+					interrupted = true;
+				}
+			}
+		}
+		List<Runnable> remainingTasks = new ArrayList<>();
+		for (WheelBucket bucket : this.wheel) {
+			bucket.drainTo(remainingTasks);
+		}
+		WheelTask<?> task;
+		while ((task = this.pendingTasks.poll()) != null) {
+			if (!task.isCancelled()) {
+				remainingTasks.add(task);
+			}
+		}
+		remainingTasks.addAll(this.workerPool.shutdownNow());
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		return remainingTasks;
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return (this.state.get() != RUNNING);
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return (this.tickThreadTermination.getCount() == 0 && this.workerPool.isTerminated());
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		if (!this.tickThreadTermination.await(timeout, unit)) {
+			return false;
+		}
+		return this.workerPool.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+	}
+
+
+	// Tick thread
+
+	private void runTicks() {
+		try {
+			while (this.state.get() != STOP) {
+				if (!waitForNextTick()) {
+					continue;
+				}
+				transferPendingTasks();
+				removeCancelledTasks();
+				expireTasks(this.wheel[(int) (this.tick & this.mask)]);
+				this.tick++;
+				if (this.state.get() == SHUTDOWN) {
+					if (!this.periodicTasksCancelled) {
+						cancelPeriodicTasks();
+						this.periodicTasksCancelled = true;
+					}
+					if (this.wheelTaskCount == 0 && this.pendingTasks.isEmpty()) {
+						break;
+					}
+				}
+			}
+		}
+		finally {
+			this.workerPool.shutdown();
+			this.tickThreadTermination.countDown();
+		}
+	}
+
+	private boolean waitForNextTick() {
+		long deadline = this.tickDuration * (this.tick + 1);
+		while (true) {
+			long sleepTime = deadline - currentTime();
+			if (sleepTime <= 0) {
+				return true;
+			}
+			try {
+				Thread.sleep(TimeUnit.NANOSECONDS.toMillis(sleepTime + 999999));
+			}
+			catch (InterruptedException ex) {
+				if (this.state.get() == STOP) {
+					return false;
+				}
+			}
+		}
+	}
+
+	private void transferPendingTasks() {
+		for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+			WheelTask<?> task = this.pendingTasks.poll();
+			if (task == null) {
+				return;
+			}
+			if (task.isCancelled()) {
+				continue;
+			}
+			long calculated = task.deadline / this.tickDuration;
+			task.remainingRounds = (calculated - this.tick) / this.wheel.length;
+			// Tasks already overdue go into the current bucket
+			long ticks = Math.max(calculated, this.tick);
+			this.wheel[(int) (ticks & this.mask)].add(task);
+			this.wheelTaskCount++;
+		}
+	}
+
+	private void removeCancelledTasks() {
+		WheelTask<?> task;
+		while ((task = this.cancelledTasks.poll()) != null) {
+			WheelBucket bucket = task.bucket;
+			if (bucket != null) {
+				bucket.remove(task);
+				this.wheelTaskCount--;
+			}
+		}
+	}
+
+	private void expireTasks(WheelBucket bucket) {
+		WheelTask<?> task = bucket.head;
+		while (task != null) {
+			WheelTask<?> next = task.next;
+			if (task.isCancelled()) {
+				bucket.remove(task);
+				this.wheelTaskCount--;
+			}
+			else if (task.remainingRounds <= 0) {
+				bucket.remove(task);
+				this.wheelTaskCount--;
+				try {
+					this.workerPool.execute(task);
+				}
+				catch (RejectedExecutionException ex) {
+					task.setFailure(ex);
+				}
+			}
+			else {
+				task.remainingRounds--;
+			}
+			task = next;
+		}
+	}
+
+	private void cancelPeriodicTasks() {
+		for (WheelBucket bucket : this.wheel) {
+			WheelTask<?> task = bucket.head;
+			while (task != null) {
+				WheelTask<?> next = task.next;
+				if (task.isPeriodic()) {
+					bucket.remove(task);
+					this.wheelTaskCount--;
+					task.cancel(false);
+				}
+				task = next;
+			}
+		}
+	}
+
+
+	/**
+	 * Worker pool which reports the shutdown state of the enclosing executor
+	 * to the {@link RejectedExecutionHandler}, e.g. for a {@code CallerRunsPolicy}
+	 * to discard rather than run tasks once the enclosing executor is shut down.
+	 */
+	private class WorkerPool extends ThreadPoolExecutor {
+
+		WorkerPool(int poolSize, ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+			super(poolSize, poolSize, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+					threadFactory, rejectedExecutionHandler);
+		}
+
+		@Override
+		public boolean isShutdown() {
+			return (super.isShutdown() || TimingWheelScheduledExecutor.this.isShutdown());
+		}
+	}
+
+
+	/**
+	 * A bucket in the wheel: a doubly-linked list of tasks,
+	 * only ever modified by the tick thread.
+	 */
+	private static final class WheelBucket {
+
+		@Nullable
+		private WheelTask<?> head;
+
+		@Nullable
+		private WheelTask<?> tail;
+
+		public void add(WheelTask<?> task) {
+			task.bucket = this;
+			if (this.head == null) {
+				this.head = task;
+			}
+			else {
+				task.prev = this.tail;
+				this.tail.next = task;
+			}
+			this.tail = task;
+		}
+
+		public void remove(WheelTask<?> task) {
+			if (task.prev != null) {
+				task.prev.next = task.next;
+			}
+			else {
+				this.head = task.next;
+			}
+			if (task.next != null) {
+				task.next.prev = task.prev;
+			}
+			else {
+				this.tail = task.prev;
+			}
+			task.prev = null;
+			task.next = null;
+			task.bucket = null;
+		}
+
+		public void drainTo(List<Runnable> tasks) {
+			WheelTask<?> task = this.head;
+			while (task != null) {
+				WheelTask<?> next = task.next;
+				remove(task);
+				if (!task.isCancelled()) {
+					tasks.add(task);
+				}
+				task = next;
+			}
+		}
+	}
+
+
+	/**
+	 * A scheduled task in the wheel, also serving as the user-level
+	 * {@link ScheduledFuture} handle.
+	 */
+	private class WheelTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+
+		private volatile long deadline;
+
+		/**
+		 * Positive for fixed-rate execution, negative for fixed-delay execution,
+		 * 0 for one-time execution.
+		 */
+		private final long period;
+
+		// Bucket state: only accessed by the tick thread
+
+		private long remainingRounds;
+
+		@Nullable
+		private WheelBucket bucket;
+
+		@Nullable
+		private WheelTask<?> prev;
+
+		@Nullable
+		private WheelTask<?> next;
+
+		public WheelTask(Runnable runnable, @Nullable V result, long deadline, long period) {
+			super(runnable, result);
+			this.deadline = deadline;
+			this.period = period;
+		}
+
+		public WheelTask(Callable<V> callable, long deadline) {
+			super(callable);
+			this.deadline = deadline;
+			this.period = 0;
+		}
+
+		@Override
+		public boolean isPeriodic() {
+			return (this.period != 0);
+		}
+
+		@Override
+		public void run() {
+			if (!isPeriodic()) {
+				super.run();
+			}
+			else if (runAndReset()) {
+				this.deadline = (this.period > 0 ? this.deadline + this.period : currentTime() - this.period);
+				reschedulePeriodic(this);
+			}
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			boolean cancelled = super.cancel(mayInterruptIfRunning);
+			if (cancelled) {
+				// Let the tick thread unlink the task from its bucket
+				cancelledTasks.add(this);
+			}
+			return cancelled;
+		}
+
+		public void setFailure(Throwable ex) {
+			setException(ex);
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(this.deadline - currentTime(), TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			if (this == other) {
+				return 0;
+			}
+			long diff = (other instanceof WheelTask ? this.deadline - ((WheelTask<?>) other).deadline :
+					getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS));
+			return (diff == 0 ? 0 : (diff < 0 ? -1 : 1));
+		}
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Variant of {@link ThreadPoolTaskScheduler} which is backed by a
+ * {@link TimingWheelScheduledExecutor} instead of a native
+ * {@link java.util.concurrent.ScheduledThreadPoolExecutor}.
+ *
+ * <p>Scheduling and cancelling a task are O(1) operations here, without
+ * contention on a shared delay queue, which makes this scheduler suitable
+ * for very large numbers of short-lived delayed tasks such as session expiry
+ * or retry timeouts. Trigger-based tasks (e.g. cron expressions) benefit as
+ * well since every rescheduling of the next execution is cheap. The trade-off
+ * is a coarser precision: tasks are dispatched at tick granularity, which is
+ * configurable through {@link #setTickDuration "tickDuration"}.
+ *
+ * <p>Cancelled tasks are always removed from the wheel on the next tick,
+ * so there is no need for a remove-on-cancel policy.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see #setTickDuration
+ * @see #setTicksPerWheel
+ * @see #setPoolSize
+ */
+@SuppressWarnings("serial")
+public class TimingWheelTaskScheduler extends ThreadPoolTaskScheduler {
+
+	private long tickDuration = TimingWheelScheduledExecutor.DEFAULT_TICK_DURATION;
+
+	private int ticksPerWheel = TimingWheelScheduledExecutor.DEFAULT_TICKS_PER_WHEEL;
+
+	@Nullable
+	private TimingWheelScheduledExecutor timingWheelExecutor;
+
+
+	/**
+	 * Set the tick duration in milliseconds, i.e. the resolution at which
+	 * scheduled tasks get dispatched. Default is 10.
+	 */
+	public void setTickDuration(long tickDuration) {
+		Assert.isTrue(tickDuration > 0, "'tickDuration' must be positive");
+		this.tickDuration = tickDuration;
+	}
+
+	/**
+	 * Set the number of buckets in the timing wheel, rounded up to the next
+	 * power of two. Default is 512.
+	 * <p>Together with the tick duration, this determines the time span of a
+	 * full wheel revolution: tasks further out remain in their bucket for
+	 * several rounds, so a larger wheel reduces the per-tick iteration effort
+	 * for long delays at the expense of memory.
+	 */
+	public void setTicksPerWheel(int ticksPerWheel) {
+		Assert.isTrue(ticksPerWheel > 0, "'ticksPerWheel' must be positive");
+		this.ticksPerWheel = ticksPerWheel;
+	}
+
+	/**
+	 * Set the number of worker threads for executing due tasks.
+	 * Default is 1.
+	 * <p><b>This setting can be modified at runtime, for example through JMX.</b>
+	 */
+	@Override
+	public void setPoolSize(int poolSize) {
+		super.setPoolSize(poolSize);
+		if (this.timingWheelExecutor != null) {
+			this.timingWheelExecutor.setPoolSize(poolSize);
+		}
+	}
+
+
+	@Override
+	protected ScheduledExecutorService createExecutor(
+			int poolSize, ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+
+		this.timingWheelExecutor = new TimingWheelScheduledExecutor(this.tickDuration, TimeUnit.MILLISECONDS,
+				this.ticksPerWheel, poolSize, threadFactory, rejectedExecutionHandler);
+		return this.timingWheelExecutor;
+	}
+
+	/**
+	 * Return the underlying TimingWheelScheduledExecutor for native access.
+	 * @return the underlying TimingWheelScheduledExecutor (never {@code null})
+	 * @throws IllegalStateException if the TimingWheelTaskScheduler hasn't been initialized yet
+	 */
+	public TimingWheelScheduledExecutor getTimingWheelExecutor() throws IllegalStateException {
+		Assert.state(this.timingWheelExecutor != null, "TimingWheelTaskScheduler not initialized");
+		return this.timingWheelExecutor;
+	}
+
+	@Override
+	public int getPoolSize() {
+		if (this.timingWheelExecutor == null) {
+			return super.getPoolSize();
+		}
+		return this.timingWheelExecutor.getPoolSize();
+	}
+
+	/**
+	 * This implementation always returns {@code true} since cancelled
+	 * tasks are unlinked from the wheel on the next tick.
+	 */
+	@Override
+	public boolean isRemoveOnCancelPolicy() {
+		return true;
+	}
+
+	@Override
+	public int getActiveCount() {
+		if (this.timingWheelExecutor == null) {
+			return 0;
+		}
+		return this.timingWheelExecutor.getActiveCount();
+	}
+
+}
@@ -0,0 +1,438 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.CustomizableThreadCreator;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureTask;
+
+/**
+ * {@link org.springframework.core.task.TaskExecutor} implementation that fires up
+ * a new thread for each task, using virtual threads when running on a JDK which
+ * supports them (detected reflectively) and platform threads otherwise.
+ *
+ * <p>Since virtual threads are cheap to create and block, this executor does not
+ * pool threads. Instead, the number of concurrently running tasks may be limited
+ * through the "concurrencyLimit" bean property, guarded by a {@link Semaphore}:
+ * submitting a task beyond that limit blocks the caller until a permit is
+ * released, or until the given start timeout has elapsed.
+ *
+ * <p>Suitable for {@code @Async} methods, asynchronous request processing and
+ * message listener containers on JDK 21+, while remaining usable on earlier JDKs.
+ * Tasks submitted for a {@link Future} get cancelled on {@link #destroy()}.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see #setConcurrencyLimit
+ * @see #setVirtualThreads
+ * @see org.springframework.core.task.SimpleAsyncTaskExecutor
+ */
+@SuppressWarnings("serial")
+public class VirtualThreadTaskExecutor extends CustomizableThreadCreator
+		implements AsyncListenableTaskExecutor, DisposableBean {
+
+	/**
+	 * Permit any number of concurrent tasks: that is, don't throttle concurrency.
+	 */
+	public static final int UNBOUNDED_CONCURRENCY = -1;
+
+
+	private boolean virtualThreads = true;
+
+	@Nullable
+	private ThreadFactory threadFactory;
+
+	@Nullable
+	private TaskDecorator taskDecorator;
+
+	private int concurrencyLimit = UNBOUNDED_CONCURRENCY;
+
+	@Nullable
+	private volatile Semaphore concurrencySemaphore;
+
+	@Nullable
+	private volatile ThreadFactory defaultThreadFactory;
+
+	private final Set<RunnableFuture<?>> activeFutures = ConcurrentHashMap.newKeySet();
+
+	private volatile boolean active = true;
+
+
+	/**
+	 * Create a new VirtualThreadTaskExecutor with default thread name prefix.
+	 */
+	public VirtualThreadTaskExecutor() {
+		super();
+	}
+
+	/**
+	 * Create a new VirtualThreadTaskExecutor with the given thread name prefix.
+	 * @param threadNamePrefix the prefix to use for the names of newly created threads
+	 */
+	public VirtualThreadTaskExecutor(String threadNamePrefix) {
+		super(threadNamePrefix);
+	}
+
+
+	/**
+	 * Return whether virtual threads are supported by the current JDK.
+	 */
+	public static boolean isVirtualThreadSupportAvailable() {
+		return VirtualThreadDelegate.isAvailable();
+	}
+
+	/**
+	 * Specify whether to use virtual threads if supported by the current JDK.
+	 * <p>Default is "true". Switch this to "false" to enforce platform threads,
+	 * as configured through the thread properties of this executor.
+	 * @see #isVirtualThreadSupportAvailable()
+	 */
+	public void setVirtualThreads(boolean virtualThreads) {
+		this.virtualThreads = virtualThreads;
+		this.defaultThreadFactory = null;
+	}
+
+	/**
+	 * Return whether this executor actually creates virtual threads,
+	 * i.e. whether virtual threads are enabled as well as supported.
+	 */
+	public boolean isVirtualThreads() {
+		return (this.virtualThreads && this.threadFactory == null && VirtualThreadDelegate.isAvailable());
+	}
+
+	/**
+	 * Specify an external factory to use for creating new threads,
+	 * instead of relying on virtual threads or the local thread properties.
+	 */
+	public void setThreadFactory(@Nullable ThreadFactory threadFactory) {
+		this.threadFactory = threadFactory;
+	}
+
+	/**
+	 * Return the external factory to use for creating new threads, if any.
+	 */
+	@Nullable
+	public final ThreadFactory getThreadFactory() {
+		return this.threadFactory;
+	}
+
+	@Override
+	public void setThreadNamePrefix(@Nullable String threadNamePrefix) {
+		super.setThreadNamePrefix(threadNamePrefix);
+		this.defaultThreadFactory = null;
+	}
+
+	/**
+	 * Specify a custom {@link TaskDecorator} to be applied to any {@link Runnable}
+	 * about to be executed.
+	 * @see org.springframework.core.task.SimpleAsyncTaskExecutor#setTaskDecorator
+	 */
+	public final void setTaskDecorator(TaskDecorator taskDecorator) {
+		this.taskDecorator = taskDecorator;
+	}
+
+	/**
+	 * Set the maximum number of concurrently running tasks.
+	 * -1 indicates no concurrency limit at all.
+	 * <p>Changing the limit at runtime applies to subsequently submitted tasks;
+	 * tasks in progress release their permit to the previous limit.
+	 * @see #UNBOUNDED_CONCURRENCY
+	 */
+	public void setConcurrencyLimit(int concurrencyLimit) {
+		Assert.isTrue(concurrencyLimit == UNBOUNDED_CONCURRENCY || concurrencyLimit > 0,
+				"Concurrency limit must be positive or -1 for unbounded concurrency");
+		this.concurrencyLimit = concurrencyLimit;
+		this.concurrencySemaphore = (concurrencyLimit > 0 ? new Semaphore(concurrencyLimit) : null);
+	}
+
+	/**
+	 * Return the maximum number of concurrently running tasks.
+	 */
+	public final int getConcurrencyLimit() {
+		return this.concurrencyLimit;
+	}
+
+	/**
+	 * Return whether the concurrency limit is currently active.
+	 */
+	public final boolean isThrottleActive() {
+		return (this.concurrencySemaphore != null);
+	}
+
+	/**
+	 * Return whether this executor is still accepting tasks,
+	 * i.e. has not been shut down yet.
+	 */
+	public boolean isActive() {
+		return this.active;
+	}
+
+
+	@Override
+	public void execute(Runnable task) {
+		execute(task, TIMEOUT_INDEFINITE);
+	}
+
+	/**
+	 * Executes the given task on a new thread, within the concurrency limit if any.
+	 * <p>Executes urgent tasks (with 'immediate' timeout) directly, bypassing the
+	 * concurrency limit. All other tasks wait for a permit for the given timeout,
+	 * getting rejected with a {@link TaskRejectedException} if none is available.
+	 * @see #TIMEOUT_IMMEDIATE
+	 * @see #TIMEOUT_INDEFINITE
+	 */
+	@Override
+	public void execute(Runnable task, long startTimeout) {
+		Assert.notNull(task, "Runnable must not be null");
+		if (!this.active) {
+			throw new TaskRejectedException("Executor [" + this + "] has been shut down - did not accept task: " + task);
+		}
+		Runnable taskToUse = (this.taskDecorator != null ? this.taskDecorator.decorate(task) : task);
+		Semaphore semaphore = this.concurrencySemaphore;
+		if (semaphore != null && startTimeout > TIMEOUT_IMMEDIATE) {
+			acquirePermit(semaphore, startTimeout, task);
+			try {
+				doExecute(new ConcurrencyThrottlingRunnable(taskToUse, semaphore));
+			}
+			catch (RuntimeException | Error ex) {
+				semaphore.release();
+				throw ex;
+			}
+		}
+		else {
+			doExecute(taskToUse);
+		}
+	}
+
+	/**
+	 * Execute the given task on a new thread right away, with that thread waiting
+	 * for a concurrency permit (if a concurrency limit is active) before running
+	 * the task. Used for scheduled executions, which must not block the caller.
+	 * @param task the Runnable to execute
+	 * @throws TaskRejectedException if this executor has been shut down
+	 */
+	void executeWithDeferredPermit(Runnable task) {
+		if (!this.active) {
+			throw new TaskRejectedException("Executor [" + this + "] has been shut down - did not accept task: " + task);
+		}
+		Runnable taskToUse = (this.taskDecorator != null ? this.taskDecorator.decorate(task) : task);
+		Semaphore semaphore = this.concurrencySemaphore;
+		if (semaphore != null) {
+			Runnable throttlingTask = new ConcurrencyThrottlingRunnable(taskToUse, semaphore);
+			doExecute(() -> {
+				acquirePermit(semaphore, TIMEOUT_INDEFINITE, task);
+				throttlingTask.run();
+			});
+		}
+		else {
+			doExecute(taskToUse);
+		}
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		FutureTask<Object> future = new FutureTask<>(task, null);
+		executeTracked(future);
+		return future;
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		FutureTask<T> future = new FutureTask<>(task);
+		executeTracked(future);
+		return future;
+	}
+
+	@Override
+	public ListenableFuture<?> submitListenable(Runnable task) {
+		ListenableFutureTask<Object> future = new ListenableFutureTask<>(task, null);
+		executeTracked(future);
+		return future;
+	}
+
+	@Override
+	public <T> ListenableFuture<T> submitListenable(Callable<T> task) {
+		ListenableFutureTask<T> future = new ListenableFutureTask<>(task);
+		executeTracked(future);
+		return future;
+	}
+
+	private void executeTracked(RunnableFuture<?> future) {
+		this.activeFutures.add(future);
+		try {
+			execute(() -> {
+				try {
+					future.run();
+				}
+				finally {
+					this.activeFutures.remove(future);
+				}
+			}, TIMEOUT_INDEFINITE);
+		}
+		catch (RuntimeException | Error ex) {
+			this.activeFutures.remove(future);
+			throw ex;
+		}
+	}
+
+	private void acquirePermit(Semaphore semaphore, long startTimeout, Runnable task) {
+		try {
+			if (startTimeout >= TIMEOUT_INDEFINITE) {
+				semaphore.acquire();
+			}
+			else if (!semaphore.tryAcquire(startTimeout, TimeUnit.MILLISECONDS)) {
+				throw new TaskRejectedException("Executor [" + this + "] reached its concurrency limit of " +
+						this.concurrencyLimit + " - did not accept task within " + startTimeout + " ms: " + task);
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new TaskRejectedException("Interrupted while waiting for concurrency permit: " + task, ex);
+		}
+	}
+
+	/**
+	 * Template method for the actual execution of a task.
+	 * <p>The default implementation creates a new thread and starts it.
+	 * @param task the Runnable to execute
+	 * @see #setThreadFactory
+	 * @see #setVirtualThreads
+	 */
+	protected void doExecute(Runnable task) {
+		ThreadFactory threadFactory = this.threadFactory;
+		if (threadFactory == null) {
+			threadFactory = this.defaultThreadFactory;
+			if (threadFactory == null) {
+				threadFactory = (this.virtualThreads && VirtualThreadDelegate.isAvailable() ?
+						VirtualThreadDelegate.createThreadFactory(getThreadNamePrefix()) : this::createThread);
+				this.defaultThreadFactory = threadFactory;
+			}
+		}
+		threadFactory.newThread(task).start();
+	}
+
+	/**
+	 * Stop accepting new tasks and cancel all tasks which have been submitted
+	 * for a {@link Future} and did not complete yet, interrupting their threads.
+	 */
+	@Override
+	public void destroy() {
+		this.active = false;
+		for (RunnableFuture<?> future : this.activeFutures) {
+			future.cancel(true);
+		}
+		this.activeFutures.clear();
+	}
+
+
+	/**
+	 * This Runnable releases the concurrency permit after the
+	 * target Runnable has finished its execution.
+	 */
+	private static class ConcurrencyThrottlingRunnable implements Runnable {
+
+		private final Runnable target;
+
+		private final Semaphore semaphore;
+
+		public ConcurrencyThrottlingRunnable(Runnable target, Semaphore semaphore) {
+			this.target = target;
+			this.semaphore = semaphore;
+		}
+
+		@Override
+		public void run() {
+			try {
+				this.target.run();
+			}
+			finally {
+				this.semaphore.release();
+			}
+		}
+	}
+
+
+	/**
+	 * Inner class to reflectively access the virtual thread builder API on JDK 21+,
+	 * while compiling against earlier JDKs.
+	 */
+	private static class VirtualThreadDelegate {
+
+		@Nullable
+		private static final Method ofVirtualMethod;
+
+		@Nullable
+		private static final Method nameMethod;
+
+		@Nullable
+		private static final Method factoryMethod;
+
+		static {
+			Method ofVirtual = null;
+			Method name = null;
+			Method factory = null;
+			try {
+				Class<?> builderClass = ClassUtils.forName("java.lang.Thread$Builder",
+						VirtualThreadTaskExecutor.class.getClassLoader());
+				ofVirtual = Thread.class.getMethod("ofVirtual");
+				name = builderClass.getMethod("name", String.class, long.class);
+				factory = builderClass.getMethod("factory");
+				// Fails on JDK 19/20 without preview features enabled
+				ofVirtual.invoke(null);
+			}
+			catch (Throwable ex) {
+				// No (enabled) virtual thread support on this JDK
+				ofVirtual = null;
+			}
+			ofVirtualMethod = ofVirtual;
+			nameMethod = name;
+			factoryMethod = factory;
+		}
+
+		public static boolean isAvailable() {
+			return (ofVirtualMethod != null);
+		}
+
+		public static ThreadFactory createThreadFactory(String threadNamePrefix) {
+			Assert.state(ofVirtualMethod != null && nameMethod != null && factoryMethod != null,
+					"Virtual threads not supported");
+			Object builder = ReflectionUtils.invokeMethod(ofVirtualMethod, null);
+			builder = ReflectionUtils.invokeMethod(nameMethod, builder, threadNamePrefix, 1L);
+			return (ThreadFactory) ReflectionUtils.invokeMethod(factoryMethod, builder);
+		}
+	}
+
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.PeriodicTrigger;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+import org.springframework.scheduling.support.TaskUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * Variant of {@link VirtualThreadTaskExecutor} which implements Spring's
+ * {@link TaskScheduler} interface as well, running each scheduled execution
+ * on a new (virtual) thread.
+ *
+ * <p>A single internal timer thread keeps track of the trigger times and hands
+ * each execution off to a new thread, so long-running or blocking tasks never
+ * delay the execution of other scheduled tasks. Repeated executions of the same
+ * task do not overlap: the next execution gets scheduled once the previous one
+ * has completed, as determined by the {@link Trigger} for the task. With a
+ * {@link #setConcurrencyLimit concurrency limit}, each execution waits for a
+ * permit on its own thread, so a saturated limit delays the affected executions
+ * but not the timer thread.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see #setErrorHandler
+ * @see ThreadPoolTaskScheduler
+ */
+@SuppressWarnings("serial")
+public class VirtualThreadTaskScheduler extends VirtualThreadTaskExecutor implements TaskScheduler {
+
+	@Nullable
+	private volatile ErrorHandler errorHandler;
+
+	@Nullable
+	private ScheduledExecutorService timer;
+
+	private final Object timerMonitor = new Object();
+
+
+	/**
+	 * Create a new VirtualThreadTaskScheduler with default thread name prefix.
+	 */
+	public VirtualThreadTaskScheduler() {
+		super();
+	}
+
+	/**
+	 * Create a new VirtualThreadTaskScheduler with the given thread name prefix.
+	 * @param threadNamePrefix the prefix to use for the names of newly created threads
+	 */
+	public VirtualThreadTaskScheduler(String threadNamePrefix) {
+		super(threadNamePrefix);
+	}
+
+
+	/**
+	 * Set a custom {@link ErrorHandler} strategy.
+	 * <p>By default, errors in repeated tasks are logged and suppressed,
+	 * while errors in one-time tasks are logged and propagated.
+	 */
+	public void setErrorHandler(ErrorHandler errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+
+	@Override
+	@Nullable
+	public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+		return new TriggerTask(errorHandlingTask(task, true), trigger).schedule();
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+		Trigger trigger = triggerContext -> (triggerContext.lastScheduledExecutionTime() == null ? startTime : null);
+		return scheduleTriggerTask(errorHandlingTask(task, false), trigger);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+		return scheduleTriggerTask(errorHandlingTask(task, true), periodicTrigger(startTime, period, true));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+		return scheduleTriggerTask(errorHandlingTask(task, true), periodicTrigger(null, period, true));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+		return scheduleTriggerTask(errorHandlingTask(task, true), periodicTrigger(startTime, delay, false));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+		return scheduleTriggerTask(errorHandlingTask(task, true), periodicTrigger(null, delay, false));
+	}
+
+	private ScheduledFuture<?> scheduleTriggerTask(Runnable task, Trigger trigger) {
+		ScheduledFuture<?> future = new TriggerTask(task, trigger).schedule();
+		Assert.state(future != null, "Trigger did not provide an initial execution time");
+		return future;
+	}
+
+	private Runnable errorHandlingTask(Runnable task, boolean isRepeatingTask) {
+		return TaskUtils.decorateTaskWithErrorHandler(task, this.errorHandler, isRepeatingTask);
+	}
+
+	private Trigger periodicTrigger(@Nullable Date startTime, long period, boolean fixedRate) {
+		PeriodicTrigger trigger = new PeriodicTrigger(period);
+		if (startTime != null) {
+			trigger.setInitialDelay(startTime.getTime() - System.currentTimeMillis());
+		}
+		trigger.setFixedRate(fixedRate);
+		return trigger;
+	}
+
+	private ScheduledExecutorService obtainTimer() {
+		synchronized (this.timerMonitor) {
+			if (!isActive()) {
+				throw new TaskRejectedException("Scheduler [" + this + "] has been shut down");
+			}
+			if (this.timer == null) {
+				CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(getThreadNamePrefix() + "timer-");
+				threadFactory.setDaemon(true);
+				ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, threadFactory);
+				timer.setRemoveOnCancelPolicy(true);
+				this.timer = timer;
+			}
+			return this.timer;
+		}
+	}
+
+	/**
+	 * Stop the internal timer, cancelling all scheduled tasks,
+	 * and cancel all submitted tasks which did not complete yet.
+	 */
+	@Override
+	public void destroy() {
+		super.destroy();
+		synchronized (this.timerMonitor) {
+			if (this.timer != null) {
+				this.timer.shutdownNow();
+				this.timer = null;
+			}
+		}
+	}
+
+
+	/**
+	 * A scheduled task which determines its next execution time through a
+	 * {@link Trigger} once the previous execution has completed, handing
+	 * each execution off to a new thread.
+	 */
+	private class TriggerTask implements ScheduledFuture<Object> {
+
+		private final Runnable task;
+
+		private final Trigger trigger;
+
+		private final SimpleTriggerContext triggerContext = new SimpleTriggerContext();
+
+		private final CompletableFuture<Object> completion = new CompletableFuture<>();
+
+		@Nullable
+		private ScheduledFuture<?> currentFuture;
+
+		@Nullable
+		private Date scheduledExecutionTime;
+
+		public TriggerTask(Runnable task, Trigger trigger) {
+			this.task = task;
+			this.trigger = trigger;
+		}
+
+		@Nullable
+		public ScheduledFuture<?> schedule() {
+			synchronized (this) {
+				if (this.completion.isDone()) {
+					return null;
+				}
+				this.scheduledExecutionTime = this.trigger.nextExecutionTime(this.triggerContext);
+				if (this.scheduledExecutionTime == null) {
+					this.completion.complete(null);
+					return null;
+				}
+				long delay = this.scheduledExecutionTime.getTime() - System.currentTimeMillis();
+				this.currentFuture = obtainTimer().schedule(this::dispatch, delay, TimeUnit.MILLISECONDS);
+				return this;
+			}
+		}
+
+		private void dispatch() {
+			try {
+				executeWithDeferredPermit(this::run);
+			}
+			catch (TaskRejectedException ex) {
+				this.completion.completeExceptionally(ex);
+			}
+		}
+
+		private void run() {
+			if (!isActive()) {
+				// Shut down while waiting for a concurrency permit
+				this.completion.cancel(false);
+				return;
+			}
+			Date actualExecutionTime = new Date();
+			try {
+				this.task.run();
+			}
+			catch (RuntimeException | Error ex) {
+				// Propagated by the error handler: no further executions
+				this.completion.completeExceptionally(ex);
+				return;
+			}
+			Date completionTime = new Date();
+			synchronized (this) {
+				Assert.state(this.scheduledExecutionTime != null, "No scheduled execution");
+				this.triggerContext.update(this.scheduledExecutionTime, actualExecutionTime, completionTime);
+			}
+			if (isActive()) {
+				schedule();
+			}
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			synchronized (this) {
+				if (this.currentFuture != null) {
+					this.currentFuture.cancel(mayInterruptIfRunning);
+				}
+				return this.completion.cancel(mayInterruptIfRunning);
+			}
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return this.completion.isCancelled();
+		}
+
+		@Override
+		public boolean isDone() {
+			return this.completion.isDone();
+		}
+
+		@Override
+		@Nullable
+		public Object get() throws InterruptedException, ExecutionException {
+			return this.completion.get();
+		}
+
+		@Override
+		@Nullable
+		public Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+			return this.completion.get(timeout, unit);
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			ScheduledFuture<?> currentFuture;
+			synchronized (this) {
+				currentFuture = this.currentFuture;
+			}
+			return (currentFuture != null ? currentFuture.getDelay(unit) : 0);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			if (this == other) {
+				return 0;
+			}
+			long diff = getDelay(TimeUnit.MILLISECONDS) - other.getDelay(TimeUnit.MILLISECONDS);
+			return (diff == 0 ? 0 : ((diff < 0) ? -1 : 1));
+		}
+	}
+
+}
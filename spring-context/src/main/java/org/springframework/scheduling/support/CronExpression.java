@@ -0,0 +1,470 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling.support;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Representation of a
+ * <a href="https://www.manpagez.com/man/5/crontab/">Crontab pattern</a>
+ * based on {@code java.time}, following the same pattern syntax as
+ * {@link CronSequenceGenerator}: six single space-separated fields representing
+ * second, minute, hour, day, month, weekday. Month and weekday names can be
+ * given as the first three letters of the English names.
+ *
+ * <p>In contrast to {@code CronSequenceGenerator}, which walks the fields
+ * of a {@link java.util.Calendar} on every calculation, all fields are
+ * precomputed into bit tables at construction time, and the next matching
+ * time is determined through plain arithmetic on those tables: no intermediate
+ * objects are created apart from the returned {@link ZonedDateTime}.
+ * Instances are immutable and thread-safe.
+ *
+ * <p>Example patterns:
+ * <ul>
+ * <li>"0 0 * * * *" = the top of every hour of every day.</li>
+ * <li>"*&#47;10 * * * * *" = every ten seconds.</li>
+ * <li>"0 0 8-10 * * *" = 8, 9 and 10 o'clock of every day.</li>
+ * <li>"0 0 6,19 * * *" = 6:00 AM and 7:00 PM every day.</li>
+ * <li>"0 0/30 8-10 * * *" = 8:00, 8:30, 9:00, 9:30, 10:00 and 10:30 every day.</li>
+ * <li>"0 0 9-17 * * MON-FRI" = on the hour nine-to-five weekdays</li>
+ * <li>"0 0 0 25 12 ?" = every Christmas Day at midnight</li>
+ * </ul>
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see CronTrigger
+ */
+public final class CronExpression {
+
+	/**
+	 * Number of years to search ahead before giving up: the full cycle
+	 * of leap years and weekdays, covering e.g. "Feb 29th on a Monday".
+	 */
+	private static final int MAX_SEARCH_YEARS = 28;
+
+	private static final int[] DAY_OF_WEEK_OFFSETS = {0, 3, 2, 5, 0, 3, 5, 1, 4, 6, 2, 4};
+
+
+	private final String expression;
+
+	private final long seconds;
+
+	private final long minutes;
+
+	private final long hours;
+
+	// Days of month 1 to 31
+	private final long daysOfMonth;
+
+	// Months 1 to 12
+	private final long months;
+
+	// Days of week 0 (Sunday) to 6 (Saturday)
+	private final long daysOfWeek;
+
+
+	/**
+	 * Construct a {@code CronExpression} from the pattern provided.
+	 * @param expression a space-separated list of time fields
+	 * @throws IllegalArgumentException if the pattern cannot be parsed
+	 */
+	public CronExpression(String expression) {
+		this(expression, tokenize(expression));
+	}
+
+	private CronExpression(String expression, String[] fields) {
+		if (!areValidCronFields(fields)) {
+			throw new IllegalArgumentException(String.format(
+					"Cron expression must consist of 6 fields (found %d in \"%s\")", fields.length, expression));
+		}
+		this.expression = expression;
+		this.seconds = parseField(fields[0], 0, 60);
+		this.minutes = parseField(fields[1], 0, 60);
+		this.hours = parseField(fields[2], 0, 24);
+		// Days of month start with 1 (in cron and java.time): ignore the 0 bit
+		this.daysOfMonth = parseField(questionMarkToStar(fields[3]), 0, 32) & ~1L;
+		this.months = parseField(replaceOrdinals(fields[4], "FOO,JAN,FEB,MAR,APR,MAY,JUN,JUL,AUG,SEP,OCT,NOV,DEC"), 1, 13);
+		long daysOfWeek = parseField(questionMarkToStar(replaceOrdinals(fields[5], "SUN,MON,TUE,WED,THU,FRI,SAT")), 0, 8);
+		if ((daysOfWeek & (1L << 7)) != 0) {
+			// Sunday can be represented as 0 or 7
+			daysOfWeek = (daysOfWeek | 1L) & ~(1L << 7);
+		}
+		this.daysOfWeek = daysOfWeek;
+	}
+
+
+	/**
+	 * Return the cron pattern that this expression has been built for.
+	 */
+	public String getExpression() {
+		return this.expression;
+	}
+
+	/**
+	 * Determine the next time matching this expression, strictly after the
+	 * given time and in the time zone of the given time. The returned value
+	 * will have a whole number of seconds.
+	 * <p>Local times which do not exist in the time zone (because of a daylight
+	 * saving time gap) will be skipped.
+	 * @param dateTime the seed value
+	 * @return the next matching time
+	 * @throws IllegalArgumentException if no matching time could be found within
+	 * the search horizon, e.g. for a non-existent date such as June 31st
+	 */
+	public ZonedDateTime next(ZonedDateTime dateTime) {
+		ZoneId zone = dateTime.getZone();
+		int year = dateTime.getYear();
+		int month = dateTime.getMonthValue();
+		int day = dateTime.getDayOfMonth();
+		int hour = dateTime.getHour();
+		int minute = dateTime.getMinute();
+		int second = dateTime.getSecond() + 1;
+
+		while (true) {
+			long next = nextLocal(year, month, day, hour, minute, second, year + MAX_SEARCH_YEARS);
+			if (next == -1) {
+				throw new IllegalArgumentException("Invalid cron expression \"" + this.expression +
+						"\" led to runaway search for next trigger");
+			}
+			year = (int) (next >>> 26);
+			month = (int) (next >>> 22) & 0xF;
+			day = (int) (next >>> 17) & 0x1F;
+			hour = (int) (next >>> 12) & 0x1F;
+			minute = (int) (next >>> 6) & 0x3F;
+			second = (int) next & 0x3F;
+
+			LocalDateTime candidate = LocalDateTime.of(year, month, day, hour, minute, second);
+			ZonedDateTime result = ZonedDateTime.ofLocal(candidate, zone, dateTime.getOffset());
+			if (!result.toLocalDateTime().equals(candidate)) {
+				// Local time in a daylight saving time gap: continue right after the gap
+				ZoneOffsetTransition transition = zone.getRules().getTransition(candidate);
+				Assert.state(transition != null, "No transition for gap");
+				LocalDateTime afterGap = transition.getDateTimeAfter();
+				year = afterGap.getYear();
+				month = afterGap.getMonthValue();
+				day = afterGap.getDayOfMonth();
+				hour = afterGap.getHour();
+				minute = afterGap.getMinute();
+				second = afterGap.getSecond();
+				continue;
+			}
+			if (!result.isAfter(dateTime)) {
+				// Local time in a daylight saving time overlap, already passed with the earlier offset
+				result = result.withLaterOffsetAtOverlap();
+				if (!result.isAfter(dateTime)) {
+					second++;
+					continue;
+				}
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Determine the given number of next times matching this expression,
+	 * strictly after the given time, e.g. for capacity planning purposes.
+	 * @param dateTime the seed value
+	 * @param count the number of times to compute
+	 * @return the next matching times in ascending order
+	 * @throws IllegalArgumentException if no matching time could be found within
+	 * the search horizon, e.g. for a non-existent date such as June 31st
+	 * @see #next(ZonedDateTime)
+	 */
+	public List<ZonedDateTime> next(ZonedDateTime dateTime, int count) {
+		Assert.isTrue(count >= 0, "Count must not be negative");
+		List<ZonedDateTime> result = new ArrayList<>(count);
+		ZonedDateTime current = dateTime;
+		for (int i = 0; i < count; i++) {
+			current = next(current);
+			result.add(current);
+		}
+		return result;
+	}
+
+	/**
+	 * Find the next matching local time at or after the given field values,
+	 * with out-of-range values rolling over into the next higher field.
+	 * @return the packed local time, or -1 if none found up until the given year
+	 */
+	private long nextLocal(int year, int month, int day, int hour, int minute, int second, int maxYear) {
+		while (year <= maxYear) {
+			int nextMonth = nextSetBit(this.months, month);
+			if (nextMonth == -1) {
+				year++;
+				month = 1;
+				day = 1;
+				hour = minute = second = 0;
+				continue;
+			}
+			if (nextMonth != month) {
+				month = nextMonth;
+				day = 1;
+				hour = minute = second = 0;
+			}
+
+			int nextDay = nextDay(year, month, day);
+			if (nextDay == -1) {
+				month++;
+				day = 1;
+				hour = minute = second = 0;
+				continue;
+			}
+			if (nextDay != day) {
+				day = nextDay;
+				hour = minute = second = 0;
+			}
+
+			int nextHour = nextSetBit(this.hours, hour);
+			if (nextHour == -1) {
+				day++;
+				hour = minute = second = 0;
+				continue;
+			}
+			if (nextHour != hour) {
+				hour = nextHour;
+				minute = second = 0;
+			}
+
+			int nextMinute = nextSetBit(this.minutes, minute);
+			if (nextMinute == -1) {
+				hour++;
+				minute = second = 0;
+				continue;
+			}
+			if (nextMinute != minute) {
+				minute = nextMinute;
+				second = 0;
+			}
+
+			int nextSecond = nextSetBit(this.seconds, second);
+			if (nextSecond == -1) {
+				minute++;
+				second = 0;
+				continue;
+			}
+			return ((long) year << 26) | ((long) month << 22) | (day << 17) | (hour << 12) | (minute << 6) | nextSecond;
+		}
+		return -1;
+	}
+
+	/**
+	 * Find the next day in the given month which matches both the
+	 * day-of-month and the day-of-week table.
+	 * @return the day of month, or -1 if none left in the given month
+	 */
+	private int nextDay(int year, int month, int day) {
+		int length = lengthOfMonth(year, month);
+		int dayOfWeek = dayOfWeek(year, month, day);
+		for (; day <= length; day++) {
+			if ((this.daysOfMonth & (1L << day)) != 0 && (this.daysOfWeek & (1L << dayOfWeek)) != 0) {
+				return day;
+			}
+			dayOfWeek = (dayOfWeek == 6 ? 0 : dayOfWeek + 1);
+		}
+		return -1;
+	}
+
+	private static int nextSetBit(long bits, int fromIndex) {
+		// All field values stay below 64, also when rolling over
+		long remaining = bits & (-1L << fromIndex);
+		return (remaining != 0 ? Long.numberOfTrailingZeros(remaining) : -1);
+	}
+
+	private static int lengthOfMonth(int year, int month) {
+		switch (month) {
+			case 2:
+				return ((year & 3) == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28);
+			case 4:
+			case 6:
+			case 9:
+			case 11:
+				return 30;
+			default:
+				return 31;
+		}
+	}
+
+	/**
+	 * Calculate the day of week for the given date, from 0 (Sunday) to 6 (Saturday).
+	 */
+	private static int dayOfWeek(int year, int month, int day) {
+		if (month < 3) {
+			year--;
+		}
+		return (year + year / 4 - year / 100 + year / 400 + DAY_OF_WEEK_OFFSETS[month - 1] + day) % 7;
+	}
+
+
+	// Parsing logic invoked by the constructor
+
+	private static String[] tokenize(String expression) {
+		Assert.notNull(expression, "Expression must not be null");
+		return StringUtils.tokenizeToStringArray(expression, " ");
+	}
+
+	private static boolean areValidCronFields(@Nullable String[] fields) {
+		return (fields != null && fields.length == 6);
+	}
+
+	private static String questionMarkToStar(String field) {
+		return (field.contains("?") ? "*" : field);
+	}
+
+	/**
+	 * Replace the values in the comma-separated list (case insensitive)
+	 * with their index in the list.
+	 */
+	private static String replaceOrdinals(String value, String commaSeparatedList) {
+		String[] list = StringUtils.commaDelimitedListToStringArray(commaSeparatedList);
+		for (int i = 0; i < list.length; i++) {
+			value = StringUtils.replace(value.toUpperCase(), list[i], "" + i);
+		}
+		return value;
+	}
+
+	/**
+	 * Parse the given field into a bit table, with bit positions
+	 * corresponding to the allowed values.
+	 */
+	private long parseField(String value, int min, int max) {
+		long bits = 0;
+		for (String field : StringUtils.delimitedListToStringArray(value, ",")) {
+			if (!field.contains("/")) {
+				// Not an incrementer so it must be a range (possibly empty)
+				int[] range = getRange(field, min, max);
+				for (int i = range[0]; i <= range[1]; i++) {
+					bits |= 1L << i;
+				}
+			}
+			else {
+				String[] split = StringUtils.delimitedListToStringArray(field, "/");
+				if (split.length > 2) {
+					throw new IllegalArgumentException("Incrementer has more than two fields: '" +
+							field + "' in expression \"" + this.expression + "\"");
+				}
+				int[] range = getRange(split[0], min, max);
+				if (!split[0].contains("-")) {
+					range[1] = max - 1;
+				}
+				int delta = Integer.parseInt(split[1]);
+				if (delta <= 0) {
+					throw new IllegalArgumentException("Incrementer delta must be 1 or higher: '" +
+							field + "' in expression \"" + this.expression + "\"");
+				}
+				for (int i = range[0]; i <= range[1]; i += delta) {
+					bits |= 1L << i;
+				}
+			}
+		}
+		return bits;
+	}
+
+	private int[] getRange(String field, int min, int max) {
+		int[] result = new int[2];
+		if (field.contains("*")) {
+			result[0] = min;
+			result[1] = max - 1;
+			return result;
+		}
+		if (!field.contains("-")) {
+			result[0] = result[1] = Integer.parseInt(field);
+		}
+		else {
+			String[] split = StringUtils.delimitedListToStringArray(field, "-");
+			if (split.length > 2) {
+				throw new IllegalArgumentException("Range has more than two fields: '" +
+						field + "' in expression \"" + this.expression + "\"");
+			}
+			result[0] = Integer.parseInt(split[0]);
+			result[1] = Integer.parseInt(split[1]);
+		}
+		if (result[0] >= max || result[1] >= max) {
+			throw new IllegalArgumentException("Range exceeds maximum (" + max + "): '" +
+					field + "' in expression \"" + this.expression + "\"");
+		}
+		if (result[0] < min || result[1] < min) {
+			throw new IllegalArgumentException("Range less than minimum (" + min + "): '" +
+					field + "' in expression \"" + this.expression + "\"");
+		}
+		if (result[0] > result[1]) {
+			throw new IllegalArgumentException("Invalid inverted range: '" + field +
+					"' in expression \"" + this.expression + "\"");
+		}
+		return result;
+	}
+
+
+	/**
+	 * Determine whether the specified expression represents a valid cron pattern.
+	 * @param expression the expression to evaluate
+	 * @return {@code true} if the given expression is a valid cron expression
+	 */
+	public static boolean isValidExpression(@Nullable String expression) {
+		if (expression == null) {
+			return false;
+		}
+		String[] fields = StringUtils.tokenizeToStringArray(expression, " ");
+		if (!areValidCronFields(fields)) {
+			return false;
+		}
+		try {
+			new CronExpression(expression, fields);
+			return true;
+		}
+		catch (IllegalArgumentException ex) {
+			return false;
+		}
+	}
+
+
+	@Override
+	public boolean equals(@Nullable Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof CronExpression)) {
+			return false;
+		}
+		CronExpression otherCron = (CronExpression) other;
+		return (this.months == otherCron.months && this.daysOfMonth == otherCron.daysOfMonth &&
+				this.daysOfWeek == otherCron.daysOfWeek && this.hours == otherCron.hours &&
+				this.minutes == otherCron.minutes && this.seconds == otherCron.seconds);
+	}
+
+	@Override
+	public int hashCode() {
+		return (17 * Long.hashCode(this.months) + 29 * Long.hashCode(this.daysOfMonth) +
+				37 * Long.hashCode(this.daysOfWeek) + 41 * Long.hashCode(this.hours) +
+				53 * Long.hashCode(this.minutes) + 61 * Long.hashCode(this.seconds));
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + ": " + this.expression;
+	}
+
+}
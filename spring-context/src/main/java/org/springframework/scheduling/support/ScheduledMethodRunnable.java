@@ -20,6 +20,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.UndeclaredThrowableException;
 
+import org.springframework.core.invoke.MethodInvoker;
+import org.springframework.core.invoke.MethodInvokers;
 import org.springframework.util.ReflectionUtils;
 
 /**
@@ -27,6 +29,9 @@ import org.springframework.util.ReflectionUtils;
  * of no-arg scheduled methods. Propagates user exceptions to the caller,
  * assuming that an error strategy for Runnables is in place.
  *
+ * <p>The method is called through a {@link MethodInvoker}, i.e. through a
+ * generated direct-call invoker where possible.
+ *
  * @author Juergen Hoeller
  * @since 3.0.6
  * @see org.springframework.scheduling.annotation.ScheduledAnnotationBeanPostProcessor
@@ -37,6 +42,8 @@ public class ScheduledMethodRunnable implements Runnable {
 
 	private final Method method;
 
+	private final MethodInvoker methodInvoker;
+
 
 	/**
 	 * Create a {@code ScheduledMethodRunnable} for the given target instance,
@@ -47,6 +54,7 @@ public class ScheduledMethodRunnable implements Runnable {
 	public ScheduledMethodRunnable(Object target, Method method) {
 		this.target = target;
 		this.method = method;
+		this.methodInvoker = MethodInvokers.forMethod(method);
 	}
 
 	/**
@@ -59,6 +67,7 @@ public class ScheduledMethodRunnable implements Runnable {
 	public ScheduledMethodRunnable(Object target, String methodName) throws NoSuchMethodException {
 		this.target = target;
 		this.method = target.getClass().getMethod(methodName);
+		this.methodInvoker = MethodInvokers.forMethod(this.method);
 	}
 
 
@@ -80,8 +89,7 @@ public class ScheduledMethodRunnable implements Runnable {
 	@Override
 	public void run() {
 		try {
-			ReflectionUtils.makeAccessible(this.method);
-			this.method.invoke(this.target);
+			this.methodInvoker.invoke(this.target);
 		}
 		catch (InvocationTargetException ex) {
 			ReflectionUtils.rethrowRuntimeException(ex.getTargetException());
@@ -16,8 +16,12 @@
 
 package org.springframework.cache;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -206,6 +210,73 @@ public abstract class AbstractCacheTests<T extends Cache> {
 		results.forEach(r -> assertThat(r).isEqualTo(1)); // Only one method got invoked
 	}
 
+	@Test
+	public void testCacheRetrieve() throws Exception {
+		T cache = getCache();
+
+		String key = createRandomKey();
+		assertThat(cache.retrieve(key).get()).isNull();
+
+		cache.put(key, "george");
+		assertThat(cache.retrieve(key).get().get()).isEqualTo("george");
+
+		cache.put(key, null);
+		assertThat(cache.retrieve(key).get()).isNotNull();
+		assertThat(cache.retrieve(key).get().get()).isNull();
+	}
+
+	@Test
+	public void testCacheRetrieveWithValueLoader() throws Exception {
+		T cache = getCache();
+		AtomicInteger counter = new AtomicInteger();
+
+		String key = createRandomKey();
+		CompletableFuture<String> value = cache.retrieve(key, () -> {
+			counter.incrementAndGet();
+			return CompletableFuture.completedFuture("george");
+		});
+		assertThat(value.get()).isEqualTo("george");
+		assertThat(cache.get(key).get()).isEqualTo("george");
+
+		value = cache.retrieve(key, () -> {
+			throw new IllegalStateException("Should not have been invoked");
+		});
+		assertThat(value.get()).isEqualTo("george");
+		assertThat(counter.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void testCacheRetrieveWithValueLoaderFail() {
+		T cache = getCache();
+
+		String key = createRandomKey();
+		CompletableFuture<Object> failed = new CompletableFuture<>();
+		failed.completeExceptionally(new UnsupportedOperationException("Expected exception"));
+
+		assertThat(cache.retrieve(key, () -> failed)).isCompletedExceptionally();
+		assertThat((Object) cache.get(key)).isNull();
+	}
+
+	@Test
+	public void testCacheGetAllPutAll() {
+		T cache = getCache();
+
+		String key1 = createRandomKey();
+		String key2 = createRandomKey();
+		String key3 = createRandomKey();
+		assertThat(cache.getAll(Arrays.asList(key1, key2, key3))).isEmpty();
+
+		Map<Object, Object> entries = new LinkedHashMap<>();
+		entries.put(key1, "george");
+		entries.put(key3, null);
+		cache.putAll(entries);
+		assertThat(cache.get(key1).get()).isEqualTo("george");
+
+		Map<Object, Object> result = cache.getAll(Arrays.asList(key3, key2, key1));
+		assertThat(result).hasSize(2).containsEntry(key1, "george").containsEntry(key3, null);
+		assertThat(result.keySet()).containsExactly(key3, key1);
+	}
+
 	protected String createRandomKey() {
 		return UUID.randomUUID().toString();
 	}
@@ -16,10 +16,14 @@
 
 package org.springframework.cache;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.cache.support.AbstractValueAdaptingCache;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 /**
@@ -42,4 +46,29 @@ public abstract class AbstractValueAdaptingCacheTests<T extends AbstractValueAda
 			.withMessageContaining("is configured to not allow null values but null was provided");
 	}
 
+	@Test
+	public void testCacheRetrieveSharesPendingLoad() throws Exception {
+		T cache = getCache();
+		AtomicInteger counter = new AtomicInteger();
+		CompletableFuture<String> pending = new CompletableFuture<>();
+
+		String key = createRandomKey();
+		CompletableFuture<String> first = cache.retrieve(key, () -> {
+			counter.incrementAndGet();
+			return pending;
+		});
+		CompletableFuture<String> second = cache.retrieve(key, () -> {
+			counter.incrementAndGet();
+			return CompletableFuture.completedFuture("other");
+		});
+		assertThat(first).isNotDone();
+		assertThat(second).isNotDone();
+
+		pending.complete("george");
+		assertThat(first.get()).isEqualTo("george");
+		assertThat(second.get()).isEqualTo("george");
+		assertThat(counter.get()).isEqualTo(1);
+		assertThat(cache.get(key).get()).isEqualTo("george");
+	}
+
 }
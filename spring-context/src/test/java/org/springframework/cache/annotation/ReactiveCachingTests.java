@@ -0,0 +1,251 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.annotation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for annotation-based caching methods that use reactive operators
+ * or asynchronous return types.
+ *
+ * @author agent (agent@local)
+ */
+public class ReactiveCachingTests {
+
+	private AnnotationConfigApplicationContext context;
+
+	private ReactiveCacheableService service;
+
+	private CacheManager cacheManager;
+
+
+	@BeforeEach
+	public void setup() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.service = this.context.getBean(ReactiveCacheableService.class);
+		this.cacheManager = this.context.getBean(CacheManager.class);
+	}
+
+	@AfterEach
+	public void closeContext() {
+		this.context.close();
+	}
+
+
+	@Test
+	public void cacheFuture() throws Exception {
+		Object key = new Object();
+		Long r1 = this.service.cacheFuture(key).get();
+		Long r2 = this.service.cacheFuture(key).get();
+		Long r3 = this.service.cacheFuture(key).get();
+
+		assertThat(r1).isNotNull();
+		assertThat(r1).isSameAs(r2).isSameAs(r3);
+		Cache.ValueWrapper cached = this.cacheManager.getCache("first").get(key);
+		assertThat(cached).isNotNull();
+		assertThat(cached.get()).isSameAs(r1);
+	}
+
+	@Test
+	public void cacheFutureSync() throws Exception {
+		Object key = new Object();
+		Long r1 = this.service.cacheFutureSync(key).get();
+		Long r2 = this.service.cacheFutureSync(key).get();
+
+		assertThat(r1).isNotNull();
+		assertThat(r1).isSameAs(r2);
+		assertThat(this.service.invocations(key)).isEqualTo(1);
+	}
+
+	@Test
+	public void cacheFutureNotCachedOnFailure() {
+		Object key = new Object();
+		assertThat(this.service.failingFuture(key)).isCompletedExceptionally();
+		assertThat(this.service.failingFuture(key)).isCompletedExceptionally();
+
+		assertThat(this.cacheManager.getCache("first").get(key)).isNull();
+		assertThat(this.service.invocations(key)).isEqualTo(2);
+	}
+
+	@Test
+	public void cacheMono() {
+		Object key = new Object();
+		Mono<Long> mono = this.service.cacheMono(key);
+		assertThat(this.service.invocations(key)).isEqualTo(0);
+
+		Long r1 = mono.block();
+		Long r2 = this.service.cacheMono(key).block();
+		Long r3 = this.service.cacheMono(key).block();
+
+		assertThat(r1).isNotNull();
+		assertThat(r1).isSameAs(r2).isSameAs(r3);
+		assertThat(this.service.invocations(key)).isEqualTo(1);
+	}
+
+	@Test
+	public void cacheMonoSync() {
+		Object key = new Object();
+		Long r1 = this.service.cacheMonoSync(key).block();
+		Long r2 = this.service.cacheMonoSync(key).block();
+
+		assertThat(r1).isNotNull();
+		assertThat(r1).isSameAs(r2);
+		assertThat(this.service.invocations(key)).isEqualTo(1);
+	}
+
+	@Test
+	public void emptyMonoNotCached() {
+		Object key = new Object();
+		assertThat(this.service.emptyMono(key).block()).isNull();
+		assertThat(this.service.emptyMono(key).block()).isNull();
+
+		assertThat(this.cacheManager.getCache("nonNull").get(key)).isNull();
+		assertThat(this.service.invocations(key)).isEqualTo(2);
+	}
+
+	@Test
+	public void emptyMonoSyncNotCached() {
+		Object key = new Object();
+		assertThat(this.service.emptyMonoSync(key).block()).isNull();
+		assertThat(this.service.emptyMonoSync(key).block()).isNull();
+
+		assertThat(this.cacheManager.getCache("nonNull").get(key)).isNull();
+		assertThat(this.service.invocations(key)).isEqualTo(2);
+	}
+
+	@Test
+	public void cacheFlux() {
+		Object key = new Object();
+		List<Long> r1 = this.service.cacheFlux(key).collectList().block();
+		List<Long> r2 = this.service.cacheFlux(key).collectList().block();
+
+		assertThat(r1).hasSize(3);
+		assertThat(r1).isEqualTo(r2);
+		assertThat(this.service.invocations(key)).isEqualTo(1);
+		assertThat(this.cacheManager.getCache("first").get(key).get()).isEqualTo(r1);
+	}
+
+
+	@CacheConfig(cacheNames = "first")
+	static class ReactiveCacheableService {
+
+		private final AtomicLong counter = new AtomicLong();
+
+		private final Map<Object, AtomicLong> invocations = new ConcurrentHashMap<>();
+
+		@Cacheable
+		public CompletableFuture<Long> cacheFuture(Object arg) {
+			return CompletableFuture.completedFuture(invoke(arg));
+		}
+
+		@Cacheable(sync = true)
+		public CompletableFuture<Long> cacheFutureSync(Object arg) {
+			return CompletableFuture.completedFuture(invoke(arg));
+		}
+
+		@Cacheable
+		public CompletableFuture<Long> failingFuture(Object arg) {
+			invoke(arg);
+			CompletableFuture<Long> result = new CompletableFuture<>();
+			result.completeExceptionally(new IllegalStateException("Expected exception"));
+			return result;
+		}
+
+		@Cacheable
+		public Mono<Long> cacheMono(Object arg) {
+			return Mono.defer(() -> Mono.just(invoke(arg)));
+		}
+
+		@Cacheable(sync = true)
+		public Mono<Long> cacheMonoSync(Object arg) {
+			return Mono.defer(() -> Mono.just(invoke(arg)));
+		}
+
+		@Cacheable("nonNull")
+		public Mono<Long> emptyMono(Object arg) {
+			return Mono.defer(() -> {
+				invoke(arg);
+				return Mono.empty();
+			});
+		}
+
+		@Cacheable(cacheNames = "nonNull", sync = true)
+		public Mono<Long> emptyMonoSync(Object arg) {
+			return Mono.defer(() -> {
+				invoke(arg);
+				return Mono.empty();
+			});
+		}
+
+		@Cacheable
+		public Flux<Long> cacheFlux(Object arg) {
+			Long value = invoke(arg);
+			return Flux.fromIterable(Arrays.asList(value, value + 1, value + 2));
+		}
+
+		private Long invoke(Object arg) {
+			this.invocations.computeIfAbsent(arg, key -> new AtomicLong()).incrementAndGet();
+			return this.counter.getAndIncrement();
+		}
+
+		long invocations(Object arg) {
+			AtomicLong count = this.invocations.get(arg);
+			return (count != null ? count.get() : 0);
+		}
+	}
+
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			SimpleCacheManager cacheManager = new SimpleCacheManager();
+			cacheManager.setCaches(Arrays.asList(
+					new ConcurrentMapCache("first"), new ConcurrentMapCache("nonNull", false)));
+			return cacheManager;
+		}
+
+		@Bean
+		public ReactiveCacheableService reactiveCacheableService() {
+			return new ReactiveCacheableService();
+		}
+	}
+
+}
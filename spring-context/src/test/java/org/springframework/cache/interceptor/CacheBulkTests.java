@@ -0,0 +1,226 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.CacheTestUtils;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Tests for bulk lookups, as enabled through {@link Cacheable#bulk()}.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+public class CacheBulkTests {
+
+	private ConfigurableApplicationContext context;
+
+	private Cache cache;
+
+	private BulkService service;
+
+
+	@BeforeEach
+	public void setup() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.cache = this.context.getBean(CacheManager.class).getCache("testCache");
+		this.service = this.context.getBean(BulkService.class);
+	}
+
+	@AfterEach
+	public void closeContext() {
+		this.context.close();
+	}
+
+
+	@Test
+	public void bulkLookupInvokesMethodForMissingKeysOnly() {
+		this.cache.put("b", "cached-b");
+
+		Map<String, String> result = this.service.find(Arrays.asList("a", "b", "c"));
+		assertThat(result).containsExactly(entry("a", "A"), entry("b", "cached-b"), entry("c", "C"));
+		assertThat(this.service.requestedKeys).containsExactly(Arrays.asList("a", "c"));
+		assertThat(this.cache.get("a").get()).isEqualTo("A");
+		assertThat(this.cache.get("c").get()).isEqualTo("C");
+
+		result = this.service.find(Arrays.asList("c", "a"));
+		assertThat(result).containsExactly(entry("c", "C"), entry("a", "A"));
+		assertThat(this.service.requestedKeys).hasSize(1);
+	}
+
+	@Test
+	public void bulkLookupWithUnknownKey() {
+		Map<String, String> result = this.service.find(Arrays.asList("a", "unknown"));
+		assertThat(result).containsExactly(entry("a", "A"));
+		assertThat(this.cache.get("unknown")).isNull();
+
+		this.service.find(Arrays.asList("a", "unknown"));
+		assertThat(this.service.requestedKeys).containsExactly(
+				Arrays.asList("a", "unknown"), Arrays.asList("unknown"));
+	}
+
+	@Test
+	public void bulkLookupWithConditionNotPassing() {
+		this.cache.put("a", "cached-a");
+
+		Map<String, String> result = this.service.findConditionally(Arrays.asList("a", "b"), false);
+		assertThat(result).containsExactly(entry("a", "A"), entry("b", "B"));
+		assertThat(this.cache.get("b")).isNull();
+	}
+
+	@Test
+	public void bulkLookupWithUnless() {
+		this.service.findUnlessSingle(Arrays.asList("a"));
+		this.service.findUnlessSingle(Arrays.asList("a"));
+		assertThat(this.service.requestedKeys).hasSize(2);
+		assertThat(this.cache.get("a")).isNull();
+
+		this.service.findUnlessSingle(Arrays.asList("a", "b"));
+		assertThat(this.cache.get("a").get()).isEqualTo("A");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void bulkLookupWithInvokerNotSupportingArguments() throws Exception {
+		CacheInterceptor interceptor = new CacheInterceptor();
+		interceptor.setCacheOperationSources(new AnnotationCacheOperationSource());
+		interceptor.setCacheManager(this.context.getBean(CacheManager.class));
+		interceptor.afterPropertiesSet();
+		interceptor.afterSingletonsInstantiated();
+		this.cache.put("b", "cached-b");
+
+		BulkService target = new BulkService();
+		Method method = BulkService.class.getMethod("find", Collection.class);
+		List<String> keys = Arrays.asList("a", "b");
+		Map<String, String> result = (Map<String, String>) interceptor.execute(
+				() -> target.find(keys), target, method, new Object[] {keys});
+		assertThat(result).containsExactly(entry("a", "A"), entry("b", "B"));
+		assertThat(target.requestedKeys).containsExactly(keys);
+		assertThat(this.cache.get("a").get()).isEqualTo("A");
+	}
+
+	@Test
+	public void bulkLookupWithoutCollectionParameter() {
+		assertThatIllegalStateException().isThrownBy(() ->
+				this.service.findSingle("a"))
+			.withMessageContaining("@Cacheable(bulk=true) requires a Collection parameter");
+	}
+
+	@Test
+	public void bulkLookupCombinedWithOtherOperation() {
+		assertThatIllegalStateException().isThrownBy(() ->
+				this.service.findAndEvict(Arrays.asList("a")))
+			.withMessageContaining("@Cacheable(bulk=true) cannot be combined with other cache operations");
+	}
+
+	@Test
+	public void bulkLookupWithKey() {
+		assertThatIllegalStateException().isThrownBy(() ->
+				this.service.findWithKey(Arrays.asList("a")))
+			.withMessageContaining("@Cacheable(bulk=true) does not support key attribute");
+	}
+
+
+	static class BulkService {
+
+		final List<Collection<String>> requestedKeys = new ArrayList<>();
+
+		@Cacheable(cacheNames = "testCache", bulk = true)
+		public Map<String, String> find(Collection<String> keys) {
+			return load(keys);
+		}
+
+		@Cacheable(cacheNames = "testCache", bulk = true, condition = "#p1")
+		public Map<String, String> findConditionally(Collection<String> keys, boolean cache) {
+			return load(keys);
+		}
+
+		@Cacheable(cacheNames = "testCache", bulk = true, unless = "#result.size() < 2")
+		public Map<String, String> findUnlessSingle(Collection<String> keys) {
+			return load(keys);
+		}
+
+		@Cacheable(cacheNames = "testCache", bulk = true)
+		public Map<String, String> findSingle(String key) {
+			return load(Arrays.asList(key));
+		}
+
+		@Cacheable(cacheNames = "testCache", bulk = true)
+		@CacheEvict(cacheNames = "anotherTestCache", allEntries = true)
+		public Map<String, String> findAndEvict(Collection<String> keys) {
+			return load(keys);
+		}
+
+		@Cacheable(cacheNames = "testCache", bulk = true, key = "#p0")
+		public Map<String, String> findWithKey(Collection<String> keys) {
+			return load(keys);
+		}
+
+		private Map<String, String> load(Collection<String> keys) {
+			this.requestedKeys.add(new ArrayList<>(keys));
+			Map<String, String> result = new LinkedHashMap<>();
+			for (String key : keys) {
+				if (!key.equals("unknown")) {
+					result.put(key, key.toUpperCase());
+				}
+			}
+			return result;
+		}
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return CacheTestUtils.createSimpleCacheManager("testCache", "anotherTestCache");
+		}
+
+		@Bean
+		public BulkService bulkService() {
+			return new BulkService();
+		}
+	}
+
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Tests for coalescing of concurrent cache misses, as enabled through
+ * {@link CacheAspectSupport#setCoalesceConcurrentMisses}.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+public class CacheCoalescingTests {
+
+	private static final int CONCURRENT_CALLS = 10;
+
+	private ConfigurableApplicationContext context;
+
+	private CacheInterceptor interceptor;
+
+	private SlowService service;
+
+	private ExecutorService executor;
+
+
+	@BeforeEach
+	public void setup() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.interceptor = this.context.getBean(CacheInterceptor.class);
+		this.interceptor.setCoalesceConcurrentMisses(true);
+		this.service = this.context.getBean(SlowService.class);
+		this.executor = Executors.newFixedThreadPool(CONCURRENT_CALLS);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.service.latch.countDown();
+		this.executor.shutdownNow();
+		this.context.close();
+	}
+
+
+	@Test
+	public void concurrentMissesAcrossSeveralCaches() throws Exception {
+		List<Future<Object>> results = submit(() -> this.service.load("key"));
+		await().until(() -> this.interceptor.getCoalescedInvocationCount() == CONCURRENT_CALLS - 1);
+		this.service.latch.countDown();
+
+		for (Future<Object> result : results) {
+			assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(0);
+		}
+		assertThat(this.service.counter.get()).isEqualTo(1);
+		assertThat(this.context.getBean(CacheManager.class).getCache("testCache").get("key").get()).isEqualTo(0);
+		assertThat(this.context.getBean(CacheManager.class).getCache("anotherTestCache").get("key").get()).isEqualTo(0);
+		assertThat(this.service.load("key")).isEqualTo(0);
+	}
+
+	@Test
+	public void concurrentMissesSharingException() throws Exception {
+		this.service.fail = true;
+		List<Future<Object>> results = submit(() -> this.service.load("key"));
+		await().until(() -> this.interceptor.getCoalescedInvocationCount() == CONCURRENT_CALLS - 1);
+		this.service.latch.countDown();
+
+		for (Future<Object> result : results) {
+			assertThatIllegalStateException().isThrownBy(() -> {
+				try {
+					result.get(5, TimeUnit.SECONDS);
+				}
+				catch (ExecutionException ex) {
+					throw ex.getCause();
+				}
+			}).withMessage("Expected exception");
+		}
+		assertThat(this.service.counter.get()).isEqualTo(1);
+		assertThat(this.context.getBean(CacheManager.class).getCache("testCache").get("key")).isNull();
+	}
+
+	@Test
+	public void concurrentMissesWithTimeout() throws Exception {
+		this.interceptor.setCoalescingTimeout(50);
+		List<Future<Object>> results = submit(() -> this.service.load("key"));
+		await().until(() -> this.service.counter.get() == CONCURRENT_CALLS);
+		this.service.latch.countDown();
+
+		for (Future<Object> result : results) {
+			assertThat(result.get(5, TimeUnit.SECONDS)).isNotNull();
+		}
+		assertThat(this.interceptor.getCoalescedInvocationCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void noCoalescingWithCachePut() throws Exception {
+		List<Future<Object>> results = submit(() -> this.service.loadAndPut("key"));
+		await().until(() -> this.service.counter.get() == CONCURRENT_CALLS);
+		this.service.latch.countDown();
+
+		for (Future<Object> result : results) {
+			assertThat(result.get(5, TimeUnit.SECONDS)).isNotNull();
+		}
+		assertThat(this.interceptor.getCoalescedInvocationCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void missFollowedByCompletedInvocationUsesCachedValue() throws Exception {
+		PausingCache cache = (PausingCache) this.context.getBean(CacheManager.class).getCache("pausingCache");
+		this.service.latch.countDown();
+		cache.pauseOnMiss = true;
+		Future<Object> lateResult = this.executor.submit(() -> this.service.loadOnce("key"));
+		assertThat(cache.missed.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// Completes and stores its result while the late caller sits between its miss and its registration
+		assertThat(this.service.loadOnce("key")).isEqualTo(0);
+		cache.resume.countDown();
+
+		assertThat(lateResult.get(5, TimeUnit.SECONDS)).isEqualTo(0);
+		assertThat(this.service.counter.get()).isEqualTo(1);
+		assertThat(this.interceptor.getCoalescedInvocationCount()).isEqualTo(0);
+	}
+
+	private List<Future<Object>> submit(Callable<Object> call) {
+		List<Future<Object>> results = new ArrayList<>(CONCURRENT_CALLS);
+		for (int i = 0; i < CONCURRENT_CALLS; i++) {
+			results.add(this.executor.submit(call));
+		}
+		return results;
+	}
+
+
+	static class SlowService {
+
+		final AtomicInteger counter = new AtomicInteger();
+
+		final CountDownLatch latch = new CountDownLatch(1);
+
+		volatile boolean fail;
+
+		@Caching(cacheable = {
+				@Cacheable(cacheNames = "testCache", unless = "#result == null"),
+				@Cacheable(cacheNames = "anotherTestCache", condition = "#p0 != null")
+		})
+		public Object load(String key) throws InterruptedException {
+			return invoke();
+		}
+
+		@Cacheable(cacheNames = "testCache", key = "'put-' + #p0")
+		@CachePut(cacheNames = "anotherTestCache")
+		public Object loadAndPut(String key) throws InterruptedException {
+			return invoke();
+		}
+
+		@Cacheable("pausingCache")
+		public Object loadOnce(String key) throws InterruptedException {
+			return invoke();
+		}
+
+		private Object invoke() throws InterruptedException {
+			int value = this.counter.getAndIncrement();
+			this.latch.await();
+			if (this.fail) {
+				throw new IllegalStateException("Expected exception");
+			}
+			return value;
+		}
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			SimpleCacheManager cacheManager = new SimpleCacheManager();
+			cacheManager.setCaches(Arrays.asList(new ConcurrentMapCache("testCache"),
+					new ConcurrentMapCache("anotherTestCache"), new PausingCache("pausingCache")));
+			return cacheManager;
+		}
+
+		@Bean
+		public SlowService slowService() {
+			return new SlowService();
+		}
+	}
+
+
+	/**
+	 * Cache that holds the next caller missing an entry until released.
+	 */
+	static class PausingCache extends ConcurrentMapCache {
+
+		final CountDownLatch missed = new CountDownLatch(1);
+
+		final CountDownLatch resume = new CountDownLatch(1);
+
+		volatile boolean pauseOnMiss;
+
+		PausingCache(String name) {
+			super(name);
+		}
+
+		@Override
+		public ValueWrapper get(Object key) {
+			ValueWrapper result = super.get(key);
+			if (result == null && this.pauseOnMiss) {
+				this.pauseOnMiss = false;
+				this.missed.countDown();
+				try {
+					this.resume.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return result;
+		}
+	}
+
+}
@@ -104,6 +104,15 @@ public class CachePutEvaluationTests {
 		assertThat(this.cache.get(anotherValue + 100).get()).as("Wrong value for @CachePut key").isEqualTo(anotherValue);
 	}
 
+	@Test
+	public void conditionVariableNotVisibleToKey() {
+		this.cache.clear();
+
+		Long value = this.service.getWithConditionVariable("1");
+		assertThat(this.cache.get("1").get()).isEqualTo(value);
+		assertThat(this.cache.get("fromCondition")).isNull();
+	}
+
 	@Configuration
 	@EnableCaching
 	static class Config extends CachingConfigurerSupport {
@@ -143,5 +152,14 @@ public class CachePutEvaluationTests {
 		public Long getAndPut(long id) {
 			return this.counter.getAndIncrement();
 		}
+
+		/**
+		 * Each expression gets evaluated against its own context: a variable
+		 * assigned by the condition must not leak into the key.
+		 */
+		@Cacheable(condition = "(#tmp = 'fromCondition') != null", key = "#tmp ?: #p0")
+		public Long getWithConditionVariable(Object id) {
+			return this.counter.getAndIncrement();
+		}
 	}
 }
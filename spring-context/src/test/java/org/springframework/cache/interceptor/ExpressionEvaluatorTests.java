@@ -136,6 +136,30 @@ public class ExpressionEvaluatorTests {
 		assertThat(value).isEqualTo(String.class.getName());
 	}
 
+	@Test
+	public void argumentIndexForPlainArgumentReference() {
+		Method method = ReflectionUtils.findMethod(
+				AnnotatedClass.class, "multipleCaching", Object.class, Object.class);
+		assertThat(CacheOperationExpressionEvaluator.getArgumentIndex("#a", method)).isEqualTo(0);
+		assertThat(CacheOperationExpressionEvaluator.getArgumentIndex("#b", method)).isEqualTo(1);
+		assertThat(CacheOperationExpressionEvaluator.getArgumentIndex("#p1", method)).isEqualTo(1);
+		assertThat(CacheOperationExpressionEvaluator.getArgumentIndex(" #a0 ", method)).isEqualTo(0);
+		assertThat(CacheOperationExpressionEvaluator.getArgumentIndex("#root.args[1]", method)).isEqualTo(1);
+	}
+
+	@Test
+	public void argumentIndexForComplexExpression() {
+		Method method = ReflectionUtils.findMethod(
+				AnnotatedClass.class, "multipleCaching", Object.class, Object.class);
+		assertThat(CacheOperationExpressionEvaluator.getArgumentIndex(null, method)).isEqualTo(-1);
+		assertThat(CacheOperationExpressionEvaluator.getArgumentIndex("'key'", method)).isEqualTo(-1);
+		assertThat(CacheOperationExpressionEvaluator.getArgumentIndex("#p2", method)).isEqualTo(-1);
+		assertThat(CacheOperationExpressionEvaluator.getArgumentIndex("#c", method)).isEqualTo(-1);
+		assertThat(CacheOperationExpressionEvaluator.getArgumentIndex("#result", method)).isEqualTo(-1);
+		assertThat(CacheOperationExpressionEvaluator.getArgumentIndex("#a.toString()", method)).isEqualTo(-1);
+		assertThat(CacheOperationExpressionEvaluator.getArgumentIndex("#a + #b", method)).isEqualTo(-1);
+	}
+
 	private EvaluationContext createEvaluationContext(Object result) {
 		return createEvaluationContext(result, null);
 	}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jmx.export.MBeanExporter;
+import org.springframework.lang.Nullable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link StatisticsCacheManager} and {@link StatisticsCacheDecorator}.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+public class StatisticsCacheManagerTests {
+
+	private final ConcurrentMapCacheManager targetCacheManager = new ConcurrentMapCacheManager("c1");
+
+	private final StatisticsCacheManager cacheManager = new StatisticsCacheManager(this.targetCacheManager);
+
+
+	@Test
+	public void recordLookupsAndUpdates() {
+		Cache cache = this.cacheManager.getCache("c1");
+		assertThat(cache).isInstanceOf(StatisticsCacheDecorator.class);
+
+		assertThat(cache.get("key")).isNull();
+		cache.put("key", "value");
+		assertThat(cache.get("key").get()).isEqualTo("value");
+		assertThat(cache.get("key", String.class)).isEqualTo("value");
+		cache.putAll(Collections.singletonMap("other", "value"));
+		assertThat(cache.getAll(Arrays.asList("key", "other", "unknown"))).hasSize(2);
+		cache.evict("key");
+		cache.clear();
+
+		CacheStatistics statistics = this.cacheManager.getCacheStatistics("c1");
+		assertThat(statistics.getHitCount()).isEqualTo(4);
+		assertThat(statistics.getMissCount()).isEqualTo(2);
+		assertThat(statistics.getRequestCount()).isEqualTo(6);
+		assertThat(statistics.getHitRatio()).isEqualTo(4.0 / 6);
+		assertThat(statistics.getPutCount()).isEqualTo(2);
+		assertThat(statistics.getEvictionCount()).isEqualTo(1);
+		assertThat(statistics.getClearCount()).isEqualTo(1);
+
+		statistics.reset();
+		assertThat(statistics.getRequestCount()).isEqualTo(0);
+		assertThat(statistics.getHitRatio()).isEqualTo(1.0);
+	}
+
+	@Test
+	public void recordValueLoader() {
+		Cache cache = this.cacheManager.getCache("c1");
+		assertThat(cache.get("key", () -> "value")).isEqualTo("value");
+		assertThat(cache.get("key", () -> "other")).isEqualTo("value");
+		assertThatIllegalStateException().isThrownBy(() -> {
+			try {
+				cache.get("failing", () -> {
+					throw new IllegalStateException("Expected exception");
+				});
+			}
+			catch (Cache.ValueRetrievalException ex) {
+				throw ex.getCause();
+			}
+		});
+
+		CacheStatistics statistics = this.cacheManager.getCacheStatistics("c1");
+		assertThat(statistics.getHitCount()).isEqualTo(1);
+		assertThat(statistics.getMissCount()).isEqualTo(2);
+		assertThat(statistics.getLoadSuccessCount()).isEqualTo(1);
+		assertThat(statistics.getLoadFailureCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void recordStoreOnCompletion() {
+		CompletableFuture<Void> pendingStore = new CompletableFuture<>();
+		StatisticsCacheDecorator cache = new StatisticsCacheDecorator(new ConcurrentMapCache("c1") {
+			@Override
+			public CompletableFuture<Void> store(Object key, @Nullable Object value) {
+				return pendingStore;
+			}
+		});
+		CompletableFuture<Void> result = cache.store("key", "value");
+		assertThat(cache.getStatistics().getPutCount()).isEqualTo(0);
+		pendingStore.complete(null);
+		assertThat(result.isDone()).isTrue();
+		assertThat(cache.getStatistics().getPutCount()).isEqualTo(1);
+
+		CompletableFuture<Void> failingStore = new CompletableFuture<>();
+		cache = new StatisticsCacheDecorator(new ConcurrentMapCache("c1") {
+			@Override
+			public CompletableFuture<Void> store(Object key, @Nullable Object value) {
+				return failingStore;
+			}
+		});
+		result = cache.store("key", "value");
+		failingStore.completeExceptionally(new IllegalStateException("Expected exception"));
+		assertThat(result.isCompletedExceptionally()).isTrue();
+		assertThat(cache.getStatistics().getPutCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void retainStatisticsForRecreatedCache() {
+		this.cacheManager.getCache("c1").put("key", "value");
+		this.targetCacheManager.setAllowNullValues(false);
+
+		Cache cache = this.cacheManager.getCache("c1");
+		assertThat(cache.get("key")).isNull();
+		assertThat(this.cacheManager.getCacheStatistics("c1").getPutCount()).isEqualTo(1);
+		assertThat(this.cacheManager.getCacheStatistics("c1").getMissCount()).isEqualTo(1);
+		assertThat(this.cacheManager.getCacheStatistics()).containsOnlyKeys("c1");
+	}
+
+	@Test
+	public void recordLoadsThroughCachingAspect() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(Config.class);
+		CountingService service = context.getBean(CountingService.class);
+		assertThat(service.find("key")).isEqualTo(1);
+		assertThat(service.find("key")).isEqualTo(1);
+
+		CacheStatistics statistics = context.getBean(StatisticsCacheManager.class).getCacheStatistics("c1");
+		assertThat(statistics.getHitCount()).isEqualTo(1);
+		assertThat(statistics.getMissCount()).isEqualTo(1);
+		assertThat(statistics.getLoadSuccessCount()).isEqualTo(1);
+		assertThat(statistics.getPutCount()).isEqualTo(1);
+
+		// Two operations on the same cache: a single load
+		assertThat(service.findTwice("other")).isEqualTo(2);
+		assertThat(statistics.getLoadSuccessCount()).isEqualTo(2);
+		assertThat(statistics.getPutCount()).isEqualTo(3);
+		context.close();
+	}
+
+	@Test
+	public void recordLoadThroughFurtherDecorator() {
+		Cache cache = new TieredCache(new ConcurrentMapCache("c1"), this.cacheManager.getCache("c1"));
+		cache.recordLoad(1000, true);
+		cache.recordLoad(1000, false);
+
+		CacheStatistics statistics = this.cacheManager.getCacheStatistics("c1");
+		assertThat(statistics.getLoadSuccessCount()).isEqualTo(1);
+		assertThat(statistics.getLoadFailureCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void exportStatisticsToJmx() throws Exception {
+		MBeanServer server = MBeanServerFactory.newMBeanServer();
+		MBeanExporter exporter = new MBeanExporter();
+		exporter.setServer(server);
+		this.cacheManager.setMBeanExporter(exporter);
+		this.cacheManager.setJmxDomain("test");
+		this.cacheManager.afterPropertiesSet();
+		try {
+			ObjectName objectName = new ObjectName("test:type=CacheStatistics,name=\"c1\"");
+			assertThat(server.isRegistered(objectName)).isTrue();
+
+			Cache cache = this.cacheManager.getCache("c1");
+			cache.get("key");
+			assertThat(server.getAttribute(objectName, "MissCount")).isEqualTo(1L);
+
+			this.cacheManager.getCache("c2");
+			assertThat(server.isRegistered(new ObjectName("test:type=CacheStatistics,name=\"c2\""))).isFalse();
+		}
+		finally {
+			exporter.destroy();
+			MBeanServerFactory.releaseMBeanServer(server);
+		}
+	}
+
+
+	static class CountingService {
+
+		private final AtomicInteger counter = new AtomicInteger();
+
+		@Cacheable("c1")
+		public int find(String key) {
+			return this.counter.incrementAndGet();
+		}
+
+		@Caching(cacheable = {@Cacheable("c1"), @Cacheable(cacheNames = "c1", key = "'copy-' + #key")})
+		public int findTwice(String key) {
+			return this.counter.incrementAndGet();
+		}
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new StatisticsCacheManager(new ConcurrentMapCacheManager("c1"));
+		}
+
+		@Bean
+		public CountingService countingService() {
+			return new CountingService();
+		}
+	}
+
+}
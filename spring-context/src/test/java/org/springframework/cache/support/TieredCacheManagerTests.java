@@ -0,0 +1,253 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cache.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link TieredCacheManager} and {@link TieredCache}.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+public class TieredCacheManagerTests {
+
+	private final CacheManager sharedCacheManager = new ConcurrentMapCacheManager("c1");
+
+	private CacheManager localCacheManager;
+
+	private TieredCacheManager cacheManager;
+
+
+	@BeforeEach
+	public void setup() {
+		this.localCacheManager = new ConcurrentMapCacheManager();
+		this.cacheManager = new TieredCacheManager(this.localCacheManager, this.sharedCacheManager);
+	}
+
+
+	@Test
+	public void cacheNamesFromSharedCacheManager() {
+		assertThat(this.cacheManager.getCacheNames()).containsExactly("c1");
+		assertThat(this.cacheManager.getCache("c1")).isInstanceOf(TieredCache.class);
+		assertThat(this.cacheManager.getCache("c1")).isSameAs(this.cacheManager.getCache("c1"));
+		assertThat(this.cacheManager.getCache("c2")).isNull();
+	}
+
+	@Test
+	public void writeThrough() {
+		Cache cache = this.cacheManager.getCache("c1");
+		cache.put("key", "value");
+
+		assertThat(cache.get("key").get()).isEqualTo("value");
+		assertThat(shared().get("key").get()).isEqualTo("value");
+		assertThat(local().get("key")).isNotNull();
+
+		cache.evict("key");
+		assertThat(cache.get("key")).isNull();
+		assertThat(shared().get("key")).isNull();
+		assertThat(local().get("key")).isNull();
+	}
+
+	@Test
+	public void readThrough() {
+		shared().put("key", "value");
+		Cache cache = this.cacheManager.getCache("c1");
+		assertThat(local().get("key")).isNull();
+
+		assertThat(cache.get("key", String.class)).isEqualTo("value");
+		assertThat(local().get("key")).isNotNull();
+
+		// Served from the local tier from now on
+		shared().put("key", "changed");
+		assertThat(cache.get("key").get()).isEqualTo("value");
+	}
+
+	@Test
+	public void readThroughDoesNotOverwriteConcurrentWrite() {
+		Cache[] tieredCache = new Cache[1];
+		Cache sharedCache = new ConcurrentMapCache("c1") {
+			@Override
+			public ValueWrapper get(Object key) {
+				ValueWrapper wrapper = super.get(key);
+				// Concurrent write after the shared tier has been read
+				tieredCache[0].put(key, "changed");
+				return wrapper;
+			}
+		};
+		sharedCache.put("key", "value");
+		tieredCache[0] = new TieredCache(local(), sharedCache);
+
+		assertThat(tieredCache[0].get("key").get()).isEqualTo("value");
+		assertThat(local().get("key").get()).isEqualTo("changed");
+	}
+
+	@Test
+	public void readThroughWithValueLoader() {
+		Cache cache = this.cacheManager.getCache("c1");
+		assertThat(cache.get("key", () -> "value")).isEqualTo("value");
+		assertThat(shared().get("key").get()).isEqualTo("value");
+		assertThat(cache.get("key", () -> "other")).isEqualTo("value");
+	}
+
+	@Test
+	public void localTierHoldsPlainValues() {
+		this.cacheManager.setLocalTimeToLive(60000);
+		Cache cache = this.cacheManager.getCache("c1");
+		cache.put("key", "value");
+		assertThat(local().get("key").get()).isEqualTo("value");
+
+		cache.put("key", null);
+		assertThat(local().get("key")).isNull();
+		assertThat(cache.get("key")).isNotNull();
+		assertThat(cache.get("key").get()).isNull();
+	}
+
+	@Test
+	public void reconfigurationDropsLocalCopies() {
+		Cache cache = this.cacheManager.getCache("c1");
+		cache.put("key", "value");
+		assertThat(local().get("key")).isNotNull();
+
+		this.cacheManager.setLocalMaximumSize(1);
+		assertThat(local().get("key")).isNull();
+		assertThat(this.cacheManager.getCache("c1").get("key").get()).isEqualTo("value");
+	}
+
+	@Test
+	public void localTimeToLive() throws Exception {
+		this.cacheManager.setLocalTimeToLive(10);
+		Cache cache = this.cacheManager.getCache("c1");
+		cache.put("key", "value");
+		shared().put("key", "changed");
+		Thread.sleep(50);
+
+		assertThat(cache.get("key").get()).isEqualTo("changed");
+	}
+
+	@Test
+	public void localMaximumSize() {
+		this.cacheManager.setLocalMaximumSize(2);
+		Cache cache = this.cacheManager.getCache("c1");
+		cache.put("key1", "value1");
+		cache.put("key2", "value2");
+		cache.put("key3", "value3");
+
+		assertThat(local().get("key1")).isNull();
+		assertThat(local().get("key2")).isNotNull();
+		assertThat(local().get("key3")).isNotNull();
+		assertThat(cache.get("key1").get()).isEqualTo("value1");
+		assertThat(local().get("key2")).isNull();
+	}
+
+	@Test
+	public void invalidationBetweenNodes() {
+		SimpleCacheInvalidationChannel channel = new SimpleCacheInvalidationChannel();
+		this.cacheManager.setInvalidationChannel(channel);
+		CacheManager otherLocalCacheManager = new ConcurrentMapCacheManager();
+		TieredCacheManager otherCacheManager = new TieredCacheManager(otherLocalCacheManager, this.sharedCacheManager);
+		otherCacheManager.setInvalidationChannel(channel);
+
+		Cache cache = this.cacheManager.getCache("c1");
+		Cache otherCache = otherCacheManager.getCache("c1");
+		cache.put("key", "value");
+		assertThat(otherCache.get("key").get()).isEqualTo("value");
+
+		cache.put("key", "changed");
+		assertThat(local().get("key")).isNotNull();
+		assertThat(otherLocalCacheManager.getCache("c1").get("key")).isNull();
+		assertThat(otherCache.get("key").get()).isEqualTo("changed");
+
+		otherCache.clear();
+		assertThat(local().get("key")).isNull();
+		assertThat(cache.get("key")).isNull();
+	}
+
+	@Test
+	public void invalidationChannelSubscribedOnce() {
+		SimpleCacheInvalidationChannel channel = new SimpleCacheInvalidationChannel();
+		this.cacheManager.setInvalidationChannel(channel);
+		this.cacheManager.setInvalidationChannel(channel);
+		SimpleCacheInvalidationChannel otherChannel = new SimpleCacheInvalidationChannel();
+		this.cacheManager.setInvalidationChannel(otherChannel);
+		Cache cache = this.cacheManager.getCache("c1");
+		cache.put("key", "value");
+
+		channel.publish("other", "c1", "key");
+		assertThat(local().get("key")).isNotNull();
+		otherChannel.publish("other", "c1", "key");
+		assertThat(local().get("key")).isNull();
+	}
+
+	@Test
+	public void localMaximumSizeWithConcurrentWrites() throws Exception {
+		this.cacheManager.setLocalMaximumSize(10);
+		Cache cache = this.cacheManager.getCache("c1");
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> results = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				results.add(executor.submit(() -> {
+					for (int j = 0; j < 10000; j++) {
+						String key = "key" + (j % 100);
+						if (j % 3 == 0) {
+							cache.get(key);
+						}
+						else {
+							cache.put(key, "value");
+						}
+					}
+				}));
+			}
+			for (Future<?> result : results) {
+				result.get(10, TimeUnit.SECONDS);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(((Map<?, ?>) local().getNativeCache()).size()).isLessThanOrEqualTo(10);
+	}
+
+
+
+	private Cache shared() {
+		return this.sharedCacheManager.getCache("c1");
+	}
+
+	private Cache local() {
+		return this.localCacheManager.getCache("c1");
+	}
+
+}
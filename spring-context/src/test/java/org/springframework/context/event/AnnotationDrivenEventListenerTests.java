@@ -604,6 +604,73 @@ public class AnnotationDrivenEventListenerTests {
 		this.eventCollector.assertTotalEventsCount(0);
 	}
 
+	@Test
+	public void batchEventListener() {
+		load(BatchTestListener.class);
+		BatchTestListener listener = this.context.getBean(BatchTestListener.class);
+
+		this.eventCollector.assertNoEventReceived(listener);
+		this.context.publishEvent("a");
+		this.context.publishEvent("b");
+		this.eventCollector.assertNoEventReceived(listener);
+		this.context.publishEvent("c");
+		this.eventCollector.assertEvent(listener, Arrays.asList("a", "b", "c"));
+		this.eventCollector.assertTotalEventsCount(1);
+
+		this.context.publishEvent("d");
+		this.eventCollector.assertTotalEventsCount(1);
+		this.context.close();
+		this.eventCollector.assertEvent(listener, Arrays.asList("a", "b", "c"), Arrays.asList("d"));
+		this.eventCollector.assertTotalEventsCount(2);
+	}
+
+	@Test
+	public void batchEventListenerWithCoalescing() {
+		load(CoalescingBatchTestListener.class);
+		CoalescingBatchTestListener listener = this.context.getBean(CoalescingBatchTestListener.class);
+
+		this.context.publishEvent("a1");
+		this.context.publishEvent("a2");
+		this.context.publishEvent("KO");
+		this.eventCollector.assertNoEventReceived(listener);
+		this.context.publishEvent("b1");
+		this.eventCollector.assertEvent(listener, Arrays.asList("a2", "b1"));
+		this.eventCollector.assertTotalEventsCount(1);
+	}
+
+	@Test
+	public void batchEventListenerWithFailingBatch() {
+		load(FailingBatchTestListener.class);
+		FailingBatchTestListener listener = this.context.getBean(FailingBatchTestListener.class);
+
+		// Listener exception must not propagate to the publisher completing the batch
+		this.context.publishEvent("KO");
+		this.context.publishEvent("a");
+		this.eventCollector.assertEvent(listener, Arrays.asList("KO", "a"));
+		this.context.publishEvent("b");
+		this.context.publishEvent("c");
+		this.eventCollector.assertEvent(listener, Arrays.asList("KO", "a"), Arrays.asList("b", "c"));
+		this.eventCollector.assertTotalEventsCount(2);
+	}
+
+	@Test
+	public void batchEventListenerWithMaxDelay() throws InterruptedException {
+		load(DelayedBatchTestListener.class);
+		DelayedBatchTestListener listener = this.context.getBean(DelayedBatchTestListener.class);
+
+		this.context.publishEvent("a");
+		this.countDownLatch.await(2, TimeUnit.SECONDS);
+		this.eventCollector.assertEvent(listener, Arrays.asList("a"));
+		this.eventCollector.assertTotalEventsCount(1);
+
+		// The flush timer thread belongs to the listener and ends with the context
+		Thread flushThread = listener.deliveryThread;
+		assertThat(flushThread).isNotNull();
+		this.context.close();
+		flushThread.join(2000);
+		assertThat(flushThread.isAlive()).isFalse();
+	}
+
 	@Test
 	public void orderedListeners() {
 		load(OrderedTestListener.class);
@@ -702,6 +769,57 @@ public class AnnotationDrivenEventListenerTests {
 	}
 
 
+	@Component
+	static class BatchTestListener extends AbstractTestEventListener {
+
+		@BatchEventListener(maxBatchSize = 3, maxDelay = 60000)
+		public void handleBatch(List<String> batch) {
+			collectEvent(batch);
+		}
+	}
+
+
+	@Component
+	static class CoalescingBatchTestListener extends AbstractTestEventListener {
+
+		@BatchEventListener(maxBatchSize = 2, maxDelay = 60000,
+				condition = "#root.args[0] != 'KO'", coalesceKey = "#root.args[0].charAt(0)")
+		public void handleBatch(List<String> batch) {
+			collectEvent(batch);
+		}
+	}
+
+
+	@Component
+	static class FailingBatchTestListener extends AbstractTestEventListener {
+
+		@BatchEventListener(maxBatchSize = 2, maxDelay = 60000)
+		public void handleBatch(List<String> batch) {
+			collectEvent(batch);
+			if (batch.contains("KO")) {
+				throw new IllegalStateException("Test exception");
+			}
+		}
+	}
+
+
+	@Component
+	static class DelayedBatchTestListener extends AbstractTestEventListener {
+
+		@Autowired
+		private CountDownLatch countDownLatch;
+
+		volatile Thread deliveryThread;
+
+		@BatchEventListener(maxDelay = 10)
+		public void handleBatch(List<String> batch) {
+			this.deliveryThread = Thread.currentThread();
+			collectEvent(batch);
+			this.countDownLatch.countDown();
+		}
+	}
+
+
 	@EventListener
 	@Target(ElementType.METHOD)
 	@Retention(RetentionPolicy.RUNTIME)
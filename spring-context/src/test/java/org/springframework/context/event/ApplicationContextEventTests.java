@@ -16,6 +16,8 @@
 
 package org.springframework.context.event;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -44,6 +46,7 @@ import org.springframework.context.support.StaticMessageSource;
 import org.springframework.core.Ordered;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.scheduling.support.TaskUtils;
 import org.springframework.tests.sample.beans.TestBean;
 import org.springframework.util.ReflectionUtils;
@@ -180,6 +183,116 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		smc.multicastEvent(evt);
 	}
 
+	@Test
+	public void simpleApplicationEventMulticasterWithListenerQueue() {
+		List<ApplicationEvent> seenEvents = new ArrayList<>();
+		ApplicationListener<ApplicationEvent> listener = seenEvents::add;
+		ApplicationEvent evt1 = new ContextRefreshedEvent(new StaticApplicationContext());
+		ApplicationEvent evt2 = new ContextClosedEvent(new StaticApplicationContext());
+		ApplicationEvent evt3 = new ContextRefreshedEvent(new StaticApplicationContext());
+
+		List<Runnable> tasks = new ArrayList<>();
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.setTaskExecutor(tasks::add);
+		smc.setListenerQueueCapacity(10);
+		smc.addApplicationListener(listener);
+
+		smc.multicastEvent(evt1);
+		smc.multicastEvent(evt2);
+		smc.multicastEvent(evt3);
+		assertThat(seenEvents).isEmpty();
+		assertThat(tasks).hasSize(1);
+
+		smc.removeApplicationListener(listener);
+		tasks.remove(0).run();
+		assertThat(seenEvents).containsExactly(evt1, evt2, evt3);
+		assertThat(tasks).isEmpty();
+		assertThat(smc.listenerQueues).isEmpty();
+
+		smc.addApplicationListener(listener);
+		smc.multicastEvent(evt1);
+		assertThat(tasks).hasSize(1);
+		tasks.remove(0).run();
+		assertThat(seenEvents).containsExactly(evt1, evt2, evt3, evt1);
+		assertThat(smc.listenerQueues).isEmpty();
+	}
+
+	@Test
+	public void simpleApplicationEventMulticasterWithFullListenerQueue() {
+		List<ApplicationEvent> seenEvents = new ArrayList<>();
+		List<Runnable> tasks = new ArrayList<>();
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.setTaskExecutor(tasks::add);
+		smc.setListenerQueueCapacity(1);
+		smc.setListenerQueueTimeout(0);
+		ApplicationEvent evt1 = new ContextRefreshedEvent(new StaticApplicationContext());
+		ApplicationEvent evt2 = new ContextClosedEvent(new StaticApplicationContext());
+		smc.addApplicationListener((ApplicationListener<ApplicationEvent>) event -> {
+			seenEvents.add(event);
+			if (event == evt1) {
+				// Publishing to itself: queue full, must not wait for its own drain task
+				smc.multicastEvent(evt2);
+				smc.multicastEvent(evt2);
+			}
+		});
+
+		smc.multicastEvent(evt1);
+		assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(() -> smc.multicastEvent(evt2));
+		assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(() -> tasks.remove(0).run());
+		assertThat(tasks).hasSize(1);
+		tasks.remove(0).run();
+		assertThat(seenEvents).containsExactly(evt1, evt2);
+		assertThat(smc.listenerQueues).isEmpty();
+	}
+
+	@Test
+	public void simpleApplicationEventMulticasterWithFailingListenerAndRejectedReschedule() {
+		RuntimeException failure = new IllegalStateException("listener failure");
+		ApplicationEvent evt1 = new ContextRefreshedEvent(new StaticApplicationContext());
+		ApplicationEvent evt2 = new ContextClosedEvent(new StaticApplicationContext());
+		List<Runnable> tasks = new ArrayList<>();
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.setTaskExecutor(task -> {
+			if (!tasks.isEmpty()) {
+				throw new TaskRejectedException("rejected");
+			}
+			tasks.add(task);
+		});
+		smc.setListenerQueueCapacity(10);
+		smc.addApplicationListener((ApplicationListener<ApplicationEvent>) event -> {
+			if (event == evt1) {
+				throw failure;
+			}
+		});
+
+		smc.multicastEvent(evt1);
+		smc.multicastEvent(evt2);
+		assertThat(tasks).hasSize(1);
+		assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> tasks.get(0).run())
+				.isSameAs(failure);
+		assertThat(failure.getSuppressed()).hasSize(1);
+		assertThat(failure.getSuppressed()[0]).isInstanceOf(TaskRejectedException.class);
+	}
+
+	@Test
+	public void simpleApplicationEventMulticasterWithPrecomputedListeners() {
+		MyOrderedListener1 listener1 = new MyOrderedListener1();
+		MyOrderedListener2 listener2 = new MyOrderedListener2(listener1);
+		ApplicationEvent evt = new MyEvent(this);
+		ResolvableType eventType = ResolvableType.forInstance(evt);
+
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.addApplicationListener(listener2);
+		smc.addApplicationListener(listener1);
+
+		Collection<ApplicationListener<?>> listeners = smc.getApplicationListeners(evt, eventType);
+		assertThat(listeners).containsExactly(listener1, listener2);
+		assertThat(smc.getApplicationListeners(evt, eventType)).isSameAs(listeners);
+
+		smc.removeApplicationListener(listener2);
+		assertThat(smc.getApplicationListeners(evt, eventType)).containsExactly(listener1);
+	}
+
 	@Test
 	public void orderedListeners() {
 		MyOrderedListener1 listener1 = new MyOrderedListener1();
@@ -16,7 +16,18 @@
 
 package org.springframework.scheduling.concurrent;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
 import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 /**
  * @author Juergen Hoeller
@@ -33,4 +44,116 @@ public class ThreadPoolTaskExecutorTests extends AbstractSchedulingTaskExecutorT
 		return executor;
 	}
 
+
+	@Test
+	public void statistics() throws Exception {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setMaxPoolSize(1);
+		executor.setQueueCapacity(1);
+		executor.setStatisticsEnabled(true);
+		executor.afterPropertiesSet();
+		try {
+			CountDownLatch release = new CountDownLatch(1);
+			CountDownLatch done = new CountDownLatch(2);
+			executor.execute(() -> {
+				try {
+					release.await();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				done.countDown();
+			});
+			executor.execute(done::countDown);
+			assertThat(executor.getQueueSize()).isEqualTo(1);
+			assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(() -> executor.execute(() -> {}));
+			release.countDown();
+			assertThat(done.await(1000, TimeUnit.MILLISECONDS)).isTrue();
+			executor.shutdown();
+			assertThat(executor.getThreadPoolExecutor().awaitTermination(1000, TimeUnit.MILLISECONDS)).isTrue();
+
+			TaskExecutionStatistics statistics = executor.getStatistics();
+			assertThat(statistics.getSubmittedTaskCount()).isEqualTo(3);
+			assertThat(statistics.getRejectedTaskCount()).isEqualTo(1);
+			assertThat(statistics.getCompletedTaskCount()).isEqualTo(2);
+			assertThat(statistics.getPeakActiveCount()).isEqualTo(1);
+			assertThat(statistics.getPeakQueueSize()).isEqualTo(1);
+			assertThat(statistics.getQueueWaitTimeHistogram()).hasSize(statistics.getHistogramBounds().length + 1);
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void statisticsWithCustomRejectedExecutionHandler() throws Exception {
+		RejectedExecutionHandler handler = new ThreadPoolExecutor.DiscardPolicy();
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setMaxPoolSize(1);
+		executor.setQueueCapacity(0);
+		executor.setRejectedExecutionHandler(handler);
+		executor.setStatisticsEnabled(true);
+		executor.afterPropertiesSet();
+		try {
+			ThreadPoolExecutor threadPoolExecutor = executor.getThreadPoolExecutor();
+			assertThat(threadPoolExecutor.getRejectedExecutionHandler()).isSameAs(handler);
+
+			CountDownLatch release = new CountDownLatch(1);
+			executor.execute(() -> {
+				try {
+					release.await();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			executor.execute(() -> {});
+			assertThat(executor.getStatistics().getRejectedTaskCount()).isEqualTo(1);
+
+			CountDownLatch rejected = new CountDownLatch(1);
+			RejectedExecutionHandler newHandler = (task, pool) -> rejected.countDown();
+			threadPoolExecutor.setRejectedExecutionHandler(newHandler);
+			assertThat(threadPoolExecutor.getRejectedExecutionHandler()).isSameAs(newHandler);
+			executor.execute(() -> {});
+			assertThat(rejected.getCount()).isEqualTo(0);
+			assertThat(executor.getStatistics().getRejectedTaskCount()).isEqualTo(2);
+			release.countDown();
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void adaptivePoolSizing() throws Exception {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(1);
+		executor.setMaxPoolSize(4);
+		executor.setAdaptivePoolSizing(true);
+		executor.setTargetQueueWaitTime(1);
+		executor.setAdaptationInterval(0);
+		executor.afterPropertiesSet();
+		try {
+			CountDownLatch release = new CountDownLatch(1);
+			for (int i = 0; i < 10; i++) {
+				executor.execute(() -> {
+					try {
+						release.await();
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+				});
+				// Let queued tasks exceed the target queue wait time
+				Thread.sleep(5);
+			}
+			assertThat(executor.getThreadPoolExecutor().getCorePoolSize()).isEqualTo(4);
+			assertThat(executor.getCorePoolSize()).isEqualTo(1);
+			release.countDown();
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
 }
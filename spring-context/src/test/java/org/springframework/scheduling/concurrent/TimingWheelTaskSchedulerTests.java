@@ -0,0 +1,133 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.scheduling.support.CronTrigger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+public class TimingWheelTaskSchedulerTests extends AbstractSchedulingTaskExecutorTests {
+
+	private final TimingWheelTaskScheduler scheduler = new TimingWheelTaskScheduler();
+
+
+	@Override
+	protected AsyncListenableTaskExecutor buildExecutor() {
+		scheduler.setThreadNamePrefix(THREAD_NAME_PREFIX);
+		scheduler.setTickDuration(5);
+		scheduler.setTicksPerWheel(16);
+		scheduler.afterPropertiesSet();
+		return scheduler;
+	}
+
+
+	@Test
+	public void scheduleOneTimeTaskWithDelay() throws Exception {
+		long start = System.currentTimeMillis();
+		AtomicInteger count = new AtomicInteger();
+		ScheduledFuture<?> future = scheduler.schedule(count::incrementAndGet, new Date(start + 50));
+		future.get(1000, TimeUnit.MILLISECONDS);
+		assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(50);
+		assertThat(count.get()).isEqualTo(1);
+		assertThat(future.isDone()).isTrue();
+	}
+
+	@Test
+	public void scheduleBeyondWheelRevolution() throws Exception {
+		// 16 ticks of 5 ms: 200 ms requires several rounds
+		long start = System.currentTimeMillis();
+		ScheduledFuture<?> future = scheduler.schedule(() -> {}, new Date(start + 200));
+		future.get(1000, TimeUnit.MILLISECONDS);
+		assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(200);
+	}
+
+	@Test
+	public void scheduleAtFixedRate() throws Exception {
+		CountDownLatch latch = new CountDownLatch(5);
+		ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(latch::countDown, 10);
+		assertThat(latch.await(1000, TimeUnit.MILLISECONDS)).isTrue();
+		future.cancel(false);
+		assertThat(future.isCancelled()).isTrue();
+	}
+
+	@Test
+	public void scheduleCronTask() throws Exception {
+		CountDownLatch latch = new CountDownLatch(2);
+		ScheduledFuture<?> future = scheduler.schedule(latch::countDown, new CronTrigger("* * * * * *"));
+		assertThat(latch.await(3000, TimeUnit.MILLISECONDS)).isTrue();
+		future.cancel(false);
+	}
+
+	@Test
+	public void cancelManyTasks() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		List<ScheduledFuture<?>> futures = new ArrayList<>();
+		Date startTime = new Date(System.currentTimeMillis() + 100);
+		for (int i = 0; i < 10000; i++) {
+			futures.add(scheduler.schedule(count::incrementAndGet, startTime));
+		}
+		for (ScheduledFuture<?> future : futures) {
+			assertThat(future.cancel(false)).isTrue();
+		}
+		Thread.sleep(200);
+		assertThat(count.get()).isEqualTo(0);
+		assertThat(scheduler.getTimingWheelExecutor().shutdownNow()).isEmpty();
+	}
+
+	@Test
+	public void shutdownCompletesDelayedTasksButCancelsPeriodicTasks() throws Exception {
+		TimingWheelScheduledExecutor executor = scheduler.getTimingWheelExecutor();
+		AtomicInteger count = new AtomicInteger();
+		ScheduledFuture<?> delayed = executor.schedule(count::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+		ScheduledFuture<?> periodic = executor.scheduleWithFixedDelay(() -> {}, 100, 100, TimeUnit.MILLISECONDS);
+		executor.shutdown();
+		assertThat(executor.awaitTermination(1000, TimeUnit.MILLISECONDS)).isTrue();
+		assertThat(delayed.isDone()).isTrue();
+		assertThat(delayed.isCancelled()).isFalse();
+		assertThat(count.get()).isEqualTo(1);
+		assertThat(periodic.isCancelled()).isTrue();
+	}
+
+	@Test
+	public void callerRunsPolicyDoesNotRunTasksAfterShutdown() throws Exception {
+		TimingWheelScheduledExecutor executor = new TimingWheelScheduledExecutor(
+				5, TimeUnit.MILLISECONDS, 16, 1, Thread::new, new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.shutdown();
+		AtomicInteger count = new AtomicInteger();
+		executor.schedule(count::incrementAndGet, 0, TimeUnit.MILLISECONDS);
+		assertThat(count.get()).isEqualTo(0);
+		assertThat(executor.awaitTermination(1000, TimeUnit.MILLISECONDS)).isTrue();
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+public class VirtualThreadTaskExecutorTests extends AbstractSchedulingTaskExecutorTests {
+
+	private final VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor(THREAD_NAME_PREFIX);
+
+
+	@Override
+	protected AsyncListenableTaskExecutor buildExecutor() {
+		return this.executor;
+	}
+
+
+	@Test
+	public void virtualThreadsIfAvailable() {
+		assertThat(this.executor.isVirtualThreads()).isEqualTo(
+				VirtualThreadTaskExecutor.isVirtualThreadSupportAvailable());
+	}
+
+	@Test
+	public void concurrencyLimit() throws Exception {
+		this.executor.setConcurrencyLimit(2);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(10);
+		for (int i = 0; i < 10; i++) {
+			this.executor.execute(() -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				try {
+					Thread.sleep(10);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				running.decrementAndGet();
+				latch.countDown();
+			});
+		}
+		assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(maxRunning.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void concurrencyLimitWithStartTimeout() throws Exception {
+		this.executor.setConcurrencyLimit(1);
+		CountDownLatch release = new CountDownLatch(1);
+		this.executor.execute(() -> {
+			try {
+				release.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(() ->
+				this.executor.execute(() -> {}, 50));
+		release.countDown();
+	}
+
+	@Test
+	public void executeAfterShutdown() throws Exception {
+		this.executor.destroy();
+		assertThat(this.executor.isActive()).isFalse();
+		assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(() ->
+				this.executor.execute(() -> {}));
+	}
+
+}
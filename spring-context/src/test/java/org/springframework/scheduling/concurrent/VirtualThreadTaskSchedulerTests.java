@@ -0,0 +1,88 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+public class VirtualThreadTaskSchedulerTests extends AbstractSchedulingTaskExecutorTests {
+
+	private final VirtualThreadTaskScheduler scheduler = new VirtualThreadTaskScheduler(THREAD_NAME_PREFIX);
+
+
+	@Override
+	protected AsyncListenableTaskExecutor buildExecutor() {
+		return this.scheduler;
+	}
+
+
+	@Test
+	public void scheduleWithFixedDelay() throws Exception {
+		CountDownLatch latch = new CountDownLatch(3);
+		ScheduledFuture<?> future = this.scheduler.scheduleWithFixedDelay(latch::countDown, 10);
+		assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(future.cancel(true)).isTrue();
+		assertThat(future.isCancelled()).isTrue();
+		assertThat(future.isDone()).isTrue();
+	}
+
+	@Test
+	public void scheduleOneTimeFailingTask() {
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> {
+			throw new IllegalStateException("Expected exception");
+		}, new Date());
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(() ->
+				future.get(5, TimeUnit.SECONDS)).withCauseInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	public void scheduledExecutionsWithinSaturatedConcurrencyLimit() throws Exception {
+		this.scheduler.setConcurrencyLimit(1);
+		CountDownLatch release = new CountDownLatch(1);
+		this.scheduler.execute(() -> {
+			try {
+				release.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		CountDownLatch latch = new CountDownLatch(2);
+		this.scheduler.schedule(latch::countDown, new Date());
+		this.scheduler.schedule(latch::countDown, new Date());
+		assertThat(latch.await(100, TimeUnit.MILLISECONDS)).isFalse();
+
+		release.countDown();
+		assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+}
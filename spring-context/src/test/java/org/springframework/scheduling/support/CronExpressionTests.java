@@ -0,0 +1,134 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.scheduling.support;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+public class CronExpressionTests {
+
+	private static final ZoneId CET = ZoneId.of("CET");
+
+
+	@Test
+	public void matchAll() {
+		CronExpression cron = new CronExpression("* * * * * *");
+		ZonedDateTime dateTime = ZonedDateTime.of(2019, 6, 30, 23, 59, 59, 500, CET);
+		assertThat(cron.next(dateTime)).isEqualTo(ZonedDateTime.of(2019, 7, 1, 0, 0, 0, 0, CET));
+	}
+
+	@Test
+	public void rolloverFromSpecificSecond() {
+		CronExpression cron = new CronExpression("10 * * * * *");
+		ZonedDateTime dateTime = ZonedDateTime.of(2019, 6, 1, 9, 53, 10, 0, CET);
+		assertThat(cron.next(dateTime)).isEqualTo(ZonedDateTime.of(2019, 6, 1, 9, 54, 10, 0, CET));
+	}
+
+	@Test
+	public void resetLowerFieldsOnDayRollover() {
+		CronExpression cron = new CronExpression("*/15 * 1-4 * * *");
+		ZonedDateTime dateTime = ZonedDateTime.of(2012, 7, 1, 9, 53, 50, 0, CET);
+		assertThat(cron.next(dateTime)).isEqualTo(ZonedDateTime.of(2012, 7, 2, 1, 0, 0, 0, CET));
+	}
+
+	@Test
+	public void weekdays() {
+		CronExpression cron = new CronExpression("0 0 9-17 * * MON-FRI");
+		ZonedDateTime dateTime = ZonedDateTime.of(2019, 8, 30, 17, 30, 0, 0, CET);
+		assertThat(cron.next(dateTime)).isEqualTo(ZonedDateTime.of(2019, 9, 2, 9, 0, 0, 0, CET));
+	}
+
+	@Test
+	public void sundayAsSeven() {
+		assertThat(new CronExpression("0 0 0 * * 7")).isEqualTo(new CronExpression("0 0 0 * * SUN"));
+		assertThat(new CronExpression("0 0 0 * * 7").next(ZonedDateTime.of(2019, 9, 2, 0, 0, 0, 0, CET)))
+				.isEqualTo(ZonedDateTime.of(2019, 9, 8, 0, 0, 0, 0, CET));
+	}
+
+	@Test
+	public void leapYearWithDayOfWeek() {
+		CronExpression cron = new CronExpression("0 0 0 29 2 MON");
+		ZonedDateTime dateTime = ZonedDateTime.of(2013, 1, 1, 0, 0, 0, 0, CET);
+		assertThat(cron.next(dateTime)).isEqualTo(ZonedDateTime.of(2016, 2, 29, 0, 0, 0, 0, CET));
+	}
+
+	@Test
+	public void nonExistentDate() {
+		CronExpression cron = new CronExpression("0 0 0 31 6 *");
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				cron.next(ZonedDateTime.of(2019, 3, 10, 0, 0, 0, 0, CET)));
+	}
+
+	@Test
+	public void daylightSavingGap() {
+		CronExpression cron = new CronExpression("0 10 2 * * *");
+		ZonedDateTime dateTime = ZonedDateTime.of(2013, 3, 31, 1, 0, 54, 0, CET);
+		assertThat(cron.next(dateTime)).isEqualTo(ZonedDateTime.of(2013, 4, 1, 2, 10, 0, 0, CET));
+
+		cron = new CronExpression("0 * * * * *");
+		dateTime = ZonedDateTime.of(2013, 3, 31, 1, 59, 30, 0, CET);
+		assertThat(cron.next(dateTime)).isEqualTo(ZonedDateTime.of(2013, 3, 31, 3, 0, 0, 0, CET));
+	}
+
+	@Test
+	public void daylightSavingOverlap() {
+		CronExpression cron = new CronExpression("0 * * * * *");
+		ZonedDateTime dateTime = ZonedDateTime.of(2013, 10, 27, 2, 30, 0, 0, CET).withLaterOffsetAtOverlap();
+		ZonedDateTime next = cron.next(dateTime);
+		assertThat(next.isAfter(dateTime)).isTrue();
+		assertThat(next.getOffset()).isEqualTo(dateTime.getOffset());
+		assertThat(next.getMinute()).isEqualTo(31);
+	}
+
+	@Test
+	public void nextTimes() {
+		CronExpression cron = new CronExpression("0 0/30 8-10 * * *");
+		ZonedDateTime dateTime = ZonedDateTime.of(2019, 6, 1, 10, 0, 0, 0, CET);
+		assertThat(cron.next(dateTime, 3)).isEqualTo(Arrays.asList(
+				ZonedDateTime.of(2019, 6, 1, 10, 30, 0, 0, CET),
+				ZonedDateTime.of(2019, 6, 2, 8, 0, 0, 0, CET),
+				ZonedDateTime.of(2019, 6, 2, 8, 30, 0, 0, CET)));
+	}
+
+	@Test
+	public void invalidExpressions() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new CronExpression("*/0 * * * * *"));
+		assertThatIllegalArgumentException().isThrownBy(() -> new CronExpression("* 6-5 * * * *"));
+		assertThatIllegalArgumentException().isThrownBy(() -> new CronExpression("0 0 0 25 13 ?"));
+		assertThatIllegalArgumentException().isThrownBy(() -> new CronExpression("0 */2 1-4 * * * *"));
+		assertThat(CronExpression.isValidExpression("0 */2 1-4 * INVALID *")).isFalse();
+		assertThat(CronExpression.isValidExpression("0 */2 1-4 * * *")).isTrue();
+		assertThat(CronExpression.isValidExpression(null)).isFalse();
+	}
+
+	@Test
+	public void equalsWithWhitespace() {
+		assertThat(new CronExpression("*  *  * *  1 *")).isEqualTo(new CronExpression("* * * * 1 *"));
+	}
+
+}
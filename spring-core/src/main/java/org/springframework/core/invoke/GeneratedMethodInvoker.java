@@ -0,0 +1,108 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.invoke;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Base class for {@link MethodInvoker} classes generated at runtime by
+ * {@link MethodInvokers}, calling the target method directly instead of
+ * through {@link Method#invoke}.
+ *
+ * <p>Invocations that cannot be handled by the generated code path (e.g. a
+ * {@code null} target, an unexpected number of arguments or arguments that
+ * require conversion) are delegated to core reflection, preserving the
+ * exact semantics of {@link Method#invoke(Object, Object...)}.
+ *
+ * <p>Only public for access from generated subclasses; not meant to be
+ * extended by application code.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+public abstract class GeneratedMethodInvoker implements MethodInvoker {
+
+	private static final Object[] EMPTY_ARGS = new Object[0];
+
+
+	private final Method method;
+
+	private final boolean staticMethod;
+
+	private final int parameterCount;
+
+
+	protected GeneratedMethodInvoker(Method method) {
+		this.method = method;
+		this.staticMethod = Modifier.isStatic(method.getModifiers());
+		this.parameterCount = method.getParameterCount();
+	}
+
+
+	@Override
+	public final Method getMethod() {
+		return this.method;
+	}
+
+	@Override
+	@Nullable
+	public final Object invoke(@Nullable Object target, @Nullable Object... args)
+			throws InvocationTargetException, IllegalAccessException {
+
+		Object[] argsToUse = (args != null ? args : EMPTY_ARGS);
+		if ((target == null && !this.staticMethod) || argsToUse.length != this.parameterCount) {
+			return invokeReflectively(target, argsToUse);
+		}
+		try {
+			return doInvoke(target, argsToUse);
+		}
+		catch (ClassCastException | NullPointerException ex) {
+			// Target or argument mismatch: exceptions from the method itself arrive
+			// wrapped in an InvocationTargetException, so it is safe to let reflection
+			// apply widening conversions or report the mismatch in its usual form.
+			return invokeReflectively(target, argsToUse);
+		}
+	}
+
+	private Object invokeReflectively(@Nullable Object target, Object[] args)
+			throws InvocationTargetException, IllegalAccessException {
+
+		ReflectionUtils.makeAccessible(this.method);
+		return this.method.invoke(target, args);
+	}
+
+	/**
+	 * Invoke the target method directly, wrapping any exception thrown by the
+	 * method itself in an {@link InvocationTargetException}.
+	 * @param target the target instance ({@code null} for a static method)
+	 * @param args the arguments, matching the parameter count of the method
+	 */
+	@Nullable
+	protected abstract Object doInvoke(@Nullable Object target, Object[] args) throws InvocationTargetException;
+
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " for " + this.method.toGenericString();
+	}
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.invoke;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Strategy for invoking a specific {@link Method}, following the contract
+ * of {@link Method#invoke(Object, Object...)}: exceptions thrown by the
+ * target method are wrapped in an {@link InvocationTargetException}, and
+ * arguments that do not match the parameter types lead to an
+ * {@link IllegalArgumentException}.
+ *
+ * <p>Obtain instances via {@link MethodInvokers#forMethod(Method)}.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see MethodInvokers
+ */
+public interface MethodInvoker {
+
+	/**
+	 * Return the method that this invoker calls.
+	 */
+	Method getMethod();
+
+	/**
+	 * Invoke the method on the given target with the given arguments.
+	 * @param target the target instance ({@code null} for a static method)
+	 * @param args the arguments for the invocation
+	 * @return the return value of the method, or {@code null} for a
+	 * {@code void} method
+	 * @throws InvocationTargetException if the target method threw an exception
+	 * @throws IllegalAccessException if the method is not accessible
+	 * @throws IllegalArgumentException if the arguments do not match
+	 * @see Method#invoke(Object, Object...)
+	 */
+	@Nullable
+	Object invoke(@Nullable Object target, @Nullable Object... args)
+			throws InvocationTargetException, IllegalAccessException;
+
+}
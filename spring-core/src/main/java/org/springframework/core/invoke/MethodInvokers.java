@@ -0,0 +1,294 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.invoke;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.core.SpringProperties;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Factory for {@link MethodInvoker} instances.
+ *
+ * <p>For public methods on public classes, a dedicated invoker class is
+ * generated via ASM which casts the arguments and calls the target method
+ * through a regular {@code invokevirtual}/{@code invokeinterface}/{@code invokestatic}
+ * instruction. This avoids the argument checks and the shared, megamorphic call
+ * site behind {@link Method#invoke} on every call. All other methods are invoked
+ * through core reflection.
+ *
+ * <p>Invokers are cached for methods declared in classes that are cache-safe
+ * with respect to the {@code ClassLoader} of this class, i.e. that cannot be
+ * unloaded independently from Spring itself. Each invoker class is therefore
+ * generated once per method. Methods from other class loaders, e.g. a
+ * hot-reloading application class loader, always use core reflection.
+ *
+ * <p>Invoker generation can be switched off through the
+ * {@value #IGNORE_GENERATION_PROPERTY_NAME} system property.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+public final class MethodInvokers {
+
+	/**
+	 * System property that instructs Spring to never generate invoker classes,
+	 * always using core reflection instead: {@value}.
+	 */
+	public static final String IGNORE_GENERATION_PROPERTY_NAME = "spring.invoker.generation.ignore";
+
+	private static final boolean generationIgnored = SpringProperties.getFlag(IGNORE_GENERATION_PROPERTY_NAME);
+
+	private static final String INVOKER_CLASS_SUFFIX = "$$SpringMethodInvoker$$";
+
+	private static final String SUPER_CLASS_NAME = Type.getInternalName(GeneratedMethodInvoker.class);
+
+	private static final String DO_INVOKE_DESCRIPTOR = "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;";
+
+	private static final Log logger = LogFactory.getLog(MethodInvokers.class);
+
+	private static final Map<Method, MethodInvoker> invokerCache = new ConcurrentHashMap<>(256);
+
+	private static final Map<ClassLoader, InvokerClassLoader> classLoaderCache = new ConcurrentHashMap<>(16);
+
+	private static final AtomicInteger classCounter = new AtomicInteger();
+
+
+	private MethodInvokers() {
+	}
+
+
+	/**
+	 * Return a {@link MethodInvoker} for the given method, generating
+	 * a direct-call invoker class if possible.
+	 * @param method the method to invoke
+	 * @return the (cached) invoker for the method
+	 */
+	public static MethodInvoker forMethod(Method method) {
+		MethodInvoker invoker = invokerCache.get(method);
+		if (invoker == null) {
+			if (!ClassUtils.isCacheSafe(method.getDeclaringClass(), MethodInvokers.class.getClassLoader())) {
+				// Not cached: would keep the declaring class loader alive
+				return reflective(method);
+			}
+			invoker = invokerCache.computeIfAbsent(method, MethodInvokers::createInvoker);
+		}
+		return invoker;
+	}
+
+	/**
+	 * Return a {@link MethodInvoker} for the given method which always
+	 * delegates to core reflection.
+	 * @param method the method to invoke
+	 */
+	public static MethodInvoker reflective(Method method) {
+		return new ReflectiveMethodInvoker(method);
+	}
+
+	/**
+	 * Clear the internal invoker cache.
+	 */
+	public static void clearCache() {
+		invokerCache.clear();
+		classLoaderCache.clear();
+	}
+
+
+	private static MethodInvoker createInvoker(Method method) {
+		if (!isGenerationCandidate(method)) {
+			return reflective(method);
+		}
+		try {
+			return generateInvoker(method);
+		}
+		catch (Throwable ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to generate invoker class for " + method + " - using reflection", ex);
+			}
+			return reflective(method);
+		}
+	}
+
+	private static boolean isGenerationCandidate(Method method) {
+		if (generationIgnored) {
+			return false;
+		}
+		Class<?> declaringClass = method.getDeclaringClass();
+		ClassLoader classLoader = declaringClass.getClassLoader();
+		if (classLoader == null || declaringClass.getName().startsWith("java.") ||
+				!Modifier.isPublic(method.getModifiers()) || !isAccessible(declaringClass, classLoader) ||
+				!isAccessible(method.getReturnType(), classLoader) ||
+				!ClassUtils.isVisible(GeneratedMethodInvoker.class, classLoader)) {
+			return false;
+		}
+		if (declaringClass.isInterface() && Modifier.isStatic(method.getModifiers())) {
+			// Calling a static interface method requires class file version 52,
+			// which in turn would require stack map frames in the generated class
+			return false;
+		}
+		for (Class<?> parameterType : method.getParameterTypes()) {
+			if (!isAccessible(parameterType, classLoader)) {
+				return false;
+			}
+		}
+		try {
+			// Check public accessibility at the JVM level, including module exports
+			MethodHandles.publicLookup().unreflect(method);
+			return true;
+		}
+		catch (IllegalAccessException ex) {
+			return false;
+		}
+	}
+
+	private static boolean isAccessible(Class<?> type, ClassLoader classLoader) {
+		Class<?> typeToCheck = type;
+		while (typeToCheck.isArray()) {
+			typeToCheck = typeToCheck.getComponentType();
+		}
+		return (typeToCheck.isPrimitive() || (Modifier.isPublic(typeToCheck.getModifiers()) &&
+				ClassUtils.isVisible(typeToCheck, classLoader)));
+	}
+
+	private static MethodInvoker generateInvoker(Method method) throws Exception {
+		Class<?> declaringClass = method.getDeclaringClass();
+		String className = declaringClass.getName() + INVOKER_CLASS_SUFFIX + classCounter.incrementAndGet();
+		byte[] bytes = generateInvokerClass(className.replace('.', '/'), method);
+
+		ClassLoader parent = declaringClass.getClassLoader();
+		InvokerClassLoader classLoader = classLoaderCache.computeIfAbsent(parent, InvokerClassLoader::new);
+		Class<?> invokerClass = classLoader.defineInvokerClass(className, bytes);
+		return (MethodInvoker) invokerClass.getDeclaredConstructor(Method.class).newInstance(method);
+	}
+
+	private static byte[] generateInvokerClass(String internalName, Method method) {
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		// Class file version 50: straight-line code plus a single handler, no stack map frames needed
+		cw.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER | Opcodes.ACC_SYNTHETIC,
+				internalName, null, SUPER_CLASS_NAME, null);
+
+		MethodVisitor ctor = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "(Ljava/lang/reflect/Method;)V", null, null);
+		ctor.visitCode();
+		ctor.visitVarInsn(Opcodes.ALOAD, 0);
+		ctor.visitVarInsn(Opcodes.ALOAD, 1);
+		ctor.visitMethodInsn(Opcodes.INVOKESPECIAL, SUPER_CLASS_NAME, "<init>", "(Ljava/lang/reflect/Method;)V", false);
+		ctor.visitInsn(Opcodes.RETURN);
+		ctor.visitMaxs(0, 0);
+		ctor.visitEnd();
+
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PROTECTED, "doInvoke", DO_INVOKE_DESCRIPTOR, null,
+				new String[] {Type.getInternalName(InvocationTargetException.class)});
+		Label callStart = new Label();
+		Label callEnd = new Label();
+		Label handler = new Label();
+		mv.visitTryCatchBlock(callStart, callEnd, handler, "java/lang/Throwable");
+		mv.visitCode();
+
+		Class<?> declaringClass = method.getDeclaringClass();
+		String owner = Type.getInternalName(declaringClass);
+		boolean isStatic = Modifier.isStatic(method.getModifiers());
+		if (!isStatic) {
+			mv.visitVarInsn(Opcodes.ALOAD, 1);
+			mv.visitTypeInsn(Opcodes.CHECKCAST, owner);
+		}
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			mv.visitVarInsn(Opcodes.ALOAD, 2);
+			mv.visitLdcInsn(i);
+			mv.visitInsn(Opcodes.AALOAD);
+			unboxOrCast(mv, parameterTypes[i]);
+		}
+
+		mv.visitLabel(callStart);
+		int opcode = (isStatic ? Opcodes.INVOKESTATIC :
+				(declaringClass.isInterface() ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL));
+		mv.visitMethodInsn(opcode, owner, method.getName(), Type.getMethodDescriptor(method),
+				declaringClass.isInterface());
+		mv.visitLabel(callEnd);
+		box(mv, method.getReturnType());
+		mv.visitInsn(Opcodes.ARETURN);
+
+		// Exception thrown by the target method itself -> InvocationTargetException
+		mv.visitLabel(handler);
+		mv.visitVarInsn(Opcodes.ASTORE, 3);
+		String iteName = Type.getInternalName(InvocationTargetException.class);
+		mv.visitTypeInsn(Opcodes.NEW, iteName);
+		mv.visitInsn(Opcodes.DUP);
+		mv.visitVarInsn(Opcodes.ALOAD, 3);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, iteName, "<init>", "(Ljava/lang/Throwable;)V", false);
+		mv.visitInsn(Opcodes.ATHROW);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	private static void unboxOrCast(MethodVisitor mv, Class<?> type) {
+		if (type.isPrimitive()) {
+			String wrapper = Type.getInternalName(ClassUtils.resolvePrimitiveIfNecessary(type));
+			mv.visitTypeInsn(Opcodes.CHECKCAST, wrapper);
+			mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapper, type.getName() + "Value",
+					"()" + Type.getDescriptor(type), false);
+		}
+		else if (type != Object.class) {
+			mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(type));
+		}
+	}
+
+	private static void box(MethodVisitor mv, Class<?> type) {
+		if (type == void.class) {
+			mv.visitInsn(Opcodes.ACONST_NULL);
+		}
+		else if (type.isPrimitive()) {
+			String wrapper = Type.getInternalName(ClassUtils.resolvePrimitiveIfNecessary(type));
+			mv.visitMethodInsn(Opcodes.INVOKESTATIC, wrapper, "valueOf",
+					"(" + Type.getDescriptor(type) + ")L" + wrapper + ";", false);
+		}
+	}
+
+
+	/**
+	 * ClassLoader for generated invoker classes, with the class loader
+	 * of the target methods' declaring classes as parent.
+	 */
+	private static class InvokerClassLoader extends ClassLoader {
+
+		InvokerClassLoader(ClassLoader parent) {
+			super(parent);
+		}
+
+		synchronized Class<?> defineInvokerClass(String name, byte[] bytes) {
+			return defineClass(name, bytes, 0, bytes.length);
+		}
+	}
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.invoke;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@link MethodInvoker} that simply delegates to {@link Method#invoke}.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+final class ReflectiveMethodInvoker implements MethodInvoker {
+
+	private final Method method;
+
+
+	ReflectiveMethodInvoker(Method method) {
+		this.method = method;
+	}
+
+
+	@Override
+	public Method getMethod() {
+		return this.method;
+	}
+
+	@Override
+	@Nullable
+	public Object invoke(@Nullable Object target, @Nullable Object... args)
+			throws InvocationTargetException, IllegalAccessException {
+
+		ReflectionUtils.makeAccessible(this.method);
+		return this.method.invoke(target, args);
+	}
+
+	@Override
+	public String toString() {
+		return "ReflectiveMethodInvoker for " + this.method.toGenericString();
+	}
+
+}
@@ -0,0 +1,10 @@
+/**
+ * Support for invoking methods through generated, directly linked invoker
+ * classes rather than through core reflection on every call.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.core.invoke;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.invoke;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.OverridingClassLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatNullPointerException;
+
+/**
+ * Unit tests for {@link MethodInvokers}.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+class MethodInvokersTests {
+
+	@Test
+	void generatedInvokerForPublicMethod() throws Exception {
+		MethodInvoker invoker = MethodInvokers.forMethod(method("add", int.class, long.class));
+		assertThat(invoker).isInstanceOf(GeneratedMethodInvoker.class);
+		assertThat(invoker.invoke(new TestService(), 1, 2L)).isEqualTo(3L);
+		assertThat(MethodInvokers.forMethod(method("add", int.class, long.class))).isSameAs(invoker);
+	}
+
+	@Test
+	void generatedInvokerWithWideningConversion() throws Exception {
+		MethodInvoker invoker = MethodInvokers.forMethod(method("add", int.class, long.class));
+		assertThat(invoker.invoke(new TestService(), 1, 2)).isEqualTo(3L);
+	}
+
+	@Test
+	void generatedInvokerForVoidMethod() throws Exception {
+		TestService service = new TestService();
+		MethodInvoker invoker = MethodInvokers.forMethod(method("setName", String.class));
+		assertThat(invoker.invoke(service, "test")).isNull();
+		assertThat(service.name).isEqualTo("test");
+	}
+
+	@Test
+	void generatedInvokerForStaticMethod() throws Exception {
+		MethodInvoker invoker = MethodInvokers.forMethod(method("concat", String.class, String[].class));
+		assertThat(invoker.invoke(null, "a", new String[] {"b", "c"})).isEqualTo("abc");
+	}
+
+	@Test
+	void generatedInvokerForInterfaceMethod() throws Exception {
+		MethodInvoker invoker = MethodInvokers.forMethod(Greeter.class.getMethod("greet"));
+		assertThat(invoker).isInstanceOf(GeneratedMethodInvoker.class);
+		assertThat(invoker.invoke(new TestService())).isEqualTo("hello");
+	}
+
+	@Test
+	void generatedInvokerWrapsTargetException() throws Exception {
+		MethodInvoker invoker = MethodInvokers.forMethod(method("fail"));
+		assertThatExceptionOfType(InvocationTargetException.class).isThrownBy(() ->
+				invoker.invoke(new TestService()))
+			.satisfies(ex -> assertThat(ex.getTargetException()).isInstanceOf(IllegalStateException.class));
+	}
+
+	@Test
+	void generatedInvokerWithArgumentMismatch() throws Exception {
+		MethodInvoker invoker = MethodInvokers.forMethod(method("add", int.class, long.class));
+		assertThatIllegalArgumentException().isThrownBy(() -> invoker.invoke(new TestService(), "1", 2L));
+		assertThatIllegalArgumentException().isThrownBy(() -> invoker.invoke(new TestService(), null, 2L));
+		assertThatIllegalArgumentException().isThrownBy(() -> invoker.invoke(new TestService(), 1));
+		assertThatIllegalArgumentException().isThrownBy(() -> invoker.invoke("target", 1, 2L));
+	}
+
+	@Test
+	void generatedInvokerWithNullTarget() throws Exception {
+		MethodInvoker invoker = MethodInvokers.forMethod(method("fail"));
+		assertThatNullPointerException().isThrownBy(() -> invoker.invoke(null));
+	}
+
+	@Test
+	void reflectiveInvokerForNonPublicMethod() throws Exception {
+		Method method = TestService.class.getDeclaredMethod("secret");
+		MethodInvoker invoker = MethodInvokers.forMethod(method);
+		assertThat(invoker).isNotInstanceOf(GeneratedMethodInvoker.class);
+		assertThat(invoker.invoke(new TestService())).isEqualTo("secret");
+	}
+
+	@Test
+	void reflectiveInvokerForStaticInterfaceMethod() throws Exception {
+		MethodInvoker invoker = MethodInvokers.forMethod(Greeter.class.getMethod("defaultGreeting"));
+		assertThat(invoker).isNotInstanceOf(GeneratedMethodInvoker.class);
+		assertThat(invoker.invoke(null)).isEqualTo("hello");
+	}
+
+	@Test
+	void reflectiveInvokerForMethodFromChildClassLoader() throws Exception {
+		ClassLoader classLoader = new OverridingClassLoader(getClass().getClassLoader());
+		Class<?> serviceClass = classLoader.loadClass(TestService.class.getName());
+		assertThat(serviceClass).isNotSameAs(TestService.class);
+		Method method = serviceClass.getMethod("add", int.class, long.class);
+		MethodInvoker invoker = MethodInvokers.forMethod(method);
+		assertThat(invoker).isNotInstanceOf(GeneratedMethodInvoker.class);
+		assertThat(invoker.invoke(serviceClass.getDeclaredConstructor().newInstance(), 1, 2L)).isEqualTo(3L);
+		// Not cached, so as not to keep the class loader alive
+		assertThat(MethodInvokers.forMethod(method)).isNotSameAs(invoker);
+	}
+
+	@Test
+	void reflectiveInvokerForJdkMethod() throws Exception {
+		MethodInvoker invoker = MethodInvokers.forMethod(String.class.getMethod("length"));
+		assertThat(invoker).isNotInstanceOf(GeneratedMethodInvoker.class);
+		assertThat(invoker.invoke("test")).isEqualTo(4);
+	}
+
+
+	private static Method method(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+		return TestService.class.getMethod(name, parameterTypes);
+	}
+
+
+	public interface Greeter {
+
+		default String greet() {
+			return defaultGreeting();
+		}
+
+		static String defaultGreeting() {
+			return "hello";
+		}
+	}
+
+
+	public static class TestService implements Greeter {
+
+		String name;
+
+		public long add(int a, long b) {
+			return a + b;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public void fail() {
+			throw new IllegalStateException("failure");
+		}
+
+		String secret() {
+			return "secret";
+		}
+
+		public static String concat(String first, String... others) {
+			return first + String.join("", others);
+		}
+	}
+
+}
@@ -63,6 +63,9 @@ import org.springframework.messaging.handler.annotation.MessageMapping;
  * <li>{@link org.springframework.messaging.support.MessageHeaderAccessor} or
  * {@link org.springframework.jms.support.JmsMessageHeaderAccessor} for convenient
  * access to all method arguments</li>
+ * <li>a {@link java.util.List} of payloads, Spring {@code Message} instances or
+ * raw JMS messages for receiving an entire batch of messages at once, if the
+ * listener is declared as a {@link #batch} listener (as of 5.2)</li>
  * </ul>
  *
  * <p>Annotated methods may have a non-{@code void} return type. When they do,
@@ -131,4 +134,17 @@ public @interface JmsListener {
 	 */
 	String concurrency() default "";
 
+	/**
+	 * Whether the listener method receives an entire batch of messages through
+	 * its {@code List} parameter, in combination with a container factory that
+	 * specifies a {@link org.springframework.jms.config.DefaultJmsListenerContainerFactory#setBatchSize
+	 * batch size}. Each element is converted according to the declared element
+	 * type, and {@code @Header} parameters need to be declared as a {@code List}
+	 * of the header values of all messages in the batch.
+	 * <p>Default is {@code false}: The method is invoked once per message, even
+	 * with a batch size, and a {@code List} parameter is bound to the payload.
+	 * @since 5.2
+	 */
+	boolean batch() default false;
+
 }
@@ -58,6 +58,8 @@ public class MethodJmsListenerEndpoint extends AbstractJmsListenerEndpoint imple
 	@Nullable
 	private Method mostSpecificMethod;
 
+	private boolean batch = false;
+
 	@Nullable
 	private MessageHandlerMethodFactory messageHandlerMethodFactory;
 
@@ -115,6 +117,24 @@ public class MethodJmsListenerEndpoint extends AbstractJmsListenerEndpoint imple
 		return method;
 	}
 
+	/**
+	 * Set whether the endpoint method receives an entire batch of messages
+	 * through its {@code List} parameter.
+	 * @since 5.2
+	 * @see MessagingMessageListenerAdapter#setBatchListener
+	 */
+	public void setBatch(boolean batch) {
+		this.batch = batch;
+	}
+
+	/**
+	 * Return whether the endpoint method receives an entire batch of messages.
+	 * @since 5.2
+	 */
+	public boolean isBatch() {
+		return this.batch;
+	}
+
 	/**
 	 * Set the {@link MessageHandlerMethodFactory} to use to build the
 	 * {@link InvocableHandlerMethod} responsible to manage the invocation
@@ -153,6 +173,7 @@ public class MethodJmsListenerEndpoint extends AbstractJmsListenerEndpoint imple
 		InvocableHandlerMethod invocableHandlerMethod =
 				this.messageHandlerMethodFactory.createInvocableHandlerMethod(bean, method);
 		messageListener.setHandlerMethod(invocableHandlerMethod);
+		messageListener.setBatchListener(isBatch());
 		String responseDestination = getDefaultResponseDestination();
 		if (StringUtils.hasText(responseDestination)) {
 			if (container.isReplyPubSubDomain()) {
@@ -16,6 +16,12 @@
 
 package org.springframework.jms.core;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+import javax.jms.CompletionListener;
 import javax.jms.Connection;
 import javax.jms.ConnectionFactory;
 import javax.jms.DeliveryMode;
@@ -75,6 +81,12 @@ import org.springframework.util.Assert;
  * application's environment naming context via JNDI; application servers
  * typically expose pooled, transaction-aware factories there.
  *
+ * <p>For bulk publishing, the {@code sendAll} and {@code convertAndSendAll} methods
+ * send an entire sequence of messages through a single Session and MessageProducer,
+ * optionally pipelining them through JMS 2.0 asynchronous sends with a bounded number
+ * of {@link #setMaxPendingSends pending sends}. The {@code sendAsync} methods expose
+ * a single asynchronous send as a {@link CompletableFuture}.
+ *
  * @author Mark Pollack
  * @author Juergen Hoeller
  * @author Stephane Nicoll
@@ -118,6 +130,8 @@ public class JmsTemplate extends JmsDestinationAccessor implements JmsOperations
 
 	private long timeToLive = Message.DEFAULT_TIME_TO_LIVE;
 
+	private int maxPendingSends = 0;
+
 
 	/**
 	 * Create a new JmsTemplate for bean-style usage.
@@ -457,6 +471,33 @@ public class JmsTemplate extends JmsDestinationAccessor implements JmsOperations
 		return this.timeToLive;
 	}
 
+	/**
+	 * Set the maximum number of asynchronous sends that may be pending within
+	 * a {@code sendAll} operation, i.e. sent but not yet confirmed by the JMS
+	 * provider through a JMS 2.0 {@link CompletionListener} callback.
+	 * <p>Default is 0, sending each message synchronously. A positive value
+	 * pipelines the messages of a {@code sendAll} operation, avoiding a round
+	 * trip to the broker per message while bounding the number of messages in
+	 * flight. The operation still only returns once all messages have been
+	 * confirmed, throwing an exception if any of them failed.
+	 * @since 5.2
+	 * @see #sendAll(Destination, Iterable)
+	 * @see javax.jms.MessageProducer#send(Message, CompletionListener)
+	 */
+	public void setMaxPendingSends(int maxPendingSends) {
+		Assert.isTrue(maxPendingSends >= 0, "'maxPendingSends' must not be negative");
+		this.maxPendingSends = maxPendingSends;
+	}
+
+	/**
+	 * Return the maximum number of pending asynchronous sends
+	 * within a {@code sendAll} operation.
+	 * @since 5.2
+	 */
+	public int getMaxPendingSends() {
+		return this.maxPendingSends;
+	}
+
 
 	//---------------------------------------------------------------------------------------
 	// JmsOperations execute methods
@@ -635,6 +676,278 @@ public class JmsTemplate extends JmsDestinationAccessor implements JmsOperations
 		}
 	}
 
+	/**
+	 * Actually send the given JMS message asynchronously,
+	 * using the JMS 2.0 {@link CompletionListener} API.
+	 * @param producer the JMS MessageProducer to send with
+	 * @param message the JMS Message to send
+	 * @param completionListener the listener to notify once the
+	 * JMS provider confirmed (or failed) the send
+	 * @throws JMSException if thrown by JMS API methods
+	 * @since 5.2
+	 */
+	protected void doSend(MessageProducer producer, Message message, CompletionListener completionListener)
+			throws JMSException {
+
+		if (this.deliveryDelay >= 0) {
+			producer.setDeliveryDelay(this.deliveryDelay);
+		}
+		if (isExplicitQosEnabled()) {
+			producer.send(message, getDeliveryMode(), getPriority(), getTimeToLive(), completionListener);
+		}
+		else {
+			producer.send(message, completionListener);
+		}
+	}
+
+
+	//---------------------------------------------------------------------------------------
+	// Convenience methods for sending messages in bulk or asynchronously
+	//---------------------------------------------------------------------------------------
+
+	/**
+	 * Send the messages created by the given MessageCreators to the default destination,
+	 * reusing a single Session and MessageProducer for all of them.
+	 * <p>This will only work with a default destination specified!
+	 * @param messageCreators callbacks to create the messages, in sending order
+	 * @throws JmsException checked JMSException converted to unchecked
+	 * @since 5.2
+	 * @see #sendAll(Destination, Iterable)
+	 */
+	public void sendAll(Iterable<? extends MessageCreator> messageCreators) throws JmsException {
+		Destination defaultDestination = getDefaultDestination();
+		if (defaultDestination != null) {
+			sendAll(defaultDestination, messageCreators);
+		}
+		else {
+			sendAll(getRequiredDefaultDestinationName(), messageCreators);
+		}
+	}
+
+	/**
+	 * Send the messages created by the given MessageCreators to the given destination,
+	 * reusing a single Session and MessageProducer for all of them. A locally
+	 * transacted Session gets committed once, after all messages have been sent.
+	 * <p>With {@link #setMaxPendingSends "maxPendingSends"} specified, the messages
+	 * are pipelined through asynchronous sends. Either way, this method only returns
+	 * once all messages have been sent successfully.
+	 * @param destination the destination to send the messages to
+	 * @param messageCreators callbacks to create the messages, in sending order
+	 * @throws JmsException checked JMSException converted to unchecked
+	 * @since 5.2
+	 */
+	public void sendAll(final Destination destination, final Iterable<? extends MessageCreator> messageCreators)
+			throws JmsException {
+
+		execute(session -> {
+			doSendAll(session, destination, messageCreators);
+			return null;
+		}, false);
+	}
+
+	/**
+	 * Send the messages created by the given MessageCreators to the given destination,
+	 * reusing a single Session and MessageProducer for all of them.
+	 * @param destinationName the name of the destination to send the messages to
+	 * (to be resolved to an actual destination by a DestinationResolver)
+	 * @param messageCreators callbacks to create the messages, in sending order
+	 * @throws JmsException checked JMSException converted to unchecked
+	 * @since 5.2
+	 * @see #sendAll(Destination, Iterable)
+	 */
+	public void sendAll(final String destinationName, final Iterable<? extends MessageCreator> messageCreators)
+			throws JmsException {
+
+		execute(session -> {
+			Destination destination = resolveDestinationName(session, destinationName);
+			doSendAll(session, destination, messageCreators);
+			return null;
+		}, false);
+	}
+
+	/**
+	 * Send the given objects to the given destination, converting each object
+	 * to a JMS message with the configured MessageConverter and reusing a
+	 * single Session and MessageProducer for all of them.
+	 * @param destination the destination to send the messages to
+	 * @param messages the objects to convert into messages, in sending order
+	 * @throws JmsException converted checked JMSException to unchecked
+	 * @since 5.2
+	 * @see #sendAll(Destination, Iterable)
+	 */
+	public void convertAndSendAll(Destination destination, Iterable<?> messages) throws JmsException {
+		sendAll(destination, createMessageCreators(messages));
+	}
+
+	/**
+	 * Send the given objects to the given destination, converting each object
+	 * to a JMS message with the configured MessageConverter and reusing a
+	 * single Session and MessageProducer for all of them.
+	 * @param destinationName the name of the destination to send the messages to
+	 * (to be resolved to an actual destination by a DestinationResolver)
+	 * @param messages the objects to convert into messages, in sending order
+	 * @throws JmsException converted checked JMSException to unchecked
+	 * @since 5.2
+	 * @see #sendAll(String, Iterable)
+	 */
+	public void convertAndSendAll(String destinationName, Iterable<?> messages) throws JmsException {
+		sendAll(destinationName, createMessageCreators(messages));
+	}
+
+	private List<MessageCreator> createMessageCreators(Iterable<?> messages) {
+		Assert.notNull(messages, "Messages must not be null");
+		MessageConverter converter = getRequiredMessageConverter();
+		List<MessageCreator> messageCreators = new ArrayList<>();
+		for (Object message : messages) {
+			messageCreators.add(session -> converter.toMessage(message, session));
+		}
+		return messageCreators;
+	}
+
+	/**
+	 * Send the given JMS messages through a single MessageProducer.
+	 * @param session the JMS Session to operate on
+	 * @param destination the JMS Destination to send to
+	 * @param messageCreators callbacks to create the JMS Messages
+	 * @throws JMSException if thrown by JMS API methods
+	 * @since 5.2
+	 */
+	protected void doSendAll(Session session, Destination destination,
+			Iterable<? extends MessageCreator> messageCreators) throws JMSException {
+
+		Assert.notNull(messageCreators, "MessageCreators must not be null");
+		MessageProducer producer = createProducer(session, destination);
+		try {
+			if (this.maxPendingSends > 0) {
+				PendingSends pendingSends = new PendingSends(this.maxPendingSends);
+				try {
+					for (MessageCreator messageCreator : messageCreators) {
+						Message message = messageCreator.createMessage(session);
+						pendingSends.acquire();
+						try {
+							doSend(producer, message, pendingSends);
+						}
+						catch (JMSException | RuntimeException ex) {
+							pendingSends.release();
+							throw ex;
+						}
+					}
+				}
+				finally {
+					pendingSends.awaitCompletion();
+				}
+				pendingSends.checkFailure();
+			}
+			else {
+				for (MessageCreator messageCreator : messageCreators) {
+					doSend(producer, messageCreator.createMessage(session));
+				}
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Sent batch of messages to destination [" + destination + "]");
+			}
+			// Check commit - avoid commit call within a JTA transaction.
+			if (session.getTransacted() && isSessionLocallyTransacted(session)) {
+				// Transacted session created by this template -> commit.
+				JmsUtils.commitIfNecessary(session);
+			}
+		}
+		finally {
+			JmsUtils.closeMessageProducer(producer);
+		}
+	}
+
+	/**
+	 * Send a message to the given destination asynchronously, using the
+	 * JMS 2.0 {@link CompletionListener} API.
+	 * <p>The returned future completes once the JMS provider confirmed the send,
+	 * or completes exceptionally if the send failed. Note that closing a JMS
+	 * Session or MessageProducer blocks until its pending sends are complete:
+	 * This method only returns right away with a caching {@code ConnectionFactory}
+	 * such as {@link org.springframework.jms.connection.CachingConnectionFactory},
+	 * for which closing is a logical operation.
+	 * @param destination the destination to send the message to
+	 * @param messageCreator callback to create the message
+	 * @return a future for the sent message
+	 * @throws JmsException checked JMSException converted to unchecked
+	 * @since 5.2
+	 */
+	public CompletableFuture<Message> sendAsync(final Destination destination, final MessageCreator messageCreator)
+			throws JmsException {
+
+		CompletableFuture<Message> future = new CompletableFuture<>();
+		execute(session -> {
+			doSendAsync(session, destination, messageCreator, future);
+			return null;
+		}, false);
+		return future;
+	}
+
+	/**
+	 * Send a message to the given destination asynchronously, using the
+	 * JMS 2.0 {@link CompletionListener} API.
+	 * @param destinationName the name of the destination to send the message to
+	 * (to be resolved to an actual destination by a DestinationResolver)
+	 * @param messageCreator callback to create the message
+	 * @return a future for the sent message
+	 * @throws JmsException checked JMSException converted to unchecked
+	 * @since 5.2
+	 * @see #sendAsync(Destination, MessageCreator)
+	 */
+	public CompletableFuture<Message> sendAsync(final String destinationName, final MessageCreator messageCreator)
+			throws JmsException {
+
+		CompletableFuture<Message> future = new CompletableFuture<>();
+		execute(session -> {
+			Destination destination = resolveDestinationName(session, destinationName);
+			doSendAsync(session, destination, messageCreator, future);
+			return null;
+		}, false);
+		return future;
+	}
+
+	/**
+	 * Send the given JMS message asynchronously, completing the given future
+	 * once the JMS provider confirmed the send.
+	 * @param session the JMS Session to operate on
+	 * @param destination the JMS Destination to send to
+	 * @param messageCreator callback to create a JMS Message
+	 * @param future the future to complete
+	 * @throws JMSException if thrown by JMS API methods
+	 * @since 5.2
+	 */
+	protected void doSendAsync(Session session, Destination destination, MessageCreator messageCreator,
+			CompletableFuture<Message> future) throws JMSException {
+
+		Assert.notNull(messageCreator, "MessageCreator must not be null");
+		MessageProducer producer = createProducer(session, destination);
+		try {
+			Message message = messageCreator.createMessage(session);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Sending created message asynchronously: " + message);
+			}
+			doSend(producer, message, new CompletionListener() {
+				@Override
+				public void onCompletion(Message message) {
+					future.complete(message);
+				}
+				@Override
+				public void onException(Message message, Exception ex) {
+					future.completeExceptionally(ex instanceof JMSException ?
+							convertJmsAccessException((JMSException) ex) : ex);
+				}
+			});
+			// Check commit - avoid commit call within a JTA transaction.
+			if (session.getTransacted() && isSessionLocallyTransacted(session)) {
+				// Transacted session created by this template -> commit.
+				JmsUtils.commitIfNecessary(session);
+			}
+		}
+		finally {
+			JmsUtils.closeMessageProducer(producer);
+		}
+	}
+
 
 	//---------------------------------------------------------------------------------------
 	// Convenience methods for sending auto-converted messages
@@ -1158,6 +1471,80 @@ public class JmsTemplate extends JmsDestinationAccessor implements JmsOperations
 	}
 
 
+	/**
+	 * CompletionListener that bounds the number of pending asynchronous sends
+	 * within a {@code sendAll} operation, keeping track of the first failure.
+	 */
+	private static class PendingSends implements CompletionListener {
+
+		private final Semaphore permits;
+
+		private final int maxPendingSends;
+
+		@Nullable
+		private volatile Exception failure;
+
+		public PendingSends(int maxPendingSends) {
+			this.permits = new Semaphore(maxPendingSends);
+			this.maxPendingSends = maxPendingSends;
+		}
+
+		public void acquire() throws JMSException {
+			checkFailure();
+			try {
+				this.permits.acquire();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new javax.jms.IllegalStateException("Interrupted while waiting for pending sends");
+			}
+		}
+
+		public void release() {
+			this.permits.release();
+		}
+
+		public void awaitCompletion() {
+			try {
+				this.permits.acquire(this.maxPendingSends);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				if (this.failure == null) {
+					this.failure = new javax.jms.IllegalStateException(
+							"Interrupted while waiting for pending sends to complete");
+				}
+			}
+		}
+
+		public void checkFailure() throws JMSException {
+			Exception failure = this.failure;
+			if (failure instanceof JMSException) {
+				throw (JMSException) failure;
+			}
+			else if (failure != null) {
+				JMSException jmsEx = new JMSException("Asynchronous send failed: " + failure);
+				jmsEx.setLinkedException(failure);
+				jmsEx.initCause(failure);
+				throw jmsEx;
+			}
+		}
+
+		@Override
+		public void onCompletion(Message message) {
+			this.permits.release();
+		}
+
+		@Override
+		public void onException(Message message, Exception ex) {
+			if (this.failure == null) {
+				this.failure = ex;
+			}
+			this.permits.release();
+		}
+	}
+
+
 	/**
 	 * ResourceFactory implementation that delegates to this template's protected callback methods.
 	 */
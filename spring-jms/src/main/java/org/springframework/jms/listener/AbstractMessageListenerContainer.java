@@ -936,7 +936,7 @@ public abstract class AbstractMessageListenerContainer extends AbstractJmsListen
 	 * Used to trigger a rollback for an external transaction manager in that case.
 	 */
 	@SuppressWarnings("serial")
-	private static class MessageRejectedWhileStoppingException extends RuntimeException {
+	static class MessageRejectedWhileStoppingException extends RuntimeException {
 	}
 
 }
@@ -16,11 +16,16 @@
 
 package org.springframework.jms.listener;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import javax.jms.Connection;
 import javax.jms.Destination;
 import javax.jms.JMSException;
 import javax.jms.Message;
 import javax.jms.MessageConsumer;
+import javax.jms.MessageListener;
 import javax.jms.Session;
 
 import org.springframework.jms.connection.ConnectionFactoryUtils;
@@ -47,6 +52,12 @@ import org.springframework.util.Assert;
  * to the concrete implementation. The receive timeout for each attempt can be
  * configured through the {@link #setReceiveTimeout "receiveTimeout"} property.
  *
+ * <p>Each attempt may also receive a batch of messages within the same Session
+ * (and transaction, if any), as specified through the {@link #setBatchSize "batchSize"}
+ * and {@link #setBatchTimeout "batchTimeout"} properties. A batch is either handed
+ * to a {@link BatchMessageListener} as a whole or passed to a regular listener
+ * one message at a time, with a single commit or acknowledgement for the batch.
+ *
  * <p>The underlying mechanism is based on standard JMS MessageConsumer handling,
  * which is perfectly compatible with both native JMS and JMS in a Java EE environment.
  * Neither the JMS {@code MessageConsumer.setMessageListener} facility  nor the JMS
@@ -94,6 +105,10 @@ public abstract class AbstractPollingMessageListenerContainer extends AbstractMe
 
 	private long receiveTimeout = DEFAULT_RECEIVE_TIMEOUT;
 
+	private int batchSize = 1;
+
+	private long batchTimeout = 0;
+
 
 	@Override
 	public void setSessionTransacted(boolean sessionTransacted) {
@@ -182,6 +197,63 @@ public abstract class AbstractPollingMessageListenerContainer extends AbstractMe
 		return this.receiveTimeout;
 	}
 
+	/**
+	 * Specify the maximum number of messages to receive within a single
+	 * Session and transaction, processing them as one batch.
+	 * <p>Default is 1, receiving and committing (or acknowledging) one message
+	 * at a time. Raise this value to amortize the cost of commits and
+	 * acknowledgements across several messages: The listener is then invoked
+	 * with up to the given number of messages, either as a whole through
+	 * {@link BatchMessageListener#onMessages} or one by one through a regular
+	 * listener callback, followed by a single commit for the entire batch.
+	 * <p><b>NOTE:</b> A listener exception rolls back (or recovers) the entire
+	 * batch, leading to redelivery of all of its messages - including the ones
+	 * that have already been processed successfully. Listeners need to be
+	 * idempotent for this to be safe.
+	 * @since 5.2
+	 * @see #setBatchTimeout
+	 * @see BatchMessageListener
+	 */
+	public void setBatchSize(int batchSize) {
+		Assert.isTrue(batchSize > 0, "'batchSize' must be 1 or higher");
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Return the maximum number of messages to process as one batch.
+	 * @since 5.2
+	 */
+	public int getBatchSize() {
+		return this.batchSize;
+	}
+
+	/**
+	 * Set the time to wait for further messages once the first message of a
+	 * batch has been received, in <b>milliseconds</b>. Only applicable with a
+	 * {@link #setBatchSize "batchSize"} greater than 1.
+	 * <p>Default is 0, only adding messages to the batch which are immediately
+	 * available (through no-wait receive operations) and otherwise processing
+	 * the batch right away. A positive value lets the batch fill up for the
+	 * given amount of time, trading latency for larger batches.
+	 * <p><b>NOTE:</b> Like the receive timeout, this value needs to be
+	 * considerably smaller than the transaction timeout, if any.
+	 * @since 5.2
+	 * @see #setBatchSize
+	 * @see #setReceiveTimeout
+	 */
+	public void setBatchTimeout(long batchTimeout) {
+		Assert.isTrue(batchTimeout >= 0, "'batchTimeout' must not be negative");
+		this.batchTimeout = batchTimeout;
+	}
+
+	/**
+	 * Return the batch timeout (ms) configured for this listener container.
+	 * @since 5.2
+	 */
+	public long getBatchTimeout() {
+		return this.batchTimeout;
+	}
+
 
 	@Override
 	public void initialize() {
@@ -267,6 +339,7 @@ public abstract class AbstractPollingMessageListenerContainer extends AbstractMe
 	 * @return whether a message has been received
 	 * @throws JMSException if thrown by JMS methods
 	 * @see #doExecuteListener(javax.jms.Session, javax.jms.Message)
+	 * @see #doExecuteListener(javax.jms.Session, java.util.List)
 	 */
 	protected boolean doReceiveAndExecute(Object invoker, @Nullable Session session,
 			@Nullable MessageConsumer consumer, @Nullable TransactionStatus status) throws JMSException {
@@ -302,10 +375,18 @@ public abstract class AbstractPollingMessageListenerContainer extends AbstractMe
 			}
 			Message message = receiveMessage(consumerToUse);
 			if (message != null) {
+				List<Message> batch = (this.batchSize > 1 ? receiveBatch(consumerToUse, message) : null);
 				if (logger.isDebugEnabled()) {
-					logger.debug("Received message of type [" + message.getClass() + "] from consumer [" +
-							consumerToUse + "] of " + (transactional ? "transactional " : "") + "session [" +
-							sessionToUse + "]");
+					if (batch != null) {
+						logger.debug("Received batch of " + batch.size() + " messages from consumer [" +
+								consumerToUse + "] of " + (transactional ? "transactional " : "") + "session [" +
+								sessionToUse + "]");
+					}
+					else {
+						logger.debug("Received message of type [" + message.getClass() + "] from consumer [" +
+								consumerToUse + "] of " + (transactional ? "transactional " : "") + "session [" +
+								sessionToUse + "]");
+					}
 				}
 				messageReceived(invoker, sessionToUse);
 				boolean exposeResource = (!transactional && isExposeListenerSession() &&
@@ -315,7 +396,12 @@ public abstract class AbstractPollingMessageListenerContainer extends AbstractMe
 							obtainConnectionFactory(), new LocallyExposedJmsResourceHolder(sessionToUse));
 				}
 				try {
-					doExecuteListener(sessionToUse, message);
+					if (batch != null) {
+						doExecuteListener(sessionToUse, batch);
+					}
+					else {
+						doExecuteListener(sessionToUse, message);
+					}
 				}
 				catch (Throwable ex) {
 					if (status != null) {
@@ -360,6 +446,131 @@ public abstract class AbstractPollingMessageListenerContainer extends AbstractMe
 		}
 	}
 
+	/**
+	 * Execute the specified listener for the given batch of messages,
+	 * committing or rolling back the transaction afterwards (if necessary).
+	 * <p>The entire batch is committed or acknowledged at once; any listener
+	 * exception rolls back (or recovers) the entire batch.
+	 * @param session the JMS Session to operate on
+	 * @param messages the received JMS Messages
+	 * @throws JMSException if thrown by JMS API methods
+	 * @since 5.2
+	 * @see #invokeListener(Session, List)
+	 * @see #commitIfNecessary
+	 * @see #rollbackOnExceptionIfNecessary
+	 */
+	protected void doExecuteListener(Session session, List<Message> messages) throws JMSException {
+		if (!isAcceptMessagesWhileStopping() && !isRunning()) {
+			if (logger.isWarnEnabled()) {
+				logger.warn("Rejecting received batch of " + messages.size() + " messages because of the " +
+						"listener container having been stopped in the meantime: " + messages);
+			}
+			rollbackIfNecessary(session);
+			throw new MessageRejectedWhileStoppingException();
+		}
+
+		try {
+			invokeListener(session, messages);
+		}
+		catch (JMSException | RuntimeException | Error ex) {
+			rollbackOnExceptionIfNecessary(session, ex);
+			throw ex;
+		}
+		// Acknowledging the last message acknowledges all messages consumed by the Session.
+		commitIfNecessary(session, messages.get(messages.size() - 1));
+	}
+
+	/**
+	 * Invoke the specified listener for the given batch of messages: either
+	 * as a {@link BatchMessageListener} or, for any other listener type,
+	 * once for each message in the batch.
+	 * @param session the JMS Session to operate on
+	 * @param messages the received JMS Messages
+	 * @throws JMSException if thrown by JMS API methods
+	 * @since 5.2
+	 * @see #setMessageListener
+	 */
+	protected void invokeListener(Session session, List<Message> messages) throws JMSException {
+		Object listener = getMessageListener();
+		if (listener instanceof BatchMessageListener) {
+			doInvokeListener((BatchMessageListener) listener, session, messages);
+		}
+		else {
+			for (Message message : messages) {
+				invokeListener(session, message);
+			}
+		}
+	}
+
+	/**
+	 * This implementation invokes a {@link BatchMessageListener} with a
+	 * single-element batch if it does not implement any of the regular
+	 * listener interfaces, delegating to the superclass otherwise.
+	 */
+	@Override
+	protected void invokeListener(Session session, Message message) throws JMSException {
+		Object listener = getMessageListener();
+		if (listener instanceof BatchMessageListener &&
+				!(listener instanceof MessageListener || listener instanceof SessionAwareMessageListener)) {
+			doInvokeListener((BatchMessageListener) listener, session, Collections.singletonList(message));
+		}
+		else {
+			super.invokeListener(session, message);
+		}
+	}
+
+	/**
+	 * Invoke the specified listener as Spring BatchMessageListener,
+	 * exposing a new JMS Session (potentially with its own transaction)
+	 * to the listener if demanded.
+	 * @param listener the Spring BatchMessageListener to invoke
+	 * @param session the JMS Session to operate on
+	 * @param messages the received JMS Messages
+	 * @throws JMSException if thrown by JMS API methods
+	 * @since 5.2
+	 * @see BatchMessageListener
+	 * @see #setExposeListenerSession
+	 */
+	protected void doInvokeListener(BatchMessageListener listener, Session session, List<Message> messages)
+			throws JMSException {
+
+		Connection conToClose = null;
+		Session sessionToClose = null;
+		try {
+			Session sessionToUse = session;
+			if (!isExposeListenerSession()) {
+				// We need to expose a separate Session.
+				conToClose = createConnection();
+				sessionToClose = createSession(conToClose);
+				sessionToUse = sessionToClose;
+			}
+			// Actually invoke the message listener...
+			listener.onMessages(messages, sessionToUse);
+			// Clean up specially exposed Session, if any.
+			if (sessionToUse != session) {
+				if (sessionToUse.getTransacted() && isSessionLocallyTransacted(sessionToUse)) {
+					// Transacted session created by this container -> commit.
+					JmsUtils.commitIfNecessary(sessionToUse);
+				}
+			}
+		}
+		finally {
+			JmsUtils.closeSession(sessionToClose);
+			JmsUtils.closeConnection(conToClose);
+		}
+	}
+
+	/**
+	 * This implementation accepts a {@link BatchMessageListener} as well,
+	 * in addition to the regular listener types.
+	 */
+	@Override
+	protected void checkMessageListener(@Nullable Object messageListener) {
+		if (!(messageListener instanceof BatchMessageListener)) {
+			super.checkMessageListener(messageListener);
+		}
+	}
+
 	/**
 	 * This implementation checks whether the Session is externally synchronized.
 	 * In this case, the Session is not locally transacted, despite the listener
@@ -418,6 +629,33 @@ public abstract class AbstractPollingMessageListenerContainer extends AbstractMe
 		return receiveFromConsumer(consumer, getReceiveTimeout());
 	}
 
+	/**
+	 * Receive further messages from the given consumer, completing a batch
+	 * which starts with the given message. Stops once the configured
+	 * {@link #setBatchSize "batchSize"} has been reached or no further message
+	 * arrived within the configured {@link #setBatchTimeout "batchTimeout"}.
+	 * @param consumer the MessageConsumer to use
+	 * @param firstMessage the first message of the batch, already received
+	 * @return the batch of messages (never empty)
+	 * @throws JMSException if thrown by JMS methods
+	 * @since 5.2
+	 */
+	protected List<Message> receiveBatch(MessageConsumer consumer, Message firstMessage) throws JMSException {
+		List<Message> messages = new ArrayList<>(this.batchSize);
+		messages.add(firstMessage);
+		long deadline = System.currentTimeMillis() + this.batchTimeout;
+		while (messages.size() < this.batchSize) {
+			long remaining = deadline - System.currentTimeMillis();
+			// A non-positive remaining time indicates a no-wait receive operation.
+			Message message = receiveFromConsumer(consumer, remaining > 0 ? remaining : -1);
+			if (message == null) {
+				break;
+			}
+			messages.add(message);
+		}
+		return messages;
+	}
+
 	/**
 	 * Template method that gets called right when a new message has been received,
 	 * before attempting to process it. Allows subclasses to react to the event
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.jms.listener;
+
+import java.util.List;
+
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.Session;
+
+/**
+ * Listener interface for processing a batch of JMS messages at once,
+ * received within a single JMS Session (and transaction, if any).
+ *
+ * <p>Supported by Spring's {@link DefaultMessageListenerContainer} (and
+ * other {@link AbstractPollingMessageListenerContainer} subclasses) in
+ * combination with a {@link AbstractPollingMessageListenerContainer#setBatchSize
+ * "batchSize"} greater than 1. The entire batch gets committed or acknowledged
+ * once the listener returns; an exception thrown from the listener rolls back
+ * (or recovers) the entire batch, leading to redelivery of all its messages.
+ *
+ * <p>May be combined with the standard JMS {@link javax.jms.MessageListener}
+ * or Spring's {@link SessionAwareMessageListener} interface in the same
+ * listener object, in which case the container chooses the appropriate
+ * callback depending on its batch configuration.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see AbstractPollingMessageListenerContainer#setBatchSize
+ * @see AbstractPollingMessageListenerContainer#setBatchTimeout
+ */
+@FunctionalInterface
+public interface BatchMessageListener {
+
+	/**
+	 * Callback for processing a batch of received JMS messages.
+	 * <p>Implementors are supposed to process the given Messages in order,
+	 * potentially sending reply messages through the given Session.
+	 * @param messages the received JMS messages (never {@code null} or empty)
+	 * @param session the underlying JMS Session (never {@code null})
+	 * @throws JMSException if thrown by JMS methods
+	 */
+	void onMessages(List<Message> messages, Session session) throws JMSException;
+
+}
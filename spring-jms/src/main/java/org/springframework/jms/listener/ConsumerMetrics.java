@@ -0,0 +1,242 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.jms.listener;
+
+/**
+ * Snapshot of the consumer activity of a {@link DefaultMessageListenerContainer}
+ * over one scaling interval: consumer counts, receive attempts, processed
+ * messages, receive latency, as well as the time spent waiting for messages
+ * versus the time spent processing them.
+ *
+ * <p>Serves as input for a {@link ConsumerScalingPolicy} and is exposed for
+ * monitoring purposes through {@link DefaultMessageListenerContainer#getConsumerMetrics()}.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see DefaultMessageListenerContainer#setConsumerScalingInterval
+ */
+public class ConsumerMetrics {
+
+	private final long interval;
+
+	private final int scheduledConsumerCount;
+
+	private final int activeConsumerCount;
+
+	private final int concurrentConsumers;
+
+	private final int maxConcurrentConsumers;
+
+	private final long receiveCount;
+
+	private final long emptyReceiveCount;
+
+	private final long messageCount;
+
+	private final long averageReceiveLatency;
+
+	private final long receiveWaitTime;
+
+	private final long processingTime;
+
+
+	/**
+	 * Create a new {@code ConsumerMetrics} snapshot.
+	 * @param interval the length of the interval covered, in milliseconds
+	 * @param scheduledConsumerCount the number of currently scheduled consumers
+	 * @param activeConsumerCount the number of currently active consumers
+	 * @param concurrentConsumers the configured minimum number of consumers
+	 * @param maxConcurrentConsumers the configured maximum number of consumers
+	 * @param receiveCount the number of receive attempts within the interval
+	 * @param emptyReceiveCount the number of receive attempts which did not
+	 * return a message within the receive timeout
+	 * @param messageCount the number of messages processed within the interval
+	 * @param averageReceiveLatency the average time between sending and receiving
+	 * a message, in milliseconds (-1 if not known)
+	 * @param receiveWaitTime the total time that consumers spent waiting
+	 * in receive calls within the interval, in milliseconds
+	 * @param processingTime the total time that consumers spent processing
+	 * messages (including transaction commits) within the interval, in milliseconds
+	 */
+	public ConsumerMetrics(long interval, int scheduledConsumerCount, int activeConsumerCount,
+			int concurrentConsumers, int maxConcurrentConsumers, long receiveCount, long emptyReceiveCount,
+			long messageCount, long averageReceiveLatency, long receiveWaitTime, long processingTime) {
+
+		this.interval = interval;
+		this.scheduledConsumerCount = scheduledConsumerCount;
+		this.activeConsumerCount = activeConsumerCount;
+		this.concurrentConsumers = concurrentConsumers;
+		this.maxConcurrentConsumers = maxConcurrentConsumers;
+		this.receiveCount = receiveCount;
+		this.emptyReceiveCount = emptyReceiveCount;
+		this.messageCount = messageCount;
+		this.averageReceiveLatency = averageReceiveLatency;
+		this.receiveWaitTime = receiveWaitTime;
+		this.processingTime = processingTime;
+	}
+
+
+	/**
+	 * Return the length of the interval covered by this snapshot, in milliseconds.
+	 */
+	public long getInterval() {
+		return this.interval;
+	}
+
+	/**
+	 * Return the number of consumers scheduled at the end of the interval.
+	 * @see DefaultMessageListenerContainer#getScheduledConsumerCount()
+	 */
+	public int getScheduledConsumerCount() {
+		return this.scheduledConsumerCount;
+	}
+
+	/**
+	 * Return the number of consumers active at the end of the interval.
+	 * @see DefaultMessageListenerContainer#getActiveConsumerCount()
+	 */
+	public int getActiveConsumerCount() {
+		return this.activeConsumerCount;
+	}
+
+	/**
+	 * Return the configured minimum number of consumers.
+	 * @see DefaultMessageListenerContainer#getConcurrentConsumers()
+	 */
+	public int getConcurrentConsumers() {
+		return this.concurrentConsumers;
+	}
+
+	/**
+	 * Return the configured maximum number of consumers.
+	 * @see DefaultMessageListenerContainer#getMaxConcurrentConsumers()
+	 */
+	public int getMaxConcurrentConsumers() {
+		return this.maxConcurrentConsumers;
+	}
+
+	/**
+	 * Return the number of receive attempts within the interval.
+	 */
+	public long getReceiveCount() {
+		return this.receiveCount;
+	}
+
+	/**
+	 * Return the number of receive attempts within the interval which did
+	 * not return a message within the receive timeout.
+	 */
+	public long getEmptyReceiveCount() {
+		return this.emptyReceiveCount;
+	}
+
+	/**
+	 * Return the ratio of empty receive attempts, between 0.0 and 1.0.
+	 * <p>Note that a consumer blocked in a receive call picks up a message as
+	 * soon as it arrives, so a low ratio does not necessarily indicate a backlog;
+	 * see {@link #getIdleRatio()} for the time-weighted counterpart.
+	 * @return the empty receive ratio, or 1.0 if no receive attempt
+	 * has been made within the interval
+	 */
+	public double getEmptyReceiveRatio() {
+		return (this.receiveCount > 0 ? (double) this.emptyReceiveCount / this.receiveCount : 1.0);
+	}
+
+	/**
+	 * Return the number of messages processed within the interval.
+	 */
+	public long getMessageCount() {
+		return this.messageCount;
+	}
+
+	/**
+	 * Return the average time between the sending of a message (according to its
+	 * {@code JMSTimestamp}) and its reception, in milliseconds. A growing latency
+	 * indicates a backlog building up on the destination.
+	 * <p>Note that this relies on the clocks of producers and consumers being in sync.
+	 * @return the average receive latency, or -1 if not known (no messages
+	 * processed or message timestamps disabled)
+	 */
+	public long getAverageReceiveLatency() {
+		return this.averageReceiveLatency;
+	}
+
+	/**
+	 * Return the total time that consumers spent waiting in receive calls
+	 * within the interval, in milliseconds.
+	 */
+	public long getReceiveWaitTime() {
+		return this.receiveWaitTime;
+	}
+
+	/**
+	 * Return the total time that consumers spent processing messages
+	 * within the interval, in milliseconds.
+	 */
+	public long getProcessingTime() {
+		return this.processingTime;
+	}
+
+	/**
+	 * Return the average time spent processing a message, in milliseconds.
+	 * @return the average processing time, or -1 if no messages processed
+	 */
+	public long getAverageProcessingTime() {
+		return (this.messageCount > 0 ? this.processingTime / this.messageCount : -1);
+	}
+
+	/**
+	 * Return the share of consumer time spent waiting for messages, as opposed
+	 * to processing them, between 0.0 and 1.0. A high ratio indicates surplus
+	 * consumers; a ratio close to 0 indicates that consumers keep finding
+	 * messages waiting for them, i.e. a backlog.
+	 * @return the idle ratio, or 1.0 if no time has been recorded
+	 * within the interval
+	 */
+	public double getIdleRatio() {
+		long total = this.receiveWaitTime + this.processingTime;
+		return (total > 0 ? (double) this.receiveWaitTime / total : 1.0);
+	}
+
+	/**
+	 * Return the throughput of the container within the interval,
+	 * in messages per second.
+	 */
+	public double getThroughput() {
+		return (this.interval > 0 ? this.messageCount * 1000.0 / this.interval : 0.0);
+	}
+
+	/**
+	 * Return the average throughput per scheduled consumer within the
+	 * interval, in messages per second.
+	 */
+	public double getThroughputPerConsumer() {
+		return (this.scheduledConsumerCount > 0 ? getThroughput() / this.scheduledConsumerCount : 0.0);
+	}
+
+
+	@Override
+	public String toString() {
+		return "ConsumerMetrics: interval=" + this.interval + "ms, scheduledConsumers=" +
+				this.scheduledConsumerCount + ", activeConsumers=" + this.activeConsumerCount +
+				", receives=" + this.receiveCount + ", emptyReceives=" + this.emptyReceiveCount +
+				", messages=" + this.messageCount + ", averageReceiveLatency=" + this.averageReceiveLatency +
+				"ms, receiveWaitTime=" + this.receiveWaitTime + "ms, processingTime=" + this.processingTime + "ms";
+	}
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.jms.listener;
+
+/**
+ * Strategy interface for determining the number of consumers of a
+ * {@link DefaultMessageListenerContainer} based on its recent activity.
+ *
+ * <p>Evaluated once per {@link DefaultMessageListenerContainer#setConsumerScalingInterval
+ * scaling interval}, replacing the container's default idle-based scaling heuristics
+ * ({@code idleConsumerLimit}, {@code idleTaskExecutionLimit}) when specified.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see DefaultMessageListenerContainer#setConsumerScalingPolicy
+ * @see DefaultConsumerScalingPolicy
+ */
+@FunctionalInterface
+public interface ConsumerScalingPolicy {
+
+	/**
+	 * Determine the number of consumers to run, given the metrics of the
+	 * last scaling interval.
+	 * <p>The container adds consumers right away when scaling up; surplus
+	 * consumers are released once they finish their current receive attempt.
+	 * The returned value gets capped to the range between "concurrentConsumers"
+	 * and "maxConcurrentConsumers" by the container.
+	 * @param metrics the consumer metrics of the last interval
+	 * @return the target number of consumers
+	 * @see ConsumerMetrics#getScheduledConsumerCount()
+	 */
+	int determineConsumerCount(ConsumerMetrics metrics);
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.jms.listener;
+
+import org.springframework.util.Assert;
+
+/**
+ * Default {@link ConsumerScalingPolicy}, scaling consumers based on the measured
+ * receive latency and the share of time that consumers spend waiting in receive
+ * calls (the {@link ConsumerMetrics#getIdleRatio() idle ratio}, which covers empty
+ * receive attempts as well as partial waits for messages to arrive).
+ *
+ * <p>Consumers are added quickly once a backlog builds up: that is, once the average
+ * receive latency exceeds the {@link #setTargetLatency target latency} or consumers
+ * hardly ever wait for a message. The number of consumers then grows by half of the
+ * current count (at least by one) per interval. Consumers are removed one at a time
+ * once they spend a considerable share of their time waiting while the latency is
+ * within its target. The gap between both idle thresholds keeps the number of
+ * consumers stable under steady load.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see DefaultMessageListenerContainer#setConsumerScalingPolicy
+ */
+public class DefaultConsumerScalingPolicy implements ConsumerScalingPolicy {
+
+	/**
+	 * The default target latency: 1000 ms = 1 second.
+	 */
+	public static final long DEFAULT_TARGET_LATENCY = 1000;
+
+
+	private long targetLatency = DEFAULT_TARGET_LATENCY;
+
+	private double scaleUpThreshold = 0.1;
+
+	private double scaleDownThreshold = 0.5;
+
+
+	/**
+	 * Set the target for the average receive latency, in <b>milliseconds</b>:
+	 * the time between sending a message and a consumer receiving it.
+	 * Consumers get added as long as the measured latency exceeds this value.
+	 * <p>Default is 1000 ms. Note that the receive latency is only available
+	 * for messages carrying a {@code JMSTimestamp}; the idle ratio is the
+	 * sole scaling criterion otherwise.
+	 * @see ConsumerMetrics#getAverageReceiveLatency()
+	 */
+	public void setTargetLatency(long targetLatency) {
+		Assert.isTrue(targetLatency > 0, "'targetLatency' must be positive");
+		this.targetLatency = targetLatency;
+	}
+
+	/**
+	 * Return the target for the average receive latency, in milliseconds.
+	 */
+	public long getTargetLatency() {
+		return this.targetLatency;
+	}
+
+	/**
+	 * Set the idle ratio at or below which to add consumers,
+	 * indicating that consumers keep finding messages waiting for them.
+	 * <p>Default is 0.1, i.e. consumers waiting for messages at most 10% of the time.
+	 * @see ConsumerMetrics#getIdleRatio()
+	 */
+	public void setScaleUpThreshold(double scaleUpThreshold) {
+		Assert.isTrue(scaleUpThreshold >= 0 && scaleUpThreshold <= 1,
+				"'scaleUpThreshold' must be between 0.0 and 1.0");
+		this.scaleUpThreshold = scaleUpThreshold;
+	}
+
+	/**
+	 * Return the idle ratio at or below which to add consumers.
+	 */
+	public double getScaleUpThreshold() {
+		return this.scaleUpThreshold;
+	}
+
+	/**
+	 * Set the idle ratio at or above which to remove consumers,
+	 * indicating that consumers are frequently waiting for messages.
+	 * <p>Default is 0.5, i.e. consumers waiting for messages half of the time.
+	 * Needs to be higher than the {@link #setScaleUpThreshold scale-up threshold}.
+	 * @see ConsumerMetrics#getIdleRatio()
+	 */
+	public void setScaleDownThreshold(double scaleDownThreshold) {
+		Assert.isTrue(scaleDownThreshold >= 0 && scaleDownThreshold <= 1,
+				"'scaleDownThreshold' must be between 0.0 and 1.0");
+		this.scaleDownThreshold = scaleDownThreshold;
+	}
+
+	/**
+	 * Return the idle ratio at or above which to remove consumers.
+	 */
+	public double getScaleDownThreshold() {
+		return this.scaleDownThreshold;
+	}
+
+
+	@Override
+	public int determineConsumerCount(ConsumerMetrics metrics) {
+		int consumerCount = metrics.getScheduledConsumerCount();
+		long latency = metrics.getAverageReceiveLatency();
+		boolean latencyExceeded = (latency > this.targetLatency);
+		double idleRatio = metrics.getIdleRatio();
+
+		if (metrics.getMessageCount() > 0 && (latencyExceeded || idleRatio <= this.scaleUpThreshold)) {
+			// Backlog building up -> scale up quickly.
+			return consumerCount + Math.max(1, consumerCount / 2);
+		}
+		if (idleRatio >= this.scaleDownThreshold && !latencyExceeded) {
+			// Consumers waiting for messages -> scale down gradually.
+			return consumerCount - 1;
+		}
+		return consumerCount;
+	}
+
+}
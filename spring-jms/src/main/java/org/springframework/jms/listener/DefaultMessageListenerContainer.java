@@ -17,11 +17,16 @@
 package org.springframework.jms.listener;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.jms.Connection;
 import javax.jms.JMSException;
+import javax.jms.Message;
 import javax.jms.MessageConsumer;
 import javax.jms.Session;
 
@@ -99,6 +104,16 @@ import org.springframework.util.backoff.FixedBackOff;
  * number of 1 consumer, otherwise you'd receive the same message multiple times on
  * the same node.
  *
+ * <p>As of 5.2, a {@link #setConsumerScalingPolicy "consumerScalingPolicy"} can
+ * replace the idle-based scaling heuristics, determining the number of consumers
+ * once per {@link #setConsumerScalingInterval "consumerScalingInterval"} from the
+ * measured receive latency and the share of time consumers spend waiting for
+ * messages. See {@link DefaultConsumerScalingPolicy}
+ * for a policy which tracks load changes within a few intervals. The underlying
+ * {@link ConsumerMetrics} are available through {@link #getConsumerMetrics()}
+ * for monitoring purposes. They are only collected while a scaling policy is
+ * set, keeping the receive loop free of measurement overhead otherwise.
+ *
  * <p><b>Note: Don't use Spring's {@link org.springframework.jms.connection.CachingConnectionFactory}
  * in combination with dynamic scaling.</b> Ideally, don't use it with a message
  * listener container at all, since it is generally preferable to let the
@@ -136,6 +151,12 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 	 */
 	public static final long DEFAULT_RECOVERY_INTERVAL = 5000;
 
+	/**
+	 * The default consumer scaling interval: 1000 ms = 1 second.
+	 * @since 5.2
+	 */
+	public static final long DEFAULT_CONSUMER_SCALING_INTERVAL = 1000;
+
 
 	/**
 	 * Constant that indicates to cache no JMS resources at all.
@@ -192,6 +213,13 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 
 	private int idleTaskExecutionLimit = 1;
 
+	@Nullable
+	private volatile ConsumerScalingPolicy consumerScalingPolicy;
+
+	private long consumerScalingInterval = DEFAULT_CONSUMER_SCALING_INTERVAL;
+
+	private volatile int targetConsumerCount = 1;
+
 	private final Set<AsyncMessageListenerInvoker> scheduledInvokers = new HashSet<>();
 
 	private int activeInvokerCount = 0;
@@ -209,6 +237,25 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 
 	private final Object recoveryMonitor = new Object();
 
+	private final LongAdder receiveCount = new LongAdder();
+
+	private final LongAdder emptyReceiveCount = new LongAdder();
+
+	private final LongAdder messageCount = new LongAdder();
+
+	private final LongAdder receiveLatencyCount = new LongAdder();
+
+	private final LongAdder totalReceiveLatency = new LongAdder();
+
+	private final LongAdder totalReceiveWaitTime = new LongAdder();
+
+	private final LongAdder totalProcessingTime = new LongAdder();
+
+	private final AtomicLong lastConsumerMetricsTime = new AtomicLong(System.currentTimeMillis());
+
+	@Nullable
+	private volatile ConsumerMetrics consumerMetrics;
+
 
 	/**
 	 * Set the Spring {@code TaskExecutor} to use for running the listener threads.
@@ -508,6 +555,61 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 		}
 	}
 
+	/**
+	 * Specify a policy for scaling the number of consumers between
+	 * "concurrentConsumers" and "maxConcurrentConsumers", evaluated once per
+	 * {@link #setConsumerScalingInterval consumer scaling interval} based on
+	 * the {@link ConsumerMetrics} collected for that interval.
+	 * <p>Default is none, applying the idle-based scaling heuristics as configured
+	 * through {@link #setIdleConsumerLimit "idleConsumerLimit"} and
+	 * {@link #setIdleTaskExecutionLimit "idleTaskExecutionLimit"}. These settings
+	 * are ignored when a scaling policy is specified.
+	 * <p>This setting can be modified at runtime, for example through JMX.
+	 * @since 5.2
+	 * @see DefaultConsumerScalingPolicy
+	 * @see #setMaxConcurrentConsumers
+	 */
+	public void setConsumerScalingPolicy(@Nullable ConsumerScalingPolicy consumerScalingPolicy) {
+		synchronized (this.lifecycleMonitor) {
+			this.consumerScalingPolicy = consumerScalingPolicy;
+			this.targetConsumerCount = this.scheduledInvokers.size();
+		}
+	}
+
+	/**
+	 * Return the policy for scaling the number of consumers, if any.
+	 * @since 5.2
+	 */
+	@Nullable
+	public final ConsumerScalingPolicy getConsumerScalingPolicy() {
+		synchronized (this.lifecycleMonitor) {
+			return this.consumerScalingPolicy;
+		}
+	}
+
+	/**
+	 * Specify the interval for collecting {@link ConsumerMetrics} and evaluating
+	 * the {@link #setConsumerScalingPolicy consumer scaling policy}, in <b>milliseconds</b>.
+	 * <p>Default is 1000 ms. Note that the evaluation is triggered by the consumers'
+	 * receive attempts, so the effective interval is at least as long as the
+	 * {@link #setReceiveTimeout receive timeout}.
+	 * @since 5.2
+	 * @see #getConsumerMetrics()
+	 */
+	public void setConsumerScalingInterval(long consumerScalingInterval) {
+		Assert.isTrue(consumerScalingInterval > 0, "'consumerScalingInterval' must be positive");
+		this.consumerScalingInterval = consumerScalingInterval;
+	}
+
+	/**
+	 * Return the interval for collecting consumer metrics and evaluating
+	 * the consumer scaling policy.
+	 * @since 5.2
+	 */
+	public final long getConsumerScalingInterval() {
+		return this.consumerScalingInterval;
+	}
+
 
 	//-------------------------------------------------------------------------
 	// Implementation of AbstractMessageListenerContainer's template methods
@@ -552,6 +654,7 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 			for (int i = 0; i < this.concurrentConsumers; i++) {
 				scheduleNewInvoker();
 			}
+			this.targetConsumerCount = this.concurrentConsumers;
 		}
 	}
 
@@ -690,6 +793,22 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 		}
 	}
 
+	/**
+	 * Return the consumer metrics for the most recently completed
+	 * {@link #setConsumerScalingInterval consumer scaling interval}: consumer
+	 * counts, receive attempts, per-consumer throughput, receive latency and
+	 * processing time.
+	 * <p>Metrics are only collected while a {@link #setConsumerScalingPolicy
+	 * consumer scaling policy} is set.
+	 * @return the consumer metrics, or {@code null} if no interval has been
+	 * completed yet (or no scaling policy has been set)
+	 * @since 5.2
+	 */
+	@Nullable
+	public ConsumerMetrics getConsumerMetrics() {
+		return this.consumerMetrics;
+	}
+
 
 	/**
 	 * Create a default TaskExecutor. Called if no explicit TaskExecutor has been specified.
@@ -737,12 +856,20 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 
 	/**
 	 * Tries scheduling a new invoker, since we know messages are coming in...
+	 * <p>With a {@link #setConsumerScalingPolicy consumer scaling policy},
+	 * the policy gets evaluated instead if the current interval has elapsed.
 	 * @see #scheduleNewInvokerIfAppropriate()
 	 */
 	@Override
 	protected void messageReceived(Object invoker, Session session) {
 		((AsyncMessageListenerInvoker) invoker).setIdle(false);
-		scheduleNewInvokerIfAppropriate();
+		if (this.consumerScalingPolicy != null) {
+			this.receiveCount.increment();
+			applyConsumerScalingPolicyIfNecessary();
+		}
+		else {
+			scheduleNewInvokerIfAppropriate();
+		}
 	}
 
 	/**
@@ -751,6 +878,183 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 	@Override
 	protected void noMessageReceived(Object invoker, Session session) {
 		((AsyncMessageListenerInvoker) invoker).setIdle(true);
+		if (this.consumerScalingPolicy != null) {
+			this.receiveCount.increment();
+			this.emptyReceiveCount.increment();
+			applyConsumerScalingPolicyIfNecessary();
+		}
+	}
+
+	/**
+	 * Records receive latency and processing time for the consumer metrics,
+	 * if a consumer scaling policy is set.
+	 */
+	@Override
+	protected void doExecuteListener(Session session, Message message) throws JMSException {
+		if (this.consumerScalingPolicy == null) {
+			super.doExecuteListener(session, message);
+			return;
+		}
+		recordReceiveLatency(message);
+		long startTime = System.nanoTime();
+		try {
+			super.doExecuteListener(session, message);
+		}
+		finally {
+			this.totalProcessingTime.add(System.nanoTime() - startTime);
+			this.messageCount.increment();
+		}
+	}
+
+	/**
+	 * Records receive latency and processing time for the consumer metrics,
+	 * if a consumer scaling policy is set.
+	 */
+	@Override
+	protected void doExecuteListener(Session session, List<Message> messages) throws JMSException {
+		if (this.consumerScalingPolicy == null) {
+			super.doExecuteListener(session, messages);
+			return;
+		}
+		for (Message message : messages) {
+			recordReceiveLatency(message);
+		}
+		long startTime = System.nanoTime();
+		try {
+			super.doExecuteListener(session, messages);
+		}
+		finally {
+			this.totalProcessingTime.add(System.nanoTime() - startTime);
+			this.messageCount.add(messages.size());
+		}
+	}
+
+	/**
+	 * Records the time spent waiting in the receive call for the consumer metrics,
+	 * if a consumer scaling policy is set.
+	 */
+	@Override
+	@Nullable
+	protected Message receiveMessage(MessageConsumer consumer) throws JMSException {
+		if (this.consumerScalingPolicy == null) {
+			return super.receiveMessage(consumer);
+		}
+		long startTime = System.nanoTime();
+		try {
+			return super.receiveMessage(consumer);
+		}
+		finally {
+			this.totalReceiveWaitTime.add(System.nanoTime() - startTime);
+		}
+	}
+
+	/**
+	 * Records the time spent waiting for further messages of a batch
+	 * for the consumer metrics, if a consumer scaling policy is set.
+	 */
+	@Override
+	protected List<Message> receiveBatch(MessageConsumer consumer, Message firstMessage) throws JMSException {
+		if (this.consumerScalingPolicy == null) {
+			return super.receiveBatch(consumer, firstMessage);
+		}
+		long startTime = System.nanoTime();
+		try {
+			return super.receiveBatch(consumer, firstMessage);
+		}
+		finally {
+			this.totalReceiveWaitTime.add(System.nanoTime() - startTime);
+		}
+	}
+
+	private void recordReceiveLatency(Message message) {
+		try {
+			long timestamp = message.getJMSTimestamp();
+			if (timestamp > 0) {
+				this.totalReceiveLatency.add(Math.max(System.currentTimeMillis() - timestamp, 0));
+				this.receiveLatencyCount.increment();
+			}
+		}
+		catch (JMSException ex) {
+			// Timestamp not accessible -> no latency sample for this message.
+		}
+	}
+
+	/**
+	 * Collect the {@link ConsumerMetrics} for the current interval if it has
+	 * elapsed, evaluating the {@link #setConsumerScalingPolicy consumer scaling
+	 * policy} and scheduling additional invokers if the policy demands it.
+	 * Surplus invokers get released in their receive loop.
+	 * @since 5.2
+	 * @see #getConsumerLimit()
+	 */
+	protected void applyConsumerScalingPolicyIfNecessary() {
+		ConsumerMetrics metrics = collectConsumerMetricsIfNecessary();
+		ConsumerScalingPolicy policy = this.consumerScalingPolicy;
+		if (metrics == null || policy == null || !isRunning()) {
+			return;
+		}
+		int consumerCount = policy.determineConsumerCount(metrics);
+		synchronized (this.lifecycleMonitor) {
+			consumerCount = Math.max(this.concurrentConsumers, Math.min(consumerCount, this.maxConcurrentConsumers));
+			this.targetConsumerCount = consumerCount;
+			int newInvokers = consumerCount - this.scheduledInvokers.size();
+			if (newInvokers > 0) {
+				resumePausedTasks();
+				for (int i = 0; i < newInvokers; i++) {
+					scheduleNewInvoker();
+				}
+				if (logger.isDebugEnabled()) {
+					logger.debug("Raised scheduled invoker count: " + this.scheduledInvokers.size() +
+							" (" + metrics + ")");
+				}
+			}
+			else if (newInvokers < 0 && logger.isDebugEnabled()) {
+				logger.debug("Lowering scheduled invoker count to " + consumerCount + " (" + metrics + ")");
+			}
+		}
+	}
+
+	/**
+	 * Create a {@link ConsumerMetrics} snapshot if the current interval has elapsed,
+	 * resetting the counters for the next interval. Only one thread creates the
+	 * snapshot for an interval; concurrent callers return {@code null}.
+	 */
+	@Nullable
+	private ConsumerMetrics collectConsumerMetricsIfNecessary() {
+		long now = System.currentTimeMillis();
+		long lastTime = this.lastConsumerMetricsTime.get();
+		long interval = now - lastTime;
+		if (interval < this.consumerScalingInterval || !this.lastConsumerMetricsTime.compareAndSet(lastTime, now)) {
+			return null;
+		}
+		long messages = this.messageCount.sumThenReset();
+		long latencySamples = this.receiveLatencyCount.sumThenReset();
+		long latency = this.totalReceiveLatency.sumThenReset();
+		long receiveWaitTime = TimeUnit.NANOSECONDS.toMillis(this.totalReceiveWaitTime.sumThenReset());
+		long processingTime = TimeUnit.NANOSECONDS.toMillis(this.totalProcessingTime.sumThenReset());
+		ConsumerMetrics metrics;
+		synchronized (this.lifecycleMonitor) {
+			metrics = new ConsumerMetrics(interval, this.scheduledInvokers.size(), this.activeInvokerCount,
+					this.concurrentConsumers, this.maxConcurrentConsumers,
+					this.receiveCount.sumThenReset(), this.emptyReceiveCount.sumThenReset(), messages,
+					(latencySamples > 0 ? latency / latencySamples : -1), receiveWaitTime, processingTime);
+		}
+		this.consumerMetrics = metrics;
+		return metrics;
+	}
+
+	/**
+	 * Return the maximum number of invokers to keep scheduled: the target count
+	 * as determined by the {@link #setConsumerScalingPolicy consumer scaling policy},
+	 * or "maxConcurrentConsumers" if no policy has been specified.
+	 * <p>Needs to be called with the lifecycle monitor held.
+	 * @since 5.2
+	 */
+	protected final int getConsumerLimit() {
+		if (this.consumerScalingPolicy == null) {
+			return this.maxConcurrentConsumers;
+		}
+		return Math.max(this.concurrentConsumers, Math.min(this.targetConsumerCount, this.maxConcurrentConsumers));
 	}
 
 	/**
@@ -786,6 +1090,9 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 	 * that this invoker task has already accumulated (in a row)
 	 */
 	private boolean shouldRescheduleInvoker(int idleTaskExecutionCount) {
+		if (this.consumerScalingPolicy != null) {
+			return (this.scheduledInvokers.size() <= getConsumerLimit());
+		}
 		boolean superfluous =
 				(idleTaskExecutionCount >= this.idleTaskExecutionLimit && getIdleInvokerCount() > 1);
 		return (this.scheduledInvokers.size() <=
@@ -1171,7 +1478,7 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 					if (wasWaiting) {
 						activeInvokerCount++;
 					}
-					if (scheduledInvokers.size() > maxConcurrentConsumers) {
+					if (scheduledInvokers.size() > getConsumerLimit()) {
 						active = false;
 					}
 				}
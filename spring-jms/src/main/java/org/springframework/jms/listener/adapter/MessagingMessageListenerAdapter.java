@@ -16,16 +16,28 @@
 
 package org.springframework.jms.listener.adapter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import javax.jms.JMSException;
 import javax.jms.Session;
 
 import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.jms.listener.BatchMessageListener;
 import org.springframework.jms.support.JmsHeaderMapper;
 import org.springframework.jms.support.converter.MessageConversionException;
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.converter.GenericMessageConverter;
 import org.springframework.messaging.core.AbstractMessageSendingTemplate;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Headers;
 import org.springframework.messaging.handler.invocation.InvocableHandlerMethod;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.util.Assert;
@@ -42,17 +54,33 @@ import org.springframework.util.Assert;
  * are provided as additional arguments so that these can be injected as
  * method arguments if necessary.
  *
+ * <p>As of 5.2, this adapter also acts as a {@link BatchMessageListener}.
+ * If explicitly marked as a {@link #setBatchListener batch listener}, a batch
+ * of messages is passed to the handler method's {@code List} parameter as a whole,
+ * with each element converted according to the declared element type: the raw
+ * {@link javax.jms.Message}, a {@link Message}, or the payload converted to the
+ * element type. Otherwise, the handler method is invoked once per message in
+ * the batch, even if it declares a {@code List} parameter.
+ *
  * @author Stephane Nicoll
  * @since 4.1
  * @see Message
  * @see JmsHeaderMapper
  * @see InvocableHandlerMethod
  */
-public class MessagingMessageListenerAdapter extends AbstractAdaptableMessageListener {
+public class MessagingMessageListenerAdapter extends AbstractAdaptableMessageListener
+		implements BatchMessageListener {
 
 	@Nullable
 	private InvocableHandlerMethod handlerMethod;
 
+	private boolean batchListener = false;
+
+	@Nullable
+	private MethodParameter batchParameter;
+
+	private final GenericMessageConverter batchElementConverter = new GenericMessageConverter();
+
 
 	/**
 	 * Set the {@link InvocableHandlerMethod} to use to invoke the method
@@ -60,6 +88,21 @@ public class MessagingMessageListenerAdapter extends AbstractAdaptableMessageLis
 	 */
 	public void setHandlerMethod(InvocableHandlerMethod handlerMethod) {
 		this.handlerMethod = handlerMethod;
+		this.batchParameter = determineBatchParameter();
+	}
+
+	/**
+	 * Specify whether the handler method receives an entire batch of messages
+	 * through its {@code List} parameter, for a listener container which is
+	 * configured with a batch size.
+	 * <p>Default is "false": The handler method is invoked once per message,
+	 * with a {@code List} parameter bound to the payload of each message.
+	 * @since 5.2
+	 * @see org.springframework.jms.listener.DefaultMessageListenerContainer#setBatchSize
+	 */
+	public void setBatchListener(boolean batchListener) {
+		this.batchListener = batchListener;
+		this.batchParameter = determineBatchParameter();
 	}
 
 	private InvocableHandlerMethod getHandlerMethod() {
@@ -83,6 +126,36 @@ public class MessagingMessageListenerAdapter extends AbstractAdaptableMessageLis
 		}
 	}
 
+	/**
+	 * Invoke the handler method with the entire batch if this adapter is a
+	 * {@link #setBatchListener batch listener}, or once per message otherwise.
+	 * <p>A reply returned from a batch invocation is correlated with the
+	 * last message in the batch.
+	 * @since 5.2
+	 */
+	@Override
+	public void onMessages(List<javax.jms.Message> jmsMessages, Session session) throws JMSException {
+		MethodParameter batchParameter = this.batchParameter;
+		if (batchParameter == null) {
+			for (javax.jms.Message jmsMessage : jmsMessages) {
+				onMessage(jmsMessage, session);
+			}
+			return;
+		}
+
+		Message<?> message = toMessagingMessage(jmsMessages, batchParameter);
+		if (logger.isDebugEnabled()) {
+			logger.debug("Processing batch of " + jmsMessages.size() + " messages");
+		}
+		Object result = invokeHandler(null, session, message);
+		if (result != null) {
+			handleResult(result, jmsMessages.get(jmsMessages.size() - 1), session);
+		}
+		else {
+			logger.trace("No result object given - no result to handle");
+		}
+	}
+
 	@Override
 	protected Object preProcessResponse(Object result) {
 		MethodParameter returnType = getHandlerMethod().getReturnType();
@@ -103,12 +176,66 @@ public class MessagingMessageListenerAdapter extends AbstractAdaptableMessageLis
 		}
 	}
 
+	/**
+	 * Convert the given batch of JMS messages into a single {@link Message}
+	 * with a {@code List} payload, converting each element according to the
+	 * element type of the given batch parameter.
+	 * <p>Each header of the batch message is a {@code List} holding the
+	 * corresponding header value of every message in the batch, in order
+	 * (with {@code null} for messages that do not carry the header).
+	 * @since 5.2
+	 */
+	protected Message<?> toMessagingMessage(List<javax.jms.Message> jmsMessages, MethodParameter batchParameter) {
+		ResolvableType elementType = ResolvableType.forMethodParameter(batchParameter).asCollection().getGeneric();
+		Class<?> elementClass = elementType.resolve(Object.class);
+		Class<?> payloadClass = (Message.class.isAssignableFrom(elementClass) ?
+				elementType.as(Message.class).getGeneric().resolve(Object.class) : elementClass);
+
+		int size = jmsMessages.size();
+		List<Object> payload = new ArrayList<>(size);
+		Map<String, List<Object>> headers = new LinkedHashMap<>();
+		for (int i = 0; i < size; i++) {
+			javax.jms.Message jmsMessage = jmsMessages.get(i);
+			Message<?> message = toMessagingMessage(jmsMessage);
+			if (javax.jms.Message.class.isAssignableFrom(elementClass)) {
+				payload.add(jmsMessage);
+			}
+			else {
+				Object elementPayload = convertBatchElement(message, payloadClass);
+				payload.add(Message.class.isAssignableFrom(elementClass) ?
+						MessageBuilder.createMessage(elementPayload, message.getHeaders()) : elementPayload);
+			}
+			for (Map.Entry<String, Object> header : message.getHeaders().entrySet()) {
+				String name = header.getKey();
+				if (!MessageHeaders.ID.equals(name) && !MessageHeaders.TIMESTAMP.equals(name)) {
+					headers.computeIfAbsent(name, key -> Arrays.asList(new Object[size])).set(i, header.getValue());
+				}
+			}
+		}
+		return MessageBuilder.withPayload(payload).copyHeaders(headers).build();
+	}
+
+	private Object convertBatchElement(Message<?> message, Class<?> targetClass) {
+		Object payload = message.getPayload();
+		if (targetClass.isInstance(payload)) {
+			return payload;
+		}
+		Object converted = this.batchElementConverter.fromMessage(message, targetClass);
+		if (converted == null) {
+			throw new MessageConversionException("Cannot convert from [" + payload.getClass().getName() +
+					"] to [" + targetClass.getName() + "] for batch element " + message);
+		}
+		return converted;
+	}
+
 	/**
 	 * Invoke the handler, wrapping any exception to a {@link ListenerExecutionFailedException}
 	 * with a dedicated error message.
 	 */
 	@Nullable
-	private Object invokeHandler(javax.jms.Message jmsMessage, @Nullable Session session, Message<?> message) {
+	private Object invokeHandler(
+			@Nullable javax.jms.Message jmsMessage, @Nullable Session session, Message<?> message) {
+
 		InvocableHandlerMethod handlerMethod = getHandlerMethod();
 		try {
 			return handlerMethod.invoke(message, jmsMessage, session);
@@ -123,6 +250,27 @@ public class MessagingMessageListenerAdapter extends AbstractAdaptableMessageLis
 		}
 	}
 
+	/**
+	 * Determine the parameter of the handler method which receives an entire
+	 * batch of messages, if this adapter is a batch listener: a {@code List}
+	 * parameter which is not bound to message headers.
+	 */
+	@Nullable
+	private MethodParameter determineBatchParameter() {
+		InvocableHandlerMethod handlerMethod = this.handlerMethod;
+		if (!this.batchListener || handlerMethod == null) {
+			return null;
+		}
+		for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+			if (List.class == parameter.getParameterType() &&
+					!parameter.hasParameterAnnotation(Header.class) && !parameter.hasParameterAnnotation(Headers.class)) {
+				return parameter;
+			}
+		}
+		throw new IllegalStateException("Batch listener method '" + handlerMethod.getMethod().toGenericString() +
+				"' does not declare a List parameter for the batch of messages");
+	}
+
 	private String createMessagingErrorMessage(String description) {
 		InvocableHandlerMethod handlerMethod = getHandlerMethod();
 		StringBuilder sb = new StringBuilder(description).append("\n")
@@ -16,11 +16,14 @@
 
 package org.springframework.jms.support.converter;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -35,6 +38,7 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 
 import org.springframework.beans.factory.BeanClassLoaderAware;
@@ -42,6 +46,7 @@ import org.springframework.core.MethodParameter;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * Message converter that uses Jackson 2.x to convert messages to and from JSON.
@@ -55,6 +60,15 @@ import org.springframework.util.ClassUtils;
  * <li>{@link DeserializationFeature#FAIL_ON_UNKNOWN_PROPERTIES} is disabled</li>
  * </ul>
  *
+ * <p>As of 5.2, {@link BytesMessage} content is written and read as a stream,
+ * without an intermediate byte array or String for the entire payload, and the
+ * Jackson {@link ObjectWriter} and {@link ObjectReader} instances (with their
+ * resolved root serializers/deserializers) are reused per view and target type.
+ * Since those instances capture the {@link ObjectMapper} configuration when they
+ * are created, the {@code ObjectMapper} needs to be fully configured before the
+ * first conversion: Later configuration changes only take effect after a call
+ * to {@link #setObjectMapper}.
+ *
  * <p>Compatible with Jackson 2.6 and higher, as of Spring 4.3.
  *
  * @author Mark Pollack
@@ -91,6 +105,13 @@ public class MappingJackson2MessageConverter implements SmartMessageConverter, B
 	@Nullable
 	private ClassLoader beanClassLoader;
 
+	@Nullable
+	private volatile ObjectWriter defaultWriter;
+
+	private final Map<Class<?>, ObjectWriter> viewWriterCache = new ConcurrentReferenceHashMap<>(16);
+
+	private final Map<JavaType, ObjectReader> readerCache = new ConcurrentReferenceHashMap<>(64);
+
 
 	public MappingJackson2MessageConverter() {
 		this.objectMapper = new ObjectMapper();
@@ -100,10 +121,16 @@ public class MappingJackson2MessageConverter implements SmartMessageConverter, B
 
 	/**
 	 * Specify the {@link ObjectMapper} to use instead of using the default.
+	 * <p>The given {@code ObjectMapper} should be fully configured at this point:
+	 * {@link ObjectWriter} and {@link ObjectReader} instances derived from it are
+	 * cached, not picking up subsequent changes to its configuration.
 	 */
 	public void setObjectMapper(ObjectMapper objectMapper) {
 		Assert.notNull(objectMapper, "ObjectMapper must not be null");
 		this.objectMapper = objectMapper;
+		this.defaultWriter = null;
+		this.viewWriterCache.clear();
+		this.readerCache.clear();
 	}
 
 	/**
@@ -177,24 +204,7 @@ public class MappingJackson2MessageConverter implements SmartMessageConverter, B
 
 	@Override
 	public Message toMessage(Object object, Session session) throws JMSException, MessageConversionException {
-		Message message;
-		try {
-			switch (this.targetType) {
-				case TEXT:
-					message = mapToTextMessage(object, session, this.objectMapper.writer());
-					break;
-				case BYTES:
-					message = mapToBytesMessage(object, session, this.objectMapper.writer());
-					break;
-				default:
-					message = mapToMessage(object, session, this.objectMapper.writer(), this.targetType);
-			}
-		}
-		catch (IOException ex) {
-			throw new MessageConversionException("Could not map JSON object [" + object + "]", ex);
-		}
-		setTypeIdOnMessage(object, message);
-		return message;
+		return toMessage(object, session, getObjectWriter(null));
 	}
 
 	@Override
@@ -218,12 +228,7 @@ public class MappingJackson2MessageConverter implements SmartMessageConverter, B
 	public Message toMessage(Object object, Session session, @Nullable Class<?> jsonView)
 			throws JMSException, MessageConversionException {
 
-		if (jsonView != null) {
-			return toMessage(object, session, this.objectMapper.writerWithView(jsonView));
-		}
-		else {
-			return toMessage(object, session, this.objectMapper.writer());
-		}
+		return toMessage(object, session, getObjectWriter(jsonView));
 	}
 
 	@Override
@@ -294,19 +299,18 @@ public class MappingJackson2MessageConverter implements SmartMessageConverter, B
 	protected BytesMessage mapToBytesMessage(Object object, Session session, ObjectWriter objectWriter)
 			throws JMSException, IOException {
 
-		ByteArrayOutputStream bos = new ByteArrayOutputStream(1024);
-		if (this.encoding != null) {
-			OutputStreamWriter writer = new OutputStreamWriter(bos, this.encoding);
+		BytesMessage message = session.createBytesMessage();
+		OutputStream out = new BytesMessageOutputStream(message);
+		if (this.encoding != null && !isUtf8(this.encoding)) {
+			Writer writer = new OutputStreamWriter(out, this.encoding);
 			objectWriter.writeValue(writer, object);
 		}
 		else {
 			// Jackson usually defaults to UTF-8 but can also go straight to bytes, e.g. for Smile.
-			// We use a direct byte array argument for the latter case to work as well.
-			objectWriter.writeValue(bos, object);
+			// We stream into the message body directly for both cases to work, without copying.
+			objectWriter.writeValue(out, object);
 		}
 
-		BytesMessage message = session.createBytesMessage();
-		message.writeBytes(bos.toByteArray());
 		if (this.encodingPropertyName != null) {
 			message.setStringProperty(this.encodingPropertyName,
 					(this.encoding != null ? this.encoding : DEFAULT_ENCODING));
@@ -383,7 +387,7 @@ public class MappingJackson2MessageConverter implements SmartMessageConverter, B
 			throws JMSException, IOException {
 
 		String body = message.getText();
-		return this.objectMapper.readValue(body, targetJavaType);
+		return getObjectReader(targetJavaType).readValue(body);
 	}
 
 	/**
@@ -401,12 +405,10 @@ public class MappingJackson2MessageConverter implements SmartMessageConverter, B
 		if (this.encodingPropertyName != null && message.propertyExists(this.encodingPropertyName)) {
 			encoding = message.getStringProperty(this.encodingPropertyName);
 		}
-		byte[] bytes = new byte[(int) message.getBodyLength()];
-		message.readBytes(bytes);
-		if (encoding != null) {
+		InputStream in = new BytesMessageInputStream(message);
+		if (encoding != null && !isUtf8(encoding)) {
 			try {
-				String body = new String(bytes, encoding);
-				return this.objectMapper.readValue(body, targetJavaType);
+				return getObjectReader(targetJavaType).readValue(new InputStreamReader(in, encoding));
 			}
 			catch (UnsupportedEncodingException ex) {
 				throw new MessageConversionException("Cannot convert bytes to String", ex);
@@ -414,7 +416,7 @@ public class MappingJackson2MessageConverter implements SmartMessageConverter, B
 		}
 		else {
 			// Jackson internally performs encoding detection, falling back to UTF-8.
-			return this.objectMapper.readValue(bytes, targetJavaType);
+			return getObjectReader(targetJavaType).readValue(in);
 		}
 	}
 
@@ -507,4 +509,124 @@ public class MappingJackson2MessageConverter implements SmartMessageConverter, B
 		return classes[0];
 	}
 
+	/**
+	 * Obtain a (cached) {@link ObjectWriter} for the given serialization view.
+	 */
+	private ObjectWriter getObjectWriter(@Nullable Class<?> jsonView) {
+		if (jsonView != null) {
+			return this.viewWriterCache.computeIfAbsent(jsonView, this.objectMapper::writerWithView);
+		}
+		ObjectWriter writer = this.defaultWriter;
+		if (writer == null) {
+			writer = this.objectMapper.writer();
+			this.defaultWriter = writer;
+		}
+		return writer;
+	}
+
+	/**
+	 * Obtain a (cached) {@link ObjectReader} for the given target type.
+	 */
+	private ObjectReader getObjectReader(JavaType targetJavaType) {
+		return this.readerCache.computeIfAbsent(targetJavaType, this.objectMapper::readerFor);
+	}
+
+	private static boolean isUtf8(String encoding) {
+		return (DEFAULT_ENCODING.equalsIgnoreCase(encoding) || "UTF8".equalsIgnoreCase(encoding));
+	}
+
+
+	/**
+	 * OutputStream adapter that writes into the body of a {@link BytesMessage}.
+	 */
+	private static class BytesMessageOutputStream extends OutputStream {
+
+		private final BytesMessage message;
+
+		public BytesMessageOutputStream(BytesMessage message) {
+			this.message = message;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			try {
+				this.message.writeByte((byte) b);
+			}
+			catch (JMSException ex) {
+				throw new IOException("Failed to write to BytesMessage", ex);
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			try {
+				this.message.writeBytes(b, off, len);
+			}
+			catch (JMSException ex) {
+				throw new IOException("Failed to write to BytesMessage", ex);
+			}
+		}
+	}
+
+
+	/**
+	 * InputStream adapter that reads from the body of a {@link BytesMessage}.
+	 */
+	private static class BytesMessageInputStream extends InputStream {
+
+		private static final int MAX_BUFFER_SIZE = 8192;
+
+		private final BytesMessage message;
+
+		// Reused for single-byte reads and for reads into an offset
+		@Nullable
+		private byte[] buffer;
+
+		public BytesMessageInputStream(BytesMessage message) {
+			this.message = message;
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] buffer = obtainBuffer(1);
+			return (readBytes(buffer, 1) != -1 ? buffer[0] & 0xFF : -1);
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (off == 0) {
+				return readBytes(b, len);
+			}
+			// BytesMessage cannot read into an offset: read through the buffer,
+			// possibly returning fewer bytes than requested
+			byte[] buffer = obtainBuffer(len);
+			int count = readBytes(buffer, Math.min(len, buffer.length));
+			if (count > 0) {
+				System.arraycopy(buffer, 0, b, off, count);
+			}
+			return count;
+		}
+
+		private byte[] obtainBuffer(int len) {
+			byte[] buffer = this.buffer;
+			if (buffer == null || buffer.length < Math.min(len, MAX_BUFFER_SIZE)) {
+				buffer = new byte[Math.min(len, MAX_BUFFER_SIZE)];
+				this.buffer = buffer;
+			}
+			return buffer;
+		}
+
+		private int readBytes(byte[] b, int len) throws IOException {
+			try {
+				return (len == b.length ? this.message.readBytes(b) : this.message.readBytes(b, len));
+			}
+			catch (JMSException ex) {
+				throw new IOException("Failed to read from BytesMessage", ex);
+			}
+		}
+	}
+
 }
@@ -18,8 +18,11 @@ package org.springframework.jms.core;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import javax.jms.CompletionListener;
 import javax.jms.Connection;
 import javax.jms.ConnectionFactory;
 import javax.jms.DeliveryMode;
@@ -63,10 +66,13 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -445,6 +451,117 @@ class JmsTemplateTests {
 		verify(this.connection).close();
 	}
 
+	@Test
+	void testSendAll() throws Exception {
+		JmsTemplate template = createTemplate();
+		template.setConnectionFactory(this.connectionFactory);
+		template.setMessageConverter(new SimpleMessageConverter());
+
+		MessageProducer messageProducer = mock(MessageProducer.class);
+		TextMessage textMessage1 = mock(TextMessage.class);
+		TextMessage textMessage2 = mock(TextMessage.class);
+
+		given(this.session.createProducer(this.queue)).willReturn(messageProducer);
+		given(this.session.createTextMessage("Hello")).willReturn(textMessage1);
+		given(this.session.createTextMessage("World")).willReturn(textMessage2);
+
+		template.convertAndSendAll(this.queue, Arrays.asList("Hello", "World"));
+
+		verify(this.session).createProducer(this.queue);
+		verify(messageProducer).send(textMessage1);
+		verify(messageProducer).send(textMessage2);
+		verify(messageProducer).close();
+		if (useTransactedTemplate()) {
+			verify(this.session).commit();
+		}
+		verify(this.session).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	void testSendAllPipelined() throws Exception {
+		JmsTemplate template = createTemplate();
+		template.setConnectionFactory(this.connectionFactory);
+		template.setMaxPendingSends(2);
+
+		MessageProducer messageProducer = mock(MessageProducer.class);
+		TextMessage textMessage = mock(TextMessage.class);
+
+		given(this.session.createProducer(this.queue)).willReturn(messageProducer);
+		given(this.session.createTextMessage("just testing")).willReturn(textMessage);
+		willAnswer(invocation -> {
+			invocation.<CompletionListener>getArgument(1).onCompletion(invocation.getArgument(0));
+			return null;
+		}).given(messageProducer).send(any(Message.class), any(CompletionListener.class));
+
+		MessageCreator messageCreator = session -> session.createTextMessage("just testing");
+		template.sendAll(this.queue, Arrays.asList(messageCreator, messageCreator, messageCreator));
+
+		verify(this.session).createProducer(this.queue);
+		verify(messageProducer, times(3)).send(any(Message.class), any(CompletionListener.class));
+		verify(messageProducer).close();
+		if (useTransactedTemplate()) {
+			verify(this.session).commit();
+		}
+		verify(this.session).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	void testSendAllPipelinedWithFailure() throws Exception {
+		JmsTemplate template = createTemplate();
+		template.setConnectionFactory(this.connectionFactory);
+		template.setMaxPendingSends(2);
+
+		MessageProducer messageProducer = mock(MessageProducer.class);
+		TextMessage textMessage = mock(TextMessage.class);
+
+		given(this.session.createProducer(this.queue)).willReturn(messageProducer);
+		given(this.session.createTextMessage("just testing")).willReturn(textMessage);
+		willAnswer(invocation -> {
+			invocation.<CompletionListener>getArgument(1).onException(
+					invocation.getArgument(0), new JMSException("send failed"));
+			return null;
+		}).given(messageProducer).send(any(Message.class), any(CompletionListener.class));
+
+		MessageCreator messageCreator = session -> session.createTextMessage("just testing");
+		assertThatExceptionOfType(UncategorizedJmsException.class).isThrownBy(() ->
+				template.sendAll(this.queue, Arrays.asList(messageCreator, messageCreator, messageCreator)))
+			.withMessageContaining("send failed");
+
+		verify(messageProducer).send(any(Message.class), any(CompletionListener.class));
+		verify(messageProducer).close();
+		verify(this.session).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	void testSendAsync() throws Exception {
+		JmsTemplate template = createTemplate();
+		template.setConnectionFactory(this.connectionFactory);
+
+		MessageProducer messageProducer = mock(MessageProducer.class);
+		TextMessage textMessage = mock(TextMessage.class);
+
+		given(this.session.createProducer(this.queue)).willReturn(messageProducer);
+		given(this.session.createTextMessage("just testing")).willReturn(textMessage);
+		willAnswer(invocation -> {
+			invocation.<CompletionListener>getArgument(1).onCompletion(invocation.getArgument(0));
+			return null;
+		}).given(messageProducer).send(any(Message.class), any(CompletionListener.class));
+
+		CompletableFuture<Message> future =
+				template.sendAsync(this.queue, session -> session.createTextMessage("just testing"));
+
+		assertThat(future).isCompletedWithValue(textMessage);
+		verify(messageProducer).close();
+		if (useTransactedTemplate()) {
+			verify(this.session).commit();
+		}
+		verify(this.session).close();
+		verify(this.connection).close();
+	}
+
 	@Test
 	void testReceiveDefaultDestination() throws Exception {
 		doTestReceive(true, true, false, false, false, false, JmsTemplate.RECEIVE_TIMEOUT_INDEFINITE_WAIT);
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.jms.listener;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link DefaultConsumerScalingPolicy}.
+ *
+ * @author agent (agent@local)
+ */
+public class DefaultConsumerScalingPolicyTests {
+
+	private final DefaultConsumerScalingPolicy policy = new DefaultConsumerScalingPolicy();
+
+
+	@Test
+	public void scaleUpOnBacklog() {
+		// Hardly any waiting: consumers keep finding messages available.
+		assertThat(policy.determineConsumerCount(metrics(4, 20, 780, 98, -1))).isEqualTo(6);
+		assertThat(policy.determineConsumerCount(metrics(1, 0, 200, 100, -1))).isEqualTo(2);
+	}
+
+	@Test
+	public void scaleUpOnExceededLatency() {
+		assertThat(policy.determineConsumerCount(metrics(2, 100, 300, 70, 5000))).isEqualTo(3);
+	}
+
+	@Test
+	public void scaleDownOnIdleConsumers() {
+		assertThat(policy.determineConsumerCount(metrics(6, 3600, 2400, 8, 10))).isEqualTo(5);
+		assertThat(policy.determineConsumerCount(metrics(6, 6000, 0, 0, -1))).isEqualTo(5);
+	}
+
+	@Test
+	public void noScaleDownWhileLatencyExceeded() {
+		assertThat(policy.determineConsumerCount(metrics(6, 3600, 2400, 8, 5000))).isEqualTo(9);
+		assertThat(policy.determineConsumerCount(metrics(6, 3600, 2400, 0, 5000))).isEqualTo(6);
+	}
+
+	@Test
+	public void steadyBetweenThresholds() {
+		assertThat(policy.determineConsumerCount(metrics(4, 300, 700, 70, 100))).isEqualTo(4);
+	}
+
+	@Test
+	public void customThresholds() {
+		policy.setTargetLatency(100);
+		policy.setScaleUpThreshold(0.3);
+		policy.setScaleDownThreshold(0.8);
+		assertThat(policy.determineConsumerCount(metrics(4, 300, 700, 70, 50))).isEqualTo(6);
+		assertThat(policy.determineConsumerCount(metrics(4, 500, 500, 50, 500))).isEqualTo(6);
+		assertThat(policy.determineConsumerCount(metrics(4, 500, 500, 50, 50))).isEqualTo(4);
+		assertThat(policy.determineConsumerCount(metrics(4, 800, 200, 20, 50))).isEqualTo(3);
+	}
+
+	@Test
+	public void invalidThresholds() {
+		assertThatIllegalArgumentException().isThrownBy(() -> policy.setTargetLatency(0));
+		assertThatIllegalArgumentException().isThrownBy(() -> policy.setScaleUpThreshold(-0.1));
+		assertThatIllegalArgumentException().isThrownBy(() -> policy.setScaleDownThreshold(1.1));
+	}
+
+	@Test
+	public void consumerMetrics() {
+		ConsumerMetrics metrics = new ConsumerMetrics(2000, 4, 3, 1, 10, 100, 25, 400, 20, 6000, 2000);
+		assertThat(metrics.getEmptyReceiveRatio()).isEqualTo(0.25);
+		assertThat(metrics.getIdleRatio()).isEqualTo(0.75);
+		assertThat(metrics.getAverageProcessingTime()).isEqualTo(5);
+		assertThat(metrics.getThroughput()).isEqualTo(200.0);
+		assertThat(metrics.getThroughputPerConsumer()).isEqualTo(50.0);
+
+		metrics = new ConsumerMetrics(1000, 1, 0, 1, 1, 0, 0, 0, -1, 0, 0);
+		assertThat(metrics.getEmptyReceiveRatio()).isEqualTo(1.0);
+		assertThat(metrics.getIdleRatio()).isEqualTo(1.0);
+		assertThat(metrics.getAverageProcessingTime()).isEqualTo(-1);
+	}
+
+
+	private static ConsumerMetrics metrics(int consumers, long receiveWaitTime, long processingTime,
+			long messages, long latency) {
+
+		return new ConsumerMetrics(1000, consumers, consumers, 1, 10, messages + 1, 1, messages, latency,
+				receiveWaitTime, processingTime);
+	}
+
+}
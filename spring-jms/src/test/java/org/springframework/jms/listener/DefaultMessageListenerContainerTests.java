@@ -16,6 +16,8 @@
 
 package org.springframework.jms.listener;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -23,6 +25,10 @@ import javax.jms.Connection;
 import javax.jms.ConnectionFactory;
 import javax.jms.Destination;
 import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageListener;
+import javax.jms.Session;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.invocation.InvocationOnMock;
@@ -34,6 +40,7 @@ import org.springframework.util.backoff.BackOffExecution;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -106,6 +113,120 @@ public class DefaultMessageListenerContainerTests {
 		runnable2.waitForCompletion();
 	}
 
+	@Test
+	public void batchListenerReceivesBatchWithinSingleTransaction() throws JMSException {
+		Message message1 = mock(Message.class);
+		Message message2 = mock(Message.class);
+		Message message3 = mock(Message.class);
+		Session session = createTransactedSession();
+		MessageConsumer consumer = mock(MessageConsumer.class);
+		given(consumer.receive(1000)).willReturn(message1);
+		given(consumer.receiveNoWait()).willReturn(message2, message3, null);
+
+		List<List<Message>> batches = new ArrayList<>();
+		DefaultMessageListenerContainer container = createBatchContainer(5);
+		container.setMessageListener((BatchMessageListener) (messages, s) -> batches.add(messages));
+
+		assertThat(container.doReceiveAndExecute(this, session, consumer, null)).isTrue();
+		assertThat(batches).hasSize(1);
+		assertThat(batches.get(0)).containsExactly(message1, message2, message3);
+		verify(session, times(1)).commit();
+	}
+
+	@Test
+	public void batchIsLimitedByBatchSize() throws JMSException {
+		Message message = mock(Message.class);
+		Session session = createTransactedSession();
+		MessageConsumer consumer = mock(MessageConsumer.class);
+		given(consumer.receive(1000)).willReturn(message);
+		given(consumer.receiveNoWait()).willReturn(message);
+
+		List<List<Message>> batches = new ArrayList<>();
+		DefaultMessageListenerContainer container = createBatchContainer(3);
+		container.setMessageListener((BatchMessageListener) (messages, s) -> batches.add(messages));
+
+		assertThat(container.doReceiveAndExecute(this, session, consumer, null)).isTrue();
+		assertThat(batches.get(0)).hasSize(3);
+		verify(consumer, times(2)).receiveNoWait();
+		verify(session, times(1)).commit();
+	}
+
+	@Test
+	public void batchWithRegularListenerInvokesListenerPerMessage() throws JMSException {
+		Message message1 = mock(Message.class);
+		Message message2 = mock(Message.class);
+		Session session = createTransactedSession();
+		MessageConsumer consumer = mock(MessageConsumer.class);
+		given(consumer.receive(1000)).willReturn(message1);
+		given(consumer.receiveNoWait()).willReturn(message2, null);
+
+		List<Message> received = new ArrayList<>();
+		DefaultMessageListenerContainer container = createBatchContainer(5);
+		container.setMessageListener((MessageListener) received::add);
+
+		assertThat(container.doReceiveAndExecute(this, session, consumer, null)).isTrue();
+		assertThat(received).containsExactly(message1, message2);
+		verify(session, times(1)).commit();
+	}
+
+	@Test
+	public void batchListenerExceptionRollsBackEntireBatch() throws JMSException {
+		Message message1 = mock(Message.class);
+		Message message2 = mock(Message.class);
+		Session session = createTransactedSession();
+		MessageConsumer consumer = mock(MessageConsumer.class);
+		given(consumer.receive(1000)).willReturn(message1);
+		given(consumer.receiveNoWait()).willReturn(message2, null);
+
+		DefaultMessageListenerContainer container = createBatchContainer(5);
+		container.setMessageListener((BatchMessageListener) (messages, s) -> {
+			throw new IllegalStateException("Expected test exception");
+		});
+
+		assertThat(container.doReceiveAndExecute(this, session, consumer, null)).isTrue();
+		verify(session, times(1)).rollback();
+		verify(session, never()).commit();
+	}
+
+	@Test
+	public void batchListenerWithoutBatchSize() throws JMSException {
+		Message message = mock(Message.class);
+		Session session = createTransactedSession();
+		MessageConsumer consumer = mock(MessageConsumer.class);
+		given(consumer.receive(1000)).willReturn(message);
+
+		List<List<Message>> batches = new ArrayList<>();
+		DefaultMessageListenerContainer container = createBatchContainer(1);
+		container.setMessageListener((BatchMessageListener) (messages, s) -> batches.add(messages));
+
+		assertThat(container.doReceiveAndExecute(this, session, consumer, null)).isTrue();
+		assertThat(batches).hasSize(1);
+		assertThat(batches.get(0)).containsExactly(message);
+		verify(consumer, never()).receiveNoWait();
+		verify(session, times(1)).commit();
+	}
+
+
+	private DefaultMessageListenerContainer createBatchContainer(int batchSize) {
+		DefaultMessageListenerContainer container = new DefaultMessageListenerContainer() {
+			@Override
+			protected void messageReceived(Object invoker, Session session) {
+				// no invoker bookkeeping for direct doReceiveAndExecute calls
+			}
+		};
+		container.setConnectionFactory(createSuccessfulConnectionFactory());
+		container.setDestination(new Destination() {});
+		container.setSessionTransacted(true);
+		container.setAcceptMessagesWhileStopping(true);
+		container.setBatchSize(batchSize);
+		return container;
+	}
+
+	private Session createTransactedSession() throws JMSException {
+		Session session = mock(Session.class);
+		given(session.getTransacted()).willReturn(true);
+		return session;
+	}
 
 	private DefaultMessageListenerContainer createRunningContainer() {
 		DefaultMessageListenerContainer container = createContainer(createSuccessfulConnectionFactory());
@@ -18,6 +18,7 @@ package org.springframework.jms.listener.adapter;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import javax.jms.DeliveryMode;
@@ -42,6 +43,7 @@ import org.springframework.jms.support.converter.MessageConverter;
 import org.springframework.jms.support.converter.MessageType;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.support.DefaultMessageHandlerMethodFactory;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.util.ReflectionUtils;
@@ -49,6 +51,7 @@ import org.springframework.util.ReflectionUtils;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
@@ -157,6 +160,90 @@ public class MessagingMessageListenerAdapterTests {
 		assertThat(sample.simples.get(0).getPayload()).isEqualTo("FooBar");
 	}
 
+	@Test
+	public void batchOfPayloads() throws JMSException {
+		Session session = mock(Session.class);
+		MessagingMessageListenerAdapter listener = getBatchInstance("batch", List.class);
+		listener.onMessages(Arrays.asList(new StubTextMessage("foo"), new StubTextMessage("bar")), session);
+		assertThat(sample.batches).hasSize(1);
+		assertThat(sample.batches.get(0)).containsExactly("foo", "bar");
+	}
+
+	@Test
+	public void batchOfConvertedPayloads() throws JMSException {
+		Session session = mock(Session.class);
+		MessagingMessageListenerAdapter listener = getBatchInstance("batchOfIntegers", List.class);
+		listener.onMessages(Arrays.asList(new StubTextMessage("1"), new StubTextMessage("2")), session);
+		assertThat(sample.batches).hasSize(1);
+		assertThat(sample.batches.get(0)).containsExactly(1, 2);
+	}
+
+	@Test
+	public void batchOfSpringMessages() throws JMSException {
+		Session session = mock(Session.class);
+		StubTextMessage message1 = new StubTextMessage("foo");
+		message1.setJMSMessageID("abcd-1");
+		MessagingMessageListenerAdapter listener = getBatchInstance("batchOfMessages", List.class);
+		listener.onMessages(Arrays.asList(message1, new StubTextMessage("bar")), session);
+		assertThat(sample.batches).hasSize(1);
+		List<?> batch = sample.batches.get(0);
+		assertThat(batch).hasSize(2);
+		assertThat(((Message<?>) batch.get(0)).getPayload()).isEqualTo("foo");
+		assertThat(((Message<?>) batch.get(0)).getHeaders().get(JmsHeaders.MESSAGE_ID)).isEqualTo("abcd-1");
+		assertThat(((Message<?>) batch.get(1)).getPayload()).isEqualTo("bar");
+	}
+
+	@Test
+	public void batchOfJmsMessages() throws JMSException {
+		Session session = mock(Session.class);
+		javax.jms.Message message1 = new StubTextMessage("foo");
+		javax.jms.Message message2 = new StubTextMessage("bar");
+		MessagingMessageListenerAdapter listener = getBatchInstance("batchOfJmsMessages", List.class);
+		listener.onMessages(Arrays.asList(message1, message2), session);
+		assertThat(sample.batches).hasSize(1);
+		assertThat(sample.batches.get(0)).containsExactly(message1, message2);
+	}
+
+	@Test
+	public void batchWithHeaders() throws JMSException {
+		Session session = mock(Session.class);
+		StubTextMessage message1 = new StubTextMessage("foo");
+		message1.setJMSMessageID("abcd-1");
+		StubTextMessage message2 = new StubTextMessage("bar");
+		message2.setJMSMessageID("abcd-2");
+		MessagingMessageListenerAdapter listener = getBatchInstance("batchWithHeaders", List.class, List.class);
+		listener.onMessages(Arrays.asList(message1, message2), session);
+		assertThat(sample.batches).hasSize(2);
+		assertThat(sample.batches.get(0)).containsExactly("foo", "bar");
+		assertThat(sample.batches.get(1)).containsExactly("abcd-1", "abcd-2");
+	}
+
+	@Test
+	public void batchWithoutBatchListener() throws JMSException {
+		Session session = mock(Session.class);
+		MessagingMessageListenerAdapter listener = getSimpleInstance("batch", List.class);
+		listener.onMessages(Arrays.asList(new StubTextMessage("foo"), new StubTextMessage("bar")), session);
+		assertThat(sample.batches).hasSize(2);
+		assertThat(sample.batches.get(0)).containsExactly("foo");
+		assertThat(sample.batches.get(1)).containsExactly("bar");
+	}
+
+	@Test
+	public void batchListenerWithoutListParameter() {
+		MessagingMessageListenerAdapter listener = getSimpleInstance("simple", Message.class);
+		assertThatIllegalStateException().isThrownBy(() -> listener.setBatchListener(true));
+	}
+
+	@Test
+	public void batchWithSingleMessageMethod() throws JMSException {
+		Session session = mock(Session.class);
+		MessagingMessageListenerAdapter listener = getSimpleInstance("simple", Message.class);
+		listener.onMessages(Arrays.asList(new StubTextMessage("foo"), new StubTextMessage("bar")), session);
+		assertThat(sample.simples).hasSize(2);
+		assertThat(sample.simples.get(0).getPayload()).isEqualTo("foo");
+		assertThat(sample.simples.get(1).getPayload()).isEqualTo("bar");
+	}
+
 	@Test
 	public void replyUsesMessageConverterForPayload() throws JMSException {
 		Session session = mock(Session.class);
@@ -345,6 +432,12 @@ public class MessagingMessageListenerAdapterTests {
 		return createInstance(m);
 	}
 
+	protected MessagingMessageListenerAdapter getBatchInstance(String methodName, Class... parameterTypes) {
+		MessagingMessageListenerAdapter adapter = getSimpleInstance(methodName, parameterTypes);
+		adapter.setBatchListener(true);
+		return adapter;
+	}
+
 	protected MessagingMessageListenerAdapter createInstance(Method m) {
 		MessagingMessageListenerAdapter adapter = new MessagingMessageListenerAdapter();
 		adapter.setHandlerMethod(factory.createInvocableHandlerMethod(sample, m));
@@ -376,10 +469,33 @@ public class MessagingMessageListenerAdapterTests {
 
 		public final List<Message<String>> simples = new ArrayList<>();
 
+		public final List<List<?>> batches = new ArrayList<>();
+
 		public void simple(Message<String> input) {
 			simples.add(input);
 		}
 
+		public void batch(List<String> input) {
+			batches.add(input);
+		}
+
+		public void batchOfIntegers(List<Integer> input) {
+			batches.add(input);
+		}
+
+		public void batchOfMessages(List<Message<String>> input) {
+			batches.add(input);
+		}
+
+		public void batchOfJmsMessages(List<javax.jms.Message> input) {
+			batches.add(input);
+		}
+
+		public void batchWithHeaders(List<String> input, @Header(JmsHeaders.MESSAGE_ID) List<String> ids) {
+			batches.add(input);
+			batches.add(ids);
+		}
+
 		public Message<String> echo(Message<String> input) {
 			return MessageBuilder.withPayload(input.getPayload())
 					.setHeader(JmsHeaders.TYPE, "reply")
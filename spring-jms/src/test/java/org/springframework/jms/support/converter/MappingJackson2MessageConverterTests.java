@@ -39,6 +39,8 @@ import org.springframework.core.MethodParameter;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
@@ -76,7 +78,7 @@ public class MappingJackson2MessageConverterTests {
 
 		verify(bytesMessageMock).setStringProperty("__encoding__", "UTF-8");
 		verify(bytesMessageMock).setStringProperty("__typeid__", Date.class.getName());
-		verify(bytesMessageMock).writeBytes(isA(byte[].class));
+		verify(bytesMessageMock).writeBytes(isA(byte[].class), eq(0), anyInt());
 	}
 
 	@Test
@@ -102,6 +104,24 @@ public class MappingJackson2MessageConverterTests {
 		assertThat(unmarshalled).as("Invalid result").isEqualTo(result);
 	}
 
+	@Test
+	public void fromBytesMessageWithEncoding() throws Exception {
+		BytesMessage bytesMessageMock = mock(BytesMessage.class);
+		Map<String, String> unmarshalled = Collections.singletonMap("foo", "b\u00e4r");
+
+		byte[] bytes = "{\"foo\":\"b\u00e4r\"}".getBytes("UTF-16");
+		final ByteArrayInputStream byteStream = new ByteArrayInputStream(bytes);
+
+		given(bytesMessageMock.getStringProperty("__typeid__")).willReturn(Object.class.getName());
+		given(bytesMessageMock.propertyExists("__encoding__")).willReturn(true);
+		given(bytesMessageMock.getStringProperty("__encoding__")).willReturn("UTF-16");
+		given(bytesMessageMock.readBytes(any(byte[].class))).willAnswer(invocation ->
+				byteStream.read((byte[]) invocation.getArguments()[0]));
+
+		Object result = converter.fromMessage(bytesMessageMock);
+		assertThat(unmarshalled).as("Invalid result").isEqualTo(result);
+	}
+
 	@Test
 	public void toTextMessageWithObject() throws Exception {
 		converter.setTargetType(MessageType.TEXT);
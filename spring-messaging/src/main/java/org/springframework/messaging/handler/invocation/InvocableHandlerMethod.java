@@ -25,11 +25,12 @@ import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.invoke.MethodInvoker;
+import org.springframework.core.invoke.MethodInvokers;
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.handler.HandlerMethod;
 import org.springframework.util.ObjectUtils;
-import org.springframework.util.ReflectionUtils;
 
 /**
  * Extension of {@link HandlerMethod} that invokes the underlying method with
@@ -45,6 +46,8 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	private static final Object[] EMPTY_ARGS = new Object[0];
 
 
+	private final MethodInvoker methodInvoker;
+
 	private HandlerMethodArgumentResolverComposite resolvers = new HandlerMethodArgumentResolverComposite();
 
 	private ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
@@ -55,6 +58,7 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	 */
 	public InvocableHandlerMethod(HandlerMethod handlerMethod) {
 		super(handlerMethod);
+		this.methodInvoker = MethodInvokers.forMethod(getBridgedMethod());
 	}
 
 	/**
@@ -62,6 +66,7 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	 */
 	public InvocableHandlerMethod(Object bean, Method method) {
 		super(bean, method);
+		this.methodInvoker = MethodInvokers.forMethod(getBridgedMethod());
 	}
 
 	/**
@@ -75,6 +80,7 @@ public class InvocableHandlerMethod extends HandlerMethod {
 			throws NoSuchMethodException {
 
 		super(bean, methodName, parameterTypes);
+		this.methodInvoker = MethodInvokers.forMethod(getBridgedMethod());
 	}
 
 
@@ -163,12 +169,13 @@ public class InvocableHandlerMethod extends HandlerMethod {
 
 	/**
 	 * Invoke the handler method with the given argument values.
+	 * <p>The method is called through a (cached) {@link MethodInvoker},
+	 * i.e. through a generated direct-call invoker where possible.
 	 */
 	@Nullable
 	protected Object doInvoke(Object... args) throws Exception {
-		ReflectionUtils.makeAccessible(getBridgedMethod());
 		try {
-			return getBridgedMethod().invoke(getBean(), args);
+			return this.methodInvoker.invoke(getBean(), args);
 		}
 		catch (IllegalArgumentException ex) {
 			assertTargetBean(getBridgedMethod(), getBean(), args);
@@ -50,6 +50,7 @@ import org.springframework.transaction.support.CallbackPreferringPlatformTransac
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -175,6 +176,11 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 
 	private final ConcurrentMap<Object, Object> transactionManagerCache = new ConcurrentReferenceHashMap<>(4);
 
+	private final ConcurrentMap<Method, TransactionInvocationPlan> invocationPlanCache =
+			new ConcurrentReferenceHashMap<>(256);
+
+	private final boolean transactionManagerResolutionCacheable;
+
 
 	protected TransactionAspectSupport() {
 		if (reactiveStreamsPresent) {
@@ -183,6 +189,13 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		else {
 			this.reactiveAdapterRegistry = null;
 		}
+		this.transactionManagerResolutionCacheable =
+				!isOverridden("determineTransactionManager", TransactionAttribute.class) && !isOverridden("getTransactionManager");
+	}
+
+	private boolean isOverridden(String methodName, Class<?>... paramTypes) {
+		Method method = ReflectionUtils.findMethod(getClass(), methodName, paramTypes);
+		return (method != null && method.getDeclaringClass() != TransactionAspectSupport.class);
 	}
 
 
@@ -193,6 +206,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionManagerBeanName(@Nullable String transactionManagerBeanName) {
 		this.transactionManagerBeanName = transactionManagerBeanName;
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -214,6 +228,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionManager(@Nullable TransactionManager transactionManager) {
 		this.transactionManager = transactionManager;
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -242,6 +257,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		NameMatchTransactionAttributeSource tas = new NameMatchTransactionAttributeSource();
 		tas.setProperties(transactionAttributes);
 		this.transactionAttributeSource = tas;
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -254,6 +270,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionAttributeSources(TransactionAttributeSource... transactionAttributeSources) {
 		this.transactionAttributeSource = new CompositeTransactionAttributeSource(transactionAttributeSources);
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -267,6 +284,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionAttributeSource(@Nullable TransactionAttributeSource transactionAttributeSource) {
 		this.transactionAttributeSource = transactionAttributeSource;
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -283,6 +301,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	@Override
 	public void setBeanFactory(@Nullable BeanFactory beanFactory) {
 		this.beanFactory = beanFactory;
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -325,22 +344,26 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	protected Object invokeWithinTransaction(Method method, @Nullable Class<?> targetClass,
 			final InvocationCallback invocation) throws Throwable {
 
-		if (this.reactiveAdapterRegistry != null) {
-			if (KotlinDetector.isKotlinType(method.getDeclaringClass()) && KotlinDelegate.isSuspend(method)) {
-				throw new TransactionUsageException("Unsupported annotated transaction on suspending function detected: "
-						+ method + ". Use TransactionalOperator.transactional extensions instead.");
-			}
-			ReactiveAdapter adapter = this.reactiveAdapterRegistry.getAdapter(method.getReturnType());
-			if (adapter != null) {
-				return new ReactiveTransactionSupport(adapter).invokeWithinTransaction(method, targetClass, invocation);
-			}
+		TransactionInvocationPlan plan = getInvocationPlan(method, targetClass);
+		if (plan.reactiveAdapter != null) {
+			return new ReactiveTransactionSupport(plan.reactiveAdapter).invokeWithinTransaction(method, targetClass, invocation);
 		}
 
 		// If the transaction attribute is null, the method is non-transactional.
-		TransactionAttributeSource tas = getTransactionAttributeSource();
-		final TransactionAttribute txAttr = (tas != null ? tas.getTransactionAttribute(method, targetClass) : null);
-		final PlatformTransactionManager tm = determineTransactionManager(txAttr);
-		final String joinpointIdentification = methodIdentification(method, targetClass, txAttr);
+		final TransactionAttribute txAttr;
+		final PlatformTransactionManager tm;
+		final String joinpointIdentification;
+		if (plan.resolveTransactionAttribute) {
+			TransactionAttributeSource tas = getTransactionAttributeSource();
+			txAttr = (tas != null ? tas.getTransactionAttribute(method, targetClass) : null);
+			tm = determineTransactionManager(txAttr);
+			joinpointIdentification = methodIdentification(method, targetClass, txAttr);
+		}
+		else {
+			txAttr = plan.transactionAttribute;
+			tm = (plan.resolveTransactionManager ? determineTransactionManager(txAttr) : plan.transactionManager);
+			joinpointIdentification = plan.joinpointIdentification;
+		}
 
 		if (txAttr == null || !(tm instanceof CallbackPreferringPlatformTransactionManager)) {
 			// Standard transaction demarcation with getTransaction and commit/rollback calls.
@@ -434,11 +457,84 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		}
 	}
 
+	/**
+	 * Obtain the invocation plan for the given method and target class,
+	 * building and caching it on first access.
+	 * <p>A plan captures the reactive adapter for the method's return type. If the
+	 * {@link TransactionAttributeSource} caches its own results (as is the case for
+	 * any {@link AbstractFallbackTransactionAttributeSource}, e.g. the annotation-based
+	 * one), the plan also captures the transaction attribute, the joinpoint
+	 * identification and - unless {@link #determineTransactionManager} has been
+	 * overridden - the transaction manager, avoiding repeated lookups (and lookup
+	 * key allocation) on subsequent invocations. Any other source is consulted
+	 * on every invocation, since it may return dynamic results. Plans for the
+	 * same method but different target classes are chained per method.
+	 * @param method the Method being invoked
+	 * @param targetClass the target class that we're invoking the method on
+	 * @return the invocation plan (never {@code null})
+	 * @since 5.2
+	 */
+	final TransactionInvocationPlan getInvocationPlan(Method method, @Nullable Class<?> targetClass) {
+		TransactionInvocationPlan cached = findInvocationPlan(this.invocationPlanCache.get(method), targetClass);
+		if (cached != null) {
+			return cached;
+		}
+
+		ReactiveAdapter adapter = null;
+		if (this.reactiveAdapterRegistry != null) {
+			if (KotlinDetector.isKotlinType(method.getDeclaringClass()) && KotlinDelegate.isSuspend(method)) {
+				throw new TransactionUsageException("Unsupported annotated transaction on suspending function detected: "
+						+ method + ". Use TransactionalOperator.transactional extensions instead.");
+			}
+			adapter = this.reactiveAdapterRegistry.getAdapter(method.getReturnType());
+		}
+
+		TransactionAttribute txAttr = null;
+		String joinpointIdentification = null;
+		PlatformTransactionManager tm = null;
+		boolean resolveTransactionAttribute = false;
+		boolean resolveTransactionManager = true;
+		TransactionAttributeSource tas = getTransactionAttributeSource();
+		if (tas != null && !(tas instanceof AbstractFallbackTransactionAttributeSource)) {
+			resolveTransactionAttribute = true;
+		}
+		else if (adapter == null) {
+			txAttr = (tas != null ? tas.getTransactionAttribute(method, targetClass) : null);
+			joinpointIdentification = methodIdentification(method, targetClass, txAttr);
+			if (this.transactionManagerResolutionCacheable) {
+				tm = determineTransactionManager(txAttr);
+				resolveTransactionManager = false;
+			}
+		}
+
+		TransactionInvocationPlan plan = new TransactionInvocationPlan(targetClass, adapter, txAttr,
+				joinpointIdentification, resolveTransactionAttribute, tm, resolveTransactionManager, null);
+		// Chain atomically, keeping plans for other target classes built concurrently
+		TransactionInvocationPlan head = this.invocationPlanCache.compute(method, (key, currentHead) ->
+				(findInvocationPlan(currentHead, targetClass) != null ? currentHead : plan.withNext(currentHead)));
+		TransactionInvocationPlan result = findInvocationPlan(head, targetClass);
+		Assert.state(result != null, "Invocation plan not chained");
+		return result;
+	}
+
+	@Nullable
+	private static TransactionInvocationPlan findInvocationPlan(
+			@Nullable TransactionInvocationPlan head, @Nullable Class<?> targetClass) {
+
+		for (TransactionInvocationPlan plan = head; plan != null; plan = plan.next) {
+			if (plan.targetClass == targetClass) {
+				return plan;
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Clear the cache.
 	 */
 	protected void clearTransactionManagerCache() {
 		this.transactionManagerCache.clear();
+		this.invocationPlanCache.clear();
 		this.beanFactory = null;
 	}
 
@@ -771,6 +867,57 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	}
 
 
+	/**
+	 * Precomputed per-method state for {@link #invokeWithinTransaction}.
+	 * Immutable; chained per method for distinct target classes.
+	 */
+	static final class TransactionInvocationPlan {
+
+		@Nullable
+		final Class<?> targetClass;
+
+		@Nullable
+		final ReactiveAdapter reactiveAdapter;
+
+		@Nullable
+		final TransactionAttribute transactionAttribute;
+
+		@Nullable
+		final String joinpointIdentification;
+
+		final boolean resolveTransactionAttribute;
+
+		@Nullable
+		final PlatformTransactionManager transactionManager;
+
+		final boolean resolveTransactionManager;
+
+		@Nullable
+		final TransactionInvocationPlan next;
+
+		TransactionInvocationPlan(@Nullable Class<?> targetClass, @Nullable ReactiveAdapter reactiveAdapter,
+				@Nullable TransactionAttribute transactionAttribute, @Nullable String joinpointIdentification,
+				boolean resolveTransactionAttribute, @Nullable PlatformTransactionManager transactionManager,
+				boolean resolveTransactionManager, @Nullable TransactionInvocationPlan next) {
+
+			this.targetClass = targetClass;
+			this.reactiveAdapter = reactiveAdapter;
+			this.transactionAttribute = transactionAttribute;
+			this.joinpointIdentification = joinpointIdentification;
+			this.resolveTransactionAttribute = resolveTransactionAttribute;
+			this.transactionManager = transactionManager;
+			this.resolveTransactionManager = resolveTransactionManager;
+			this.next = next;
+		}
+
+		TransactionInvocationPlan withNext(@Nullable TransactionInvocationPlan next) {
+			return new TransactionInvocationPlan(this.targetClass, this.reactiveAdapter, this.transactionAttribute,
+					this.joinpointIdentification, this.resolveTransactionAttribute, this.transactionManager,
+					this.resolveTransactionManager, next);
+		}
+	}
+
+
 	/**
 	 * Internal holder class for a Throwable in a callback transaction model.
 	 */
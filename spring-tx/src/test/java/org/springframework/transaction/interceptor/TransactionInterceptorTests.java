@@ -17,7 +17,15 @@
 package org.springframework.transaction.interceptor;
 
 import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 
@@ -25,14 +33,22 @@ import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.lang.Nullable;
+import org.springframework.tests.EnabledForTestGroups;
+import org.springframework.tests.TestGroup;
+import org.springframework.tests.sample.beans.DerivedTestBean;
+import org.springframework.tests.sample.beans.ITestBean;
+import org.springframework.tests.sample.beans.TestBean;
+import org.springframework.tests.transaction.CallCountingTransactionManager;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.util.SerializationTestUtils;
+import org.springframework.util.StopWatch;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -260,6 +276,152 @@ public class TransactionInterceptorTests extends AbstractTransactionAspectTests
 		verify(beanFactory, times(1)).getBean(PlatformTransactionManager.class);
 	}
 
+	@Test
+	public void invocationPlanCachesAttributeAndTransactionManagerForCachingSource() throws Exception {
+		BeanFactory beanFactory = mock(BeanFactory.class);
+		PlatformTransactionManager txManager = associateTransactionManager(beanFactory, "fooTransactionManager");
+		DefaultTransactionAttribute attribute = new DefaultTransactionAttribute();
+		attribute.setQualifier("fooTransactionManager");
+		int[] lookupCount = new int[1];
+		AbstractFallbackTransactionAttributeSource tas = new AbstractFallbackTransactionAttributeSource() {
+			@Override
+			public TransactionAttribute getTransactionAttribute(Method method, @Nullable Class<?> targetClass) {
+				lookupCount[0]++;
+				return super.getTransactionAttribute(method, targetClass);
+			}
+			@Override
+			protected TransactionAttribute findTransactionAttribute(Method method) {
+				return (method.getName().equals("getName") ? attribute : null);
+			}
+			@Override
+			protected TransactionAttribute findTransactionAttribute(Class<?> clazz) {
+				return null;
+			}
+		};
+
+		TransactionInterceptor ti = new TransactionInterceptor();
+		ti.setBeanFactory(beanFactory);
+		ti.setTransactionAttributeSource(tas);
+		ProxyFactory pf = new ProxyFactory(new TestBean("foo"));
+		pf.addAdvice(ti);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+
+		assertThat(proxy.getName()).isEqualTo("foo");
+		assertThat(proxy.getName()).isEqualTo("foo");
+		assertThat(proxy.getName()).isEqualTo("foo");
+		assertThat(lookupCount[0]).isEqualTo(1);
+		verify(beanFactory, times(1)).getBean("fooTransactionManager", PlatformTransactionManager.class);
+		verify(txManager, times(3)).getTransaction(attribute);
+
+		// Changing the configuration must invalidate the invocation plans
+		ti.setTransactionAttributeSource(tas);
+		assertThat(proxy.getName()).isEqualTo("foo");
+		assertThat(lookupCount[0]).isEqualTo(2);
+	}
+
+	@Test
+	public void invocationPlanConsultsNonCachingSourceOnEveryInvocation() throws Exception {
+		BeanFactory beanFactory = mock(BeanFactory.class);
+		PlatformTransactionManager txManager = associateTransactionManager(beanFactory, "fooTransactionManager");
+		Method getNameMethod = ITestBean.class.getMethod("getName");
+		DefaultTransactionAttribute attribute = new DefaultTransactionAttribute();
+		attribute.setQualifier("fooTransactionManager");
+		TransactionAttributeSource tas = mock(TransactionAttributeSource.class);
+		given(tas.getTransactionAttribute(getNameMethod, TestBean.class)).willReturn(attribute);
+
+		TransactionInterceptor ti = new TransactionInterceptor();
+		ti.setBeanFactory(beanFactory);
+		ti.setTransactionAttributeSource(tas);
+		ProxyFactory pf = new ProxyFactory(new TestBean("foo"));
+		pf.addAdvice(ti);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+
+		assertThat(proxy.getName()).isEqualTo("foo");
+		assertThat(proxy.getName()).isEqualTo("foo");
+		given(tas.getTransactionAttribute(getNameMethod, TestBean.class)).willReturn(null);
+		assertThat(proxy.getName()).isEqualTo("foo");
+		verify(tas, times(3)).getTransactionAttribute(getNameMethod, TestBean.class);
+		verify(txManager, times(2)).getTransaction(attribute);
+	}
+
+	@Test
+	public void invocationPlanWithCustomTransactionManagerResolution() throws Exception {
+		PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+		int[] resolutionCount = new int[1];
+		TransactionInterceptor ti = new TransactionInterceptor() {
+			@Override
+			protected PlatformTransactionManager determineTransactionManager(@Nullable TransactionAttribute txAttr) {
+				resolutionCount[0]++;
+				return txManager;
+			}
+		};
+		Properties props = new Properties();
+		props.setProperty("getName", "PROPAGATION_REQUIRED");
+		ti.setTransactionAttributes(props);
+		ProxyFactory pf = new ProxyFactory(new TestBean("foo"));
+		pf.addAdvice(ti);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+
+		assertThat(proxy.getName()).isEqualTo("foo");
+		assertThat(proxy.getName()).isEqualTo("foo");
+		assertThat(resolutionCount[0]).isEqualTo(2);
+		verify(txManager, times(2)).getTransaction(any());
+	}
+
+	@Test
+	public void invocationPlansForConcurrentTargetClassesAreChained() throws Exception {
+		TransactionInterceptor ti = new TransactionInterceptor();
+		ti.setTransactionManager(mock(PlatformTransactionManager.class));
+		ti.setTransactionAttributeSource(new SimpleFallbackTransactionAttributeSource());
+		Method getNameMethod = ITestBean.class.getMethod("getName");
+		Class<?>[] targetClasses = {TestBean.class, DerivedTestBean.class, ITestBean.class, Object.class,
+				String.class, Integer.class, Long.class, Double.class};
+
+		ExecutorService executor = Executors.newFixedThreadPool(targetClasses.length);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<TransactionAspectSupport.TransactionInvocationPlan>> futures = new ArrayList<>();
+			for (Class<?> targetClass : targetClasses) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					return ti.getInvocationPlan(getNameMethod, targetClass);
+				}));
+			}
+			start.countDown();
+			for (int i = 0; i < targetClasses.length; i++) {
+				TransactionAspectSupport.TransactionInvocationPlan plan = futures.get(i).get(10, TimeUnit.SECONDS);
+				assertThat(plan.targetClass).isSameAs(targetClasses[i]);
+				assertThat(ti.getInvocationPlan(getNameMethod, targetClasses[i])).isSameAs(plan);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	@EnabledForTestGroups(TestGroup.PERFORMANCE)
+	public void transactionalInvocationOverheadWithInvocationPlan() {
+		CallCountingTransactionManager txManager = new CallCountingTransactionManager();
+		TransactionInterceptor ti = new TransactionInterceptor();
+		ti.setTransactionManager(txManager);
+		ti.setTransactionAttributeSource(new SimpleFallbackTransactionAttributeSource());
+		ProxyFactory pf = new ProxyFactory(new TestBean("foo"));
+		pf.addAdvice(ti);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+
+		int count = 100000;
+		StopWatch sw = new StopWatch();
+		sw.start("Transactional calls");
+		for (int i = 0; i < count; i++) {
+			proxy.getName();
+		}
+		sw.stop();
+		assertThat(txManager.commits).isEqualTo(count);
+		assertThat(sw.getTotalTimeMillis() < 3000).as("Transactional invocation took too long: " +
+				(sw.getTotalTimeNanos() / count) + " ns per call").isTrue();
+	}
+
 
 	private TransactionInterceptor createTransactionInterceptor(BeanFactory beanFactory,
 			String transactionManagerName, PlatformTransactionManager transactionManager) {
@@ -326,4 +488,21 @@ public class TransactionInterceptorTests extends AbstractTransactionAspectTests
 		}
 	}
 
+
+	/**
+	 * Self-caching source which applies a default transaction to every method.
+	 */
+	private static class SimpleFallbackTransactionAttributeSource extends AbstractFallbackTransactionAttributeSource {
+
+		@Override
+		protected TransactionAttribute findTransactionAttribute(Method method) {
+			return new DefaultTransactionAttribute();
+		}
+
+		@Override
+		protected TransactionAttribute findTransactionAttribute(Class<?> clazz) {
+			return null;
+		}
+	}
+
 }
@@ -16,6 +16,7 @@
 
 package org.springframework.http;
 
+import java.net.InetSocketAddress;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Collection;
 import java.util.Collections;
@@ -31,6 +32,11 @@ import org.springframework.util.MultiValueMap;
 /**
  * {@code HttpHeaders} object that can only be read, not written to.
  *
+ * <p>Since the underlying headers cannot change through this object, commonly
+ * accessed parsed values such as the content type, the accepted media types,
+ * the content length and the host are parsed once and cached, for reuse
+ * across handler mappings, content negotiation and codecs.
+ *
  * @author Brian Clozel
  * @author Sam Brannen
  * @since 5.1.1
@@ -45,6 +51,12 @@ class ReadOnlyHttpHeaders extends HttpHeaders {
 	@Nullable
 	private List<MediaType> cachedAccept;
 
+	@Nullable
+	private Long cachedContentLength;
+
+	@Nullable
+	private InetSocketAddress cachedHost;
+
 
 	ReadOnlyHttpHeaders(HttpHeaders headers) {
 		super(headers.headers);
@@ -75,6 +87,31 @@ class ReadOnlyHttpHeaders extends HttpHeaders {
 		}
 	}
 
+	@Override
+	public long getContentLength() {
+		if (this.cachedContentLength != null) {
+			return this.cachedContentLength;
+		}
+		else {
+			long contentLength = super.getContentLength();
+			this.cachedContentLength = contentLength;
+			return contentLength;
+		}
+	}
+
+	@Override
+	@Nullable
+	public InetSocketAddress getHost() {
+		if (this.cachedHost != null) {
+			return this.cachedHost;
+		}
+		else {
+			InetSocketAddress host = super.getHost();
+			this.cachedHost = host;
+			return host;
+		}
+	}
+
 	@Override
 	public List<String> get(Object key) {
 		List<String> values = this.headers.get(key);
@@ -30,6 +30,7 @@ import org.springframework.http.HttpMethod;
  *
  * @author Arjen Poutsma
  * @since 3.1
+ * @see org.springframework.http.client.support.BodyObservingInterceptor
  */
 public class BufferingClientHttpRequestFactory extends AbstractClientHttpRequestFactoryWrapper {
 
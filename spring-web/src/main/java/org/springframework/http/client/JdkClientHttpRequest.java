@@ -0,0 +1,82 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.http.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link ClientHttpRequest} implementation based on the JDK 11 {@code HttpClient}.
+ *
+ * <p>Created via the {@link JdkClientHttpRequestFactory}.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+class JdkClientHttpRequest extends AbstractBufferingClientHttpRequest {
+
+	private final JdkHttpClientAdapter httpClientAdapter;
+
+	private final URI uri;
+
+	private final HttpMethod method;
+
+	@Nullable
+	private final Duration timeout;
+
+
+	public JdkClientHttpRequest(JdkHttpClientAdapter httpClientAdapter, URI uri, HttpMethod method,
+			@Nullable Duration timeout) {
+
+		this.httpClientAdapter = httpClientAdapter;
+		this.uri = uri;
+		this.method = method;
+		this.timeout = timeout;
+	}
+
+
+	@Override
+	public HttpMethod getMethod() {
+		return this.method;
+	}
+
+	@Override
+	public String getMethodValue() {
+		return this.method.name();
+	}
+
+	@Override
+	public URI getURI() {
+		return this.uri;
+	}
+
+
+	@Override
+	protected ClientHttpResponse executeInternal(HttpHeaders headers, byte[] content) throws IOException {
+		JdkHttpClientAdapter.Response<InputStream> response =
+				this.httpClientAdapter.send(this.method, this.uri, headers, content, this.timeout);
+		return new JdkClientHttpResponse(response);
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.http.client;
+
+import java.net.URI;
+import java.time.Duration;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ClientHttpRequestFactory} implementation that uses the
+ * {@code java.net.http.HttpClient} introduced in JDK 11 to create requests.
+ *
+ * <p>In contrast to {@link SimpleClientHttpRequestFactory}, concurrent requests
+ * to the same server get multiplexed over a shared HTTP/2 connection where the
+ * server supports it, or otherwise go through the client's pooled HTTP/1.1
+ * connections. Exchange metrics are available through the underlying
+ * {@link #getHttpClientAdapter() JdkHttpClientAdapter}.
+ *
+ * <p>Request bodies are buffered, as with the other
+ * {@link AbstractBufferingClientHttpRequest} based factories;
+ * response bodies are streamed.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see JdkHttpClientAdapter#isJdkHttpClientPresent()
+ */
+public class JdkClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+	private JdkHttpClientAdapter httpClientAdapter;
+
+	private final boolean defaultClient;
+
+	@Nullable
+	private Duration readTimeout;
+
+
+	/**
+	 * Create a factory with a default {@code HttpClient} instance.
+	 */
+	public JdkClientHttpRequestFactory() {
+		this.httpClientAdapter = new JdkHttpClientAdapter();
+		this.defaultClient = true;
+	}
+
+	/**
+	 * Create a factory with the given adapter, e.g. shared with a reactive
+	 * {@link org.springframework.http.client.reactive.JdkClientHttpConnector}.
+	 * @param httpClientAdapter the adapter for the {@code HttpClient} to use
+	 */
+	public JdkClientHttpRequestFactory(JdkHttpClientAdapter httpClientAdapter) {
+		Assert.notNull(httpClientAdapter, "JdkHttpClientAdapter must not be null");
+		this.httpClientAdapter = httpClientAdapter;
+		this.defaultClient = false;
+	}
+
+
+	/**
+	 * Set the underlying connect timeout in milliseconds.
+	 * A value of 0 specifies an infinite timeout.
+	 * <p>Only applicable to the default {@code HttpClient} created by this
+	 * factory; for a custom client, configure its connect timeout directly.
+	 */
+	public void setConnectTimeout(int connectTimeout) {
+		Assert.state(this.defaultClient, "Connect timeout must be configured on the custom HttpClient instead");
+		Assert.isTrue(connectTimeout >= 0, "Timeout must be a non-negative value");
+		this.httpClientAdapter = new JdkHttpClientAdapter(JdkHttpClientAdapter.createHttpClient(
+				(connectTimeout > 0 ? Duration.ofMillis(connectTimeout) : null), null));
+	}
+
+	/**
+	 * Set the timeout for receiving a response (status and headers) in milliseconds.
+	 * A value of 0 specifies an infinite timeout.
+	 */
+	public void setReadTimeout(int readTimeout) {
+		Assert.isTrue(readTimeout >= 0, "Timeout must be a non-negative value");
+		this.readTimeout = (readTimeout > 0 ? Duration.ofMillis(readTimeout) : null);
+	}
+
+	/**
+	 * Return the adapter for the underlying {@code HttpClient},
+	 * exposing its exchange metrics.
+	 */
+	public JdkHttpClientAdapter getHttpClientAdapter() {
+		return this.httpClientAdapter;
+	}
+
+
+	@Override
+	public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+		return new JdkClientHttpRequest(this.httpClientAdapter, uri, httpMethod, this.readTimeout);
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.http.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StreamUtils;
+
+/**
+ * {@link ClientHttpResponse} implementation based on the JDK 11 {@code HttpClient}.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+class JdkClientHttpResponse extends AbstractClientHttpResponse {
+
+	private final JdkHttpClientAdapter.Response<InputStream> response;
+
+
+	public JdkClientHttpResponse(JdkHttpClientAdapter.Response<InputStream> response) {
+		this.response = response;
+	}
+
+
+	@Override
+	public int getRawStatusCode() {
+		return this.response.getStatusCode();
+	}
+
+	@Override
+	public String getStatusText() {
+		// The JDK client does not expose the reason phrase
+		HttpStatus status = HttpStatus.resolve(this.response.getStatusCode());
+		return (status != null ? status.getReasonPhrase() : "");
+	}
+
+	@Override
+	public HttpHeaders getHeaders() {
+		return this.response.getHeaders();
+	}
+
+	@Override
+	public InputStream getBody() throws IOException {
+		return this.response.getBody();
+	}
+
+	@Override
+	public void close() {
+		InputStream body = this.response.getBody();
+		try {
+			try {
+				StreamUtils.drain(body);
+			}
+			finally {
+				body.close();
+			}
+		}
+		catch (IOException ex) {
+			// ignore
+		}
+	}
+
+}
@@ -0,0 +1,504 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.http.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Adapter for the {@code java.net.http.HttpClient} introduced in JDK 11,
+ * shared by {@link JdkClientHttpRequestFactory} and the reactive
+ * {@link org.springframework.http.client.reactive.JdkClientHttpConnector}.
+ *
+ * <p>The JDK client multiplexes concurrent requests over HTTP/2 connections
+ * where the server supports it, and otherwise reuses pooled HTTP/1.1
+ * connections, without any third-party dependencies. Since the framework is
+ * compiled against Java 8, the client API is accessed reflectively; check
+ * {@link #isJdkHttpClientPresent()} before creating an adapter.
+ *
+ * <p>The JDK client does not expose its connection pool, so this adapter keeps
+ * track of its own exchange metrics instead: the number of requests currently
+ * awaiting response headers, the total number of requests, and how many of
+ * them were served over HTTP/2.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see #getActiveRequestCount()
+ * @see #getHttp2ResponseCount()
+ */
+public class JdkHttpClientAdapter {
+
+	private static final String HTTP_CLIENT_CLASS_NAME = "java.net.http.HttpClient";
+
+	private static final Log logger = LogFactory.getLog(JdkHttpClientAdapter.class);
+
+	private static final boolean jdkHttpClientPresent =
+			ClassUtils.isPresent(HTTP_CLIENT_CLASS_NAME, JdkHttpClientAdapter.class.getClassLoader());
+
+	/**
+	 * Headers that the JDK client sets itself and rejects when specified by the caller.
+	 */
+	private static final Set<String> DISALLOWED_HEADERS =
+			new HashSet<>(Arrays.asList("connection", "content-length", "expect", "host", "upgrade"));
+
+
+	private final Object httpClient;
+
+	private final AtomicInteger activeRequestCount = new AtomicInteger();
+
+	private final LongAdder requestCount = new LongAdder();
+
+	private final LongAdder http2ResponseCount = new LongAdder();
+
+	private final LongAdder failedRequestCount = new LongAdder();
+
+
+	/**
+	 * Create an adapter for a default {@code HttpClient},
+	 * preferring HTTP/2 and not following redirects.
+	 */
+	public JdkHttpClientAdapter() {
+		this(createHttpClient(null, null));
+	}
+
+	/**
+	 * Create an adapter for the given pre-configured {@code HttpClient}.
+	 * @param httpClient the {@code java.net.http.HttpClient} instance to use
+	 */
+	public JdkHttpClientAdapter(Object httpClient) {
+		Assert.notNull(httpClient, "HttpClient must not be null");
+		Assert.isInstanceOf(JdkHttpClient.httpClientClass, httpClient);
+		this.httpClient = httpClient;
+	}
+
+
+	/**
+	 * Return the underlying {@code java.net.http.HttpClient} instance.
+	 */
+	public Object getHttpClient() {
+		return this.httpClient;
+	}
+
+	/**
+	 * Return the number of requests currently awaiting response headers.
+	 * <p>A request is no longer counted once its status and headers have been
+	 * received, even if its response body is still being read. This is
+	 * therefore a lower bound for the number of open HTTP/2 streams.
+	 */
+	public int getActiveRequestCount() {
+		return this.activeRequestCount.get();
+	}
+
+	/**
+	 * Return the total number of requests sent through this adapter.
+	 */
+	public long getRequestCount() {
+		return this.requestCount.sum();
+	}
+
+	/**
+	 * Return the number of responses received over HTTP/2,
+	 * i.e. over a multiplexed connection.
+	 */
+	public long getHttp2ResponseCount() {
+		return this.http2ResponseCount.sum();
+	}
+
+	/**
+	 * Return the number of requests that failed without a response,
+	 * e.g. due to connect or response timeouts.
+	 */
+	public long getFailedRequestCount() {
+		return this.failedRequestCount.sum();
+	}
+
+
+	/**
+	 * Execute the given request, blocking until the response status and headers
+	 * have been received.
+	 * @param method the HTTP method
+	 * @param uri the target URI
+	 * @param headers the request headers
+	 * @param body the request body (possibly empty)
+	 * @param timeout the timeout for receiving a response, or {@code null} for none
+	 * @return the response, with the body exposed as an {@link InputStream}
+	 * @throws IOException in case of I/O errors or interruption
+	 */
+	public Response<InputStream> send(HttpMethod method, URI uri, HttpHeaders headers, byte[] body,
+			@Nullable Duration timeout) throws IOException {
+
+		Object request = createRequest(method, uri, headers, body, timeout);
+		onRequest();
+		boolean success = false;
+		try {
+			Object response = JdkHttpClient.sendMethod.invoke(this.httpClient, request, JdkHttpClient.ofInputStream);
+			success = true;
+			return onResponse(response);
+		}
+		catch (InvocationTargetException ex) {
+			Throwable cause = ex.getTargetException();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Request was interrupted: " + cause.getMessage(), cause);
+			}
+			ReflectionUtils.rethrowRuntimeException(cause);
+			throw new IllegalStateException(cause);
+		}
+		catch (IllegalAccessException ex) {
+			throw new IllegalStateException("Could not access java.net.http.HttpClient", ex);
+		}
+		finally {
+			onRequestCompleted(success);
+		}
+	}
+
+	/**
+	 * Execute the given request asynchronously, exposing the response body as a
+	 * {@code java.util.concurrent.Flow.Publisher<List<ByteBuffer>>} (typed as
+	 * {@code Object} since the framework is compiled against Java 8).
+	 * @param method the HTTP method
+	 * @param uri the target URI
+	 * @param headers the request headers
+	 * @param body the request body (possibly empty)
+	 * @param timeout the timeout for receiving a response, or {@code null} for none
+	 * @return a future for the response, completing once the response status
+	 * and headers have been received
+	 */
+	public CompletableFuture<Response<Object>> sendAsync(HttpMethod method, URI uri, HttpHeaders headers,
+			byte[] body, @Nullable Duration timeout) {
+
+		Object request = createRequest(method, uri, headers, body, timeout);
+		onRequest();
+		CompletableFuture<?> future;
+		try {
+			future = (CompletableFuture<?>) ReflectionUtils.invokeMethod(
+					JdkHttpClient.sendAsyncMethod, this.httpClient, request, JdkHttpClient.ofPublisher);
+			Assert.state(future != null, "No CompletableFuture returned");
+		}
+		catch (RuntimeException ex) {
+			onRequestCompleted(false);
+			throw ex;
+		}
+		CompletableFuture<Response<Object>> result = future.handle((response, ex) -> {
+			onRequestCompleted(ex == null);
+			if (ex != null) {
+				throw (ex instanceof CompletionException ? (CompletionException) ex : new CompletionException(ex));
+			}
+			return onResponse(response);
+		});
+		// Propagate cancellation to the client's future (aborting the exchange on JDK 16+)
+		result.whenComplete((response, ex) -> {
+			if (ex instanceof CancellationException) {
+				future.cancel(true);
+			}
+		});
+		return result;
+	}
+
+	private Object createRequest(HttpMethod method, URI uri, HttpHeaders headers, byte[] body,
+			@Nullable Duration timeout) {
+
+		Object bodyPublisher = (body.length > 0 ?
+				ReflectionUtils.invokeMethod(JdkHttpClient.ofByteArrayMethod, null, (Object) body) :
+				ReflectionUtils.invokeMethod(JdkHttpClient.noBodyMethod, null));
+		Object builder = ReflectionUtils.invokeMethod(JdkHttpClient.newRequestBuilderMethod, null, uri);
+		ReflectionUtils.invokeMethod(JdkHttpClient.requestMethodMethod, builder, method.name(), bodyPublisher);
+		headers.forEach((headerName, headerValues) -> {
+			if (DISALLOWED_HEADERS.contains(headerName.toLowerCase(Locale.ENGLISH))) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Not sending header '" + headerName + "' managed by java.net.http.HttpClient");
+				}
+				return;
+			}
+			for (String headerValue : headerValues) {
+				try {
+					ReflectionUtils.invokeMethod(JdkHttpClient.requestHeaderMethod, builder, headerName, headerValue);
+				}
+				catch (IllegalArgumentException ex) {
+					// Restricted header on JDK 11 (e.g. "Date" or "Via"), unless allowed through
+					// the "jdk.httpclient.allowRestrictedHeaders" system property
+					if (logger.isWarnEnabled()) {
+						logger.warn("Dropping header '" + headerName + "' rejected by java.net.http.HttpClient: " +
+								ex.getMessage());
+					}
+					break;
+				}
+			}
+		});
+		if (timeout != null) {
+			ReflectionUtils.invokeMethod(JdkHttpClient.requestTimeoutMethod, builder, timeout);
+		}
+		Object request = ReflectionUtils.invokeMethod(JdkHttpClient.requestBuildMethod, builder);
+		Assert.state(request != null, "No HttpRequest built");
+		return request;
+	}
+
+	private void onRequest() {
+		this.requestCount.increment();
+		this.activeRequestCount.incrementAndGet();
+	}
+
+	private void onRequestCompleted(boolean success) {
+		this.activeRequestCount.decrementAndGet();
+		if (!success) {
+			this.failedRequestCount.increment();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> Response<T> onResponse(Object response) {
+		Object version = ReflectionUtils.invokeMethod(JdkHttpClient.responseVersionMethod, response);
+		if (version == JdkHttpClient.http2Version) {
+			this.http2ResponseCount.increment();
+		}
+		Integer statusCode = (Integer) ReflectionUtils.invokeMethod(JdkHttpClient.responseStatusCodeMethod, response);
+		Object jdkHeaders = ReflectionUtils.invokeMethod(JdkHttpClient.responseHeadersMethod, response);
+		Map<String, List<String>> headerMap = (Map<String, List<String>>)
+				ReflectionUtils.invokeMethod(JdkHttpClient.headersMapMethod, jdkHeaders);
+		HttpHeaders headers = new HttpHeaders();
+		if (headerMap != null) {
+			headerMap.forEach((headerName, headerValues) -> {
+				// Skip HTTP/2 pseudo-headers such as ":status"
+				if (!headerName.startsWith(":")) {
+					headers.addAll(headerName, headerValues);
+				}
+			});
+		}
+		T body = (T) ReflectionUtils.invokeMethod(JdkHttpClient.responseBodyMethod, response);
+		Assert.state(statusCode != null && body != null, "Incomplete HttpResponse");
+		return new Response<>(statusCode, headers, body, version == JdkHttpClient.http2Version);
+	}
+
+
+	/**
+	 * Return whether the JDK 11 {@code java.net.http.HttpClient} is available.
+	 */
+	public static boolean isJdkHttpClientPresent() {
+		return jdkHttpClientPresent;
+	}
+
+	/**
+	 * Create a new {@code java.net.http.HttpClient} preferring HTTP/2
+	 * and not following redirects.
+	 * @param connectTimeout the connect timeout, or {@code null} for none
+	 * @param executor the executor for asynchronous and dependent tasks,
+	 * or {@code null} for the client's default
+	 * @return the {@code HttpClient} instance
+	 */
+	public static Object createHttpClient(@Nullable Duration connectTimeout, @Nullable Executor executor) {
+		Assert.state(jdkHttpClientPresent, "java.net.http.HttpClient requires JDK 11 or higher");
+		Object builder = ReflectionUtils.invokeMethod(JdkHttpClient.newClientBuilderMethod, null);
+		ReflectionUtils.invokeMethod(JdkHttpClient.clientVersionMethod, builder, JdkHttpClient.http2Version);
+		ReflectionUtils.invokeMethod(JdkHttpClient.clientRedirectMethod, builder, JdkHttpClient.neverRedirect);
+		if (connectTimeout != null) {
+			ReflectionUtils.invokeMethod(JdkHttpClient.clientConnectTimeoutMethod, builder, connectTimeout);
+		}
+		if (executor != null) {
+			ReflectionUtils.invokeMethod(JdkHttpClient.clientExecutorMethod, builder, executor);
+		}
+		Object httpClient = ReflectionUtils.invokeMethod(JdkHttpClient.clientBuildMethod, builder);
+		Assert.state(httpClient != null, "No HttpClient built");
+		return httpClient;
+	}
+
+
+	/**
+	 * A response received through the JDK {@code HttpClient}.
+	 * @param <T> the type of the response body
+	 */
+	public static final class Response<T> {
+
+		private final int statusCode;
+
+		private final HttpHeaders headers;
+
+		private final T body;
+
+		private final boolean http2;
+
+		Response(int statusCode, HttpHeaders headers, T body, boolean http2) {
+			this.statusCode = statusCode;
+			this.headers = headers;
+			this.body = body;
+			this.http2 = http2;
+		}
+
+		/**
+		 * Return the HTTP status code of the response.
+		 */
+		public int getStatusCode() {
+			return this.statusCode;
+		}
+
+		/**
+		 * Return the response headers.
+		 */
+		public HttpHeaders getHeaders() {
+			return this.headers;
+		}
+
+		/**
+		 * Return the response body.
+		 */
+		public T getBody() {
+			return this.body;
+		}
+
+		/**
+		 * Return whether the response was received over HTTP/2.
+		 */
+		public boolean isHttp2() {
+			return this.http2;
+		}
+	}
+
+
+	/**
+	 * Inner class to reflectively access the {@code java.net.http} API,
+	 * only initialized when actually used on JDK 11+.
+	 */
+	private static class JdkHttpClient {
+
+		static final Class<?> httpClientClass;
+
+		static final Method newClientBuilderMethod;
+
+		static final Method clientVersionMethod;
+
+		static final Method clientRedirectMethod;
+
+		static final Method clientConnectTimeoutMethod;
+
+		static final Method clientExecutorMethod;
+
+		static final Method clientBuildMethod;
+
+		static final Method sendMethod;
+
+		static final Method sendAsyncMethod;
+
+		static final Method newRequestBuilderMethod;
+
+		static final Method requestMethodMethod;
+
+		static final Method requestHeaderMethod;
+
+		static final Method requestTimeoutMethod;
+
+		static final Method requestBuildMethod;
+
+		static final Method noBodyMethod;
+
+		static final Method ofByteArrayMethod;
+
+		static final Method responseStatusCodeMethod;
+
+		static final Method responseHeadersMethod;
+
+		static final Method responseBodyMethod;
+
+		static final Method responseVersionMethod;
+
+		static final Method headersMapMethod;
+
+		static final Object http2Version;
+
+		static final Object neverRedirect;
+
+		static final Object ofInputStream;
+
+		static final Object ofPublisher;
+
+		static {
+			try {
+				ClassLoader classLoader = JdkHttpClientAdapter.class.getClassLoader();
+				httpClientClass = ClassUtils.forName(HTTP_CLIENT_CLASS_NAME, classLoader);
+				Class<?> clientBuilderClass = ClassUtils.forName("java.net.http.HttpClient$Builder", classLoader);
+				Class<?> versionClass = ClassUtils.forName("java.net.http.HttpClient$Version", classLoader);
+				Class<?> redirectClass = ClassUtils.forName("java.net.http.HttpClient$Redirect", classLoader);
+				Class<?> requestClass = ClassUtils.forName("java.net.http.HttpRequest", classLoader);
+				Class<?> requestBuilderClass = ClassUtils.forName("java.net.http.HttpRequest$Builder", classLoader);
+				Class<?> bodyPublisherClass = ClassUtils.forName("java.net.http.HttpRequest$BodyPublisher", classLoader);
+				Class<?> bodyPublishersClass = ClassUtils.forName("java.net.http.HttpRequest$BodyPublishers", classLoader);
+				Class<?> responseClass = ClassUtils.forName("java.net.http.HttpResponse", classLoader);
+				Class<?> bodyHandlerClass = ClassUtils.forName("java.net.http.HttpResponse$BodyHandler", classLoader);
+				Class<?> bodyHandlersClass = ClassUtils.forName("java.net.http.HttpResponse$BodyHandlers", classLoader);
+				Class<?> headersClass = ClassUtils.forName("java.net.http.HttpHeaders", classLoader);
+
+				newClientBuilderMethod = httpClientClass.getMethod("newBuilder");
+				clientVersionMethod = clientBuilderClass.getMethod("version", versionClass);
+				clientRedirectMethod = clientBuilderClass.getMethod("followRedirects", redirectClass);
+				clientConnectTimeoutMethod = clientBuilderClass.getMethod("connectTimeout", Duration.class);
+				clientExecutorMethod = clientBuilderClass.getMethod("executor", Executor.class);
+				clientBuildMethod = clientBuilderClass.getMethod("build");
+				sendMethod = httpClientClass.getMethod("send", requestClass, bodyHandlerClass);
+				sendAsyncMethod = httpClientClass.getMethod("sendAsync", requestClass, bodyHandlerClass);
+				newRequestBuilderMethod = requestClass.getMethod("newBuilder", URI.class);
+				requestMethodMethod = requestBuilderClass.getMethod("method", String.class, bodyPublisherClass);
+				requestHeaderMethod = requestBuilderClass.getMethod("header", String.class, String.class);
+				requestTimeoutMethod = requestBuilderClass.getMethod("timeout", Duration.class);
+				requestBuildMethod = requestBuilderClass.getMethod("build");
+				noBodyMethod = bodyPublishersClass.getMethod("noBody");
+				ofByteArrayMethod = bodyPublishersClass.getMethod("ofByteArray", byte[].class);
+				responseStatusCodeMethod = responseClass.getMethod("statusCode");
+				responseHeadersMethod = responseClass.getMethod("headers");
+				responseBodyMethod = responseClass.getMethod("body");
+				responseVersionMethod = responseClass.getMethod("version");
+				headersMapMethod = headersClass.getMethod("map");
+
+				http2Version = versionClass.getField("HTTP_2").get(null);
+				neverRedirect = redirectClass.getField("NEVER").get(null);
+				ofInputStream = bodyHandlersClass.getMethod("ofInputStream").invoke(null);
+				ofPublisher = bodyHandlersClass.getMethod("ofPublisher").invoke(null);
+			}
+			catch (Throwable ex) {
+				throw new IllegalStateException("Failed to initialize java.net.http.HttpClient access", ex);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.http.client.reactive;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.JdkHttpClientAdapter;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ClientHttpConnector} for the {@code java.net.http.HttpClient}
+ * introduced in JDK 11, multiplexing concurrent requests over HTTP/2
+ * connections without requiring Reactor Netty or Jetty.
+ *
+ * <p>Request bodies are aggregated before sending; response bodies
+ * are streamed with back pressure.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see JdkHttpClientAdapter
+ */
+public class JdkClientHttpConnector implements ClientHttpConnector {
+
+	private final JdkHttpClientAdapter httpClientAdapter;
+
+	private DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+
+	/**
+	 * Default constructor that creates a new instance of {@code HttpClient}.
+	 */
+	public JdkClientHttpConnector() {
+		this(new JdkHttpClientAdapter());
+	}
+
+	/**
+	 * Constructor with an adapter for an initialized {@code HttpClient},
+	 * e.g. shared with a {@link org.springframework.http.client.JdkClientHttpRequestFactory}.
+	 * @param httpClientAdapter the adapter for the {@code HttpClient} to use
+	 */
+	public JdkClientHttpConnector(JdkHttpClientAdapter httpClientAdapter) {
+		Assert.notNull(httpClientAdapter, "JdkHttpClientAdapter is required");
+		this.httpClientAdapter = httpClientAdapter;
+	}
+
+
+	/**
+	 * Set the {@link DataBufferFactory} to use for wrapping the response body
+	 * {@code ByteBuffer} chunks received from the {@code HttpClient}, as well
+	 * as for the request body buffers exposed through
+	 * {@link ClientHttpRequest#bufferFactory()}.
+	 * <p>Default is a {@link DefaultDataBufferFactory}.
+	 */
+	public void setBufferFactory(DataBufferFactory bufferFactory) {
+		Assert.notNull(bufferFactory, "DataBufferFactory is required");
+		this.bufferFactory = bufferFactory;
+	}
+
+	/**
+	 * Return the adapter for the underlying {@code HttpClient},
+	 * exposing its exchange metrics.
+	 */
+	public JdkHttpClientAdapter getHttpClientAdapter() {
+		return this.httpClientAdapter;
+	}
+
+
+	@Override
+	public Mono<ClientHttpResponse> connect(HttpMethod method, URI uri,
+			Function<? super ClientHttpRequest, Mono<Void>> requestCallback) {
+
+		if (!uri.isAbsolute()) {
+			return Mono.error(new IllegalArgumentException("URI is not absolute: " + uri));
+		}
+
+		JdkClientHttpRequest request = new JdkClientHttpRequest(method, uri, this.bufferFactory);
+
+		return requestCallback.apply(request)
+				.then(Mono.defer(() -> {
+					CompletableFuture<JdkHttpClientAdapter.Response<Object>> future = this.httpClientAdapter.sendAsync(
+							method, uri, request.getNativeHeaders(), request.getNativeBody(), null);
+					// Mono.fromFuture does not cancel the future: abort the exchange ourselves
+					return Mono.fromFuture(future).doOnCancel(() -> future.cancel(true));
+				}))
+				.map(response -> new JdkClientHttpResponse(response, this.bufferFactory));
+	}
+
+}
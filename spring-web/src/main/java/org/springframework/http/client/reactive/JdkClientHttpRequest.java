@@ -0,0 +1,128 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.http.client.reactive;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+
+/**
+ * {@link ClientHttpRequest} implementation for the JDK 11 {@code HttpClient}.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+class JdkClientHttpRequest extends AbstractClientHttpRequest {
+
+	private static final byte[] EMPTY_BODY = new byte[0];
+
+
+	private final HttpMethod method;
+
+	private final URI uri;
+
+	private final DataBufferFactory bufferFactory;
+
+	private final HttpHeaders nativeHeaders = new HttpHeaders();
+
+	private byte[] nativeBody = EMPTY_BODY;
+
+
+	public JdkClientHttpRequest(HttpMethod method, URI uri, DataBufferFactory bufferFactory) {
+		this.method = method;
+		this.uri = uri;
+		this.bufferFactory = bufferFactory;
+	}
+
+
+	@Override
+	public HttpMethod getMethod() {
+		return this.method;
+	}
+
+	@Override
+	public URI getURI() {
+		return this.uri;
+	}
+
+	@Override
+	public DataBufferFactory bufferFactory() {
+		return this.bufferFactory;
+	}
+
+	@Override
+	public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+		return doCommit(() -> DataBufferUtils.join(body)
+				.doOnNext(buffer -> {
+					byte[] bytes = new byte[buffer.readableByteCount()];
+					buffer.read(bytes);
+					DataBufferUtils.release(buffer);
+					this.nativeBody = bytes;
+				})
+				.then());
+	}
+
+	@Override
+	public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+		return writeWith(Flux.from(body).flatMap(Function.identity()));
+	}
+
+	@Override
+	public Mono<Void> setComplete() {
+		return doCommit();
+	}
+
+
+	@Override
+	protected void applyHeaders() {
+		this.nativeHeaders.putAll(getHeaders());
+		if (!this.nativeHeaders.containsKey(HttpHeaders.ACCEPT)) {
+			this.nativeHeaders.add(HttpHeaders.ACCEPT, "*/*");
+		}
+	}
+
+	@Override
+	protected void applyCookies() {
+		String cookies = getCookies().values().stream().flatMap(Collection::stream)
+				.map(cookie -> cookie.getName() + "=" + cookie.getValue())
+				.collect(Collectors.joining("; "));
+		if (!cookies.isEmpty()) {
+			this.nativeHeaders.add(HttpHeaders.COOKIE, cookies);
+		}
+	}
+
+	HttpHeaders getNativeHeaders() {
+		return this.nativeHeaders;
+	}
+
+	byte[] getNativeBody() {
+		return this.nativeBody;
+	}
+
+}
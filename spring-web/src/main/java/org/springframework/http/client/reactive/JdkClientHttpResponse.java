@@ -0,0 +1,166 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.http.client.reactive;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.HttpCookie;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.client.JdkHttpClientAdapter;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@link ClientHttpResponse} implementation for the JDK 11 {@code HttpClient}.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+class JdkClientHttpResponse implements ClientHttpResponse {
+
+	private final JdkHttpClientAdapter.Response<Object> response;
+
+	private final Flux<DataBuffer> body;
+
+
+	public JdkClientHttpResponse(JdkHttpClientAdapter.Response<Object> response, DataBufferFactory bufferFactory) {
+		this.response = response;
+		this.body = FlowAdapter.toFlux(response.getBody())
+				.flatMapIterable(buffers -> buffers)
+				.map(bufferFactory::wrap);
+	}
+
+
+	@Override
+	public HttpStatus getStatusCode() {
+		return HttpStatus.valueOf(getRawStatusCode());
+	}
+
+	@Override
+	public int getRawStatusCode() {
+		return this.response.getStatusCode();
+	}
+
+	@Override
+	public HttpHeaders getHeaders() {
+		return this.response.getHeaders();
+	}
+
+	@Override
+	public MultiValueMap<String, ResponseCookie> getCookies() {
+		MultiValueMap<String, ResponseCookie> result = new LinkedMultiValueMap<>();
+		List<String> cookieHeader = getHeaders().get(HttpHeaders.SET_COOKIE);
+		if (cookieHeader != null) {
+			cookieHeader.forEach(header ->
+				HttpCookie.parse(header)
+						.forEach(cookie -> result.add(cookie.getName(),
+								ResponseCookie.from(cookie.getName(), cookie.getValue())
+						.domain(cookie.getDomain())
+						.path(cookie.getPath())
+						.maxAge(cookie.getMaxAge())
+						.secure(cookie.getSecure())
+						.httpOnly(cookie.isHttpOnly())
+						.build()))
+			);
+		}
+		return CollectionUtils.unmodifiableMultiValueMap(result);
+	}
+
+	@Override
+	public Flux<DataBuffer> getBody() {
+		return this.body;
+	}
+
+
+	/**
+	 * Inner class to reflectively adapt a JDK 9 {@code Flow.Publisher} to a {@link Flux},
+	 * only initialized when actually used.
+	 */
+	private static class FlowAdapter {
+
+		private static final Class<?> subscriberClass;
+
+		private static final Method subscribeMethod;
+
+		private static final Method requestMethod;
+
+		private static final Method cancelMethod;
+
+		static {
+			try {
+				ClassLoader classLoader = JdkClientHttpResponse.class.getClassLoader();
+				Class<?> publisherClass = ClassUtils.forName("java.util.concurrent.Flow$Publisher", classLoader);
+				Class<?> subscriptionClass = ClassUtils.forName("java.util.concurrent.Flow$Subscription", classLoader);
+				subscriberClass = ClassUtils.forName("java.util.concurrent.Flow$Subscriber", classLoader);
+				subscribeMethod = publisherClass.getMethod("subscribe", subscriberClass);
+				requestMethod = subscriptionClass.getMethod("request", long.class);
+				cancelMethod = subscriptionClass.getMethod("cancel");
+			}
+			catch (Throwable ex) {
+				throw new IllegalStateException("Failed to initialize java.util.concurrent.Flow access", ex);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		public static Flux<List<ByteBuffer>> toFlux(Object flowPublisher) {
+			return Flux.create(sink -> {
+				Object subscriber = Proxy.newProxyInstance(JdkClientHttpResponse.class.getClassLoader(),
+						new Class<?>[] {subscriberClass}, (proxy, method, args) -> {
+							switch (method.getName()) {
+								case "onSubscribe":
+									Object subscription = args[0];
+									sink.onCancel(() -> ReflectionUtils.invokeMethod(cancelMethod, subscription));
+									sink.onRequest(n -> ReflectionUtils.invokeMethod(requestMethod, subscription, n));
+									return null;
+								case "onNext":
+									sink.next((List<ByteBuffer>) args[0]);
+									return null;
+								case "onError":
+									sink.error((Throwable) args[0]);
+									return null;
+								case "onComplete":
+									sink.complete();
+									return null;
+								case "equals":
+									return (proxy == args[0]);
+								case "hashCode":
+									return System.identityHashCode(proxy);
+								case "toString":
+									return "Flow.Subscriber adapter for " + sink;
+								default:
+									throw new IllegalStateException("Unexpected method invocation: " + method);
+							}
+						});
+				ReflectionUtils.invokeMethod(subscribeMethod, flowPublisher, subscriber);
+			});
+		}
+	}
+
+}
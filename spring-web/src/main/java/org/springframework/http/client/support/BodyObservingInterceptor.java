@@ -0,0 +1,240 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.http.client.support;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ClientHttpRequestInterceptor} that exposes request and response bodies
+ * to a {@link BodyObserver}, e.g. for logging or auditing purposes.
+ *
+ * <p>In contrast to a {@link org.springframework.http.client.BufferingClientHttpRequestFactory},
+ * the response body is not read into memory upfront: bytes are copied to the
+ * observer's {@link OutputStream} as they are being read by the application,
+ * so streaming response extraction remains unaffected.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see org.springframework.web.client.RestTemplate#getForStream
+ */
+public class BodyObservingInterceptor implements ClientHttpRequestInterceptor {
+
+	private final BodyObserver observer;
+
+
+	/**
+	 * Create a new interceptor for the given observer.
+	 * @param observer the observer to expose request and response bodies to
+	 */
+	public BodyObservingInterceptor(BodyObserver observer) {
+		Assert.notNull(observer, "BodyObserver must not be null");
+		this.observer = observer;
+	}
+
+
+	@Override
+	public ClientHttpResponse intercept(
+			HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+
+		this.observer.observeRequest(request, body);
+		ClientHttpResponse response = execution.execute(request, body);
+		OutputStream responseObserver = this.observer.observeResponse(request, response);
+		return (responseObserver != null ? new ObservedClientHttpResponse(response, responseObserver) : response);
+	}
+
+
+	/**
+	 * Callback interface for observing the bodies of a request/response exchange.
+	 */
+	public interface BodyObserver {
+
+		/**
+		 * Observe the body of the given request, as buffered for the
+		 * interceptor chain anyway.
+		 * <p>The default implementation is empty.
+		 * @param request the request
+		 * @param body the body of the request (may be empty)
+		 */
+		default void observeRequest(HttpRequest request, byte[] body) {
+		}
+
+		/**
+		 * Provide a target for copying the body of the given response to,
+		 * as it is being read. The returned stream will be closed once the
+		 * response body has been closed.
+		 * @param request the request
+		 * @param response the response, with its status and headers available
+		 * @return the stream to copy the response body to,
+		 * or {@code null} if the response body should not be observed
+		 * @throws IOException in case of I/O errors
+		 */
+		@Nullable
+		OutputStream observeResponse(HttpRequest request, ClientHttpResponse response) throws IOException;
+	}
+
+
+	/**
+	 * {@link ClientHttpResponse} wrapper that tees its body into an observer stream.
+	 */
+	private static class ObservedClientHttpResponse implements ClientHttpResponse {
+
+		private final ClientHttpResponse response;
+
+		private final OutputStream observer;
+
+		@Nullable
+		private InputStream body;
+
+		public ObservedClientHttpResponse(ClientHttpResponse response, OutputStream observer) {
+			this.response = response;
+			this.observer = observer;
+		}
+
+		@Override
+		public HttpStatus getStatusCode() throws IOException {
+			return this.response.getStatusCode();
+		}
+
+		@Override
+		public int getRawStatusCode() throws IOException {
+			return this.response.getRawStatusCode();
+		}
+
+		@Override
+		public String getStatusText() throws IOException {
+			return this.response.getStatusText();
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return this.response.getHeaders();
+		}
+
+		@Override
+		public InputStream getBody() throws IOException {
+			if (this.body == null) {
+				this.body = new TeeInputStream(this.response.getBody(), this.observer);
+			}
+			return this.body;
+		}
+
+		@Override
+		public void close() {
+			try {
+				if (this.body != null) {
+					this.body.close();
+				}
+				else {
+					this.observer.close();
+				}
+			}
+			catch (IOException ex) {
+				// ignore
+			}
+			finally {
+				this.response.close();
+			}
+		}
+	}
+
+
+	/**
+	 * {@link InputStream} decorator that copies all bytes read to an {@link OutputStream}.
+	 */
+	private static class TeeInputStream extends FilterInputStream {
+
+		private static final int SKIP_BUFFER_SIZE = 2048;
+
+		private final OutputStream observer;
+
+		private boolean closed;
+
+		public TeeInputStream(InputStream in, OutputStream observer) {
+			super(in);
+			this.observer = observer;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b != -1) {
+				this.observer.write(b);
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int count = super.read(b, off, len);
+			if (count > 0) {
+				this.observer.write(b, off, count);
+			}
+			return count;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			// Read through this stream, for the skipped bytes to reach the observer
+			if (n <= 0) {
+				return 0;
+			}
+			byte[] buffer = new byte[(int) Math.min(n, SKIP_BUFFER_SIZE)];
+			long remaining = n;
+			while (remaining > 0) {
+				int count = read(buffer, 0, (int) Math.min(remaining, buffer.length));
+				if (count < 0) {
+					break;
+				}
+				remaining -= count;
+			}
+			return n - remaining;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (this.closed) {
+				return;
+			}
+			this.closed = true;
+			try {
+				this.observer.close();
+			}
+			finally {
+				super.close();
+			}
+		}
+	}
+
+}
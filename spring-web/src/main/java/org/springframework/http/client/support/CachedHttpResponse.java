@@ -0,0 +1,386 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.http.client.support;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * A response stored in an {@link HttpResponseCache}, along with the information
+ * required for deciding whether it can be reused for a subsequent request,
+ * following the rules for a private cache as per RFC 7234: freshness based on
+ * {@code Cache-Control} and {@code Expires}, revalidation through {@code ETag}
+ * and {@code Last-Modified}, and selection of variants through {@code Vary}.
+ *
+ * <p>Also provides static methods for checking whether a given request or
+ * response is cacheable, as shared by {@link CachingClientHttpRequestInterceptor}
+ * and its reactive counterpart.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+public final class CachedHttpResponse {
+
+	private static final Set<Integer> CACHEABLE_STATUS_CODES =
+			new HashSet<>(Arrays.asList(200, 203, 204, 300, 301, 404, 405, 410, 414, 501));
+
+	private static final Set<String> CONDITIONAL_REQUEST_HEADERS = new HashSet<>(Arrays.asList(
+			HttpHeaders.IF_MATCH, HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE,
+			HttpHeaders.IF_UNMODIFIED_SINCE, HttpHeaders.IF_RANGE, HttpHeaders.RANGE));
+
+	private static final Set<String> NON_UPDATABLE_HEADERS = new HashSet<>(Arrays.asList(
+			HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONTENT_ENCODING, HttpHeaders.TRANSFER_ENCODING));
+
+
+	private final int statusCode;
+
+	private final String statusText;
+
+	private final HttpHeaders headers;
+
+	private final byte[] body;
+
+	private final Map<String, List<String>> varyingRequestHeaders;
+
+	private final long responseTime;
+
+	private final long initialAge;
+
+	private final long freshnessLifetime;
+
+
+	/**
+	 * Create a new {@code CachedHttpResponse} for the given response.
+	 * @param statusCode the HTTP status code of the response
+	 * @param statusText the HTTP status text of the response
+	 * @param headers the headers of the response
+	 * @param body the (encoded) body of the response
+	 * @param requestHeaders the headers of the request that the response
+	 * has been received for, as selected by the {@code Vary} header
+	 * @param requestTime the time the request was sent, in milliseconds
+	 * @param responseTime the time the response was received, in milliseconds
+	 * @see #isCacheableResponse
+	 */
+	public CachedHttpResponse(int statusCode, String statusText, HttpHeaders headers, byte[] body,
+			HttpHeaders requestHeaders, long requestTime, long responseTime) {
+
+		Assert.notNull(headers, "HttpHeaders must not be null");
+		Assert.notNull(body, "Body must not be null");
+		Assert.notNull(requestHeaders, "Request HttpHeaders must not be null");
+		HttpHeaders headersCopy = new HttpHeaders();
+		headersCopy.putAll(headers);
+		Map<String, List<String>> varyingRequestHeaders = new LinkedHashMap<>();
+		for (String headerName : headers.getVary()) {
+			varyingRequestHeaders.put(headerName.toLowerCase(Locale.ENGLISH), getValues(requestHeaders, headerName));
+		}
+		this.statusCode = statusCode;
+		this.statusText = statusText;
+		this.headers = HttpHeaders.readOnlyHttpHeaders(headersCopy);
+		this.body = body;
+		this.varyingRequestHeaders = Collections.unmodifiableMap(varyingRequestHeaders);
+		this.responseTime = responseTime;
+		this.initialAge = determineInitialAge(headers, requestTime, responseTime);
+		this.freshnessLifetime = determineFreshnessLifetime(headers, responseTime);
+	}
+
+	private CachedHttpResponse(CachedHttpResponse original, HttpHeaders headers,
+			long requestTime, long responseTime) {
+
+		this.statusCode = original.statusCode;
+		this.statusText = original.statusText;
+		this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+		this.body = original.body;
+		this.varyingRequestHeaders = original.varyingRequestHeaders;
+		this.responseTime = responseTime;
+		this.initialAge = determineInitialAge(headers, requestTime, responseTime);
+		this.freshnessLifetime = determineFreshnessLifetime(headers, responseTime);
+	}
+
+
+	/**
+	 * Return the HTTP status code of the response.
+	 */
+	public int getStatusCode() {
+		return this.statusCode;
+	}
+
+	/**
+	 * Return the HTTP status text of the response.
+	 */
+	public String getStatusText() {
+		return this.statusText;
+	}
+
+	/**
+	 * Return the headers of the response, as originally received.
+	 * @see #getResponseHeaders(long)
+	 */
+	public HttpHeaders getHeaders() {
+		return this.headers;
+	}
+
+	/**
+	 * Return the (encoded) body of the response.
+	 * <p>The returned array is shared and must not be modified.
+	 */
+	public byte[] getBody() {
+		return this.body;
+	}
+
+	/**
+	 * Return the headers to expose when serving this response at the given
+	 * time, i.e. the original headers with a corresponding {@code Age} header.
+	 * @param now the current time, in milliseconds
+	 */
+	public HttpHeaders getResponseHeaders(long now) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.putAll(this.headers);
+		headers.set(HttpHeaders.AGE, Long.toString(getAge(now) / 1000));
+		return headers;
+	}
+
+	/**
+	 * Return the current age of this response, in milliseconds.
+	 * @param now the current time, in milliseconds
+	 */
+	public long getAge(long now) {
+		return this.initialAge + Math.max(0, now - this.responseTime);
+	}
+
+	/**
+	 * Determine whether this response is fresh at the given time,
+	 * i.e. whether it may be served without revalidation.
+	 * @param now the current time, in milliseconds
+	 */
+	public boolean isFresh(long now) {
+		return (this.freshnessLifetime > getAge(now));
+	}
+
+	/**
+	 * Determine whether this response carries a validator ({@code ETag} or
+	 * {@code Last-Modified}) and can therefore be revalidated once stale.
+	 */
+	public boolean hasValidators() {
+		return (this.headers.getETag() != null || this.headers.getLastModified() != -1);
+	}
+
+	/**
+	 * Determine whether this response has been selected for a request with
+	 * matching values for the headers listed in its {@code Vary} header.
+	 * @param requestHeaders the headers of the current request
+	 */
+	public boolean matchesVariant(HttpHeaders requestHeaders) {
+		for (Map.Entry<String, List<String>> entry : this.varyingRequestHeaders.entrySet()) {
+			if (!entry.getValue().equals(getValues(requestHeaders, entry.getKey()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Apply conditional request headers for revalidating this response,
+	 * based on its {@code ETag} and {@code Last-Modified} headers.
+	 * @param requestHeaders the headers of the request to revalidate with
+	 */
+	public void applyConditions(HttpHeaders requestHeaders) {
+		String etag = this.headers.getETag();
+		if (etag != null) {
+			requestHeaders.setIfNoneMatch(etag);
+		}
+		long lastModified = this.headers.getLastModified();
+		if (lastModified != -1) {
+			requestHeaders.setIfModifiedSince(lastModified);
+		}
+	}
+
+	/**
+	 * Create an updated variant of this response, after a successful
+	 * revalidation with a {@code 304 Not Modified} response.
+	 * @param notModifiedHeaders the headers of the {@code 304} response
+	 * @param requestTime the time the revalidation request was sent
+	 * @param responseTime the time the {@code 304} response was received
+	 * @return the updated response to store and serve
+	 */
+	public CachedHttpResponse revalidated(HttpHeaders notModifiedHeaders, long requestTime, long responseTime) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.putAll(this.headers);
+		notModifiedHeaders.forEach((headerName, values) -> {
+			if (!NON_UPDATABLE_HEADERS.contains(headerName)) {
+				headers.put(headerName, values);
+			}
+		});
+		return new CachedHttpResponse(this, headers, requestTime, responseTime);
+	}
+
+
+	/**
+	 * Determine whether the given request may be served from, or its response
+	 * stored in, a cache: {@code GET} requests without {@code no-store}
+	 * directive and without any conditional headers of their own.
+	 * @param method the HTTP method of the request
+	 * @param requestHeaders the headers of the request
+	 */
+	public static boolean isCacheableRequest(@Nullable HttpMethod method, HttpHeaders requestHeaders) {
+		if (method != HttpMethod.GET) {
+			return false;
+		}
+		for (String headerName : CONDITIONAL_REQUEST_HEADERS) {
+			if (requestHeaders.containsKey(headerName)) {
+				return false;
+			}
+		}
+		return !parseCacheControl(requestHeaders).containsKey("no-store");
+	}
+
+	/**
+	 * Determine whether the given request explicitly asks for revalidation
+	 * through a {@code no-cache} or {@code max-age=0} directive, rather than
+	 * accepting a fresh response from the cache.
+	 * @param requestHeaders the headers of the request
+	 */
+	public static boolean requiresRevalidation(HttpHeaders requestHeaders) {
+		Map<String, String> directives = parseCacheControl(requestHeaders);
+		if (directives.isEmpty()) {
+			return requestHeaders.getValuesAsList(HttpHeaders.PRAGMA).contains("no-cache");
+		}
+		return (directives.containsKey("no-cache") || "0".equals(directives.get("max-age")));
+	}
+
+	/**
+	 * Determine whether the given response to a {@link #isCacheableRequest
+	 * cacheable request} may be stored: with a status code that is cacheable
+	 * by default, without {@code no-store} directive and without {@code Vary: *},
+	 * and with either an explicit or heuristic freshness lifetime or a validator.
+	 * <p>Responses to requests with an {@code Authorization} header are only
+	 * stored if explicitly marked as {@code public} or {@code must-revalidate}.
+	 * @param requestHeaders the headers of the request
+	 * @param statusCode the HTTP status code of the response
+	 * @param responseHeaders the headers of the response
+	 */
+	public static boolean isCacheableResponse(HttpHeaders requestHeaders, int statusCode, HttpHeaders responseHeaders) {
+		if (!CACHEABLE_STATUS_CODES.contains(statusCode) || responseHeaders.getVary().contains("*")) {
+			return false;
+		}
+		Map<String, String> directives = parseCacheControl(responseHeaders);
+		if (directives.containsKey("no-store")) {
+			return false;
+		}
+		if (requestHeaders.containsKey(HttpHeaders.AUTHORIZATION) &&
+				!directives.containsKey("public") && !directives.containsKey("must-revalidate")) {
+			return false;
+		}
+		return (responseHeaders.getETag() != null || responseHeaders.getLastModified() != -1 ||
+				determineFreshnessLifetime(responseHeaders, System.currentTimeMillis()) > 0);
+	}
+
+
+	private static long determineInitialAge(HttpHeaders headers, long requestTime, long responseTime) {
+		long date = getDate(headers);
+		long apparentAge = (date != -1 ? Math.max(0, responseTime - date) : 0);
+		long ageValue = 0;
+		String age = headers.getFirst(HttpHeaders.AGE);
+		if (age != null) {
+			try {
+				ageValue = Math.max(0, Long.parseLong(age.trim())) * 1000;
+			}
+			catch (NumberFormatException ex) {
+				// ignore invalid Age header
+			}
+		}
+		long correctedAgeValue = ageValue + Math.max(0, responseTime - requestTime);
+		return Math.max(apparentAge, correctedAgeValue);
+	}
+
+	private static long determineFreshnessLifetime(HttpHeaders headers, long responseTime) {
+		Map<String, String> directives = parseCacheControl(headers);
+		if (directives.containsKey("no-cache")) {
+			return 0;
+		}
+		String maxAge = directives.get("max-age");
+		if (maxAge != null) {
+			try {
+				return Math.max(0, Long.parseLong(maxAge)) * 1000;
+			}
+			catch (NumberFormatException ex) {
+				return 0;
+			}
+		}
+		long date = getDate(headers);
+		long baseTime = (date != -1 ? date : responseTime);
+		if (headers.containsKey(HttpHeaders.EXPIRES)) {
+			long expires = headers.getExpires();
+			return (expires != -1 ? Math.max(0, expires - baseTime) : 0);
+		}
+		long lastModified = headers.getLastModified();
+		if (lastModified != -1 && lastModified < baseTime) {
+			// Heuristic freshness: 10% of the time since the last modification
+			return (baseTime - lastModified) / 10;
+		}
+		return 0;
+	}
+
+	private static long getDate(HttpHeaders headers) {
+		try {
+			return headers.getDate();
+		}
+		catch (IllegalArgumentException ex) {
+			return -1;
+		}
+	}
+
+	private static Map<String, String> parseCacheControl(HttpHeaders headers) {
+		List<String> values = headers.getValuesAsList(HttpHeaders.CACHE_CONTROL);
+		if (values.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		Map<String, String> directives = new LinkedHashMap<>(values.size());
+		for (String value : values) {
+			int index = value.indexOf('=');
+			if (index != -1) {
+				String argument = StringUtils.trimWhitespace(value.substring(index + 1));
+				if (argument.length() > 1 && argument.startsWith("\"") && argument.endsWith("\"")) {
+					argument = argument.substring(1, argument.length() - 1);
+				}
+				directives.put(value.substring(0, index).trim().toLowerCase(Locale.ENGLISH), argument);
+			}
+			else {
+				directives.put(value.toLowerCase(Locale.ENGLISH), "");
+			}
+		}
+		return directives;
+	}
+
+	private static List<String> getValues(HttpHeaders headers, String headerName) {
+		List<String> values = headers.get(headerName);
+		return (values != null ? values : Collections.emptyList());
+	}
+
+}
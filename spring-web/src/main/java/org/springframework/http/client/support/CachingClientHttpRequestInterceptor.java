@@ -0,0 +1,350 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.http.client.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ClientHttpRequestInterceptor} that caches responses to {@code GET}
+ * requests in an {@link HttpResponseCache}, honoring HTTP caching semantics
+ * for a private cache: fresh responses are served without a request, stale
+ * responses are revalidated through {@code If-None-Match} and
+ * {@code If-Modified-Since}, and {@code Vary} is taken into account.
+ * Successful {@code POST}, {@code PUT}, {@code PATCH} and {@code DELETE}
+ * requests invalidate the response cached for their URL.
+ *
+ * <p>Response bodies are not buffered upfront: they are copied into the cache
+ * while being read, up to the {@link #setMaxBodySize maximum body size}, and
+ * only stored once completely read by the caller (either until the end of the
+ * stream or up to the declared {@code Content-Length} before closing). A
+ * response closed before its body has been fully consumed is not stored.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see CachedHttpResponse
+ * @see InMemoryHttpResponseCache
+ */
+public class CachingClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+
+	private final HttpResponseCache cache;
+
+	private int maxBodySize = 1024 * 1024;
+
+
+	/**
+	 * Create a new interceptor with a default {@link InMemoryHttpResponseCache}.
+	 */
+	public CachingClientHttpRequestInterceptor() {
+		this(new InMemoryHttpResponseCache());
+	}
+
+	/**
+	 * Create a new interceptor with the given cache.
+	 * @param cache the cache to store responses in
+	 */
+	public CachingClientHttpRequestInterceptor(HttpResponseCache cache) {
+		Assert.notNull(cache, "HttpResponseCache must not be null");
+		this.cache = cache;
+	}
+
+
+	/**
+	 * Set the maximum size of a response body to cache, in bytes.
+	 * <p>Default is 1 MB. Larger responses are passed through without caching.
+	 */
+	public void setMaxBodySize(int maxBodySize) {
+		Assert.isTrue(maxBodySize >= 0, "Maximum body size must not be negative");
+		this.maxBodySize = maxBodySize;
+	}
+
+	/**
+	 * Return the cache that this interceptor stores responses in.
+	 */
+	public HttpResponseCache getCache() {
+		return this.cache;
+	}
+
+
+	@Override
+	public ClientHttpResponse intercept(
+			HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+
+		String key = request.getURI().toString();
+		HttpHeaders requestHeaders = request.getHeaders();
+		if (!CachedHttpResponse.isCacheableRequest(request.getMethod(), requestHeaders)) {
+			ClientHttpResponse response = execution.execute(request, body);
+			if (isInvalidatingMethod(request.getMethod()) && response.getRawStatusCode() < 400) {
+				this.cache.evict(key);
+			}
+			return response;
+		}
+
+		long requestTime = System.currentTimeMillis();
+		CachedHttpResponse cached = this.cache.get(key);
+		if (cached != null && cached.matchesVariant(requestHeaders)) {
+			if (cached.isFresh(requestTime) && !CachedHttpResponse.requiresRevalidation(requestHeaders)) {
+				return new CachedClientHttpResponse(cached, requestTime);
+			}
+			if (cached.hasValidators()) {
+				// Apply the conditions to a copy, keeping the caller's headers for Vary matching
+				HttpHeaders conditionalHeaders = new HttpHeaders();
+				conditionalHeaders.putAll(requestHeaders);
+				cached.applyConditions(conditionalHeaders);
+				request = new HttpRequestWrapper(request) {
+					@Override
+					public HttpHeaders getHeaders() {
+						return conditionalHeaders;
+					}
+				};
+			}
+			else {
+				cached = null;
+			}
+		}
+		else {
+			cached = null;
+		}
+
+		ClientHttpResponse response = execution.execute(request, body);
+		long responseTime = System.currentTimeMillis();
+		int statusCode = response.getRawStatusCode();
+		if (cached != null && statusCode == HttpStatus.NOT_MODIFIED.value()) {
+			CachedHttpResponse revalidated = cached.revalidated(response.getHeaders(), requestTime, responseTime);
+			response.close();
+			this.cache.put(key, revalidated);
+			return new CachedClientHttpResponse(revalidated, responseTime);
+		}
+		HttpHeaders responseHeaders = response.getHeaders();
+		if (CachedHttpResponse.isCacheableResponse(requestHeaders, statusCode, responseHeaders) &&
+				responseHeaders.getContentLength() <= this.maxBodySize) {
+			return new CachingClientHttpResponse(response, key, requestHeaders, requestTime, responseTime);
+		}
+		return response;
+	}
+
+	private static boolean isInvalidatingMethod(@Nullable HttpMethod method) {
+		return (method == HttpMethod.POST || method == HttpMethod.PUT ||
+				method == HttpMethod.PATCH || method == HttpMethod.DELETE);
+	}
+
+
+	/**
+	 * {@link ClientHttpResponse} served from a {@link CachedHttpResponse}.
+	 */
+	private static class CachedClientHttpResponse implements ClientHttpResponse {
+
+		private final CachedHttpResponse cached;
+
+		private final HttpHeaders headers;
+
+		public CachedClientHttpResponse(CachedHttpResponse cached, long now) {
+			this.cached = cached;
+			this.headers = cached.getResponseHeaders(now);
+		}
+
+		@Override
+		public HttpStatus getStatusCode() {
+			return HttpStatus.valueOf(this.cached.getStatusCode());
+		}
+
+		@Override
+		public int getRawStatusCode() {
+			return this.cached.getStatusCode();
+		}
+
+		@Override
+		public String getStatusText() {
+			return this.cached.getStatusText();
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return this.headers;
+		}
+
+		@Override
+		public InputStream getBody() {
+			return new ByteArrayInputStream(this.cached.getBody());
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+
+	/**
+	 * {@link ClientHttpResponse} wrapper that copies the body into the cache
+	 * while being read.
+	 */
+	private class CachingClientHttpResponse implements ClientHttpResponse {
+
+		private final ClientHttpResponse response;
+
+		private final String key;
+
+		private final HttpHeaders requestHeaders;
+
+		private final long requestTime;
+
+		private final long responseTime;
+
+		@Nullable
+		private ByteArrayOutputStream bodyCopy = new ByteArrayOutputStream();
+
+		@Nullable
+		private InputStream body;
+
+		public CachingClientHttpResponse(ClientHttpResponse response, String key, HttpHeaders requestHeaders,
+				long requestTime, long responseTime) {
+
+			this.response = response;
+			this.key = key;
+			this.requestHeaders = requestHeaders;
+			this.requestTime = requestTime;
+			this.responseTime = responseTime;
+		}
+
+		@Override
+		public HttpStatus getStatusCode() throws IOException {
+			return this.response.getStatusCode();
+		}
+
+		@Override
+		public int getRawStatusCode() throws IOException {
+			return this.response.getRawStatusCode();
+		}
+
+		@Override
+		public String getStatusText() throws IOException {
+			return this.response.getStatusText();
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return this.response.getHeaders();
+		}
+
+		@Override
+		public InputStream getBody() throws IOException {
+			if (this.body == null) {
+				this.body = new FilterInputStream(this.response.getBody()) {
+					@Override
+					public int read() throws IOException {
+						int b = super.read();
+						if (b != -1) {
+							copy(b);
+						}
+						else {
+							complete();
+						}
+						return b;
+					}
+					@Override
+					public int read(byte[] b, int off, int len) throws IOException {
+						int count = super.read(b, off, len);
+						if (count > 0) {
+							copy(b, off, count);
+						}
+						else if (count == -1) {
+							complete();
+						}
+						return count;
+					}
+					@Override
+					public long skip(long n) throws IOException {
+						return (bodyCopy != null ? Math.max(read(new byte[(int) Math.min(n, 4096)]), 0) : super.skip(n));
+					}
+					@Override
+					public boolean markSupported() {
+						return false;
+					}
+				};
+			}
+			return this.body;
+		}
+
+		@Override
+		public void close() {
+			try {
+				// Store the body if the caller consumed it completely without reading
+				// the end of the stream, otherwise let it go without draining the rest
+				ByteArrayOutputStream bodyCopy = this.bodyCopy;
+				if (bodyCopy != null && bodyCopy.size() == getHeaders().getContentLength()) {
+					complete();
+				}
+			}
+			catch (IOException ex) {
+				// Response status not accessible anymore -> not stored
+			}
+			finally {
+				this.bodyCopy = null;
+				this.response.close();
+			}
+		}
+
+		private void copy(int b) {
+			ByteArrayOutputStream bodyCopy = this.bodyCopy;
+			if (bodyCopy != null) {
+				if (bodyCopy.size() + 1 > maxBodySize) {
+					this.bodyCopy = null;
+				}
+				else {
+					bodyCopy.write(b);
+				}
+			}
+		}
+
+		private void copy(byte[] b, int off, int len) {
+			ByteArrayOutputStream bodyCopy = this.bodyCopy;
+			if (bodyCopy != null) {
+				if (bodyCopy.size() + len > maxBodySize) {
+					this.bodyCopy = null;
+				}
+				else {
+					bodyCopy.write(b, off, len);
+				}
+			}
+		}
+
+		private void complete() throws IOException {
+			ByteArrayOutputStream bodyCopy = this.bodyCopy;
+			if (bodyCopy != null) {
+				this.bodyCopy = null;
+				cache.put(this.key, new CachedHttpResponse(this.response.getRawStatusCode(),
+						this.response.getStatusText(), this.response.getHeaders(), bodyCopy.toByteArray(),
+						this.requestHeaders, this.requestTime, this.responseTime));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.http.client.support;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Storage strategy for HTTP responses cached on the client side,
+ * keyed by request URL.
+ *
+ * <p>Implementations need to be thread-safe. The decision whether a response
+ * may be stored or served is up to the caller, see {@link CachedHttpResponse};
+ * implementations may still decline to store a response, e.g. for size reasons.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see InMemoryHttpResponseCache
+ * @see CachingClientHttpRequestInterceptor
+ */
+public interface HttpResponseCache {
+
+	/**
+	 * Return the response stored for the given key, if any.
+	 * @param key the cache key (typically the request URL)
+	 * @return the stored response, or {@code null} if none
+	 */
+	@Nullable
+	CachedHttpResponse get(String key);
+
+	/**
+	 * Store the given response for the given key,
+	 * replacing any previously stored response.
+	 * @param key the cache key (typically the request URL)
+	 * @param response the response to store
+	 */
+	void put(String key, CachedHttpResponse response);
+
+	/**
+	 * Remove the response stored for the given key, if any.
+	 * @param key the cache key (typically the request URL)
+	 */
+	void evict(String key);
+
+}
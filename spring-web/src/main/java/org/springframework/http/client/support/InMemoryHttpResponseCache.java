@@ -0,0 +1,125 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.http.client.support;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Simple {@link HttpResponseCache} implementation that holds responses in
+ * memory, bounded by a maximum number of entries and a maximum total size of
+ * their bodies, evicting the least recently used entries when exceeded.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ */
+public class InMemoryHttpResponseCache implements HttpResponseCache {
+
+	private final int maxEntries;
+
+	private final long maxTotalBodySize;
+
+	private final LinkedHashMap<String, CachedHttpResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long totalBodySize;
+
+
+	/**
+	 * Create a new cache for up to 256 entries with up to 10 MB of bodies in total.
+	 */
+	public InMemoryHttpResponseCache() {
+		this(256, 10 * 1024 * 1024);
+	}
+
+	/**
+	 * Create a new cache with the given bounds.
+	 * @param maxEntries the maximum number of entries
+	 * @param maxTotalBodySize the maximum total size of the bodies of all entries, in bytes
+	 */
+	public InMemoryHttpResponseCache(int maxEntries, long maxTotalBodySize) {
+		Assert.isTrue(maxEntries > 0, "Maximum number of entries must be positive");
+		Assert.isTrue(maxTotalBodySize >= 0, "Maximum total body size must not be negative");
+		this.maxEntries = maxEntries;
+		this.maxTotalBodySize = maxTotalBodySize;
+	}
+
+
+	@Override
+	@Nullable
+	public CachedHttpResponse get(String key) {
+		synchronized (this.entries) {
+			return this.entries.get(key);
+		}
+	}
+
+	@Override
+	public void put(String key, CachedHttpResponse response) {
+		int bodySize = response.getBody().length;
+		synchronized (this.entries) {
+			removeEntry(key);
+			if (bodySize > this.maxTotalBodySize) {
+				return;
+			}
+			this.entries.put(key, response);
+			this.totalBodySize += bodySize;
+			Iterator<CachedHttpResponse> it = this.entries.values().iterator();
+			while (this.entries.size() > this.maxEntries || this.totalBodySize > this.maxTotalBodySize) {
+				this.totalBodySize -= it.next().getBody().length;
+				it.remove();
+			}
+		}
+	}
+
+	@Override
+	public void evict(String key) {
+		synchronized (this.entries) {
+			removeEntry(key);
+		}
+	}
+
+	/**
+	 * Remove all entries from this cache.
+	 */
+	public void clear() {
+		synchronized (this.entries) {
+			this.entries.clear();
+			this.totalBodySize = 0;
+		}
+	}
+
+	/**
+	 * Return the current number of entries in this cache.
+	 */
+	public int size() {
+		synchronized (this.entries) {
+			return this.entries.size();
+		}
+	}
+
+	private void removeEntry(String key) {
+		CachedHttpResponse removed = this.entries.remove(key);
+		if (removed != null) {
+			this.totalBodySize -= removed.getBody().length;
+		}
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.http.converter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+/**
+ * A specialization of {@link HttpMessageConverter} that can read an HTTP message
+ * body as a lazily consumed sequence of elements, e.g. the elements of a JSON array
+ * or the lines of a line-delimited format, without reading the entire body upfront.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @param <T> the converted object type
+ * @see org.springframework.web.client.RestTemplate#getForStream(String, Class, Object...)
+ */
+public interface ElementStreamingHttpMessageConverter<T> extends HttpMessageConverter<T> {
+
+	/**
+	 * Indicates whether a sequence of elements of the given class can be read
+	 * by this converter.
+	 * @param elementClass the element class to test for readability
+	 * @param mediaType the media type to read, can be {@code null} if not specified.
+	 * Typically the value of a {@code Content-Type} header.
+	 * @return {@code true} if readable; {@code false} otherwise
+	 */
+	boolean canReadElements(Class<?> elementClass, @Nullable MediaType mediaType);
+
+	/**
+	 * Return the list of media types supported for reading element sequences,
+	 * e.g. for populating an {@code Accept} header.
+	 * @return the list of supported media types
+	 */
+	List<MediaType> getElementMediaTypes();
+
+	/**
+	 * Read a sequence of elements of the given class from the given input message.
+	 * <p>The returned stream reads elements on demand while being consumed and
+	 * needs to be {@link Stream#close() closed} in order to release the underlying
+	 * resources. Errors encountered while consuming the stream are thrown as
+	 * {@link HttpMessageNotReadableException} or {@link java.io.UncheckedIOException}.
+	 * @param elementClass the class of the elements to read. This class must have
+	 * previously been passed to the {@link #canReadElements canReadElements} method
+	 * of this interface, which must have returned {@code true}.
+	 * @param inputMessage the HTTP input message to read from
+	 * @return a lazily populated stream of elements
+	 * @throws IOException in case of I/O errors
+	 * @throws HttpMessageNotReadableException in case of conversion errors
+	 */
+	<E> Stream<E> readElements(Class<E> elementClass, HttpInputMessage inputMessage)
+			throws IOException, HttpMessageNotReadableException;
+
+}
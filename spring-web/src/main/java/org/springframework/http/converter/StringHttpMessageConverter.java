@@ -16,11 +16,15 @@
 
 package org.springframework.http.converter;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpInputMessage;
@@ -37,11 +41,15 @@ import org.springframework.util.StreamUtils;
  * and writes with a {@code Content-Type} of {@code text/plain}. This can be overridden
  * by setting the {@link #setSupportedMediaTypes supportedMediaTypes} property.
  *
+ * <p>As of 5.2, this converter can also read a message body line by line,
+ * as a stream of {@code String} elements.
+ *
  * @author Arjen Poutsma
  * @author Juergen Hoeller
  * @since 3.0
  */
-public class StringHttpMessageConverter extends AbstractHttpMessageConverter<String> {
+public class StringHttpMessageConverter extends AbstractHttpMessageConverter<String>
+		implements ElementStreamingHttpMessageConverter<String> {
 
 	/**
 	 * The default charset used by the converter.
@@ -94,6 +102,31 @@ public class StringHttpMessageConverter extends AbstractHttpMessageConverter<Str
 		return StreamUtils.copyToString(inputMessage.getBody(), charset);
 	}
 
+	@Override
+	public boolean canReadElements(Class<?> elementClass, @Nullable MediaType mediaType) {
+		return (String.class == elementClass && canRead(mediaType));
+	}
+
+	@Override
+	public List<MediaType> getElementMediaTypes() {
+		return getSupportedMediaTypes();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <E> Stream<E> readElements(Class<E> elementClass, HttpInputMessage inputMessage) throws IOException {
+		Charset charset = getContentTypeCharset(inputMessage.getHeaders().getContentType());
+		BufferedReader reader = new BufferedReader(new InputStreamReader(inputMessage.getBody(), charset));
+		return (Stream<E>) reader.lines().onClose(() -> {
+			try {
+				reader.close();
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		});
+	}
+
 	@Override
 	protected Long getContentLength(String str, @Nullable MediaType contentType) {
 		Charset charset = getContentTypeCharset(contentType);
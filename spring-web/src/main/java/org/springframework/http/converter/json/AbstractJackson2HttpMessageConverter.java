@@ -17,11 +17,18 @@
 package org.springframework.http.converter.json;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonGenerator;
@@ -31,7 +38,9 @@ import com.fasterxml.jackson.core.util.DefaultIndenter;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationConfig;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -44,6 +53,7 @@ import org.springframework.http.HttpInputMessage;
 import org.springframework.http.HttpOutputMessage;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.ElementStreamingHttpMessageConverter;
 import org.springframework.http.converter.HttpMessageConversionException;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -56,6 +66,9 @@ import org.springframework.util.TypeUtils;
  * Abstract base class for Jackson based and content type independent
  * {@link HttpMessageConverter} implementations.
  *
+ * <p>As of 5.2, this converter can also read the elements of a top-level array,
+ * or a sequence of root-level values, one at a time as a lazily consumed stream.
+ *
  * <p>Compatible with Jackson 2.9 and higher, as of Spring 5.0.
  *
  * @author Arjen Poutsma
@@ -66,7 +79,8 @@ import org.springframework.util.TypeUtils;
  * @since 4.1
  * @see MappingJackson2HttpMessageConverter
  */
-public abstract class AbstractJackson2HttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+public abstract class AbstractJackson2HttpMessageConverter extends AbstractGenericHttpMessageConverter<Object>
+		implements ElementStreamingHttpMessageConverter<Object> {
 
 	/**
 	 * The default charset used by the converter.
@@ -167,6 +181,24 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 		return false;
 	}
 
+	@Override
+	public boolean canReadElements(Class<?> elementClass, @Nullable MediaType mediaType) {
+		if (mediaType != null && getElementMediaTypes().stream().noneMatch(type -> type.includes(mediaType))) {
+			return false;
+		}
+		return canRead(elementClass, null, null);
+	}
+
+	/**
+	 * Return the media types supported for reading element sequences.
+	 * <p>The default implementation returns the
+	 * {@link #getSupportedMediaTypes() supported media types}.
+	 */
+	@Override
+	public List<MediaType> getElementMediaTypes() {
+		return getSupportedMediaTypes();
+	}
+
 	@Override
 	public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
 		if (!canWrite(mediaType)) {
@@ -246,6 +278,65 @@ public abstract class AbstractJackson2HttpMessageConverter extends AbstractGener
 		}
 	}
 
+	@Override
+	public <E> Stream<E> readElements(Class<E> elementClass, HttpInputMessage inputMessage) throws IOException {
+		JavaType javaType = getJavaType(elementClass, null);
+		ObjectReader objectReader = this.objectMapper.readerFor(javaType);
+		if (inputMessage instanceof MappingJacksonInputMessage) {
+			Class<?> deserializationView = ((MappingJacksonInputMessage) inputMessage).getDeserializationView();
+			if (deserializationView != null) {
+				objectReader = objectReader.withView(deserializationView);
+			}
+		}
+		MappingIterator<E> mappingIterator;
+		try {
+			mappingIterator = objectReader.readValues(inputMessage.getBody());
+		}
+		catch (InvalidDefinitionException ex) {
+			throw new HttpMessageConversionException("Type definition error: " + ex.getType(), ex);
+		}
+		catch (JsonProcessingException ex) {
+			throw new HttpMessageNotReadableException("JSON parse error: " + ex.getOriginalMessage(), ex, inputMessage);
+		}
+		Iterator<E> iterator = new Iterator<E>() {
+			@Override
+			public boolean hasNext() {
+				try {
+					return mappingIterator.hasNextValue();
+				}
+				catch (JsonProcessingException ex) {
+					throw new HttpMessageNotReadableException(
+							"JSON parse error: " + ex.getOriginalMessage(), ex, inputMessage);
+				}
+				catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+			}
+			@Override
+			public E next() {
+				try {
+					return mappingIterator.nextValue();
+				}
+				catch (JsonProcessingException ex) {
+					throw new HttpMessageNotReadableException(
+							"JSON parse error: " + ex.getOriginalMessage(), ex, inputMessage);
+				}
+				catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+			}
+		};
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+				.onClose(() -> {
+					try {
+						mappingIterator.close();
+					}
+					catch (IOException ex) {
+						throw new UncheckedIOException(ex);
+					}
+				});
+	}
+
 	@Override
 	protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
 			throws IOException, HttpMessageNotWritableException {
@@ -17,6 +17,8 @@
 package org.springframework.http.converter.json;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -32,7 +34,8 @@ import org.springframework.lang.Nullable;
  *
  * <p>By default, this converter supports {@code application/json} and {@code application/*+json}
  * with {@code UTF-8} character set. This can be overridden by setting the
- * {@link #setSupportedMediaTypes supportedMediaTypes} property.
+ * {@link #setSupportedMediaTypes supportedMediaTypes} property. For reading element
+ * streams, newline-delimited JSON ({@code application/x-ndjson}) is supported as well.
  *
  * <p>The default constructor uses the default configuration provided by {@link Jackson2ObjectMapperBuilder}.
  *
@@ -47,6 +50,14 @@ import org.springframework.lang.Nullable;
  */
 public class MappingJackson2HttpMessageConverter extends AbstractJackson2HttpMessageConverter {
 
+	/**
+	 * Media type for newline-delimited JSON, as supported for
+	 * {@link #readElements reading a stream of elements}.
+	 * @since 5.2
+	 */
+	public static final MediaType APPLICATION_NDJSON = new MediaType("application", "x-ndjson");
+
+
 	@Nullable
 	private String jsonPrefix;
 
@@ -90,6 +101,13 @@ public class MappingJackson2HttpMessageConverter extends AbstractJackson2HttpMes
 	}
 
 
+	@Override
+	public List<MediaType> getElementMediaTypes() {
+		List<MediaType> mediaTypes = new ArrayList<>(super.getElementMediaTypes());
+		mediaTypes.add(APPLICATION_NDJSON);
+		return mediaTypes;
+	}
+
 	@Override
 	protected void writePrefix(JsonGenerator generator, Object object) throws IOException {
 		if (this.jsonPrefix != null) {
@@ -115,8 +115,9 @@ class JettyHeadersAdapter implements MultiValueMap<String, String> {
 	@Nullable
 	@Override
 	public List<String> get(Object key) {
-		if (containsKey(key)) {
-			return this.headers.getValuesList((String) key);
+		if (key instanceof String) {
+			List<String> values = this.headers.getValuesList((String) key);
+			return (!values.isEmpty() ? values : null);
 		}
 		return null;
 	}
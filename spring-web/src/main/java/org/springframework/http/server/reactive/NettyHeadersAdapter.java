@@ -114,8 +114,9 @@ class NettyHeadersAdapter implements MultiValueMap<String, String> {
 	@Override
 	@Nullable
 	public List<String> get(Object key) {
-		if (containsKey(key)) {
-			return this.headers.getAll((String) key);
+		if (key instanceof String) {
+			List<String> values = this.headers.getAll((String) key);
+			return (!values.isEmpty() ? values : null);
 		}
 		return null;
 	}
@@ -129,8 +129,9 @@ class TomcatHeadersAdapter implements MultiValueMap<String, String> {
 	@Override
 	@Nullable
 	public List<String> get(Object key) {
-		if (containsKey(key)) {
-			return Collections.list(this.headers.values((String) key));
+		if (key instanceof String) {
+			Enumeration<String> values = this.headers.values((String) key);
+			return (values.hasMoreElements() ? Collections.list(values) : null);
 		}
 		return null;
 	}
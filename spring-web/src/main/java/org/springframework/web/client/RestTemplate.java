@@ -41,8 +41,10 @@ import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.client.support.InterceptingHttpAccessor;
 import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.ElementStreamingHttpMessageConverter;
 import org.springframework.http.converter.GenericHttpMessageConverter;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.http.converter.ResourceHttpMessageConverter;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
@@ -72,6 +74,11 @@ import org.springframework.web.util.UriTemplateHandler;
  * addition to the generalized {@code exchange} and {@code execute} methods that
  * support of less frequent cases.
  *
+ * <p>As of 5.2, large responses consisting of a sequence of elements, such as
+ * JSON arrays or line-delimited formats, can be consumed as a lazily populated
+ * {@link Stream} through {@link #getForStream} and {@link #exchangeForStream},
+ * without reading the entire response body into memory.
+ *
  * <p><strong>NOTE:</strong> As of 5.0, the non-blocking, reactive
  * {@code org.springframework.web.reactive.client.WebClient} offers a
  * modern alternative to the {@code RestTemplate} with efficient support for
@@ -655,6 +662,65 @@ public class RestTemplate extends InterceptingHttpAccessor implements RestOperat
 	}
 
 
+	// Streaming element extraction
+
+	/**
+	 * Retrieve a representation by doing a GET on the specified URL, reading the
+	 * response body as a lazily populated stream of elements, e.g. the elements of
+	 * a JSON array or of newline-delimited JSON, or the lines of a text response.
+	 * <p>URI Template variables are expanded using the given URI variables, if any.
+	 * <p>The response is kept open while the stream is being consumed and only
+	 * released when the stream is {@link Stream#close() closed}, so the stream
+	 * should typically be consumed within a try-with-resources block. Errors
+	 * encountered while consuming the stream are thrown as
+	 * {@link HttpMessageNotReadableException} or {@link java.io.UncheckedIOException}.
+	 * @param url the URL
+	 * @param elementType the type of the elements
+	 * @param uriVariables the variables to expand the template
+	 * @return a stream of elements, to be closed after use
+	 * @throws RestClientException on client-side HTTP error
+	 * @since 5.2
+	 * @see ElementStreamingHttpMessageConverter
+	 */
+	public <T> Stream<T> getForStream(String url, Class<T> elementType, Object... uriVariables)
+			throws RestClientException {
+
+		URI expanded = getUriTemplateHandler().expand(url, uriVariables);
+		return doExecuteForStream(expanded, HttpMethod.GET, null, elementType);
+	}
+
+	/**
+	 * Retrieve a representation by doing a GET on the URL, reading the response
+	 * body as a lazily populated stream of elements.
+	 * @param url the URL
+	 * @param elementType the type of the elements
+	 * @return a stream of elements, to be closed after use
+	 * @throws RestClientException on client-side HTTP error
+	 * @since 5.2
+	 * @see #getForStream(String, Class, Object...)
+	 */
+	public <T> Stream<T> getForStream(URI url, Class<T> elementType) throws RestClientException {
+		return doExecuteForStream(url, HttpMethod.GET, null, elementType);
+	}
+
+	/**
+	 * Execute the request specified in the given {@link RequestEntity}, reading the
+	 * response body as a lazily populated stream of elements.
+	 * @param requestEntity the entity to write to the request
+	 * @param elementType the type of the elements
+	 * @return a stream of elements, to be closed after use
+	 * @throws RestClientException on client-side HTTP error
+	 * @since 5.2
+	 * @see #getForStream(String, Class, Object...)
+	 */
+	public <T> Stream<T> exchangeForStream(RequestEntity<?> requestEntity, Class<T> elementType)
+			throws RestClientException {
+
+		RequestCallback requestCallback = httpEntityCallback(requestEntity);
+		return doExecuteForStream(requestEntity.getUrl(), requestEntity.getMethod(), requestCallback, elementType);
+	}
+
+
 	// General execution
 
 	/**
@@ -744,11 +810,7 @@ public class RestTemplate extends InterceptingHttpAccessor implements RestOperat
 			return (responseExtractor != null ? responseExtractor.extractData(response) : null);
 		}
 		catch (IOException ex) {
-			String resource = url.toString();
-			String query = url.getRawQuery();
-			resource = (query != null ? resource.substring(0, resource.indexOf('?')) : resource);
-			throw new ResourceAccessException("I/O error on " + method.name() +
-					" request for \"" + resource + "\": " + ex.getMessage(), ex);
+			throw createResourceAccessException(url, method, ex);
 		}
 		finally {
 			if (response != null) {
@@ -757,6 +819,99 @@ public class RestTemplate extends InterceptingHttpAccessor implements RestOperat
 		}
 	}
 
+	/**
+	 * Execute the given method on the provided URI, reading the response body
+	 * as a stream of elements through an {@link ElementStreamingHttpMessageConverter}.
+	 * <p>In contrast to {@link #doExecute}, the {@link ClientHttpResponse} is not
+	 * closed on return but rather when the returned stream gets closed.
+	 * @param url the fully-expanded URL to connect to
+	 * @param method the HTTP method to execute (GET, POST, etc.)
+	 * @param requestCallback object that prepares the request (can be {@code null})
+	 * @param elementType the type of the elements
+	 * @return a stream of elements, to be closed after use
+	 * @throws RestClientException on client-side HTTP error
+	 * @since 5.2
+	 */
+	protected <T> Stream<T> doExecuteForStream(URI url, @Nullable HttpMethod method,
+			@Nullable RequestCallback requestCallback, Class<T> elementType) throws RestClientException {
+
+		Assert.notNull(url, "URI is required");
+		Assert.notNull(method, "HttpMethod is required");
+		Assert.notNull(elementType, "Element type is required");
+		ClientHttpResponse response = null;
+		try {
+			ClientHttpRequest request = createRequest(url, method);
+			List<MediaType> acceptableMediaTypes = getElementStreamingConverters()
+					.filter(converter -> converter.canReadElements(elementType, null))
+					.flatMap(converter -> converter.getElementMediaTypes().stream())
+					.map(mediaType -> (mediaType.getCharset() != null ?
+							new MediaType(mediaType.getType(), mediaType.getSubtype()) : mediaType))
+					.distinct()
+					.sorted(MediaType.SPECIFICITY_COMPARATOR)
+					.collect(Collectors.toList());
+			request.getHeaders().setAccept(acceptableMediaTypes);
+			if (requestCallback != null) {
+				requestCallback.doWithRequest(request);
+			}
+			response = request.execute();
+			handleResponse(url, method, response);
+			Stream<T> stream = readElements(response, elementType);
+			ClientHttpResponse responseToClose = response;
+			response = null;
+			return stream.onClose(responseToClose::close);
+		}
+		catch (IOException ex) {
+			throw createResourceAccessException(url, method, ex);
+		}
+		finally {
+			if (response != null) {
+				response.close();
+			}
+		}
+	}
+
+	private <T> Stream<T> readElements(ClientHttpResponse response, Class<T> elementType) throws IOException {
+		MessageBodyClientHttpResponseWrapper responseWrapper = new MessageBodyClientHttpResponseWrapper(response);
+		if (!responseWrapper.hasMessageBody() || responseWrapper.hasEmptyMessageBody()) {
+			return Stream.empty();
+		}
+		MediaType contentType = response.getHeaders().getContentType();
+		if (contentType == null) {
+			contentType = MediaType.APPLICATION_OCTET_STREAM;
+		}
+		MediaType contentTypeToUse = contentType;
+		ElementStreamingHttpMessageConverter<?> converter = getElementStreamingConverters()
+				.filter(candidate -> candidate.canReadElements(elementType, contentTypeToUse))
+				.findFirst()
+				.orElseThrow(() -> new RestClientException("Could not extract response: no suitable " +
+						"HttpMessageConverter found for element type [" + elementType.getName() +
+						"] and content type [" + contentTypeToUse + "]"));
+		if (logger.isDebugEnabled()) {
+			logger.debug("Reading stream of [" + elementType.getName() + "] as \"" + contentType + "\"");
+		}
+		try {
+			return converter.readElements(elementType, responseWrapper);
+		}
+		catch (HttpMessageNotReadableException ex) {
+			throw new RestClientException("Error while extracting response for element type [" +
+					elementType.getName() + "] and content type [" + contentType + "]", ex);
+		}
+	}
+
+	private Stream<ElementStreamingHttpMessageConverter<?>> getElementStreamingConverters() {
+		return getMessageConverters().stream()
+				.filter(converter -> converter instanceof ElementStreamingHttpMessageConverter)
+				.map(converter -> (ElementStreamingHttpMessageConverter<?>) converter);
+	}
+
+	private static ResourceAccessException createResourceAccessException(URI url, HttpMethod method, IOException ex) {
+		String resource = url.toString();
+		String query = url.getRawQuery();
+		resource = (query != null ? resource.substring(0, resource.indexOf('?')) : resource);
+		return new ResourceAccessException("I/O error on " + method.name() +
+				" request for \"" + resource + "\": " + ex.getMessage(), ex);
+	}
+
 	/**
 	 * Handle the given response, performing appropriate logging and
 	 * invoking the {@link ResponseErrorHandler} if necessary.
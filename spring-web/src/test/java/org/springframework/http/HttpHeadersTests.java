@@ -687,6 +687,23 @@ public class HttpHeadersTests {
 		assertThat(headers.get(headerName).get(0)).isEqualTo(headerValue);
 	}
 
+	@Test
+	public void readOnlyHttpHeadersCacheParsedValues() {
+		headers.set(HttpHeaders.CONTENT_TYPE, "application/json");
+		headers.set(HttpHeaders.ACCEPT, "text/html, application/json");
+		headers.set(HttpHeaders.CONTENT_LENGTH, "42");
+		headers.set(HttpHeaders.HOST, "localhost:8080");
+
+		HttpHeaders readOnlyHttpHeaders = HttpHeaders.readOnlyHttpHeaders(headers);
+		assertThat(readOnlyHttpHeaders.getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+		assertThat(readOnlyHttpHeaders.getContentType()).isSameAs(readOnlyHttpHeaders.getContentType());
+		assertThat(readOnlyHttpHeaders.getAccept()).containsExactly(MediaType.TEXT_HTML, MediaType.APPLICATION_JSON);
+		assertThat(readOnlyHttpHeaders.getAccept()).isSameAs(readOnlyHttpHeaders.getAccept());
+		assertThat(readOnlyHttpHeaders.getContentLength()).isEqualTo(42);
+		assertThat(readOnlyHttpHeaders.getHost()).isEqualTo(InetSocketAddress.createUnresolved("localhost", 8080));
+		assertThat(readOnlyHttpHeaders.getHost()).isSameAs(readOnlyHttpHeaders.getHost());
+	}
+
 	@Test
 	public void readOnlyHttpHeadersRetainEntrySetOrder() {
 		headers.add("aardvark", "enigma");
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.http.client.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.util.StreamUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link BodyObservingInterceptor}.
+ *
+ * @author agent (agent@local)
+ */
+public class BodyObservingInterceptorTests {
+
+	private final ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+
+	private final ClientHttpResponse response = mock(ClientHttpResponse.class);
+
+
+	@Test
+	public void observeRequestAndResponseBody() throws Exception {
+		ClientHttpRequest request = createRequest();
+		byte[] requestBody = "Hello".getBytes(StandardCharsets.UTF_8);
+		given(this.execution.execute(request, requestBody)).willReturn(this.response);
+		given(this.response.getBody()).willReturn(new ByteArrayInputStream("World".getBytes(StandardCharsets.UTF_8)));
+
+		ByteArrayOutputStream observedRequest = new ByteArrayOutputStream();
+		ByteArrayOutputStream observedResponse = new ByteArrayOutputStream();
+		BodyObservingInterceptor interceptor = new BodyObservingInterceptor(
+				new BodyObservingInterceptor.BodyObserver() {
+					@Override
+					public void observeRequest(HttpRequest request, byte[] body) {
+						observedRequest.write(body, 0, body.length);
+					}
+					@Override
+					public ByteArrayOutputStream observeResponse(
+							HttpRequest request, ClientHttpResponse response) {
+						return observedResponse;
+					}
+				});
+
+		ClientHttpResponse result = interceptor.intercept(request, requestBody, this.execution);
+		assertThat(observedRequest.toString("UTF-8")).isEqualTo("Hello");
+		assertThat(observedResponse.size()).isEqualTo(0);
+
+		InputStream body = result.getBody();
+		assertThat(body.read()).isEqualTo('W');
+		assertThat(StreamUtils.copyToString(body, StandardCharsets.UTF_8)).isEqualTo("orld");
+		assertThat(observedResponse.toString("UTF-8")).isEqualTo("World");
+
+		result.close();
+		verify(this.response).close();
+	}
+
+	@Test
+	public void skippedResponseBodyObserved() throws Exception {
+		ClientHttpRequest request = createRequest();
+		byte[] requestBody = new byte[0];
+		given(this.execution.execute(request, requestBody)).willReturn(this.response);
+		given(this.response.getBody()).willReturn(new ByteArrayInputStream("Hello World".getBytes(StandardCharsets.UTF_8)));
+
+		ByteArrayOutputStream observedResponse = new ByteArrayOutputStream();
+		BodyObservingInterceptor interceptor = new BodyObservingInterceptor((req, res) -> observedResponse);
+
+		InputStream body = interceptor.intercept(request, requestBody, this.execution).getBody();
+		assertThat(body.skip(6)).isEqualTo(6);
+		assertThat(StreamUtils.copyToString(body, StandardCharsets.UTF_8)).isEqualTo("World");
+		assertThat(body.skip(1)).isEqualTo(0);
+		assertThat(observedResponse.toString("UTF-8")).isEqualTo("Hello World");
+	}
+
+	@Test
+	public void responseNotObserved() throws Exception {
+		ClientHttpRequest request = createRequest();
+		byte[] requestBody = new byte[0];
+		given(this.execution.execute(request, requestBody)).willReturn(this.response);
+
+		BodyObservingInterceptor interceptor = new BodyObservingInterceptor((req, res) -> null);
+		assertThat(interceptor.intercept(request, requestBody, this.execution)).isSameAs(this.response);
+	}
+
+
+	private ClientHttpRequest createRequest() throws Exception {
+		return new SimpleClientHttpRequestFactory().createRequest(new URI("https://example.com"), HttpMethod.GET);
+	}
+
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.http.client.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.util.StreamUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link CachingClientHttpRequestInterceptor}.
+ *
+ * @author agent (agent@local)
+ */
+public class CachingClientHttpRequestInterceptorTests {
+
+	private static final URI URL = URI.create("https://example.com/config");
+
+
+	private final CachingClientHttpRequestInterceptor interceptor = new CachingClientHttpRequestInterceptor();
+
+	private final Deque<StubClientHttpResponse> responses = new ArrayDeque<>();
+
+	private final List<HttpHeaders> executedRequestHeaders = new ArrayList<>();
+
+	private final ClientHttpRequestExecution execution = (request, body) -> {
+		HttpHeaders headers = new HttpHeaders();
+		headers.putAll(request.getHeaders());
+		this.executedRequestHeaders.add(headers);
+		return this.responses.remove();
+	};
+
+
+	@Test
+	public void freshResponseServedFromCache() throws Exception {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setCacheControl("max-age=60");
+		this.responses.add(new StubClientHttpResponse(HttpStatus.OK, headers, "Hello"));
+
+		assertThat(exchange(HttpMethod.GET)).isEqualTo("Hello");
+		ClientHttpResponse response = this.interceptor.intercept(createRequest(HttpMethod.GET), new byte[0], this.execution);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getHeaders().getFirst(HttpHeaders.AGE)).isEqualTo("0");
+		assertThat(StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8)).isEqualTo("Hello");
+		assertThat(this.executedRequestHeaders).hasSize(1);
+	}
+
+	@Test
+	public void responseNotStoredOnCloseIfNotCompletelyRead() throws Exception {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setCacheControl("max-age=60");
+		this.responses.add(new StubClientHttpResponse(HttpStatus.OK, headers, "Hello"));
+		this.responses.add(new StubClientHttpResponse(HttpStatus.OK, headers, "World"));
+
+		ClientHttpResponse response = this.interceptor.intercept(createRequest(HttpMethod.GET), new byte[0], this.execution);
+		assertThat(response.getBody().read()).isEqualTo('H');
+		response.close();
+
+		assertThat(exchange(HttpMethod.GET)).isEqualTo("World");
+		assertThat(this.executedRequestHeaders).hasSize(2);
+	}
+
+	@Test
+	public void responseStoredOnCloseIfContentLengthRead() throws Exception {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setCacheControl("max-age=60");
+		headers.setContentLength(5);
+		this.responses.add(new StubClientHttpResponse(HttpStatus.OK, headers, "Hello"));
+
+		ClientHttpResponse response = this.interceptor.intercept(createRequest(HttpMethod.GET), new byte[0], this.execution);
+		assertThat(response.getBody().read(new byte[5])).isEqualTo(5);
+		response.close();
+
+		assertThat(exchange(HttpMethod.GET)).isEqualTo("Hello");
+		assertThat(this.executedRequestHeaders).hasSize(1);
+	}
+
+	@Test
+	public void staleResponseRevalidated() throws Exception {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setCacheControl("no-cache");
+		headers.setETag("\"v1\"");
+		this.responses.add(new StubClientHttpResponse(HttpStatus.OK, headers, "Hello"));
+		this.responses.add(new StubClientHttpResponse(HttpStatus.NOT_MODIFIED, new HttpHeaders(), ""));
+
+		assertThat(exchange(HttpMethod.GET)).isEqualTo("Hello");
+		HttpRequest request = createRequest(HttpMethod.GET);
+		assertThat(exchange(request)).isEqualTo("Hello");
+
+		assertThat(this.executedRequestHeaders).hasSize(2);
+		assertThat(this.executedRequestHeaders.get(0).getIfNoneMatch()).isEmpty();
+		assertThat(this.executedRequestHeaders.get(1).getIfNoneMatch()).containsExactly("\"v1\"");
+		assertThat(request.getHeaders().getIfNoneMatch()).isEmpty();
+	}
+
+	@Test
+	public void noStoreResponseNotCached() throws Exception {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setCacheControl("no-store, max-age=60");
+		this.responses.add(new StubClientHttpResponse(HttpStatus.OK, headers, "Hello"));
+		this.responses.add(new StubClientHttpResponse(HttpStatus.OK, headers, "World"));
+
+		assertThat(exchange(HttpMethod.GET)).isEqualTo("Hello");
+		assertThat(exchange(HttpMethod.GET)).isEqualTo("World");
+	}
+
+	@Test
+	public void varyingResponseNotServedForOtherVariant() throws Exception {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setCacheControl("max-age=60");
+		headers.setVary(Collections.singletonList(HttpHeaders.ACCEPT_LANGUAGE));
+		this.responses.add(new StubClientHttpResponse(HttpStatus.OK, headers, "Hello"));
+		this.responses.add(new StubClientHttpResponse(HttpStatus.OK, headers, "Bonjour"));
+
+		HttpRequest english = createRequest(HttpMethod.GET);
+		english.getHeaders().set(HttpHeaders.ACCEPT_LANGUAGE, "en");
+		HttpRequest french = createRequest(HttpMethod.GET);
+		french.getHeaders().set(HttpHeaders.ACCEPT_LANGUAGE, "fr");
+
+		assertThat(exchange(english)).isEqualTo("Hello");
+		assertThat(exchange(french)).isEqualTo("Bonjour");
+		assertThat(exchange(french)).isEqualTo("Bonjour");
+		assertThat(this.executedRequestHeaders).hasSize(2);
+	}
+
+	@Test
+	public void unsafeRequestInvalidatesCachedResponse() throws Exception {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setCacheControl("max-age=60");
+		this.responses.add(new StubClientHttpResponse(HttpStatus.OK, headers, "Hello"));
+		this.responses.add(new StubClientHttpResponse(HttpStatus.NO_CONTENT, new HttpHeaders(), ""));
+		this.responses.add(new StubClientHttpResponse(HttpStatus.OK, headers, "World"));
+
+		assertThat(exchange(HttpMethod.GET)).isEqualTo("Hello");
+		assertThat(exchange(HttpMethod.PUT)).isEmpty();
+		assertThat(exchange(HttpMethod.GET)).isEqualTo("World");
+	}
+
+	@Test
+	public void responseLargerThanMaxBodySizeNotCached() throws Exception {
+		this.interceptor.setMaxBodySize(3);
+		HttpHeaders headers = new HttpHeaders();
+		headers.setCacheControl("max-age=60");
+		this.responses.add(new StubClientHttpResponse(HttpStatus.OK, headers, "Hello"));
+		this.responses.add(new StubClientHttpResponse(HttpStatus.OK, headers, "World"));
+
+		assertThat(exchange(HttpMethod.GET)).isEqualTo("Hello");
+		assertThat(exchange(HttpMethod.GET)).isEqualTo("World");
+	}
+
+
+	private String exchange(HttpMethod method) throws IOException {
+		return exchange(createRequest(method));
+	}
+
+	private String exchange(HttpRequest request) throws IOException {
+		ClientHttpResponse response = this.interceptor.intercept(request, new byte[0], this.execution);
+		try {
+			return StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+		}
+		finally {
+			response.close();
+		}
+	}
+
+	private ClientHttpRequest createRequest(HttpMethod method) throws IOException {
+		return new SimpleClientHttpRequestFactory().createRequest(URL, method);
+	}
+
+
+	private static class StubClientHttpResponse implements ClientHttpResponse {
+
+		private final HttpStatus status;
+
+		private final HttpHeaders headers;
+
+		private final InputStream body;
+
+		public StubClientHttpResponse(HttpStatus status, HttpHeaders headers, String body) {
+			this.status = status;
+			this.headers = headers;
+			this.body = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public HttpStatus getStatusCode() {
+			return this.status;
+		}
+
+		@Override
+		public int getRawStatusCode() {
+			return this.status.value();
+		}
+
+		@Override
+		public String getStatusText() {
+			return this.status.getReasonPhrase();
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return this.headers;
+		}
+
+		@Override
+		public InputStream getBody() {
+			return this.body;
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.http.client.support;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link InMemoryHttpResponseCache}.
+ *
+ * @author agent (agent@local)
+ */
+public class InMemoryHttpResponseCacheTests {
+
+	@Test
+	public void evictLeastRecentlyUsedEntry() {
+		InMemoryHttpResponseCache cache = new InMemoryHttpResponseCache(2, 1024);
+		cache.put("a", createResponse("A"));
+		cache.put("b", createResponse("B"));
+		assertThat(cache.get("a")).isNotNull();
+		cache.put("c", createResponse("C"));
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.get("a")).isNotNull();
+		assertThat(cache.get("b")).isNull();
+		assertThat(cache.get("c")).isNotNull();
+	}
+
+	@Test
+	public void evictForTotalBodySize() {
+		InMemoryHttpResponseCache cache = new InMemoryHttpResponseCache(10, 8);
+		cache.put("a", createResponse("Hello"));
+		cache.put("b", createResponse("World"));
+
+		assertThat(cache.get("a")).isNull();
+		assertThat(cache.get("b")).isNotNull();
+
+		cache.put("c", createResponse("Too large"));
+		assertThat(cache.get("c")).isNull();
+		assertThat(cache.get("b")).isNotNull();
+	}
+
+	@Test
+	public void replaceAndEvict() {
+		InMemoryHttpResponseCache cache = new InMemoryHttpResponseCache(10, 8);
+		cache.put("a", createResponse("Hello"));
+		cache.put("a", createResponse("World"));
+		assertThat(cache.get("a").getBody()).isEqualTo("World".getBytes(StandardCharsets.UTF_8));
+
+		cache.evict("a");
+		assertThat(cache.size()).isEqualTo(0);
+		cache.put("b", createResponse("Fits"));
+		assertThat(cache.get("b")).isNotNull();
+	}
+
+
+	private static CachedHttpResponse createResponse(String body) {
+		long now = System.currentTimeMillis();
+		return new CachedHttpResponse(200, "OK", new HttpHeaders(), body.getBytes(StandardCharsets.UTF_8),
+				new HttpHeaders(), now, now);
+	}
+
+}
@@ -18,6 +18,8 @@ package org.springframework.http.converter;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -70,6 +72,19 @@ public class StringHttpMessageConverterTests {
 		assertThat(result).as("Invalid result").isEqualTo(body);
 	}
 
+	@Test
+	public void readElements() throws IOException {
+		String body = "H\u00e9llo\nW\u00f6rld\r\n!";
+		MockHttpInputMessage inputMessage = new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8));
+		inputMessage.getHeaders().setContentType(TEXT_PLAIN_UTF_8);
+
+		assertThat(this.converter.canReadElements(String.class, MediaType.TEXT_PLAIN)).isTrue();
+		assertThat(this.converter.canReadElements(Object.class, MediaType.TEXT_PLAIN)).isFalse();
+		try (Stream<String> result = this.converter.readElements(String.class, inputMessage)) {
+			assertThat(result.collect(Collectors.toList())).containsExactly("H\u00e9llo", "W\u00f6rld", "!");
+		}
+	}
+
 	@Test
 	public void writeDefaultCharset() throws IOException {
 		String body = "H\u00e9llo W\u00f6rld";
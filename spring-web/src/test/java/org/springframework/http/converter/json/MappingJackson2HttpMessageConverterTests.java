@@ -23,6 +23,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonView;
@@ -122,6 +124,43 @@ public class MappingJackson2HttpMessageConverterTests {
 		assertThat(result.get("bytes")).isEqualTo("AQI=");
 	}
 
+	@Test
+	public void readElementsFromArray() throws IOException {
+		String body = "[{\"string\":\"Foo\",\"number\":1},{\"string\":\"Bar\",\"number\":2}]";
+		MockHttpInputMessage inputMessage = new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8));
+		inputMessage.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+		assertThat(converter.canReadElements(MyBean.class, MediaType.APPLICATION_JSON)).isTrue();
+		try (Stream<MyBean> result = converter.readElements(MyBean.class, inputMessage)) {
+			assertThat(result.map(MyBean::getString).collect(Collectors.toList())).containsExactly("Foo", "Bar");
+		}
+	}
+
+	@Test
+	public void readElementsFromNdjson() throws IOException {
+		String body = "{\"string\":\"Foo\",\"number\":1}\n{\"string\":\"Bar\",\"number\":2}\n";
+		MockHttpInputMessage inputMessage = new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8));
+		inputMessage.getHeaders().setContentType(MappingJackson2HttpMessageConverter.APPLICATION_NDJSON);
+
+		assertThat(converter.canRead(MyBean.class, MappingJackson2HttpMessageConverter.APPLICATION_NDJSON)).isFalse();
+		assertThat(converter.canReadElements(MyBean.class, MappingJackson2HttpMessageConverter.APPLICATION_NDJSON)).isTrue();
+		try (Stream<MyBean> result = converter.readElements(MyBean.class, inputMessage)) {
+			assertThat(result.mapToInt(MyBean::getNumber).sum()).isEqualTo(3);
+		}
+	}
+
+	@Test
+	public void readElementsInvalidJson() throws IOException {
+		String body = "[{\"string\":\"Foo\"},FooBar]";
+		MockHttpInputMessage inputMessage = new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8));
+		inputMessage.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+		try (Stream<MyBean> result = converter.readElements(MyBean.class, inputMessage)) {
+			assertThatExceptionOfType(HttpMessageNotReadableException.class).isThrownBy(() ->
+					result.collect(Collectors.toList()));
+		}
+	}
+
 	@Test
 	public void write() throws IOException {
 		MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
@@ -52,6 +52,13 @@ class HeadersAdaptersTests {
 		assertThat(headers.get("Unknown")).isNull();
 	}
 
+	@ParameterizedHeadersTest
+	void getShouldBeCaseInsensitive(String displayName, MultiValueMap<String, String> headers) {
+		headers.add("TestHeader", "first");
+		headers.add("TestHeader", "second");
+		assertThat(headers.get("testheader")).containsExactly("first", "second");
+	}
+
 	@ParameterizedHeadersTest
 	void getFirstWithUnknownHeaderShouldReturnNull(String displayName, MultiValueMap<String, String> headers) {
 		assertThat(headers.getFirst("Unknown")).isNull();
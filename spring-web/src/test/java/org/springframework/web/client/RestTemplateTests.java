@@ -26,6 +26,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -45,6 +47,7 @@ import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.converter.GenericHttpMessageConverter;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.util.StreamUtils;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
@@ -56,6 +59,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.http.HttpMethod.DELETE;
 import static org.springframework.http.HttpMethod.GET;
@@ -209,6 +213,39 @@ public class RestTemplateTests {
 		verify(response).close();
 	}
 
+	@Test
+	public void getForStream() throws Exception {
+		template.setMessageConverters(Collections.singletonList(new StringHttpMessageConverter()));
+		HttpHeaders requestHeaders = new HttpHeaders();
+		mockSentRequest(GET, "https://example.com/lines", requestHeaders);
+		mockResponseStatus(HttpStatus.OK);
+		HttpHeaders responseHeaders = new HttpHeaders();
+		responseHeaders.setContentType(MediaType.TEXT_PLAIN);
+		given(response.getHeaders()).willReturn(responseHeaders);
+		given(response.getBody()).willReturn(new ByteArrayInputStream("Foo\nBar\nBaz".getBytes()));
+
+		Stream<String> result = template.getForStream("https://example.com/{p}", String.class, "lines");
+		assertThat(requestHeaders.getAccept()).contains(MediaType.TEXT_PLAIN);
+		verify(response, never()).close();
+
+		assertThat(result.collect(Collectors.toList())).containsExactly("Foo", "Bar", "Baz");
+		result.close();
+		verify(response).close();
+	}
+
+	@Test
+	public void getForStreamWithoutSuitableConverter() throws Exception {
+		template.setMessageConverters(Collections.singletonList(new StringHttpMessageConverter()));
+		mockSentRequest(GET, "https://example.com");
+		mockResponseStatus(HttpStatus.OK);
+		mockResponseBody("Foo", new MediaType("foo", "bar"));
+
+		assertThatExceptionOfType(RestClientException.class).isThrownBy(() ->
+				template.getForStream("https://example.com", String.class));
+
+		verify(response).close();
+	}
+
 	@Test
 	public void getUnsupportedMediaType() throws Exception {
 		mockSentRequest(GET, "https://example.com/resource");
@@ -16,8 +16,10 @@
 
 package org.springframework.web.reactive.accept;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.util.CollectionUtils;
@@ -35,12 +37,12 @@ public class HeaderContentTypeResolver implements RequestedContentTypeResolver {
 	@Override
 	public List<MediaType> resolveMediaTypes(ServerWebExchange exchange) throws NotAcceptableStatusException {
 		try {
-			List<MediaType> mediaTypes = exchange.getRequest().getHeaders().getAccept();
+			List<MediaType> mediaTypes = new ArrayList<>(exchange.getRequest().getHeaders().getAccept());
 			MediaType.sortBySpecificityAndQuality(mediaTypes);
 			return (!CollectionUtils.isEmpty(mediaTypes) ? mediaTypes : MEDIA_TYPE_ALL_LIST);
 		}
 		catch (InvalidMediaTypeException ex) {
-			String value = exchange.getRequest().getHeaders().getFirst("Accept");
+			String value = exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT);
 			throw new NotAcceptableStatusException(
 					"Could not parse 'Accept' header [" + value + "]: " + ex.getMessage());
 		}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.web.reactive.function.client;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.support.CachedHttpResponse;
+import org.springframework.http.client.support.HttpResponseCache;
+import org.springframework.http.client.support.InMemoryHttpResponseCache;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.web.reactive.function.BodyExtractors;
+
+/**
+ * {@link ExchangeFilterFunction} that caches responses to {@code GET} requests
+ * in an {@link HttpResponseCache}, honoring HTTP caching semantics for a
+ * private cache: fresh responses are served without an exchange, stale
+ * responses are revalidated through {@code If-None-Match} and
+ * {@code If-Modified-Since}, and {@code Vary} is taken into account.
+ * Successful {@code POST}, {@code PUT}, {@code PATCH} and {@code DELETE}
+ * requests invalidate the response cached for their URL.
+ *
+ * <p>Response bodies are passed through as they arrive, with their encoded
+ * content copied into the cache up to the {@link #setMaxBodySize maximum body
+ * size} and stored once the body has been completely consumed.
+ *
+ * <p>This is the reactive counterpart of
+ * {@link org.springframework.http.client.support.CachingClientHttpRequestInterceptor}
+ * and may share the same {@link HttpResponseCache} with it.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see WebClient.Builder#filter(ExchangeFilterFunction)
+ */
+public class CachingExchangeFilterFunction implements ExchangeFilterFunction {
+
+	private static final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+
+	private final HttpResponseCache cache;
+
+	private final ExchangeStrategies strategies;
+
+	private int maxBodySize = 1024 * 1024;
+
+
+	/**
+	 * Create a new filter with a default {@link InMemoryHttpResponseCache}.
+	 */
+	public CachingExchangeFilterFunction() {
+		this(new InMemoryHttpResponseCache());
+	}
+
+	/**
+	 * Create a new filter with the given cache.
+	 * @param cache the cache to store responses in
+	 */
+	public CachingExchangeFilterFunction(HttpResponseCache cache) {
+		this(cache, ExchangeStrategies.withDefaults());
+	}
+
+	/**
+	 * Create a new filter with the given cache, decoding responses served
+	 * from the cache with the given strategies.
+	 * @param cache the cache to store responses in
+	 * @param strategies the strategies to expose on responses served from the
+	 * cache, typically the same as configured for the {@link WebClient}
+	 */
+	public CachingExchangeFilterFunction(HttpResponseCache cache, ExchangeStrategies strategies) {
+		Assert.notNull(cache, "HttpResponseCache must not be null");
+		Assert.notNull(strategies, "ExchangeStrategies must not be null");
+		this.cache = cache;
+		this.strategies = strategies;
+	}
+
+
+	/**
+	 * Set the maximum size of a response body to cache, in bytes.
+	 * <p>Default is 1 MB. Larger responses are passed through without caching.
+	 */
+	public void setMaxBodySize(int maxBodySize) {
+		Assert.isTrue(maxBodySize >= 0, "Maximum body size must not be negative");
+		this.maxBodySize = maxBodySize;
+	}
+
+	/**
+	 * Return the cache that this filter stores responses in.
+	 */
+	public HttpResponseCache getCache() {
+		return this.cache;
+	}
+
+
+	@Override
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		String key = request.url().toString();
+		if (!CachedHttpResponse.isCacheableRequest(request.method(), request.headers())) {
+			Mono<ClientResponse> result = next.exchange(request);
+			if (isInvalidatingMethod(request.method())) {
+				result = result.doOnNext(response -> {
+					if (response.rawStatusCode() < 400) {
+						this.cache.evict(key);
+					}
+				});
+			}
+			return result;
+		}
+
+		return Mono.defer(() -> {
+			long requestTime = System.currentTimeMillis();
+			CachedHttpResponse cached = this.cache.get(key);
+			ClientRequest requestToUse = request;
+			if (cached != null && cached.matchesVariant(request.headers())) {
+				if (cached.isFresh(requestTime) && !CachedHttpResponse.requiresRevalidation(request.headers())) {
+					return Mono.just(createResponse(cached, requestTime, request));
+				}
+				if (cached.hasValidators()) {
+					requestToUse = ClientRequest.from(request).headers(cached::applyConditions).build();
+				}
+				else {
+					cached = null;
+				}
+			}
+			else {
+				cached = null;
+			}
+			CachedHttpResponse cachedToRevalidate = cached;
+			return next.exchange(requestToUse).flatMap(response ->
+					handleResponse(key, request, cachedToRevalidate, response, requestTime));
+		});
+	}
+
+	private Mono<ClientResponse> handleResponse(String key, ClientRequest request,
+			@Nullable CachedHttpResponse cached, ClientResponse response, long requestTime) {
+
+		HttpHeaders requestHeaders = request.headers();
+		long responseTime = System.currentTimeMillis();
+		int statusCode = response.rawStatusCode();
+		HttpHeaders responseHeaders = response.headers().asHttpHeaders();
+		if (cached != null && statusCode == HttpStatus.NOT_MODIFIED.value()) {
+			CachedHttpResponse revalidated = cached.revalidated(responseHeaders, requestTime, responseTime);
+			this.cache.put(key, revalidated);
+			return response.releaseBody().thenReturn(createResponse(revalidated, responseTime, request));
+		}
+		if (!CachedHttpResponse.isCacheableResponse(requestHeaders, statusCode, responseHeaders) ||
+				responseHeaders.getContentLength() > this.maxBodySize) {
+			return Mono.just(response);
+		}
+		Flux<DataBuffer> body = Flux.defer(() -> {
+			BodyCopy bodyCopy = new BodyCopy();
+			boolean[] overflow = new boolean[1];
+			return response.body(BodyExtractors.toDataBuffers())
+					.doOnNext(buffer -> {
+						if (!overflow[0]) {
+							ByteBuffer byteBuffer = buffer.asByteBuffer();
+							if (bodyCopy.size() + byteBuffer.remaining() > this.maxBodySize) {
+								overflow[0] = true;
+							}
+							else {
+								bodyCopy.write(byteBuffer);
+							}
+						}
+					})
+					.doOnComplete(() -> {
+						if (!overflow[0]) {
+							this.cache.put(key, new CachedHttpResponse(statusCode, getStatusText(statusCode),
+									responseHeaders, bodyCopy.toByteArray(), requestHeaders, requestTime, responseTime));
+						}
+					});
+		});
+		return Mono.just(ClientResponse.from(response).body(body).build());
+	}
+
+	private ClientResponse createResponse(CachedHttpResponse cached, long now, ClientRequest request) {
+		byte[] body = cached.getBody();
+		return ClientResponse.create(cached.getStatusCode(), this.strategies)
+				.headers(headers -> headers.putAll(cached.getResponseHeaders(now)))
+				.body(Flux.defer(() -> Flux.just(bufferFactory.wrap(body))))
+				.request(createRequest(request))
+				.build();
+	}
+
+	private static HttpRequest createRequest(ClientRequest request) {
+		return new HttpRequest() {
+			@Override
+			public HttpMethod getMethod() {
+				return request.method();
+			}
+			@Override
+			public String getMethodValue() {
+				return request.method().name();
+			}
+			@Override
+			public URI getURI() {
+				return request.url();
+			}
+			@Override
+			public HttpHeaders getHeaders() {
+				return request.headers();
+			}
+		};
+	}
+
+	private static String getStatusText(int statusCode) {
+		HttpStatus status = HttpStatus.resolve(statusCode);
+		return (status != null ? status.getReasonPhrase() : "");
+	}
+
+	private static boolean isInvalidatingMethod(HttpMethod method) {
+		return (method == HttpMethod.POST || method == HttpMethod.PUT ||
+				method == HttpMethod.PATCH || method == HttpMethod.DELETE);
+	}
+
+
+	/**
+	 * {@link ByteArrayOutputStream} that copies {@link ByteBuffer} content
+	 * straight into its internal array.
+	 */
+	private static class BodyCopy extends ByteArrayOutputStream {
+
+		public void write(ByteBuffer buffer) {
+			int length = buffer.remaining();
+			if (this.count + length > this.buf.length) {
+				this.buf = Arrays.copyOf(this.buf, Math.max(this.buf.length << 1, this.count + length));
+			}
+			buffer.get(this.buf, this.count, length);
+			this.count += length;
+		}
+	}
+
+}
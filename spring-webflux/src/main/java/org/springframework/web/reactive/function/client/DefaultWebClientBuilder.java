@@ -24,7 +24,9 @@ import java.util.Map;
 import java.util.function.Consumer;
 
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.JdkHttpClientAdapter;
 import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.JdkClientHttpConnector;
 import org.springframework.http.client.reactive.JettyClientHttpConnector;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.lang.Nullable;
@@ -251,6 +253,9 @@ final class DefaultWebClientBuilder implements WebClient.Builder {
 		else if (jettyClientPresent) {
 			return new JettyClientHttpConnector();
 		}
+		else if (JdkHttpClientAdapter.isJdkHttpClientPresent()) {
+			return new JdkClientHttpConnector();
+		}
 		throw new IllegalStateException("No suitable default ClientHttpConnector found");
 	}
 
@@ -0,0 +1,346 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.web.reactive.function.client;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * {@link ExchangeFilterFunction} that distributes requests across a set of
+ * base URLs, optionally hedging idempotent requests: if no response has been
+ * received within a given delay, the same request is sent to another base URL
+ * and whichever response arrives first is used, cancelling the other exchange.
+ *
+ * <p>Only the path and query of each request URL are taken into account;
+ * they are appended to the base URL selected for the exchange, so requests
+ * are typically specified with relative URLs:
+ *
+ * <pre class="code">
+ * LoadBalancingExchangeFilterFunction loadBalancer = new LoadBalancingExchangeFilterFunction(
+ *         Arrays.asList(URI.create("https://one.example.com"), URI.create("https://two.example.com")));
+ * loadBalancer.setHedgingDelay(Duration.ofMillis(50));
+ * loadBalancer.setHedgingPercentile(0.95);
+ *
+ * WebClient client = WebClient.builder().filter(loadBalancer).build();
+ * client.get().uri("/resource/{id}", 42).retrieve().bodyToMono(Resource.class);
+ * </pre>
+ *
+ * <p>When hedging, an error from one exchange is only propagated if the other
+ * exchange fails as well, in which case the error from the first exchange
+ * to fail is used.
+ *
+ * <p>Outstanding requests are counted per base URL from the start of an
+ * exchange until its response status and headers have been received.
+ *
+ * @author agent (agent@local)
+ * @since 5.2
+ * @see WebClient.Builder#filter(ExchangeFilterFunction)
+ */
+public class LoadBalancingExchangeFilterFunction implements ExchangeFilterFunction {
+
+	private static final int LATENCY_WINDOW_SIZE = 128;
+
+	private static final int LATENCY_RECALCULATION_INTERVAL = 16;
+
+
+	/**
+	 * Strategy for selecting the base URL for an exchange.
+	 */
+	public enum Strategy {
+
+		/**
+		 * Select the base URL with the fewest outstanding requests,
+		 * rotating between base URLs with equal counts.
+		 */
+		LEAST_OUTSTANDING_REQUESTS,
+
+		/**
+		 * Select two base URLs at random and use the one with fewer
+		 * outstanding requests, avoiding a scan of all base URLs and
+		 * herd behavior across concurrent clients.
+		 */
+		POWER_OF_TWO_CHOICES
+	}
+
+
+	private final List<Endpoint> endpoints;
+
+	private final Strategy strategy;
+
+	private final AtomicInteger rotation = new AtomicInteger();
+
+	private final LatencyWindow latencyWindow = new LatencyWindow();
+
+	@Nullable
+	private Duration hedgingDelay;
+
+	private double hedgingPercentile;
+
+	private Set<HttpMethod> hedgedMethods = EnumSet.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+
+
+	/**
+	 * Create a new filter for the given base URLs, selecting the one with the
+	 * {@link Strategy#LEAST_OUTSTANDING_REQUESTS least outstanding requests}.
+	 * @param baseUrls the base URLs to distribute requests across
+	 */
+	public LoadBalancingExchangeFilterFunction(List<URI> baseUrls) {
+		this(baseUrls, Strategy.LEAST_OUTSTANDING_REQUESTS);
+	}
+
+	/**
+	 * Create a new filter for the given base URLs.
+	 * @param baseUrls the base URLs to distribute requests across
+	 * @param strategy the strategy for selecting a base URL per exchange
+	 */
+	public LoadBalancingExchangeFilterFunction(List<URI> baseUrls, Strategy strategy) {
+		Assert.notEmpty(baseUrls, "At least one base URL is required");
+		Assert.notNull(strategy, "Strategy must not be null");
+		List<Endpoint> endpoints = new ArrayList<>(baseUrls.size());
+		for (URI baseUrl : baseUrls) {
+			Assert.isTrue(baseUrl.isAbsolute(), () -> "Base URL must be absolute: " + baseUrl);
+			endpoints.add(new Endpoint(baseUrl));
+		}
+		this.endpoints = Collections.unmodifiableList(endpoints);
+		this.strategy = strategy;
+	}
+
+
+	/**
+	 * Enable hedging with the given delay: if no response has been received
+	 * within this delay, the request is sent to a second base URL as well.
+	 * <p>By default, no hedging is applied. Only requests with one of the
+	 * {@link #setHedgedMethods hedged methods} are subject to hedging.
+	 * @param hedgingDelay the (minimum) delay before hedging a request,
+	 * or {@code null} to disable hedging
+	 * @see #setHedgingPercentile
+	 */
+	public void setHedgingDelay(@Nullable Duration hedgingDelay) {
+		Assert.isTrue(hedgingDelay == null || !hedgingDelay.isNegative(), "Hedging delay must not be negative");
+		this.hedgingDelay = hedgingDelay;
+	}
+
+	/**
+	 * Adapt the {@link #setHedgingDelay hedging delay} to the observed latency
+	 * of recent exchanges: for example, a value of 0.95 hedges requests that
+	 * take longer than 95% of recent exchanges. The configured hedging delay
+	 * serves as a lower bound, and as the delay to use until enough
+	 * exchanges have been observed.
+	 * <p>Default is 0, always hedging after the configured delay.
+	 * @param hedgingPercentile the percentile between 0 and 1
+	 */
+	public void setHedgingPercentile(double hedgingPercentile) {
+		Assert.isTrue(hedgingPercentile >= 0 && hedgingPercentile <= 1, "Percentile must be between 0 and 1");
+		this.hedgingPercentile = hedgingPercentile;
+	}
+
+	/**
+	 * Set the HTTP methods of requests that may be hedged, i.e. sent more than once.
+	 * <p>Default is GET, HEAD and OPTIONS. Only idempotent methods should be
+	 * specified here, and only for requests with a body that can be written
+	 * more than once.
+	 * @param hedgedMethods the HTTP methods to hedge
+	 */
+	public void setHedgedMethods(HttpMethod... hedgedMethods) {
+		Set<HttpMethod> methods = EnumSet.noneOf(HttpMethod.class);
+		methods.addAll(Arrays.asList(hedgedMethods));
+		this.hedgedMethods = methods;
+	}
+
+	/**
+	 * Return the current number of outstanding requests per base URL.
+	 */
+	public Map<URI, Integer> getOutstandingRequests() {
+		Map<URI, Integer> result = new LinkedHashMap<>(this.endpoints.size());
+		for (Endpoint endpoint : this.endpoints) {
+			result.put(endpoint.baseUrl, endpoint.getOutstandingRequests());
+		}
+		return result;
+	}
+
+
+	@Override
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		Endpoint primary = selectEndpoint(null);
+		Mono<ClientResponse> primaryExchange = exchange(request, primary, next);
+		Duration delay = (this.hedgedMethods.contains(request.method()) ? determineHedgingDelay() : null);
+		if (delay == null) {
+			return primaryExchange;
+		}
+		Mono<ClientResponse> hedgedExchange = Mono.delay(delay)
+				.flatMap(tick -> exchange(request, selectEndpoint(primary), next));
+		AtomicBoolean responded = new AtomicBoolean();
+		return Flux.mergeDelayError(2, claim(primaryExchange, responded), claim(hedgedExchange, responded))
+				.next()
+				.onErrorMap(ex -> Exceptions.unwrapMultiple(ex).get(0));
+	}
+
+	private Mono<ClientResponse> exchange(ClientRequest request, Endpoint endpoint, ExchangeFunction next) {
+		return Mono.defer(() -> {
+			ClientRequest target = ClientRequest.from(request).url(endpoint.resolve(request.url())).build();
+			endpoint.outstandingRequests.incrementAndGet();
+			long startTime = System.nanoTime();
+			return next.exchange(target)
+					.doOnNext(response -> recordLatency(System.nanoTime() - startTime))
+					.doFinally(signal -> endpoint.outstandingRequests.decrementAndGet());
+		});
+	}
+
+	/**
+	 * Let the first response win, releasing the body of any later response.
+	 */
+	private static Mono<ClientResponse> claim(Mono<ClientResponse> exchange, AtomicBoolean responded) {
+		return exchange.flatMap(response -> (responded.compareAndSet(false, true) ?
+				Mono.just(response) : response.releaseBody().then(Mono.empty())));
+	}
+
+	private Endpoint selectEndpoint(@Nullable Endpoint excluded) {
+		List<Endpoint> endpoints = this.endpoints;
+		int size = endpoints.size();
+		if (size == 1) {
+			return endpoints.get(0);
+		}
+		if (this.strategy == Strategy.POWER_OF_TWO_CHOICES) {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			int first = random.nextInt(size);
+			int second = random.nextInt(size - 1);
+			if (second >= first) {
+				second++;
+			}
+			Endpoint candidate1 = endpoints.get(first);
+			Endpoint candidate2 = endpoints.get(second);
+			if (candidate1 == excluded) {
+				return candidate2;
+			}
+			if (candidate2 == excluded) {
+				return candidate1;
+			}
+			return (candidate2.getOutstandingRequests() < candidate1.getOutstandingRequests() ?
+					candidate2 : candidate1);
+		}
+		else {
+			int start = Math.floorMod(this.rotation.getAndIncrement(), size);
+			Endpoint selected = null;
+			for (int i = 0; i < size; i++) {
+				Endpoint candidate = endpoints.get((start + i) % size);
+				if (candidate != excluded && (selected == null ||
+						candidate.getOutstandingRequests() < selected.getOutstandingRequests())) {
+					selected = candidate;
+				}
+			}
+			Assert.state(selected != null, "No endpoint selected");
+			return selected;
+		}
+	}
+
+	private void recordLatency(long latencyNanos) {
+		if (this.hedgingPercentile > 0) {
+			this.latencyWindow.record(latencyNanos, this.hedgingPercentile);
+		}
+	}
+
+	@Nullable
+	private Duration determineHedgingDelay() {
+		Duration delay = this.hedgingDelay;
+		if (delay != null && this.hedgingPercentile > 0) {
+			long latencyNanos = this.latencyWindow.getPercentileNanos();
+			if (latencyNanos > delay.toNanos()) {
+				delay = Duration.ofNanos(latencyNanos);
+			}
+		}
+		return delay;
+	}
+
+
+	/**
+	 * A base URL along with its number of outstanding requests.
+	 */
+	private static class Endpoint {
+
+		private final URI baseUrl;
+
+		private final AtomicInteger outstandingRequests = new AtomicInteger();
+
+		public Endpoint(URI baseUrl) {
+			this.baseUrl = baseUrl;
+		}
+
+		public int getOutstandingRequests() {
+			return this.outstandingRequests.get();
+		}
+
+		public URI resolve(URI url) {
+			return UriComponentsBuilder.fromUri(this.baseUrl)
+					.path(url.getRawPath())
+					.query(url.getRawQuery())
+					.build(true)
+					.toUri();
+		}
+	}
+
+
+	/**
+	 * Sliding window of recent exchange latencies, periodically
+	 * recalculating the configured percentile.
+	 */
+	private static class LatencyWindow {
+
+		private final long[] samples = new long[LATENCY_WINDOW_SIZE];
+
+		private long count;
+
+		private volatile long percentileNanos = -1;
+
+		public synchronized void record(long latencyNanos, double percentile) {
+			this.samples[(int) (this.count % LATENCY_WINDOW_SIZE)] = latencyNanos;
+			this.count++;
+			if (this.count % LATENCY_RECALCULATION_INTERVAL == 0) {
+				int size = (int) Math.min(this.count, LATENCY_WINDOW_SIZE);
+				long[] sorted = Arrays.copyOf(this.samples, size);
+				Arrays.sort(sorted);
+				int index = (int) Math.ceil(percentile * size) - 1;
+				this.percentileNanos = sorted[Math.max(index, 0)];
+			}
+		}
+
+		public long getPercentileNanos() {
+			return this.percentileNanos;
+		}
+	}
+
+}
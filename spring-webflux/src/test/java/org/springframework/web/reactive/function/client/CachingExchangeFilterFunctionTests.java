@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.web.reactive.function.client;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link CachingExchangeFilterFunction}.
+ *
+ * @author agent (agent@local)
+ */
+public class CachingExchangeFilterFunctionTests {
+
+	private static final URI URL = URI.create("https://example.com/config");
+
+
+	private final CachingExchangeFilterFunction filter = new CachingExchangeFilterFunction();
+
+	private final Deque<ClientResponse> responses = new ArrayDeque<>();
+
+	private final List<ClientRequest> executedRequests = new ArrayList<>();
+
+	private final ExchangeFunction exchange = request -> {
+		this.executedRequests.add(request);
+		return Mono.just(this.responses.remove());
+	};
+
+
+	@Test
+	public void freshResponseServedFromCache() {
+		this.responses.add(ClientResponse.create(HttpStatus.OK)
+				.header(HttpHeaders.CACHE_CONTROL, "max-age=60").body("Hello").build());
+
+		assertThat(exchange(HttpMethod.GET)).isEqualTo("Hello");
+		ClientResponse response = this.filter.filter(createRequest(HttpMethod.GET), this.exchange).block();
+
+		assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.headers().header(HttpHeaders.AGE)).containsExactly("0");
+		assertThat(response.request().getMethod()).isEqualTo(HttpMethod.GET);
+		assertThat(response.request().getURI()).isEqualTo(URL);
+		assertThat(response.bodyToMono(String.class).block()).isEqualTo("Hello");
+		assertThat(this.executedRequests).hasSize(1);
+	}
+
+	@Test
+	public void staleResponseRevalidated() {
+		this.responses.add(ClientResponse.create(HttpStatus.OK)
+				.header(HttpHeaders.CACHE_CONTROL, "no-cache").header(HttpHeaders.ETAG, "\"v1\"")
+				.body("Hello").build());
+		this.responses.add(ClientResponse.create(HttpStatus.NOT_MODIFIED).build());
+
+		assertThat(exchange(HttpMethod.GET)).isEqualTo("Hello");
+		assertThat(exchange(HttpMethod.GET)).isEqualTo("Hello");
+
+		assertThat(this.executedRequests).hasSize(2);
+		assertThat(this.executedRequests.get(0).headers().getIfNoneMatch()).isEmpty();
+		assertThat(this.executedRequests.get(1).headers().getIfNoneMatch()).containsExactly("\"v1\"");
+	}
+
+	@Test
+	public void noStoreResponseNotCached() {
+		this.responses.add(ClientResponse.create(HttpStatus.OK)
+				.header(HttpHeaders.CACHE_CONTROL, "no-store").body("Hello").build());
+		this.responses.add(ClientResponse.create(HttpStatus.OK)
+				.header(HttpHeaders.CACHE_CONTROL, "no-store").body("World").build());
+
+		assertThat(exchange(HttpMethod.GET)).isEqualTo("Hello");
+		assertThat(exchange(HttpMethod.GET)).isEqualTo("World");
+	}
+
+	@Test
+	public void unsafeRequestInvalidatesCachedResponse() {
+		this.responses.add(ClientResponse.create(HttpStatus.OK)
+				.header(HttpHeaders.CACHE_CONTROL, "max-age=60").body("Hello").build());
+		this.responses.add(ClientResponse.create(HttpStatus.NO_CONTENT).build());
+		this.responses.add(ClientResponse.create(HttpStatus.OK)
+				.header(HttpHeaders.CACHE_CONTROL, "max-age=60").body("World").build());
+
+		assertThat(exchange(HttpMethod.GET)).isEqualTo("Hello");
+		assertThat(exchange(HttpMethod.DELETE)).isNull();
+		assertThat(exchange(HttpMethod.GET)).isEqualTo("World");
+	}
+
+
+	private String exchange(HttpMethod method) {
+		return this.filter.filter(createRequest(method), this.exchange)
+				.flatMap(response -> response.bodyToMono(String.class))
+				.block();
+	}
+
+	private ClientRequest createRequest(HttpMethod method) {
+		return ClientRequest.create(method, URL).build();
+	}
+
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.web.reactive.function.client;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import org.springframework.http.HttpMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link LoadBalancingExchangeFilterFunction}.
+ *
+ * @author agent (agent@local)
+ */
+public class LoadBalancingExchangeFilterFunctionTests {
+
+	private static final URI BASE_URL_1 = URI.create("https://one.example.com/api");
+
+	private static final URI BASE_URL_2 = URI.create("https://two.example.com/api");
+
+
+	private final List<URI> requestedUrls = new ArrayList<>();
+
+
+	@Test
+	public void resolveRequestUrl() {
+		ClientResponse response = mock(ClientResponse.class);
+		LoadBalancingExchangeFilterFunction filter =
+				new LoadBalancingExchangeFilterFunction(Arrays.asList(BASE_URL_1));
+		ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("/resource/42?q=a%20b")).build();
+
+		ClientResponse result = filter.filter(request, r -> {
+			this.requestedUrls.add(r.url());
+			return Mono.just(response);
+		}).block();
+
+		assertThat(result).isSameAs(response);
+		assertThat(this.requestedUrls).containsExactly(URI.create("https://one.example.com/api/resource/42?q=a%20b"));
+	}
+
+	@Test
+	public void leastOutstandingRequests() {
+		LoadBalancingExchangeFilterFunction filter =
+				new LoadBalancingExchangeFilterFunction(Arrays.asList(BASE_URL_1, BASE_URL_2));
+		ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("/resource")).build();
+		ExchangeFunction exchange = r -> {
+			this.requestedUrls.add(r.url());
+			return Mono.never();
+		};
+
+		Disposable first = filter.filter(request, exchange).subscribe();
+		Disposable second = filter.filter(request, exchange).subscribe();
+		Disposable third = filter.filter(request, exchange).subscribe();
+		assertThat(this.requestedUrls).hasSize(3);
+		assertThat(this.requestedUrls.get(1).getHost()).isNotEqualTo(this.requestedUrls.get(0).getHost());
+		assertThat(filter.getOutstandingRequests().values()).containsExactlyInAnyOrder(1, 2);
+
+		first.dispose();
+		second.dispose();
+		third.dispose();
+		assertThat(filter.getOutstandingRequests().values()).containsExactly(0, 0);
+	}
+
+	@Test
+	public void powerOfTwoChoices() {
+		LoadBalancingExchangeFilterFunction filter = new LoadBalancingExchangeFilterFunction(
+				Arrays.asList(BASE_URL_1, BASE_URL_2), LoadBalancingExchangeFilterFunction.Strategy.POWER_OF_TWO_CHOICES);
+		ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("/resource")).build();
+		ExchangeFunction exchange = r -> {
+			this.requestedUrls.add(r.url());
+			return Mono.never();
+		};
+
+		Disposable first = filter.filter(request, exchange).subscribe();
+		Disposable second = filter.filter(request, exchange).subscribe();
+		assertThat(filter.getOutstandingRequests().values()).containsExactly(1, 1);
+
+		first.dispose();
+		second.dispose();
+		assertThat(filter.getOutstandingRequests().values()).containsExactly(0, 0);
+	}
+
+	@Test
+	public void hedgeSlowRequest() {
+		ClientResponse response = mock(ClientResponse.class);
+		AtomicBoolean cancelled = new AtomicBoolean();
+		LoadBalancingExchangeFilterFunction filter =
+				new LoadBalancingExchangeFilterFunction(Arrays.asList(BASE_URL_1, BASE_URL_2));
+		filter.setHedgingDelay(Duration.ofMillis(50));
+		ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("/resource")).build();
+
+		Mono<ClientResponse> result = filter.filter(request, r -> {
+			this.requestedUrls.add(r.url());
+			if (this.requestedUrls.size() == 1) {
+				return Mono.<ClientResponse>never().doOnCancel(() -> cancelled.set(true));
+			}
+			return Mono.just(response);
+		});
+
+		StepVerifier.create(result)
+				.expectNext(response)
+				.expectComplete()
+				.verify(Duration.ofSeconds(3));
+		assertThat(this.requestedUrls).hasSize(2);
+		assertThat(this.requestedUrls.get(1).getHost()).isNotEqualTo(this.requestedUrls.get(0).getHost());
+		assertThat(cancelled.get()).isTrue();
+		assertThat(filter.getOutstandingRequests().values()).containsExactly(0, 0);
+	}
+
+	@Test
+	public void noHedgingForUnsafeMethod() {
+		LoadBalancingExchangeFilterFunction filter =
+				new LoadBalancingExchangeFilterFunction(Arrays.asList(BASE_URL_1, BASE_URL_2));
+		filter.setHedgingDelay(Duration.ofMillis(10));
+		ClientRequest request = ClientRequest.create(HttpMethod.POST, URI.create("/resource")).build();
+
+		Mono<ClientResponse> result = filter.filter(request, r -> {
+			this.requestedUrls.add(r.url());
+			return Mono.never();
+		});
+
+		StepVerifier.create(result)
+				.expectSubscription()
+				.expectNoEvent(Duration.ofMillis(100))
+				.thenCancel()
+				.verify();
+		assertThat(this.requestedUrls).hasSize(1);
+	}
+
+	@Test
+	public void hedgeAgainstStubServers() throws IOException {
+		MockWebServer slowServer = new MockWebServer();
+		MockWebServer fastServer = new MockWebServer();
+		try {
+			slowServer.enqueue(new MockResponse().setBody("slow").setHeadersDelay(5, TimeUnit.SECONDS));
+			fastServer.enqueue(new MockResponse().setBody("fast"));
+			LoadBalancingExchangeFilterFunction filter = new LoadBalancingExchangeFilterFunction(
+					Arrays.asList(slowServer.url("/").uri(), fastServer.url("/").uri()));
+			filter.setHedgingDelay(Duration.ofMillis(100));
+			WebClient webClient = WebClient.builder().filter(filter).build();
+
+			Mono<String> result = webClient.get().uri("/greeting").retrieve().bodyToMono(String.class);
+
+			StepVerifier.create(result)
+					.expectNext("fast")
+					.expectComplete()
+					.verify(Duration.ofSeconds(3));
+			assertThat(slowServer.getRequestCount()).isEqualTo(1);
+			assertThat(fastServer.getRequestCount()).isEqualTo(1);
+		}
+		finally {
+			slowServer.shutdown();
+			fastServer.shutdown();
+		}
+	}
+
+}
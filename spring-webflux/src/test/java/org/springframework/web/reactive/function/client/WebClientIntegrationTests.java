@@ -54,7 +54,9 @@ import org.springframework.http.HttpRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkHttpClientAdapter;
 import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.JdkClientHttpConnector;
 import org.springframework.http.client.reactive.JettyClientHttpConnector;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.http.codec.Pojo;
@@ -80,7 +82,12 @@ class WebClientIntegrationTests {
 	}
 
 	static Stream<ClientHttpConnector> arguments() {
-		return Stream.of(new JettyClientHttpConnector(), new ReactorClientHttpConnector());
+		Stream<ClientHttpConnector> connectors =
+				Stream.of(new JettyClientHttpConnector(), new ReactorClientHttpConnector());
+		if (JdkHttpClientAdapter.isJdkHttpClientPresent()) {
+			connectors = Stream.concat(connectors, Stream.of(new JdkClientHttpConnector()));
+		}
+		return connectors;
 	}
 
 